@@ -0,0 +1,30 @@
+package com.pluralsight.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of {@code target/benchmarks.jar}.
+ * <p>
+ * Runs the shop's benchmarks with the GC profiler always attached, so every result shows the
+ * allocation rate ({@code gc.alloc.rate.norm}, bytes per operation) next to the throughput.
+ * Any regular JMH command-line option still works, e.g. a benchmark name filter or {@code -f 1 -wi 2}.
+ * </p>
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class);
+        if (args.length == 0) {
+            options.include("com\\.pluralsight\\.benchmarks\\..*");
+        }
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,65 @@
+package com.pluralsight.benchmarks;
+
+import com.pluralsight.Bread;
+import com.pluralsight.Drink;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Normalizes what a customer types for bread sizes, bread types and drink sizes. Each operation
+ * walks a mix of canonical names, aliases with odd casing and whitespace, and inputs that do not match.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NormalizationBenchmark {
+
+    private final String[] breadSizes = {"8", " Twelve ", "4 inch", "FOOTLONG", "small", "9"};
+    private final String[] breadTypes = {"White", " whole wheat", "RYE ", "tortilla", "sourdough"};
+    private final String[] drinkSizes = {"Medium", " L ", "sm", "LARGE", "venti"};
+
+    @Benchmark
+    public int parseBreadSize() {
+        int sum = 0;
+        for (String input : breadSizes) {
+            sum += Bread.parseSize(input);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int parseBreadType() {
+        int sum = 0;
+        for (String input : breadTypes) {
+            sum += Bread.parseBreadType(input);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int parseDrinkSize() {
+        int sum = 0;
+        for (String input : drinkSizes) {
+            sum += Drink.parseSize(input);
+        }
+        return sum;
+    }
+
+    /** The full constructor path the screens take, validating both inputs. */
+    @Benchmark
+    public Bread newBread() {
+        return new Bread(" Twelve ", "whole wheat");
+    }
+}
@@ -0,0 +1,77 @@
+package com.pluralsight.benchmarks;
+
+import com.pluralsight.Bread;
+import com.pluralsight.Chips;
+import com.pluralsight.Drink;
+import com.pluralsight.Order;
+import com.pluralsight.OrderIdGenerator;
+import com.pluralsight.Sandwich;
+import com.pluralsight.Topping;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Totals and renders orders of 1, 10 and 1000 distinct items, so 1, 10 and 1000 lines. The items cycle
+ * through a toasted sandwich with five toppings, a drink and a bag of chips, so receipts include topping
+ * lines; sandwiches vary in size, bread and toppings, and drinks and chips in flavor.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderBenchmark {
+
+    @Param({"1", "10", "1000"})
+    public int items;
+
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        order = new Order(new OrderIdGenerator(0));
+        for (int i = 0; i < items; i++) {
+            // Every item differs from the others, so the order has one line per item.
+            int k = i / 3;
+            switch (i % 3) {
+                case 0 -> {
+                    Sandwich sandwich = new Sandwich(Bread.SIZES.get(k % 3), Bread.BREAD_TYPES.get(k / 3 % 4));
+                    sandwich.addTopping(Topping.getByNumber(1 + k / 12 % 6), true);
+                    sandwich.addTopping(Topping.getByNumber(7 + k / 72 % 4), false);
+                    sandwich.addTopping(Topping.getByNumber(11 + k / 288 % 3), false);
+                    sandwich.addTopping(Topping.getByNumber(14), false);
+                    sandwich.addTopping(Topping.getByNumber(20), false);
+                    sandwich.setToasted(true);
+                    order.addItem(sandwich);
+                }
+                case 1 -> order.addItem(new Drink(Drink.LARGE_SIZE, "Cola " + k));
+                default -> order.addItem(new Chips("Cool ranch " + k));
+            }
+        }
+        if (order.getLineItems().size() != items) {
+            throw new IllegalStateException("Expected " + items + " distinct lines, got " + order.getLineItems().size());
+        }
+    }
+
+    @Benchmark
+    public double getTotalPrice() {
+        return order.getTotalPrice();
+    }
+
+    @Benchmark
+    public String generateReceiptFormat() {
+        return order.generateReceiptFormat();
+    }
+}
@@ -0,0 +1,102 @@
+package com.pluralsight.benchmarks;
+
+import com.pluralsight.Bread;
+import com.pluralsight.Drink;
+import com.pluralsight.Order;
+import com.pluralsight.OrderIdGenerator;
+import com.pluralsight.OrderLog;
+import com.pluralsight.OrderRecord;
+import com.pluralsight.SalesCube;
+import com.pluralsight.Sandwich;
+import com.pluralsight.Topping;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Queries a sales cube holding a quarter of trading: 90 days of orders every 10 minutes from
+ * 7am to 9pm, cycling through breads, sizes, toppings and drinks. Each query reads only the
+ * hourly slices it needs, so it should stay well under a millisecond.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SalesCubeBenchmark {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2025, 3, 1);
+    private static final int DAYS = 90;
+
+    private Path folder;
+    private SalesCube cube;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        folder = Files.createTempDirectory("sales-cube-benchmark");
+        try (OrderLog log = new OrderLog(folder.resolve("orders"), OrderLog.DEFAULT_SEGMENT_BYTES)) {
+            int n = 0;
+            for (int day = 0; day < DAYS; day++) {
+                for (int minute = 7 * 60; minute < 21 * 60; minute += 10, n++) {
+                    Order order = new Order(new OrderIdGenerator(n % 1000));
+                    Sandwich sandwich = new Sandwich(Bread.SIZES.get(n % Bread.SIZES.size()),
+                            Bread.BREAD_TYPES.get(n % Bread.BREAD_TYPES.size()));
+                    sandwich.addTopping(Topping.getByNumber(1 + n % 20), n % 7 == 0);
+                    order.addItem(sandwich, 1 + n % 2);
+                    order.addItem(new Drink(Drink.SIZES.get(n % Drink.SIZES.size()), "Cola"));
+                    log.append(order, FIRST_DAY.plusDays(day).atStartOfDay().plusMinutes(minute));
+                }
+            }
+        }
+        // Opening the cube catches up with the whole log.
+        cube = SalesCube.open(folder);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        cube.close();
+        try (Stream<Path> files = Files.walk(folder)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public long revenueOnOneDay() {
+        return cube.query().on(FIRST_DAY.plusDays(45)).revenueCents();
+    }
+
+    @Benchmark
+    public long[] lunchUnitsByBreadOverTheQuarter() {
+        return cube.query().hourOfDay(12).type(OrderRecord.SANDWICH).unitsBy(SalesCube.Dimension.BREAD);
+    }
+
+    @Benchmark
+    public long[] drinkRevenueByDayOfWeek() {
+        return cube.query().type(OrderRecord.DRINK).revenueBy(SalesCube.Dimension.DAY_OF_WEEK);
+    }
+
+    @Benchmark
+    public int[] topToppingsOverTheQuarter() {
+        return cube.query().topToppings(5);
+    }
+}
@@ -0,0 +1,81 @@
+package com.pluralsight.benchmarks;
+
+import com.pluralsight.Bread;
+import com.pluralsight.Sandwich;
+import com.pluralsight.Topping;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prices a sandwich, both as a lookup on a finished sandwich and while building one topping by topping.
+ * A "small" sandwich has two toppings; a "heavy" one carries every topping on the menu, meats and cheeses twice.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SandwichPricingBenchmark {
+
+    @Param({"small", "heavy"})
+    public String shape;
+
+    private Topping[] toppings;
+    private boolean[] extras;
+    private Sandwich sandwich;
+
+    @Setup
+    public void setUp() {
+        if (shape.equals("small")) {
+            toppings = new Topping[]{Topping.getByNumber(1), Topping.getByNumber(11)};
+            extras = new boolean[]{false, false};
+        } else {
+            int count = 0;
+            Topping[] all = new Topping[Topping.getAvailableToppings().size() * 2];
+            boolean[] extra = new boolean[all.length];
+            for (Topping topping : Topping.getAvailableToppings().values()) {
+                all[count++] = topping;
+                if (topping.supportsExtra()) {
+                    extra[count] = true;
+                    all[count++] = topping;
+                }
+            }
+            toppings = Arrays.copyOf(all, count);
+            extras = Arrays.copyOf(extra, count);
+        }
+        sandwich = build();
+    }
+
+    private Sandwich build() {
+        Sandwich built = new Sandwich(Bread.SIZE_TWELVE, Bread.BREAD_WHEAT);
+        for (int i = 0; i < toppings.length; i++) {
+            built.addTopping(toppings[i], extras[i]);
+        }
+        return built;
+    }
+
+    /** The price of a finished sandwich, as read on every total and every receipt line. */
+    @Benchmark
+    public double getPrice() {
+        return sandwich.getPrice();
+    }
+
+    /** Builds the sandwich from scratch and prices it, covering the incremental pricing in addTopping. */
+    @Benchmark
+    public long buildAndPrice() {
+        return build().getPriceCents();
+    }
+}
@@ -0,0 +1,74 @@
+package com.pluralsight.benchmarks;
+
+import com.pluralsight.Inventory;
+import com.pluralsight.Kitchen;
+import com.pluralsight.Order;
+import com.pluralsight.OrderIdGenerator;
+import com.pluralsight.OrderLog;
+import com.pluralsight.OrderService;
+import com.pluralsight.ReceiptJournal;
+import com.pluralsight.Sandwich;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adds a signature sandwich to an order, the copy the home screen makes when a customer picks one
+ * from the menu. The sandwich is taken off the order again so the order does not grow between calls.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SignatureCopyBenchmark {
+
+    @Param({"1", "2"})
+    public int menuNumber;
+
+    private ReceiptJournal journal;
+    private Kitchen kitchen;
+    private OrderLog orderLog;
+    private OrderService service;
+    private Order order;
+
+    @Setup
+    public void setUp() throws IOException {
+        Path folder = Files.createTempDirectory("deli-bench");
+        journal = ReceiptJournal.open(folder, ReceiptJournal.Durability.BATCHED);
+        kitchen = Kitchen.start(16, 1, 0, Duration.ofMinutes(2), ticket -> { });
+        orderLog = new OrderLog(folder.resolve("orders"), OrderLog.DEFAULT_SEGMENT_BYTES);
+        service = new OrderService(journal, new OrderIdGenerator(0), kitchen, new Inventory(), orderLog);
+        order = service.createOrder();
+    }
+
+    @TearDown
+    public void tearDown() {
+        journal.close();
+        kitchen.close();
+        orderLog.close();
+    }
+
+    @Benchmark
+    public Sandwich addSignatureSandwich() {
+        Sandwich copy = service.addSignatureSandwich(order, menuNumber);
+        service.removeItem(order, copy);
+        return copy;
+    }
+}
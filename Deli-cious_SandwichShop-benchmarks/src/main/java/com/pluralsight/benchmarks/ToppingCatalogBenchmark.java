@@ -0,0 +1,39 @@
+package com.pluralsight.benchmarks;
+
+import com.pluralsight.Topping;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Looks up the toppings of every category, as the sandwich builder does each time it shows a menu.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ToppingCatalogBenchmark {
+
+    private final String[] categories = {Topping.MEAT, Topping.CHEESE, Topping.REGULAR, Topping.SAUCE, Topping.SIDE};
+
+    @Benchmark
+    public int getToppingByCategory() {
+        int sum = 0;
+        for (String category : categories) {
+            Map<Integer, Topping> toppings = Topping.getToppingByCategory(category);
+            sum += toppings.size();
+        }
+        return sum;
+    }
+}
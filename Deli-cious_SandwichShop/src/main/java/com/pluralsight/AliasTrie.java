@@ -0,0 +1,120 @@
+package com.pluralsight;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A small, case-insensitive trie that matches raw user input against a table of aliases
+ * (like "sm", "small" or "4 inch") and returns the ordinal of the standardized value.
+ * <p>
+ * Matching walks the input one character at a time over a flat {@code int[]} transition table,
+ * folding ASCII letters to lowercase and skipping leading and trailing whitespace on the fly.
+ * Unlike {@code input.trim().toLowerCase()} followed by a map lookup, it never creates a string.
+ * </p>
+ */
+public final class AliasTrie {
+    //          === Constant Variables ===
+    public static final int NO_MATCH = -1;
+    private static final int ALPHABET = 128;
+
+    //          === Instance Variables ===
+    private final int[] transitions;
+    private final int[] ordinals;
+
+    //          === Constructor ===
+    private AliasTrie(int[] transitions, int[] ordinals) {
+        this.transitions = transitions;
+        this.ordinals = ordinals;
+    }
+
+    /**
+     * Builds a trie from an alias table.
+     *
+     * @param aliases   Lowercase aliases mapped to one of the standardized values.
+     * @param canonical The standardized values; an alias matches to the index of its value in this list.
+     * @return A trie answering with ordinals into {@code canonical}.
+     * @throws IllegalArgumentException If an alias maps to a value missing from {@code canonical},
+     *                                  or contains characters outside ASCII.
+     */
+    public static AliasTrie build(Map<String, String> aliases, List<String> canonical) {
+        int capacity = 1;
+        for (String alias : aliases.keySet()) {
+            capacity += alias.length();
+        }
+
+        int[] transitions = new int[capacity * ALPHABET];
+        int[] ordinals = new int[capacity];
+        Arrays.fill(ordinals, NO_MATCH);
+        int nodes = 1;
+
+        for (Map.Entry<String, String> entry : aliases.entrySet()) {
+            int ordinal = canonical.indexOf(entry.getValue());
+            if (ordinal < 0) {
+                throw new IllegalArgumentException("Alias '" + entry.getKey() + "' maps to unknown value '" + entry.getValue() + "'.");
+            }
+
+            int node = 0;
+            String alias = entry.getKey();
+            for (int i = 0; i < alias.length(); i++) {
+                int c = fold(alias.charAt(i));
+                if (c < 0) {
+                    throw new IllegalArgumentException("Alias '" + alias + "' must be plain ASCII.");
+                }
+                int slot = node * ALPHABET + c;
+                if (transitions[slot] == 0) {
+                    transitions[slot] = nodes++;
+                }
+                node = transitions[slot];
+            }
+            ordinals[node] = ordinal;
+        }
+
+        return new AliasTrie(Arrays.copyOf(transitions, nodes * ALPHABET), Arrays.copyOf(ordinals, nodes));
+    }
+
+    //          === Matching ===
+    /**
+     * Matches raw input against the aliases, ignoring case and surrounding whitespace.
+     *
+     * @param input The raw input; may be {@code null}.
+     * @return The ordinal of the matching standardized value, or {@link #NO_MATCH}.
+     */
+    public int match(CharSequence input) {
+        if (input == null) {
+            return NO_MATCH;
+        }
+
+        int start = 0;
+        int end = input.length();
+        while (start < end && Character.isWhitespace(input.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(input.charAt(end - 1))) {
+            end--;
+        }
+
+        int node = 0;
+        for (int i = start; i < end; i++) {
+            int c = fold(input.charAt(i));
+            if (c < 0) {
+                return NO_MATCH;
+            }
+            node = transitions[node * ALPHABET + c];
+            if (node == 0) {
+                return NO_MATCH;
+            }
+        }
+        return ordinals[node];
+    }
+
+    /**
+     * Folds an ASCII character to lowercase; returns -1 for anything outside ASCII.
+     */
+    private static int fold(char c) {
+        if (c >= ALPHABET) {
+            return -1;
+        }
+        return c >= 'A' && c <= 'Z' ? c + ('a' - 'A') : c;
+    }
+}
@@ -0,0 +1,11 @@
+package com.pluralsight;
+
+/**
+ * A discount rule that applies to an order, as shown on the receipt.
+ *
+ * @param name  The rule's name from the catalog (e.g. "Meal Combo").
+ * @param times How many times its requirements are met; percentage discounts apply once.
+ * @param cents The amount taken off, in cents.
+ */
+public record AppliedDiscount(String name, int times, long cents) {
+}
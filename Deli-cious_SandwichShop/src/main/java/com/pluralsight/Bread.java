@@ -1,6 +1,6 @@
 package com.pluralsight;
 
-import java.util.Map;
+import java.util.List;
 
 public class Bread {
     //          === Constant Variables ===
@@ -12,97 +12,67 @@ public class Bread {
     public static final String BREAD_RYE = "Rye";
     public static final String BREAD_WRAP = "Wrap";
 
+    /** The standardized sizes, in the same order as the {@link PriceTable} size ordinals. */
+    public static final List<String> SIZES = List.of(SIZE_FOUR, SIZE_EIGHT, SIZE_TWELVE);
+    public static final List<String> BREAD_TYPES = List.of(BREAD_WHITE, BREAD_WHEAT, BREAD_RYE, BREAD_WRAP);
+
     //          === Instance Variables ===
     private String breadType;
     private String size;
+    private int sizeIndex;
+    private int breadTypeIndex;
+    private final Catalog catalog;
 
     //          === Constructor ===
     public Bread(String sizeInput, String typeInput) {
-        this.size = normalizeSize(sizeInput);
-        if (this.size == null) {
+        this(Catalog.current(), sizeInput, typeInput);
+    }
+
+    /**
+     * Creates bread priced with, and parsing the customer's words by, the given catalog.
+     */
+    public Bread(Catalog catalog, String sizeInput, String typeInput) {
+        this.catalog = catalog;
+        this.sizeIndex = catalog.parseBreadSize(sizeInput);
+        if (this.sizeIndex == AliasTrie.NO_MATCH) {
             throw new IllegalArgumentException(
                     "\nInvalid size: '" + sizeInput + "'. Valid sizes include: 4, 8, 12, 'Small', 'Medium', 'Large').\n"
             );
         }
+        this.size = SIZES.get(sizeIndex);
 
-        this.breadType = normalizeBreadType(typeInput);
-        if (this.breadType == null) {
+        this.breadTypeIndex = catalog.parseBreadType(typeInput);
+        if (this.breadTypeIndex == AliasTrie.NO_MATCH) {
             throw new IllegalArgumentException(
                     "\nInvalid Bread Type: '" + typeInput + "'. Valid Bread Types: ('White', 'Wheat', 'Rye', 'Wrap').\n"
             );
         }
+        this.breadType = BREAD_TYPES.get(breadTypeIndex);
     }
 
-    /**
-     * A static, unmodifiable map that defines various common string inputs for sandwich sizes
-     * and maps them to a standardized size constant (@code SIZE_FOUR}, {@code SIZE_EIGHT}, {@code SIZE_TWELVE}).
-     * This map is used by the {@code normalizeSize} method to convert user input
-     * (like "4", "small", "s") into a consistent internal representation.
-     * The keys are the lowercase string variations, and the values are the standardized size strings.
-     */
-    private static final Map<String, String> SIZE_VARIATIONS = Map.ofEntries(
-            Map.entry("4", SIZE_FOUR), Map.entry("4\"", SIZE_FOUR),
-            Map.entry("4 inch", SIZE_FOUR), Map.entry("four", SIZE_FOUR),
-            Map.entry("small", SIZE_FOUR), Map.entry("s", SIZE_FOUR),
-            Map.entry("sm", SIZE_FOUR),
-
-            Map.entry("8", SIZE_EIGHT), Map.entry("8\"", SIZE_EIGHT),
-            Map.entry("8 inch", SIZE_EIGHT), Map.entry("eight", SIZE_EIGHT),
-            Map.entry("medium", SIZE_EIGHT), Map.entry("m", SIZE_EIGHT),
-            Map.entry("med", SIZE_EIGHT), Map.entry("mid", SIZE_EIGHT),
-
-            Map.entry("12", SIZE_TWELVE), Map.entry("12\"", SIZE_TWELVE),
-            Map.entry("12 inch", SIZE_TWELVE), Map.entry("twelve", SIZE_TWELVE),
-            Map.entry("large", SIZE_TWELVE), Map.entry("l", SIZE_TWELVE),
-            Map.entry("lg", SIZE_TWELVE)
-    );
-
-    /**
-     * A static, unmodifiable map that defines various common string inputs for bread types
-     * and maps them to a standardized bread type constant (e.g., {@code BREAD_WHITE}, {@code BREAD_WHEAT}).
-     * This map is used by the {@code normalizeBreadType} method to convert user input
-     * (like "white", "w", "whole wheat") into a consistent internal representation.
-     * The keys are the lowercase string variations, and the values are the standardized bread type strings.
-     */
-    private static final Map<String, String> BREAD_VARIATIONS = Map.ofEntries(
-            Map.entry("white", BREAD_WHITE), Map.entry("w", BREAD_WHITE),
-            Map.entry("wheat", BREAD_WHEAT), Map.entry("wh", BREAD_WHEAT),
-            Map.entry("whole wheat", BREAD_WHEAT), Map.entry("rye", BREAD_RYE),
-            Map.entry("r", BREAD_RYE), Map.entry("wrap", BREAD_WRAP),
-            Map.entry("tortilla", BREAD_WRAP)
-    );
-
     //          === Normalizing methods ===
     /**
      * Normalizes and validates the input string representing a size.
-     * It trims whitespace, converts to lowercase, and checks against a predefined map
-     * of valid size variations ({@code SIZE_VARIATIONS}).
+     * Case and surrounding whitespace are ignored, and the input is matched against
+     * the current {@link Catalog}'s size aliases without allocating.
      *
-     * @param input The raw string input for the size.
-     * @return The standardized string representation of the size if valid, otherwise {@code null}.
+     * @param input The raw input for the size.
+     * @return The size ordinal into {@link #SIZES} if valid, otherwise {@link AliasTrie#NO_MATCH}.
      */
-    private String normalizeSize(String input) {
-        if (input == null) {
-            return null;
-        }
-
-        return SIZE_VARIATIONS.get(input.trim().toLowerCase());
+    public static int parseSize(CharSequence input) {
+        return Catalog.current().parseBreadSize(input);
     }
 
     /**
      * Normalizes and validates the input string representing a bread type.
-     * It trims whitespace, converts to lowercase, and checks against a predefined map
-     * of valid bread variations ({@code BREAD_VARIATIONS}).
+     * Case and surrounding whitespace are ignored, and the input is matched against
+     * the current {@link Catalog}'s bread type aliases without allocating.
      *
-     * @param input The raw string input for the bread type.
-     * @return The standardized string representation of the bread type if valid, otherwise {@code null}.
+     * @param input The raw input for the bread type.
+     * @return The bread type ordinal into {@link #BREAD_TYPES} if valid, otherwise {@link AliasTrie#NO_MATCH}.
      */
-    private String normalizeBreadType (String input) {
-        if (input == null) {
-            return null;
-        }
-
-        return BREAD_VARIATIONS.get(input.trim().toLowerCase());
+    public static int parseBreadType(CharSequence input) {
+        return Catalog.current().parseBreadType(input);
     }
 
     //          === Getters ===
@@ -111,27 +81,51 @@ public class Bread {
         return size;
     }
 
+    /**
+     * Returns the size as an ordinal into the {@link PriceTable} (4" = 0, 8" = 1, 12" = 2).
+     */
+    public int getSizeIndex() {
+        return sizeIndex;
+    }
+
     public String getBreadType() {
         return breadType;
     }
 
+    /**
+     * Returns the bread type as an ordinal into {@link #BREAD_TYPES}.
+     */
+    public int getBreadTypeIndex() {
+        return breadTypeIndex;
+    }
+
+    /**
+     * Returns the catalog this bread was created with, which prices it and the sandwich built on it.
+     */
+    public Catalog getCatalog() {
+        return catalog;
+    }
+
     public String getDisplayName() {
         return size + "\" " + breadType;
     }
 
     /**
-     * Calculates the base price of the item based on its current size.
-     * The size is determined by the instance variable {@code size}.
+     * Calculates the base price of the bread based on its current size,
+     * looked up from its catalog's {@link PriceTable} by the size ordinal.
+     *
+     * @return The base price in cents.
+     */
+    public long getBasePriceCents() {
+        return catalog.getPrices().breadPrice(sizeIndex);
+    }
+
+    /**
+     * Returns the base price of the bread in dollars.
      *
-     * @return The base price as a double. Returns a default price (7.00)
-     * if the size does not match predefined constants.
+     * @return The base price as a double.
      */
     public double getBasePrice() {
-        switch (size) {
-            case SIZE_FOUR -> {return 5.50;}
-            case SIZE_EIGHT -> {return 7.00;}
-            case SIZE_TWELVE -> {return 8.50;}
-            default -> {return 7.00;}
-        }
+        return Money.toDollars(getBasePriceCents());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,665 @@
+package com.pluralsight;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * An immutable snapshot of the menu: toppings, prices, the words customers may type for sizes and breads,
+ * and the signature sandwiches.
+ * <p>
+ * The menu is read from a catalog file (see {@code src/main/resources/catalog.txt} for the format) and
+ * compiled once into lookup tables: a {@link PriceTable}, {@link AliasTrie}s and per-category topping maps.
+ * One snapshot is current at a time. {@link #publish(Catalog)} swaps in a new one atomically, and
+ * {@link CatalogWatcher} does so whenever the file changes. Reading the current snapshot is a single volatile
+ * read and never locks.
+ * </p>
+ * <p>
+ * Every order and menu item remembers the snapshot it was created with and keeps pricing against it,
+ * so a price change only affects orders started after it.
+ * </p>
+ * <p>
+ * Time-boxed {@link Promotion}s are compiled up front as well: a catalog with promotions carries a
+ * {@link PriceSchedule} with one snapshot per slice of the day, and the schedule publishes the right one at each
+ * promotion's start and end. {@link #getLabel()} tells the snapshots apart on receipts.
+ * </p>
+ */
+public final class Catalog {
+    //          === Constant Variables ===
+    private static final String BUILT_IN = "/catalog.txt";
+
+    private static final AtomicReference<Catalog> CURRENT = new AtomicReference<>();
+
+    //          === Instance Variables ===
+    private final String version;
+    private final String label;
+    private final Catalog base;
+    private final Map<Integer, Topping> toppings;
+    private final Map<String, Map<Integer, Topping>> toppingsByCategory;
+    private final int toppingIdLimit;
+    private final PriceTable prices;
+    private final long[] drinkPrices;
+    private final long chipsPrice;
+    private final AliasTrie breadSizes;
+    private final AliasTrie breadTypes;
+    private final AliasTrie drinkSizes;
+    private final Map<Integer, Signature> signatures;
+    private final Map<String, long[]> priceGrids;
+    private final List<Promotion> promotions;
+    private final PriceSchedule schedule;
+    private final DiscountRules discounts;
+
+    /**
+     * A signature recipe and, once someone asked for it, its frozen prototype priced with this snapshot.
+     */
+    private final class Signature {
+        private final SignatureRecipe recipe;
+        private volatile Sandwich prototype;
+
+        private Signature(SignatureRecipe recipe) {
+            this.recipe = recipe;
+        }
+
+        private Sandwich prototype() {
+            Sandwich built = prototype;
+            if (built == null) {
+                synchronized (this) {
+                    built = prototype;
+                    if (built == null) {
+                        built = recipe.build(Catalog.this);
+                        built.freeze();
+                        prototype = built;
+                    }
+                }
+            }
+            return built;
+        }
+    }
+
+    //          === Constructor ===
+    /**
+     * Compiles a snapshot. The base snapshot of a file passes {@code null} as its base and compiles one priced
+     * snapshot per distinct set of running promotions; those pass the base and no promotions of their own.
+     */
+    private Catalog(String version, String label, Catalog base, Map<Integer, Topping> toppings, Map<String, long[]> priceGrids,
+                    AliasTrie breadSizes, AliasTrie breadTypes, AliasTrie drinkSizes, Map<Integer, SignatureRecipe> recipes,
+                    List<Promotion> promotions, DiscountRules discounts) {
+        this.version = version;
+        this.label = label;
+        this.base = base == null ? this : base;
+        this.toppings = Collections.unmodifiableMap(new TreeMap<>(toppings));
+        this.toppingsByCategory = groupByCategory(this.toppings);
+        int maxId = 0;
+        for (int id : toppings.keySet()) {
+            maxId = Math.max(maxId, id);
+        }
+        this.toppingIdLimit = maxId + 1;
+
+        this.priceGrids = priceGrids;
+        long[][] premium = new long[PriceTable.CATEGORIES.length][];
+        long[][] premiumExtra = new long[PriceTable.CATEGORIES.length][];
+        for (int category = 0; category < PriceTable.CATEGORIES.length; category++) {
+            String name = PriceTable.CATEGORIES[category];
+            if (priceGrids.containsKey(name)) {
+                premium[category] = grid(priceGrids, name, PriceTable.SIZE_COUNT);
+                premiumExtra[category] = priceGrids.containsKey(name + ".extra") ? grid(priceGrids, name + ".extra", PriceTable.SIZE_COUNT) : new long[PriceTable.SIZE_COUNT];
+            }
+        }
+        this.prices = PriceTable.compile(this.toppings, grid(priceGrids, "bread", PriceTable.SIZE_COUNT), premium, premiumExtra);
+        this.drinkPrices = grid(priceGrids, "drink", Drink.SIZES.size()).clone();
+        this.chipsPrice = grid(priceGrids, "chips", 1)[0];
+
+        this.breadSizes = breadSizes;
+        this.breadTypes = breadTypes;
+        this.drinkSizes = drinkSizes;
+        Map<Integer, Signature> signatures = new TreeMap<>();
+        recipes.forEach((number, recipe) -> signatures.put(number, new Signature(recipe)));
+        this.signatures = Collections.unmodifiableMap(signatures);
+        this.promotions = List.copyOf(promotions);
+        this.discounts = discounts;
+        this.schedule = this.base == this && !promotions.isEmpty() ? PriceSchedule.compile(this) : null;
+    }
+
+    private static long[] grid(Map<String, long[]> priceGrids, String key, int length) {
+        long[] grid = priceGrids.get(key);
+        if (grid == null || grid.length != length) {
+            throw new IllegalArgumentException("[prices] needs '" + key + "' with " + length + " price(s)");
+        }
+        return grid;
+    }
+
+    /**
+     * Returns whether a key names one of the price grids: {@code bread}, {@code drink}, {@code chips},
+     * a topping category or a category's {@code .extra} surcharge.
+     */
+    static boolean isPriceKey(String key) {
+        if (key.equals("bread") || key.equals("drink") || key.equals("chips")) {
+            return true;
+        }
+        String category = key.endsWith(".extra") ? key.substring(0, key.length() - ".extra".length()) : key;
+        for (String name : PriceTable.CATEGORIES) {
+            if (name.equals(category)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    //          === The current snapshot ===
+    /**
+     * Returns the snapshot new orders are priced with. Until something is published, this is the catalog file
+     * named by the {@code deli.catalog} system property, or else the built-in catalog.
+     *
+     * @return The current snapshot.
+     */
+    public static Catalog current() {
+        Catalog catalog = CURRENT.get();
+        if (catalog == null) {
+            Catalog initial = Initial.CATALOG;
+            if (CURRENT.compareAndSet(null, initial.at(LocalTime.now()))) {
+                PriceSchedule.follow(initial);
+            }
+            catalog = CURRENT.get();
+        }
+        return catalog;
+    }
+
+    /**
+     * Makes a catalog current. If it has promotions, the snapshot priced for the time of day is published,
+     * and {@link PriceSchedule} swaps in the next one at each promotion's start and end.
+     * Orders and items created before keep the snapshot they started with.
+     *
+     * @param catalog The new catalog; any of its time-of-day snapshots stands for the whole catalog.
+     */
+    public static void publish(Catalog catalog) {
+        Catalog base = catalog.base;
+        CURRENT.set(base.at(LocalTime.now()));
+        PriceSchedule.follow(base);
+    }
+
+    /**
+     * Publishes the snapshot for the time of day, if the catalog is still the current one. Called by
+     * {@link PriceSchedule} at each boundary.
+     *
+     * @return Whether the catalog was still current.
+     */
+    static boolean advance(Catalog base, LocalTime time) {
+        Catalog updated = CURRENT.updateAndGet(catalog -> catalog.base == base ? base.at(time) : catalog);
+        return updated.base == base;
+    }
+
+    /**
+     * Adds or replaces a signature sandwich in the current catalog by publishing a copy of it with the recipe.
+     * The change lasts until the next catalog is published, e.g. when the catalog file is reloaded.
+     */
+    static void publishSignature(int menuNumber, SignatureRecipe recipe) {
+        current();
+        Catalog updated = CURRENT.updateAndGet(catalog -> catalog.base.withSignature(menuNumber, recipe).at(LocalTime.now()));
+        PriceSchedule.follow(updated.base);
+    }
+
+    /**
+     * Loads the first snapshot lazily, once, the first time anything asks for the current one.
+     */
+    private static final class Initial {
+        private static final Catalog CATALOG = loadInitial();
+
+        private static Catalog loadInitial() {
+            String file = System.getProperty("deli.catalog");
+            try {
+                if (file != null) {
+                    return load(Paths.get(file));
+                }
+                try (InputStream in = Catalog.class.getResourceAsStream(BUILT_IN)) {
+                    if (in == null) {
+                        throw new IllegalStateException("The built-in catalog " + BUILT_IN + " is missing.");
+                    }
+                    return parse(new InputStreamReader(in, StandardCharsets.UTF_8), BUILT_IN);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read the catalog: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    //          === Loading ===
+    /**
+     * Reads and compiles a catalog file.
+     *
+     * @param file The catalog file.
+     * @return The compiled snapshot.
+     * @throws IOException              If the file cannot be read.
+     * @throws IllegalArgumentException If the file is not a valid catalog.
+     */
+    public static Catalog load(Path file) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return parse(reader, file.toString());
+        }
+    }
+
+    /**
+     * Reads and compiles a catalog.
+     * <p>
+     * The format is line based. Blank lines and lines starting with {@code #} are ignored, {@code [name]} starts
+     * a section, and every other line is {@code key = value}. Fields within a value are separated by {@code |},
+     * lists of numbers by spaces and lists of aliases by commas.
+     * </p>
+     *
+     * @param reader The catalog text.
+     * @param source Where the text came from, for error messages.
+     * @return The compiled snapshot.
+     * @throws IOException              If reading fails.
+     * @throws IllegalArgumentException If the text is not a valid catalog; the message names the line.
+     */
+    public static Catalog parse(Reader reader, String source) throws IOException {
+        CatalogParser parser = new CatalogParser(source);
+        BufferedReader lines = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        for (String line; (line = lines.readLine()) != null; ) {
+            parser.accept(line);
+        }
+        return parser.build();
+    }
+
+    /**
+     * Collects the sections of a catalog file and compiles them into a snapshot.
+     */
+    private static final class CatalogParser {
+        private final String source;
+        private int lineNumber;
+        private String section = "";
+
+        private String version = "unversioned";
+        private final Map<String, long[]> prices = new HashMap<>();
+        private final TreeMap<Integer, Topping> toppings = new TreeMap<>();
+        private final Map<String, String> breadSizeAliases = new HashMap<>();
+        private final Map<String, String> breadTypeAliases = new HashMap<>();
+        private final Map<String, String> drinkSizeAliases = new HashMap<>();
+        private final Map<Integer, SignatureRecipe> recipes = new TreeMap<>();
+        private final List<Promotion> promotions = new ArrayList<>();
+        private final List<String[]> discounts = new ArrayList<>();
+        private final List<Integer> discountLines = new ArrayList<>();
+
+        private CatalogParser(String source) {
+            this.source = source;
+        }
+
+        private void accept(String raw) {
+            lineNumber++;
+            String line = raw.strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                return;
+            }
+            if (line.startsWith("[") && line.endsWith("]")) {
+                section = line.substring(1, line.length() - 1).strip().toLowerCase();
+                return;
+            }
+
+            int equals = line.indexOf('=');
+            if (equals < 0) {
+                throw error("expected 'key = value'");
+            }
+            String key = line.substring(0, equals).strip();
+            String value = line.substring(equals + 1).strip();
+            switch (section) {
+                case "" -> {
+                    if (!key.equals("version")) {
+                        throw error("unknown setting '" + key + "'");
+                    }
+                    version = value;
+                }
+                case "prices" -> prices.put(priceKey(key), numbers(value));
+                case "toppings" -> {
+                    String[] fields = fields(value, 3);
+                    int id = number(key);
+                    if (id <= 0) {
+                        throw error("topping numbers start at 1");
+                    }
+                    toppings.put(id, new Topping(id, fields[0], fields[1], flag(fields[2], "premium", "regular")));
+                }
+                case "bread sizes" -> aliases(breadSizeAliases, key, value);
+                case "bread types" -> aliases(breadTypeAliases, key, value);
+                case "drink sizes" -> aliases(drinkSizeAliases, key, value);
+                case "signatures" -> {
+                    String[] fields = fields(value, 5);
+                    long[] ids = numbers(fields[4]);
+                    int[] toppingIds = new int[ids.length];
+                    for (int i = 0; i < ids.length; i++) {
+                        toppingIds[i] = (int) ids[i];
+                    }
+                    recipes.put(number(key), new SignatureRecipe(fields[0], fields[1], fields[2], flag(fields[3], "toasted", "plain"), toppingIds));
+                }
+                case "promotions" -> promotions.add(promotion(key, value));
+                case "discounts" -> {
+                    discounts.add(new String[]{key, value});
+                    discountLines.add(lineNumber);
+                }
+                default -> throw error("unknown section [" + section + "]");
+            }
+        }
+
+        private Catalog build() {
+            // Rules may name any topping, so they are read once all toppings are known.
+            int toppingIdLimit = toppings.isEmpty() ? 1 : toppings.lastKey() + 1;
+            List<DiscountRules.Rule> rules = new ArrayList<>(discounts.size());
+            for (int i = 0; i < discounts.size(); i++) {
+                try {
+                    rules.add(DiscountRules.parseRule(discounts.get(i)[0], discounts.get(i)[1], toppingIdLimit));
+                } catch (IllegalArgumentException e) {
+                    lineNumber = discountLines.get(i);
+                    throw error(e.getMessage());
+                }
+            }
+            lineNumber = 0;
+
+            try {
+                Catalog catalog = new Catalog(version, version, null, toppings, prices,
+                        AliasTrie.build(breadSizeAliases, Bread.SIZES),
+                        AliasTrie.build(breadTypeAliases, Bread.BREAD_TYPES),
+                        AliasTrie.build(drinkSizeAliases, Drink.SIZES),
+                        recipes, promotions, DiscountRules.compile(rules, toppingIdLimit));
+                for (SignatureRecipe recipe : recipes.values()) {
+                    recipe.validate(catalog);
+                }
+                return catalog;
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(source + ": " + e.getMessage(), e);
+            }
+        }
+
+        /**
+         * Reads a promotion: {@code name = HH:MM-HH:MM | price = numbers | ...}, with prices written like {@code [prices]}.
+         */
+        private Promotion promotion(String name, String value) {
+            String[] fields = value.split("\\|");
+            String[] hours = fields[0].split("-");
+            if (fields.length < 2 || hours.length != 2) {
+                throw error("expected 'name = HH:MM-HH:MM | price = numbers | ...'");
+            }
+
+            Map<String, long[]> overrides = new HashMap<>();
+            for (int i = 1; i < fields.length; i++) {
+                int equals = fields[i].indexOf('=');
+                if (equals < 0) {
+                    throw error("expected 'price = numbers' but found '" + fields[i].strip() + "'");
+                }
+                overrides.put(priceKey(fields[i].substring(0, equals).strip()), numbers(fields[i].substring(equals + 1)));
+            }
+            try {
+                return new Promotion(name, time(hours[0]), time(hours[1]), overrides);
+            } catch (IllegalArgumentException e) {
+                throw error(e.getMessage());
+            }
+        }
+
+        private LocalTime time(String value) {
+            try {
+                return LocalTime.parse(value.strip());
+            } catch (DateTimeParseException e) {
+                throw error("'" + value.strip() + "' is not a time of day like 14:00");
+            }
+        }
+
+        private String priceKey(String key) {
+            if (!isPriceKey(key)) {
+                throw error("unknown price '" + key + "'");
+            }
+            return key;
+        }
+
+        private void aliases(Map<String, String> aliases, String canonical, String value) {
+            aliases.put(canonical.toLowerCase(), canonical);
+            for (String alias : value.split(",")) {
+                if (!alias.isBlank()) {
+                    aliases.put(alias.strip().toLowerCase(), canonical);
+                }
+            }
+        }
+
+        private String[] fields(String value, int count) {
+            String[] fields = value.split("\\|");
+            if (fields.length != count) {
+                throw error("expected " + count + " fields separated by '|'");
+            }
+            for (int i = 0; i < fields.length; i++) {
+                fields[i] = fields[i].strip();
+            }
+            return fields;
+        }
+
+        private boolean flag(String value, String yes, String no) {
+            if (value.equalsIgnoreCase(yes)) {
+                return true;
+            }
+            if (value.equalsIgnoreCase(no)) {
+                return false;
+            }
+            throw error("expected '" + yes + "' or '" + no + "' but found '" + value + "'");
+        }
+
+        private int number(String value) {
+            try {
+                return Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                throw error("'" + value + "' is not a number");
+            }
+        }
+
+        private long[] numbers(String value) {
+            String[] parts = value.strip().split("\\s+");
+            long[] numbers = new long[parts.length];
+            for (int i = 0; i < parts.length; i++) {
+                try {
+                    numbers[i] = Long.parseLong(parts[i]);
+                } catch (NumberFormatException e) {
+                    throw error("'" + parts[i] + "' is not a number");
+                }
+                if (numbers[i] < 0) {
+                    throw error("prices and numbers cannot be negative");
+                }
+            }
+            return numbers;
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(source + (lineNumber > 0 ? " line " + lineNumber : "") + ": " + message);
+        }
+    }
+
+    /**
+     * Returns a copy of this snapshot with one signature sandwich added or replaced.
+     */
+    private Catalog withSignature(int menuNumber, SignatureRecipe recipe) {
+        Map<Integer, SignatureRecipe> recipes = new TreeMap<>(getSignatureRecipes());
+        recipes.put(menuNumber, recipe);
+        return new Catalog(version, version, null, toppings, priceGrids, breadSizes, breadTypes, drinkSizes, recipes, promotions, discounts);
+    }
+
+    /**
+     * Compiles the snapshot of this catalog with some promotions running: their prices replace the
+     * catalog's, later promotions winning where two change the same price.
+     */
+    Catalog withPromotions(List<Promotion> running) {
+        if (running.isEmpty()) {
+            return this;
+        }
+        Map<String, long[]> grids = new HashMap<>(priceGrids);
+        StringBuilder label = new StringBuilder(version).append(" (");
+        for (int i = 0; i < running.size(); i++) {
+            grids.putAll(running.get(i).prices());
+            label.append(i > 0 ? ", " : "").append(running.get(i).name());
+        }
+        label.append(')');
+        return new Catalog(version, label.toString(), this, toppings, grids, breadSizes, breadTypes, drinkSizes, getSignatureRecipes(), List.of(), discounts);
+    }
+
+    private static Map<String, Map<Integer, Topping>> groupByCategory(Map<Integer, Topping> toppings) {
+        Map<String, Integer> sizes = new HashMap<>();
+        for (Topping topping : toppings.values()) {
+            sizes.merge(topping.getCategory(), 1, Integer::sum);
+        }
+
+        Map<String, Map<Integer, Topping>> grouped = new HashMap<>();
+        for (Map.Entry<Integer, Topping> entry : toppings.entrySet()) {
+            String category = entry.getValue().getCategory();
+            grouped.computeIfAbsent(category, c -> new LinkedHashMap<>(sizes.get(c) * 4 / 3 + 1))
+                    .put(entry.getKey(), entry.getValue());
+        }
+
+        Map<String, Map<Integer, Topping>> index = new HashMap<>();
+        grouped.forEach((category, byNumber) -> index.put(category, Collections.unmodifiableMap(byNumber)));
+        return Collections.unmodifiableMap(index);
+    }
+
+    //          === Lookups ===
+    /**
+     * Returns the label of this snapshot, from the catalog file's {@code version} setting.
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns which prices this snapshot charges: the version, followed by the running promotions
+     * in parentheses, e.g. {@code 2025.1 (Happy Hour)}. Receipts record it.
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Returns the promotions of this catalog file, in file order; empty for the snapshots compiled from them.
+     */
+    public List<Promotion> getPromotions() {
+        return promotions;
+    }
+
+    /**
+     * Returns the discount rules of the catalog's {@code [discounts]} section, compiled for matching orders.
+     */
+    public DiscountRules getDiscounts() {
+        return discounts;
+    }
+
+    /**
+     * Returns the snapshot of this catalog priced for a time of day. Without promotions, that is the catalog itself.
+     */
+    public Catalog at(LocalTime time) {
+        return base.schedule == null ? base : base.schedule.at(time);
+    }
+
+    /**
+     * Returns the schedule of time-of-day snapshots, or {@code null} if this catalog has no promotions.
+     */
+    PriceSchedule getSchedule() {
+        return base.schedule;
+    }
+
+    public Topping getTopping(int number) {
+        return toppings.get(number);
+    }
+
+    /**
+     * Returns all toppings keyed by menu number, in menu-number order.
+     */
+    public Map<Integer, Topping> getToppings() {
+        return toppings;
+    }
+
+    /**
+     * Returns the toppings of one category keyed by menu number; empty for unknown categories. Does not allocate.
+     */
+    public Map<Integer, Topping> getToppingsByCategory(String category) {
+        return toppingsByCategory.getOrDefault(category, Collections.emptyMap());
+    }
+
+    /**
+     * Returns one past the highest topping number, for sizing arrays indexed by topping number.
+     */
+    public int getToppingIdLimit() {
+        return toppingIdLimit;
+    }
+
+    public PriceTable getPrices() {
+        return prices;
+    }
+
+    public long drinkPrice(int sizeIndex) {
+        return drinkPrices[sizeIndex];
+    }
+
+    public long chipsPrice() {
+        return chipsPrice;
+    }
+
+    /**
+     * Matches what a customer typed for a bread size.
+     *
+     * @return The ordinal into {@link Bread#SIZES}, or {@link AliasTrie#NO_MATCH}.
+     */
+    public int parseBreadSize(CharSequence input) {
+        return breadSizes.match(input);
+    }
+
+    /**
+     * Matches what a customer typed for a bread type.
+     *
+     * @return The ordinal into {@link Bread#BREAD_TYPES}, or {@link AliasTrie#NO_MATCH}.
+     */
+    public int parseBreadType(CharSequence input) {
+        return breadTypes.match(input);
+    }
+
+    /**
+     * Matches what a customer typed for a drink size.
+     *
+     * @return The ordinal into {@link Drink#SIZES}, or {@link AliasTrie#NO_MATCH}.
+     */
+    public int parseDrinkSize(CharSequence input) {
+        return drinkSizes.match(input);
+    }
+
+    /**
+     * Returns the recipes of the signature sandwiches, keyed by menu number.
+     */
+    public Map<Integer, SignatureRecipe> getSignatureRecipes() {
+        Map<Integer, SignatureRecipe> recipes = new TreeMap<>();
+        signatures.forEach((number, signature) -> recipes.put(number, signature.recipe));
+        return Collections.unmodifiableMap(recipes);
+    }
+
+    /**
+     * Returns the frozen prototype of a signature sandwich, built and priced with this snapshot on first use.
+     *
+     * @return The prototype, or {@code null} if there is no signature sandwich with that number.
+     */
+    public Sandwich getSignaturePrototype(int menuNumber) {
+        Signature signature = signatures.get(menuNumber);
+        return signature == null ? null : signature.prototype();
+    }
+
+    /**
+     * Returns the prototypes of all signature sandwiches in menu-number order.
+     */
+    public Map<Integer, Sandwich> getSignaturePrototypes() {
+        Map<Integer, Sandwich> prototypes = new LinkedHashMap<>();
+        signatures.forEach((number, signature) -> prototypes.put(number, signature.prototype()));
+        return Collections.unmodifiableMap(prototypes);
+    }
+}
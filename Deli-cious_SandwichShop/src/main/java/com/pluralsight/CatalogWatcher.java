@@ -0,0 +1,104 @@
+package com.pluralsight;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+
+/**
+ * Reloads a catalog file whenever it changes and publishes it as the current {@link Catalog}.
+ * <p>
+ * A background thread waits on a {@link WatchService} for the file's directory, so nothing is polled.
+ * When the file is saved it is parsed into a complete new snapshot off to the side and only then published,
+ * so terminals never see a half-loaded menu. If the new file does not parse, the error is reported and the
+ * previous snapshot stays current until the file is fixed.
+ * </p>
+ */
+public class CatalogWatcher implements AutoCloseable {
+    //          === Instance Variables ===
+    private final Path file;
+    private final WatchService watchService;
+    private Thread thread;
+    private volatile String lastError;
+
+    //          === Constructor ===
+    private CatalogWatcher(Path file) throws IOException {
+        this.file = file.toAbsolutePath();
+        this.watchService = this.file.getFileSystem().newWatchService();
+        this.file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_CREATE);
+    }
+
+    /**
+     * Starts watching a catalog file. The file is not loaded here; {@link Catalog#current()} loads it on first use
+     * when it is named by {@code deli.catalog}, or call {@link #reload()} to publish it right away.
+     *
+     * @param file The catalog file.
+     * @return The running watcher.
+     * @throws IOException If the file's directory cannot be watched.
+     */
+    public static CatalogWatcher start(Path file) throws IOException {
+        CatalogWatcher watcher = new CatalogWatcher(file);
+        watcher.thread = new Thread(watcher::watch, "catalog-watcher");
+        watcher.thread.setDaemon(true);
+        watcher.thread.start();
+        return watcher;
+    }
+
+    //          === Methods ===
+    /**
+     * Loads the file and publishes it.
+     *
+     * @return Whether a new snapshot was published; if not, {@link #getLastError()} says why.
+     */
+    public boolean reload() {
+        try {
+            Catalog catalog = Catalog.load(file);
+            Catalog.publish(catalog);
+            lastError = null;
+            return true;
+        } catch (IOException | IllegalArgumentException e) {
+            lastError = e.getMessage();
+            System.err.println("Keeping the current menu; could not reload " + file + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Returns why the last reload failed, or {@code null} if it succeeded.
+     */
+    public String getLastError() {
+        return lastError;
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void watch() {
+        Path name = file.getFileName();
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    changed |= name.equals(event.context());
+                }
+                key.reset();
+                if (changed) {
+                    reload();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Closed: stop watching.
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.pluralsight;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The outcome of a successful checkout.
+ *
+ * @param orderId       The number of the order that was checked out.
+ * @param totalCents    The amount charged, in cents.
+ * @param receiptSaved  Completes once the receipt is durable on disk.
+ * @param estimatedWait The wait the kitchen quoted when the order reached its queue.
+ */
+public record CheckoutResult(long orderId, long totalCents, CompletableFuture<Void> receiptSaved, Duration estimatedWait) {
+}
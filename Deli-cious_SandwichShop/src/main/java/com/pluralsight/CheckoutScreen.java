@@ -1,47 +1,65 @@
 package com.pluralsight;
 
+import java.io.PrintStream;
+
 public class CheckoutScreen {
     //          === Instance Variables ===
 
     private Console console;
+    private PrintStream out;
+    private OrderService orderService;
 
     //          === Constructor ===
 
-    public CheckoutScreen(Console console) {
+    public CheckoutScreen(Console console, OrderService orderService) {
         this.console = console;
+        this.out = console.out();
+        this.orderService = orderService;
     }
 
     //          === Methods ===
 
     /**
      * Displays the final order details and guides the user through a checkout process.
-     * After successful "payment", it clears the order.
+     * Payment, the receipt and clearing the order are handled by {@link OrderService#checkout(Order, String)};
+     * the screen does not wait for the receipt to reach the disk.
      *
      * @param order The current Order object containing all items to be checked out.
      */
     public void displayCheckout(Order order) {
-        System.out.println("\n--- Proceeding to Checkout ---");
+        out.println("\n--- Proceeding to Checkout ---");
+
+        if (orderService.offersLoyaltyDiscounts(order) && !order.isLoyaltyMember()) {
+            String card = console.promptForString("Do you have a loyalty card? (Yes/No): ");
+            orderService.setLoyaltyMember(order, card.equalsIgnoreCase("yes"));
+        }
 
-        System.out.println(order.generateReceiptFormat());
+        ReceiptRenderer.printOrder(order, out);
+        out.println();
 
-        double total = order.getTotalPrice();
-        System.out.printf("%nYour final total is: $%.2f%n", total);
+        long total = orderService.price(order);
+        out.printf("%nYour final total is: $%s%n", Money.format(total));
 
-        System.out.println("\n--- Payment ---" +
+        out.println("\n--- Payment ---" +
                 "\nPayment methods accepted: Cash (enter 'cash')");
         String paymentMethod = console.promptForString("Enter payment method: ");
 
-        if (paymentMethod.equalsIgnoreCase("cash")){
-            System.out.println("\nPayment received. Processing your order...");
-            System.out.println("\nPayment successful! Thank you for your order.\n");
-
-            Receipt receipt = new Receipt(order);
-            receipt.saveToFile();
+        try {
+            CheckoutResult result = orderService.checkout(order, paymentMethod);
+            out.println("\nPayment received. Processing your order...");
+            out.println("\nPayment successful! Thank you for your order.\n");
 
-            order.clearOrder();
-            System.out.println("Order completed. Enjoy your meal!");
-        }else {
-            System.out.println("Payment method not recognized or funds insufficient. Please try again.");
+            result.receiptSaved().whenComplete((ignored, error) -> {
+                if (error != null) {
+                    out.println("Error saving receipt " + result.orderId() + ": " + error.getMessage());
+                }
+            });
+            out.println("Receipt queued for order #" + result.orderId());
+            out.printf("Your order is on its way to the kitchen. Estimated wait: about %d minute(s).%n",
+                    Math.max(1, result.estimatedWait().toMinutes()));
+            out.println("Order completed. Enjoy your meal!");
+        }catch (IllegalArgumentException | IllegalStateException e) {
+            out.println(e.getMessage());
         }
         console.promptForString("Press 0 to return to main menu: ");
     }
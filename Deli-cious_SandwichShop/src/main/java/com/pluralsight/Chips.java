@@ -1,13 +1,27 @@
 package com.pluralsight;
 
 public class Chips extends MenuItem {
+    private final Catalog catalog;
 
     public Chips(String name) {
+        this(Catalog.current(), name);
+    }
+
+    /**
+     * Creates a bag of chips priced with the given catalog.
+     */
+    public Chips(Catalog catalog, String name) {
         super(name);
+        this.catalog = catalog;
+    }
+
+    @Override
+    public long getPriceCents() {
+        return catalog.chipsPrice();
     }
 
     @Override
-    public double getPrice() {
-        return 1.50;
+    LineItem.Key contentKey() {
+        return new LineItem.Key(Chips.class, name, catalog);
     }
 }
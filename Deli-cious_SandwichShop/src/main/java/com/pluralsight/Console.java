@@ -1,23 +1,46 @@
 package com.pluralsight;
 
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Scanner;
 
 public class Console {
 
-    Scanner scanner = new Scanner(System.in);
+    Scanner scanner;
+    private final PrintStream out;
+
+    public Console() {
+        this(System.in, System.out);
+    }
+
+    /**
+     * Creates a console reading from and writing to the given streams, e.g. a terminal's socket.
+     */
+    public Console(InputStream in, PrintStream out) {
+        this.scanner = new Scanner(in, StandardCharsets.UTF_8);
+        this.out = out;
+    }
+
+    /**
+     * Returns the stream screens print to.
+     */
+    public PrintStream out() {
+        return out;
+    }
 
     public int promptForInt(String prompt) {
         boolean hasResult = false;
         int result = 0;
         while (!hasResult) {
             try {
-                System.out.print(prompt);
+                out.print(prompt);
                 result = scanner.nextInt();
                 scanner.nextLine();
                 hasResult = true;
 
             } catch (Exception e) {
-                System.out.println("Invalid entry");
+                out.println("Invalid entry");
                 scanner.next();
             }
         }
@@ -29,13 +52,13 @@ public class Console {
         long result = 0;
         while (!hasResult) {
             try {
-                System.out.print(prompt);
+                out.print(prompt);
                 result = scanner.nextLong();
                 scanner.nextLine();
                 hasResult = true;
 
             } catch (Exception e) {
-                System.out.println("Invalid entry");
+                out.println("Invalid entry");
                 scanner.next();
             }
         }
@@ -47,13 +70,13 @@ public class Console {
         float result = 0;
         while (!hasResult) {
             try {
-                System.out.print(prompt);
+                out.print(prompt);
                 result = scanner.nextFloat();
                 scanner.nextLine();
                 hasResult = true;
 
             } catch (Exception e) {
-                System.out.println("Invalid entry");
+                out.println("Invalid entry");
                 scanner.next();
             }
         }
@@ -62,11 +85,11 @@ public class Console {
 
     public String promptForString(String prompt) {
         while (true) {
-            System.out.print(prompt);
+            out.print(prompt);
             String input = scanner.nextLine().trim().toLowerCase();
 
             if (input.isEmpty()) {
-                System.out.println("Input cannot be empty.");
+                out.println("Input cannot be empty.");
             } else {
                 return input.substring(0, 1).toUpperCase() + input.substring(1).toLowerCase();
             }
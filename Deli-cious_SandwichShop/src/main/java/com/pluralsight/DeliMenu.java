@@ -1,18 +1,52 @@
 package com.pluralsight;
 
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * The signature sandwiches, keyed by menu number.
+ * <p>
+ * The sandwiches come from the {@code [signatures]} section of the current {@link Catalog}. The first time
+ * a signature is needed its recipe is built into a frozen, fully priced prototype {@link Sandwich}, which is
+ * then shared by every terminal until a new catalog is published. Ordering a signature sandwich hands out
+ * {@link Sandwich#copy()} of the prototype, which shares the prototype's toppings until the copy is changed,
+ * so it costs the same however big the recipe is.
+ * </p>
+ */
 public class DeliMenu {
 
-    private static final Map<Integer, Sandwich> SIGNATURE_SANDWICHES = new HashMap<>();
-    static {
-        SIGNATURE_SANDWICHES.put(1, new PhillyCheeseSteak());
-        SIGNATURE_SANDWICHES.put(2, new BLT());
+    /**
+     * Adds a signature sandwich to the current menu, or replaces the one with the same number.
+     * The recipe is not built until the sandwich is first shown or ordered. Like any menu change it is
+     * published as a new {@link Catalog} snapshot, and it lasts until the next catalog replaces that one.
+     *
+     * @param menuNumber The number customers pick it by; must be positive.
+     * @param recipe     What goes into it.
+     * @throws IllegalArgumentException If the menu number is not positive.
+     */
+    public static void register(int menuNumber, SignatureRecipe recipe) {
+        if (menuNumber <= 0) {
+            throw new IllegalArgumentException("Menu numbers start at 1: " + menuNumber);
+        }
+        Catalog.publishSignature(menuNumber, recipe);
     }
 
+    /**
+     * Returns the frozen prototype of one signature sandwich, building it on first use.
+     * Call {@link Sandwich#copy()} on it to get a sandwich that can be ordered.
+     *
+     * @param menuNumber The signature sandwich's number.
+     * @return The prototype, or {@code null} if there is no signature sandwich with that number.
+     */
+    public static Sandwich getPrototype(int menuNumber) {
+        return Catalog.current().getSignaturePrototype(menuNumber);
+    }
+
+    /**
+     * Returns the prototypes of all signature sandwiches in menu-number order, for display.
+     *
+     * @return An unmodifiable map of frozen sandwiches.
+     */
     public static Map<Integer, Sandwich> getSignatureSandwiches() {
-        return Collections.unmodifiableMap(SIGNATURE_SANDWICHES);
+        return Catalog.current().getSignaturePrototypes();
     }
 }
@@ -0,0 +1,267 @@
+package com.pluralsight;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The discount rules of a {@link Catalog}, compiled into a matcher over order composition.
+ * <p>
+ * A rule is written in the catalog's {@code [discounts]} section as its requirements and its reward:
+ * </p>
+ * <pre>
+ * Meal Combo = sandwich + drink + chips | 150 off
+ * Small Sub BOGO = 2 sandwich.4 | free sandwich.4
+ * Loyalty = loyalty | 10% off
+ * </pre>
+ * Requirements count <em>features</em> of the order: {@code sandwich}, {@code drink}, {@code chips},
+ * {@code loyalty}, a sandwich size or bread ({@code sandwich.12}, {@code sandwich.Rye}), a drink size
+ * ({@code drink.Large}) or the sandwiches carrying a topping ({@code topping.6}). Every feature is a slot in
+ * an {@code int[]} of counts. Rewards are a fixed amount off per time the requirements are met, a percentage
+ * off the subtotal, or the cheapest matching items free once per time the requirements are met.
+ * <p>
+ * Rules are never scanned one by one. For every feature the compiled rules keep a watch list of the
+ * requirements on it, sorted by the count they need. When an item is added or removed, each of its features
+ * moves by one and only the requirements whose threshold it crosses are touched; a rule whose requirements are
+ * all met joins a bit set of active rules (see {@link OrderDiscounts}). Pricing the discounts then visits only
+ * the active rules, however many rules the menu has.
+ * </p>
+ */
+public final class DiscountRules {
+    //          === Constant Variables ===
+    static final int SANDWICH = 0;
+    static final int DRINK = 1;
+    static final int CHIPS = 2;
+    static final int LOYALTY = 3;
+    static final int SANDWICH_SIZE = 4;
+    static final int SANDWICH_BREAD = SANDWICH_SIZE + Bread.SIZES.size();
+    static final int DRINK_SIZE = SANDWICH_BREAD + Bread.BREAD_TYPES.size();
+    static final int TOPPING = DRINK_SIZE + Drink.SIZES.size();
+
+    /** No rules at all; orders under it never look for discounts. */
+    static final DiscountRules NONE = new DiscountRules(List.of(), TOPPING);
+
+    /**
+     * How a rule rewards the customer.
+     */
+    enum Reward {
+        /** {@code amount} cents off each time the requirements are met. */
+        AMOUNT_OFF,
+        /** {@code amount} percent off the subtotal, once. */
+        PERCENT_OFF,
+        /** The cheapest item with feature {@code freeFeature} free, each time the requirements are met. */
+        FREE_ITEM
+    }
+
+    /**
+     * One compiled rule: parallel arrays of required features and the count each needs.
+     */
+    record Rule(String name, int[] features, int[] minimums, Reward reward, long amount, int freeFeature) {
+    }
+
+    //          === Instance Variables ===
+    private final List<Rule> rules;
+    private final int featureCount;
+    /** Per feature: the thresholds of the requirements on it, ascending, and the rule each belongs to. */
+    private final int[][] watchThresholds;
+    private final int[][] watchRules;
+
+    //          === Constructor ===
+    private DiscountRules(List<Rule> rules, int featureCount) {
+        this.rules = List.copyOf(rules);
+        this.featureCount = featureCount;
+
+        int[] sizes = new int[featureCount];
+        for (Rule rule : rules) {
+            for (int feature : rule.features()) {
+                sizes[feature]++;
+            }
+        }
+        long[][] watches = new long[featureCount][];
+        for (int feature = 0; feature < featureCount; feature++) {
+            watches[feature] = new long[sizes[feature]];
+            sizes[feature] = 0;
+        }
+        for (int r = 0; r < rules.size(); r++) {
+            Rule rule = rules.get(r);
+            for (int i = 0; i < rule.features().length; i++) {
+                int feature = rule.features()[i];
+                // Threshold in the high half, rule in the low half, so sorting orders by threshold.
+                watches[feature][sizes[feature]++] = ((long) rule.minimums()[i] << Integer.SIZE) | r;
+            }
+        }
+
+        this.watchThresholds = new int[featureCount][];
+        this.watchRules = new int[featureCount][];
+        for (int feature = 0; feature < featureCount; feature++) {
+            long[] watch = watches[feature];
+            Arrays.sort(watch);
+            watchThresholds[feature] = new int[watch.length];
+            watchRules[feature] = new int[watch.length];
+            for (int i = 0; i < watch.length; i++) {
+                watchThresholds[feature][i] = (int) (watch[i] >>> Integer.SIZE);
+                watchRules[feature][i] = (int) watch[i];
+            }
+        }
+    }
+
+    /**
+     * Compiles parsed rules into watch lists.
+     *
+     * @param rules          The rules, from {@link #parseRule(String, String, int)}.
+     * @param toppingIdLimit One past the highest topping number the rules may refer to.
+     * @return The compiled rules.
+     */
+    static DiscountRules compile(List<Rule> rules, int toppingIdLimit) {
+        return rules.isEmpty() ? NONE : new DiscountRules(rules, TOPPING + toppingIdLimit);
+    }
+
+    /**
+     * Parses one rule definition, e.g. {@code 2 sandwich.4 | free sandwich.4}.
+     *
+     * @param name           The rule's name.
+     * @param definition     Its requirements and reward.
+     * @param toppingIdLimit One past the highest topping number the rule may refer to.
+     * @return The parsed rule.
+     * @throws IllegalArgumentException If the definition is malformed; the message names the rule.
+     */
+    static Rule parseRule(String name, String definition, int toppingIdLimit) {
+        int featureCount = TOPPING + toppingIdLimit;
+        String[] parts = definition.split("\\|");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Discount '" + name + "' must be 'requirements | reward'.");
+        }
+
+        String[] requirements = parts[0].split("\\+");
+        int[] features = new int[requirements.length];
+        int[] minimums = new int[requirements.length];
+        for (int i = 0; i < requirements.length; i++) {
+            String[] words = requirements[i].strip().split("\\s+");
+            if (words.length > 2 || words[0].isEmpty()) {
+                throw new IllegalArgumentException("Discount '" + name + "' has a malformed requirement '" + requirements[i].strip() + "'.");
+            }
+            minimums[i] = words.length == 2 ? positive(name, words[0]) : 1;
+            features[i] = feature(name, words[words.length - 1], featureCount);
+        }
+
+        String reward = parts[1].strip();
+        if (reward.startsWith("free ")) {
+            return new Rule(name, features, minimums, Reward.FREE_ITEM, 0, feature(name, reward.substring("free ".length()).strip(), featureCount));
+        }
+        if (reward.endsWith("% off")) {
+            long percent = positive(name, reward.substring(0, reward.length() - "% off".length()).strip());
+            if (percent > 100) {
+                throw new IllegalArgumentException("Discount '" + name + "' cannot take more than 100% off.");
+            }
+            return new Rule(name, features, minimums, Reward.PERCENT_OFF, percent, -1);
+        }
+        if (reward.endsWith(" off")) {
+            return new Rule(name, features, minimums, Reward.AMOUNT_OFF, positive(name, reward.substring(0, reward.length() - " off".length()).strip()), -1);
+        }
+        throw new IllegalArgumentException("Discount '" + name + "' needs a reward like '150 off', '10% off' or 'free sandwich.4'.");
+    }
+
+    /**
+     * Resolves a feature name to its slot.
+     */
+    private static int feature(String rule, String name, int featureCount) {
+        int dot = name.indexOf('.');
+        String kind = dot < 0 ? name : name.substring(0, dot);
+        String detail = dot < 0 ? null : name.substring(dot + 1);
+        int slot = -1;
+        switch (kind) {
+            case "sandwich" -> {
+                if (detail == null) {
+                    slot = SANDWICH;
+                } else if (Bread.SIZES.contains(detail)) {
+                    slot = SANDWICH_SIZE + Bread.SIZES.indexOf(detail);
+                } else if (Bread.BREAD_TYPES.contains(detail)) {
+                    slot = SANDWICH_BREAD + Bread.BREAD_TYPES.indexOf(detail);
+                }
+            }
+            case "drink" -> {
+                if (detail == null) {
+                    slot = DRINK;
+                } else if (Drink.SIZES.contains(detail)) {
+                    slot = DRINK_SIZE + Drink.SIZES.indexOf(detail);
+                }
+            }
+            case "chips" -> slot = detail == null ? CHIPS : -1;
+            case "loyalty" -> slot = detail == null ? LOYALTY : -1;
+            case "topping" -> {
+                try {
+                    int id = detail == null ? 0 : Integer.parseInt(detail);
+                    slot = id > 0 && TOPPING + id < featureCount ? TOPPING + id : -1;
+                } catch (NumberFormatException e) {
+                    slot = -1;
+                }
+            }
+            default -> {
+            }
+        }
+        if (slot < 0) {
+            throw new IllegalArgumentException("Discount '" + rule + "' refers to unknown '" + name + "'.");
+        }
+        return slot;
+    }
+
+    private static int positive(String rule, String number) {
+        try {
+            int value = Integer.parseInt(number);
+            if (value > 0) {
+                return value;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below.
+        }
+        throw new IllegalArgumentException("Discount '" + rule + "' needs a positive number instead of '" + number + "'.");
+    }
+
+    //          === Features of items ===
+    /**
+     * Returns whether an item has a feature; used to find the items a {@link Reward#FREE_ITEM} rule gives away.
+     */
+    static boolean hasFeature(MenuItem item, int feature) {
+        if (item instanceof Sandwich sandwich) {
+            return feature == SANDWICH
+                    || feature == SANDWICH_SIZE + sandwich.getSizeIndex()
+                    || feature == SANDWICH_BREAD + sandwich.getBreadTypeIndex()
+                    || feature > TOPPING && sandwich.getRegularCount(feature - TOPPING) + sandwich.getExtraCount(feature - TOPPING) > 0;
+        }
+        if (item instanceof Drink drink) {
+            return feature == DRINK || feature == DRINK_SIZE + drink.getSizeIndex();
+        }
+        return item instanceof Chips && feature == CHIPS;
+    }
+
+    //          === Accessors ===
+    boolean isEmpty() {
+        return rules.isEmpty();
+    }
+
+    int size() {
+        return rules.size();
+    }
+
+    Rule rule(int index) {
+        return rules.get(index);
+    }
+
+    int featureCount() {
+        return featureCount;
+    }
+
+    int[] watchThresholds(int feature) {
+        return watchThresholds[feature];
+    }
+
+    int[] watchRules(int feature) {
+        return watchRules[feature];
+    }
+
+    /**
+     * Returns whether any rule needs to know if the customer is a loyalty member.
+     */
+    public boolean usesLoyalty() {
+        return watchRules[LOYALTY].length > 0;
+    }
+}
@@ -1,37 +1,49 @@
 package com.pluralsight;
 
+import java.util.List;
+
 public class Drink extends MenuItem{
     //          === Constant Variables ===
     public static final String SMALL_SIZE = "Small";
     public static final String MEDIUM_SIZE = "Medium";
     public static final String LARGE_SIZE = "Large";
 
+    /** The standardized sizes; a drink's size ordinal indexes this list. */
+    public static final List<String> SIZES = List.of(SMALL_SIZE, MEDIUM_SIZE, LARGE_SIZE);
+    private static final int MEDIUM_INDEX = 1;
+
     //          === Instance Variables ===
     private String size;
+    private int sizeIndex;
     private String flavor;
+    private final Catalog catalog;
 
     //          === Constructor ===
 
     /**
      * Constructs a new Drink with a specified size and flavor.
-     * The input size is normalized. If the normalized size is invalid,
-     * it defaults to MEDIUM_SIZE and a message is printed to the console.
+     * The input size is normalized. If the size is not recognized it defaults to MEDIUM_SIZE;
+     * callers that want to tell the customer can check the input with {@link #parseSize(CharSequence)} first.
      * The name of the drink is set based on its flavor and size.
      *
      * @param size The desired size of the drink.
      * @param flavor The flavor of the drink.
      */
     public Drink(String size, String flavor) {
+        this(Catalog.current(), size, flavor);
+    }
+
+    /**
+     * Constructs a drink priced with, and parsing its size by, the given catalog.
+     */
+    public Drink(Catalog catalog, String size, String flavor) {
         super(flavor);
+        this.catalog = catalog;
         this.flavor = flavor;
-        String normalizedSize = normalizeSize(size);
+        int parsedSize = catalog.parseDrinkSize(size);
 
-        if (isValidSize(normalizedSize)) {
-            this.size = normalizedSize;
-        }else {
-            this.size = MEDIUM_SIZE;
-            System.out.println("Invalid size: " + size + "\n. Applying default size (Medium).");
-        }
+        this.sizeIndex = parsedSize != AliasTrie.NO_MATCH ? parsedSize : MEDIUM_INDEX;
+        this.size = SIZES.get(sizeIndex);
 
         this.setName(this.flavor + " " + this.size);
     }
@@ -40,17 +52,38 @@ public class Drink extends MenuItem{
         return size;
     }
 
+    /**
+     * Returns the size as an ordinal into {@link #SIZES}.
+     */
+    public int getSizeIndex() {
+        return sizeIndex;
+    }
+
     public void setSize(String size) {
-        String normalizedSize = normalizeSize(size);
+        int parsedSize = catalog.parseDrinkSize(size);
 
-        if (isValidSize(normalizedSize)) {
-            this.size = normalizedSize;
+        if (parsedSize != AliasTrie.NO_MATCH) {
+            long oldPrice = getPriceCents();
+            int oldSize = sizeIndex;
+            this.sizeIndex = parsedSize;
+            this.size = SIZES.get(parsedSize);
             this.setName(this.flavor + " " + this.size);
+            if (oldSize != parsedSize) {
+                drinkSizeChanged(oldSize, parsedSize);
+            }
+            priceChanged(getPriceCents() - oldPrice);
         }else {
             throw new IllegalArgumentException("Invalid size: '" + size + "'. Valid sizes are 'Small', 'Medium', 'Large'");
         }
     }
 
+    /**
+     * Returns the catalog this drink was created with and is priced by.
+     */
+    public Catalog getCatalog() {
+        return catalog;
+    }
+
     public String getFlavor() {
         return flavor;
     }
@@ -58,57 +91,34 @@ public class Drink extends MenuItem{
     public void setFlavor(String flavor) {
         this.flavor = flavor;
         this.setName(this.flavor + " " + this.size);
+        contentChanged();
     }
 
 //          === Methods ===
 
     /**
-     * Normalizes a raw size string to its standardized form (Small, Medium, or Large).
-     * Handles various common abbreviations and case variations.
+     * Normalizes a raw size string to its ordinal in {@link #SIZES} (Small, Medium, or Large).
+     * Handles various common abbreviations and case variations without allocating.
      *
-     * @param size The raw size string input.
-     * @return The normalized size string, or the original input if not recognized as a standard variation.
-     * Returns an empty string if the input is null.
+     * @param size The raw size input; may be {@code null}.
+     * @return The size ordinal, or {@link AliasTrie#NO_MATCH} if the input is not a recognized size.
      */
-    private String normalizeSize (String size) {
-        if (size == null) {
-            return "";
-        }
-
-        String trimmedSize = size.trim().toLowerCase();
-
-        switch (trimmedSize) {
-            case "s", "sm", "sma", "smal", "small" -> {return SMALL_SIZE;}
-            case "m", "med", "medi", "medium", "mid" -> {return MEDIUM_SIZE;}
-            case "l", "lg", "lar", "larg", "large" -> {return LARGE_SIZE;}
-            default -> {return size;}
-        }
+    public static int parseSize(CharSequence size) {
+        return Catalog.current().parseDrinkSize(size);
     }
 
     /**
-     * Checks if a given size string is one of the valid, standardized sizes.
+     * Calculates the price of the drink based on its current size.
      *
-     * @param size The size string to validate (should be pre-normalized).
-     * @return {@code true} if the size is valid (Small, Medium, or Large), {@code false} otherwise.
+     * @return The price of the drink in cents.
      */
-    private boolean isValidSize(String size){
-        return size.trim().equalsIgnoreCase(SMALL_SIZE) ||
-                size.trim().equalsIgnoreCase(MEDIUM_SIZE) ||
-                size.trim().equalsIgnoreCase(LARGE_SIZE);
+    @Override
+    public long getPriceCents() {
+        return catalog.drinkPrice(sizeIndex);
     }
 
-    /**
-     * Calculates the price of the drink based on its current size.
-     *
-     * @return The price of the drink. Defaults to the medium price if the size is somehow unrecognized.
-     */
     @Override
-    public double getPrice() {
-        switch (this.size) {
-            case SMALL_SIZE -> {return 2.00;}
-            case MEDIUM_SIZE -> {return 2.50;}
-            case LARGE_SIZE -> {return 3.00;}
-            default -> {return 2.50;}
-        }
+    LineItem.Key contentKey() {
+        return new LineItem.Key(Drink.class, name, catalog, sizeIndex);
     }
 }
@@ -1,28 +1,41 @@
 package com.pluralsight;
 
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * The main entry point and control hub for the DELI-cious application.
  * This class manages the overall application flow, displays the main menu,
  * and orchestrates navigation between different screens (Order, Checkout, Sandwich Builder).
- * It holds the single {@link Order} object for the current customer session.
+ * It holds the single {@link Order} object for the current customer session, and leaves
+ * every ordering rule to the shared {@link OrderService}.
  */
 public class HomeScreen {
     //          === Instance Variables ===
 
     private Console console;
+    private PrintStream out;
+    private OrderService orderService;
     private OrderScreen orderScreen;
     private SandwichBuilderScreen sandwichBuilderScreen;
     private CheckoutScreen checkoutScreen;
     private Order currentOrder;
 
     public HomeScreen() {
-        this.console = new Console();
-        this.currentOrder = new Order();
-        this.sandwichBuilderScreen = new SandwichBuilderScreen(console);
-        this.checkoutScreen = new CheckoutScreen(console);
-        this.orderScreen = new OrderScreen(console, currentOrder, sandwichBuilderScreen, checkoutScreen);
+        this(new Console(), new OrderService());
+    }
+
+    public HomeScreen(Console console, OrderService orderService) {
+        this.console = console;
+        this.out = console.out();
+        this.orderService = orderService;
+        this.currentOrder = orderService.createOrder();
+        this.sandwichBuilderScreen = new SandwichBuilderScreen(console, orderService);
+        this.checkoutScreen = new CheckoutScreen(console, orderService);
+        this.orderScreen = new OrderScreen(console, orderService, currentOrder, sandwichBuilderScreen, checkoutScreen);
     }
 
     /**
@@ -33,31 +46,38 @@ public class HomeScreen {
     public void display() {
         int choice;
         do {
-            System.out.println("\n=== DELI-cious Home Screen ===" +
+            if (!orderService.isAcceptingOrders()) {
+                out.println("\nThe kitchen is very busy right now, so checkout is paused until it catches up.");
+            }
+            out.println("\n=== DELI-cious Home Screen ===" +
                     "\n1) New Order (Custom Sandwich)" +
                     "\n2) Pick Signature Sandwich" +
+                    "\n3) Find a Receipt" +
                     "\n0) Exit");
 
             choice = console.promptForInt("Enter your choice: ");
 
             switch (choice) {
                 case 1:
-                    currentOrder.clearOrder();
-                    System.out.println("\n--- Starting New Custom Order ---");
+                    orderService.cancel(currentOrder);
+                    out.println("\n--- Starting New Custom Order ---");
                     orderScreen.displayOrderScreen();
                     break;
                 case 2:
                     handlePickSignatureSandwich();
-                    if (!currentOrder.getOrderItems().isEmpty()) {
-                        System.out.println("\n--- Proceeding to Order Screen ---");
+                    if (!currentOrder.isEmpty()) {
+                        out.println("\n--- Proceeding to Order Screen ---");
                         orderScreen.displayOrderScreen();
                     }
                     break;
+                case 3:
+                    handleFindReceipt();
+                    break;
                 case 0:
-                    System.out.println("Thanks for coming to the sandwich shop. Have a DELI-cious day!");
+                    out.println("Thanks for coming to the sandwich shop. Have a DELI-cious day!");
                     break;
                 default:
-                    System.out.println("Invalid option. Please try again.");
+                    out.println("Invalid option. Please try again.");
             }
         }while (choice != 0);
     }
@@ -69,63 +89,55 @@ public class HomeScreen {
      * If a signature sandwich is added, the user is then taken to the {@link OrderScreen}.
      */
     private void handlePickSignatureSandwich() {
-        Map<Integer, Sandwich> signatureSandwiches = DeliMenu.getSignatureSandwiches();
+        Map<Integer, Sandwich> signatureSandwiches = orderService.getSignatureSandwiches();
 
         if (signatureSandwiches.isEmpty()) {
-            System.out.println("Sorry we currently don't have any signature sandwiches at this time :(.");
+            out.println("Sorry we currently don't have any signature sandwiches at this time :(.");
             return;
         }
 
-        System.out.println("\n--- Pick a Signature Sandwich ---");
+        out.println("\n--- Pick a Signature Sandwich ---");
         signatureSandwiches.forEach((key, sandwich) ->
-                System.out.printf("%d) %s ($%.2f)%n", key, sandwich.getName(), sandwich.getPrice()));
-        System.out.println("0) Back to Home Screen");
+                out.printf("%d) %s ($%s)%s%n", key, sandwich.getName(), Money.format(sandwich.getPriceCents()),
+                        orderService.isAvailable(sandwich) ? "" : " - sold out"));
+        out.println("0) Back to Home Screen");
 
         int selection = console.promptForInt("Enter the number of the signature sandwich you want: ");
 
         if (selection == 0) {
-            System.out.println("No signature sandwich added.");
+            out.println("No signature sandwich added.");
             return;
         }
 
-        Sandwich selectedSignature = signatureSandwiches.get(selection);
-
-        if (selectedSignature != null) {
-            if (currentOrder.getOrderItems().isEmpty()) {
-                currentOrder.clearOrder();
+        if (signatureSandwiches.containsKey(selection)) {
+            try {
+                Sandwich signatureToAdd = orderService.addSignatureSandwich(currentOrder, selection);
+                out.printf("'%s' Added to your order!", signatureToAdd.getName());
+            } catch (IllegalArgumentException e) {
+                out.println(e.getMessage());
             }
-
-            Sandwich signatureToAdd = createSandwichCopy(selectedSignature);
-
-            currentOrder.addItem(signatureToAdd);
-            System.out.printf("'%s' Added to your order!", signatureToAdd.getName());
         }
     }
 
     /**
-     * Creates a copy of a {@link Sandwich} object.
-     * This method is crucial when adding a signature sandwich from {@link DeliMenu} to an order.
-     * It ensures that any modifications made by the user to their sandwich in the order
-     * do not affect the original signature sandwich in {@link DeliMenu}.
-     * <p>
-     * The method creates a new generic {@code Sandwich} instance and copies all relevant attributes
-     * (size, bread type, name, toasted status, and individual toppings) from the original
-     * {@code Sandwich} object. The returned copy will have the same functional properties
-     * but will be a distinct object of type {@code Sandwich}).
-     * </p>
-     *
-     * @param original The original {@code Sandwich} object to copy.
-     * @return A new {@code Sandwich} instance with identical properties to the original,
-     * but independent of the original template.
+     * Looks up a past order's receipt by the order number printed on it, for a reprint or refund,
+     * using the shared {@link ReceiptIndex}.
      */
-    private Sandwich createSandwichCopy(Sandwich original) {
-        Sandwich copy = new Sandwich(original.getSize(), original.getBreadType());
-        copy.setName(original.getName());
-        copy.setToasted(original.isToasted());
-
-        for (int i = 0; i < original.getToppings().size(); i++) {
-            copy.addTopping(original.getToppings().get(i), original.getToppingExtraStatuses().get(i));
+    private void handleFindReceipt() {
+        String orderNumber = console.promptForString("Enter the order number from the receipt: ").trim();
+        try {
+            ReceiptIndex index = ReceiptIndex.getDefault();
+            Optional<ReceiptIndex.Entry> entry = index.findOrder(orderNumber);
+            if (entry.isEmpty()) {
+                out.println("No receipt found for order #" + orderNumber + ".");
+                return;
+            }
+            out.println();
+            out.print(index.receiptText(entry.get()));
+        } catch (IllegalArgumentException e) {
+            out.println(e.getMessage());
+        } catch (IOException | UncheckedIOException e) {
+            out.println("Error reading receipt: " + e.getMessage());
         }
-        return copy;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,251 @@
+package com.pluralsight;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tracks how much of every ingredient is left, and takes items off the menu when they run low.
+ * <p>
+ * Stock is kept in units:
+ * </p>
+ * <ul>
+ * <li>toppings in portions for a 4" sandwich, so a portion on an 8" sandwich uses 2 units and on a 12" uses 3.
+ * A topping ordered extra is charged as a regular portion plus an extra one, so it uses two portions;</li>
+ * <li>bread in 4" lengths per bread type, so a 12" sandwich uses 3;</li>
+ * <li>drinks in cups per size, and chips in bags.</li>
+ * </ul>
+ * Checkout only adds to a {@link LongAdder} per item, which spreads concurrent terminals over separate cells
+ * instead of contending on one lock or one counter. What is left is the stocked amount minus the adder's sum.
+ * After taking stock, checkout compares what is left with the item's low-stock threshold. At or below the
+ * threshold the item is marked unavailable, and the menu reads that as a single flag.
+ * <p>
+ * Availability is checked when an item is added to an order. An order that was already built is still
+ * checked out if stock runs low in the meantime; the low-stock threshold is the buffer for that.
+ * Items start out untracked (effectively unlimited) until {@link #setStock} gives them a real level.
+ * </p>
+ */
+public class Inventory {
+    //          === Constant Variables ===
+    /** The stock of an item nobody has counted yet: more than any shop could sell. */
+    public static final long UNTRACKED = Long.MAX_VALUE / 4;
+
+    private static Inventory defaultInventory;
+
+    //          === Instance Variables ===
+    private final int toppingSlots;
+    private final int breadSlot;
+    private final int drinkSlot;
+    private final int chipsSlot;
+
+    private final LongAdder[] consumed;
+    private final AtomicLongArray stocked;
+    private final AtomicLongArray lowStock;
+    /** One bit per item, set while the item is unavailable. */
+    private final AtomicLongArray unavailable;
+
+    //          === Constructor ===
+    /**
+     * Creates an inventory for the current catalog with every item untracked.
+     */
+    public Inventory() {
+        this.toppingSlots = Topping.getIdLimit();
+        this.breadSlot = toppingSlots;
+        this.drinkSlot = breadSlot + Bread.BREAD_TYPES.size();
+        this.chipsSlot = drinkSlot + Drink.SIZES.size();
+        int slots = chipsSlot + 1;
+
+        this.consumed = new LongAdder[slots];
+        this.stocked = new AtomicLongArray(slots);
+        this.lowStock = new AtomicLongArray(slots);
+        this.unavailable = new AtomicLongArray((slots + Long.SIZE - 1) / Long.SIZE);
+        for (int slot = 0; slot < slots; slot++) {
+            consumed[slot] = new LongAdder();
+            stocked.set(slot, UNTRACKED);
+        }
+    }
+
+    /**
+     * Returns the inventory shared by the application. Everything starts out untracked.
+     *
+     * @return The shared inventory.
+     */
+    public static synchronized Inventory getDefault() {
+        if (defaultInventory == null) {
+            defaultInventory = new Inventory();
+        }
+        return defaultInventory;
+    }
+
+    //          === Availability ===
+    /**
+     * Returns whether a topping can be added to sandwiches. Toppings that are not on the menu never are.
+     * Toppings added to the catalog after this inventory was created are not tracked and always available.
+     */
+    public boolean isAvailable(Topping topping) {
+        int id = topping.getId();
+        return id > 0 && (id >= toppingSlots || isAvailable(id));
+    }
+
+    /**
+     * Returns whether a bread type, as an index into {@link Bread#BREAD_TYPES}, is in stock.
+     */
+    public boolean isBreadAvailable(int breadTypeIndex) {
+        return isAvailable(breadSlot + breadTypeIndex);
+    }
+
+    /**
+     * Returns whether cups of a drink size, as an index into {@link Drink#SIZES}, are in stock.
+     */
+    public boolean isDrinkAvailable(int sizeIndex) {
+        return isAvailable(drinkSlot + sizeIndex);
+    }
+
+    public boolean isChipsAvailable() {
+        return isAvailable(chipsSlot);
+    }
+
+    /**
+     * Returns whether everything a sandwich is made of is in stock.
+     */
+    public boolean isAvailable(Sandwich sandwich) {
+        if (!isBreadAvailable(sandwich.getBreadTypeIndex())) {
+            return false;
+        }
+        int limit = Math.min(sandwich.getToppingIdLimit(), toppingSlots);
+        for (int id = 1; id < limit; id++) {
+            if (sandwich.getRegularCount(id) + sandwich.getExtraCount(id) > 0 && !isAvailable(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isAvailable(int slot) {
+        return (unavailable.get(slot / Long.SIZE) & (1L << slot)) == 0;
+    }
+
+    //          === Stock levels ===
+    /**
+     * Sets how many units of a topping are on hand and at what level it comes off the menu.
+     */
+    public void setToppingStock(Topping topping, long units, long lowStockThreshold) {
+        if (topping.getId() <= 0 || topping.getId() >= toppingSlots) {
+            throw new IllegalArgumentException(topping.getName() + " is not on the menu.");
+        }
+        setStock(topping.getId(), units, lowStockThreshold);
+    }
+
+    public void setBreadStock(int breadTypeIndex, long units, long lowStockThreshold) {
+        setStock(breadSlot + checkIndex(breadTypeIndex, Bread.BREAD_TYPES.size()), units, lowStockThreshold);
+    }
+
+    public void setDrinkStock(int sizeIndex, long cups, long lowStockThreshold) {
+        setStock(drinkSlot + checkIndex(sizeIndex, Drink.SIZES.size()), cups, lowStockThreshold);
+    }
+
+    public void setChipsStock(long bags, long lowStockThreshold) {
+        setStock(chipsSlot, bags, lowStockThreshold);
+    }
+
+    /**
+     * Returns the topping units left; negative if more was sold than was stocked.
+     */
+    public long getToppingStock(Topping topping) {
+        return remaining(topping.getId());
+    }
+
+    public long getBreadStock(int breadTypeIndex) {
+        return remaining(breadSlot + breadTypeIndex);
+    }
+
+    public long getDrinkStock(int sizeIndex) {
+        return remaining(drinkSlot + sizeIndex);
+    }
+
+    public long getChipsStock() {
+        return remaining(chipsSlot);
+    }
+
+    /**
+     * Sets an item's level so that {@code units} are left right now, counting what was already sold.
+     */
+    private void setStock(int slot, long units, long lowStockThreshold) {
+        if (units < 0 || lowStockThreshold < 0) {
+            throw new IllegalArgumentException("Stock levels cannot be negative: " + units + ", " + lowStockThreshold);
+        }
+        lowStock.set(slot, lowStockThreshold);
+        stocked.set(slot, units + consumed[slot].sum());
+        refresh(slot);
+    }
+
+    private long remaining(int slot) {
+        return stocked.get(slot) - consumed[slot].sum();
+    }
+
+    private static int checkIndex(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IllegalArgumentException("Index out of range: " + index);
+        }
+        return index;
+    }
+
+    //          === Consumption ===
+    /**
+     * Takes everything in a paid order out of stock.
+     *
+     * @param order The order being checked out.
+     */
+    public void consume(Order order) {
+        for (LineItem line : order.getLineItems()) {
+            MenuItem item = line.getItem();
+            int quantity = line.getQuantity();
+            if (item instanceof Sandwich sandwich) {
+                consume(sandwich, quantity);
+            } else if (item instanceof Drink drink) {
+                take(drinkSlot + drink.getSizeIndex(), quantity);
+            } else if (item instanceof Chips) {
+                take(chipsSlot, quantity);
+            }
+        }
+    }
+
+    private void consume(Sandwich sandwich, int quantity) {
+        long unitsPerPortion = (long) (sandwich.getSizeIndex() + 1) * quantity;
+        take(breadSlot + sandwich.getBreadTypeIndex(), unitsPerPortion);
+
+        int limit = Math.min(sandwich.getToppingIdLimit(), toppingSlots);
+        for (int id = 1; id < limit; id++) {
+            int portions = sandwich.getRegularCount(id) + 2 * sandwich.getExtraCount(id);
+            if (portions > 0) {
+                take(id, portions * unitsPerPortion);
+            }
+        }
+    }
+
+    private void take(int slot, long units) {
+        consumed[slot].add(units);
+        refresh(slot);
+    }
+
+    /**
+     * Marks an item unavailable at or below its low-stock threshold, and available again above it.
+     * A restock and a sale can race here, each deciding from the level it read, so after flipping the bit
+     * the level is read again and the decision repeated until it holds; whoever flips the bit last has seen
+     * every change made before that.
+     */
+    private void refresh(int slot) {
+        int word = slot / Long.SIZE;
+        long bit = 1L << slot;
+        boolean low;
+        do {
+            low = remaining(slot) <= lowStock.get(slot);
+            if (low != ((unavailable.get(word) & bit) != 0)) {
+                if (low) {
+                    unavailable.getAndUpdate(word, bits -> bits | bit);
+                } else {
+                    unavailable.getAndUpdate(word, bits -> bits & ~bit);
+                }
+            }
+        } while (low != (remaining(slot) <= lowStock.get(slot)));
+    }
+}
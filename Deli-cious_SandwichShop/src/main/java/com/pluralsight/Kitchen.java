@@ -0,0 +1,304 @@
+package com.pluralsight;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Hands paid orders to the kitchen.
+ * <p>
+ * Checkout publishes a {@link KitchenTicket} into a bounded {@link RingBuffer}, and a fixed number of
+ * prep-station threads take tickets off it and pass each one to the station's work. The queue never grows
+ * past its capacity, and the kitchen pushes back when it falls behind in two ways:
+ * </p>
+ * <ul>
+ * <li>Every ticket gets a wait-time quote based on how many tickets are ahead of it,
+ * so customers hear a longer wait as the queue fills up.</li>
+ * <li>Once the queue holds {@code throttleDepth} tickets, {@link #isAcceptingOrders()} turns {@code false}
+ * and checkout turns new orders away until the kitchen catches up. A throttle depth of 0 never refuses orders.</li>
+ * </ul>
+ * If the queue is completely full, {@link #publish(KitchenTicket)} waits for a free slot instead of growing it.
+ * Checkout {@link #reserve() reserves} the slot before it records the sale and
+ * {@link #publishReserved(KitchenTicket) publishes} into it afterwards, which cannot fail, so a recorded sale
+ * always reaches the kitchen.
+ * Neither side busy-waits for long: idle stations and blocked publishers spin briefly, then park until the
+ * other side wakes them, so an idle kitchen uses no CPU.
+ */
+public class Kitchen implements AutoCloseable {
+    //          === Constant Variables ===
+    private static final int SPINS_BEFORE_PARKING = 100;
+
+    private static Kitchen defaultKitchen;
+
+    //          === Instance Variables ===
+    private final RingBuffer<KitchenTicket> tickets;
+    private final int throttleDepth;
+    private final Duration prepTimePerTicket;
+    private final Consumer<KitchenTicket> prepWork;
+    private final List<Thread> stations = new ArrayList<>();
+    private final LongAdder ticketsPrepared = new LongAdder();
+    /** Stations parked on an empty queue; {@link #publish(KitchenTicket)} wakes one per ticket. */
+    private final Queue<Thread> idleStations = new ConcurrentLinkedQueue<>();
+    /** Publishers parked on a full queue; a station wakes one per ticket it takes. */
+    private final Queue<Thread> blockedPublishers = new ConcurrentLinkedQueue<>();
+    /** Queue slots neither holding a ticket nor reserved for one. */
+    private final AtomicInteger freeSlots;
+    /** Slots reserved but not published yet; the stations keep going until these are in. */
+    private final AtomicInteger unpublished = new AtomicInteger();
+    private volatile boolean closed;
+
+    //          === Constructor ===
+    private Kitchen(int capacity, int throttleDepth, Duration prepTimePerTicket, Consumer<KitchenTicket> prepWork) {
+        this.tickets = new RingBuffer<>(capacity);
+        this.freeSlots = new AtomicInteger(tickets.capacity());
+        this.throttleDepth = throttleDepth;
+        this.prepTimePerTicket = prepTimePerTicket;
+        this.prepWork = prepWork;
+    }
+
+    /**
+     * Creates a kitchen and starts its prep stations.
+     *
+     * @param capacity          How many tickets may wait at once; rounded up to a power of two.
+     * @param stationCount      How many prep stations drain the queue in parallel.
+     * @param throttleDepth     The queue depth at which new orders are turned away; 0 to never turn orders away.
+     * @param prepTimePerTicket How long one station takes for one ticket, used for wait-time quotes.
+     * @param prepWork          What a station does with a ticket. It runs on the station's thread.
+     * @return The running kitchen.
+     * @throws IllegalArgumentException If the capacity or station count is not positive.
+     */
+    public static Kitchen start(int capacity, int stationCount, int throttleDepth, Duration prepTimePerTicket, Consumer<KitchenTicket> prepWork) {
+        if (stationCount <= 0) {
+            throw new IllegalArgumentException("A kitchen needs at least one prep station: " + stationCount);
+        }
+        Kitchen kitchen = new Kitchen(capacity, throttleDepth, prepTimePerTicket, prepWork);
+        for (int i = 1; i <= stationCount; i++) {
+            Thread station = new Thread(kitchen::runStation, "prep-station-" + i);
+            station.setDaemon(true);
+            kitchen.stations.add(station);
+            station.start();
+        }
+        return kitchen;
+    }
+
+    /**
+     * Returns the kitchen shared by the application. It is configured by these system properties:
+     * {@code deli.kitchen.capacity} (default 1024), {@code deli.kitchen.stations} (default 2),
+     * {@code deli.kitchen.throttleDepth} (default 0, never refuse orders) and
+     * {@code deli.kitchen.prepSeconds} (default 120). Its stations only count the tickets, unless
+     * {@code deli.kitchen.ovens} is {@code true}; then they hand them to {@link OvenScheduler#getDefault()},
+     * which plans the sandwiches around the ovens on threads of its own.
+     *
+     * @return The shared kitchen.
+     */
+    public static synchronized Kitchen getDefault() {
+        if (defaultKitchen == null) {
+            Consumer<KitchenTicket> prepWork = Boolean.getBoolean("deli.kitchen.ovens") ? OvenScheduler.getDefault() : ticket -> { };
+            defaultKitchen = Kitchen.start(
+                    Integer.getInteger("deli.kitchen.capacity", 1024),
+                    Integer.getInteger("deli.kitchen.stations", 2),
+                    Integer.getInteger("deli.kitchen.throttleDepth", 0),
+                    Duration.ofSeconds(Long.getLong("deli.kitchen.prepSeconds", 120)),
+                    prepWork);
+        }
+        return defaultKitchen;
+    }
+
+    //          === Methods ===
+    /**
+     * Returns whether checkout should take new orders right now, i.e. the queue is below the throttle depth.
+     */
+    public boolean isAcceptingOrders() {
+        return !closed && (throttleDepth <= 0 || tickets.size() < throttleDepth);
+    }
+
+    /**
+     * Quotes how long a ticket published now would take to be ready: the tickets ahead of it plus its own,
+     * shared across the stations, each taking the configured prep time.
+     *
+     * @return The quoted wait.
+     */
+    public Duration quoteWait() {
+        long rounds = (tickets.size() + stations.size()) / stations.size();
+        return prepTimePerTicket.multipliedBy(rounds);
+    }
+
+    /**
+     * Queues a ticket for the prep stations. If the queue is full this waits until a station frees a slot.
+     *
+     * @param ticket The ticket to prepare.
+     * @return The wait quoted to the customer when the ticket was queued.
+     * @throws IllegalStateException If the kitchen is closed, or the thread is interrupted while waiting.
+     */
+    public Duration publish(KitchenTicket ticket) {
+        reserve();
+        return publishReserved(ticket);
+    }
+
+    /**
+     * Holds a slot of the queue for a ticket that is published later with {@link #publishReserved(KitchenTicket)},
+     * or given back with {@link #cancelReservation()}. If the queue is full this waits until a station frees a slot.
+     *
+     * @throws IllegalStateException If the kitchen is closed, or the thread is interrupted while waiting.
+     */
+    public void reserve() {
+        // Counted before the closed check, so close() either turns this away or waits for the ticket.
+        unpublished.incrementAndGet();
+        for (int spins = 0; ; spins++) {
+            if (closed) {
+                unpublished.decrementAndGet();
+                throw new IllegalStateException("The kitchen is closed.");
+            }
+            int free = freeSlots.get();
+            if (free > 0) {
+                if (freeSlots.compareAndSet(free, free - 1)) {
+                    return;
+                }
+                continue;
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                unpublished.decrementAndGet();
+                throw new IllegalStateException("Interrupted while waiting for room in the kitchen queue.");
+            }
+            if (spins < SPINS_BEFORE_PARKING) {
+                Thread.onSpinWait();
+            } else {
+                await(blockedPublishers, () -> closed || freeSlots.get() > 0);
+            }
+        }
+    }
+
+    /**
+     * Queues a ticket into a slot held by {@link #reserve()}. It neither waits for room nor fails, even if the
+     * kitchen has started closing since; the stations prepare it before they stop.
+     *
+     * @param ticket The ticket to prepare.
+     * @return The wait quoted to the customer when the ticket was queued.
+     */
+    public Duration publishReserved(KitchenTicket ticket) {
+        Duration quote = quoteWait();
+        // The held slot guarantees room; an offer only fails while a station is still taking a ticket out.
+        while (!tickets.offer(ticket)) {
+            Thread.onSpinWait();
+        }
+        unpublished.decrementAndGet();
+        wakeOne(idleStations);
+        return quote;
+    }
+
+    /**
+     * Gives back a slot held by {@link #reserve()} without publishing a ticket, e.g. when the sale could not be recorded.
+     */
+    public void cancelReservation() {
+        freeSlots.incrementAndGet();
+        unpublished.decrementAndGet();
+        wakeOne(blockedPublishers);
+    }
+
+    /**
+     * Returns how many tickets are waiting for a station.
+     */
+    public int getQueueDepth() {
+        return tickets.size();
+    }
+
+    public int getCapacity() {
+        return tickets.capacity();
+    }
+
+    public int getStationCount() {
+        return stations.size();
+    }
+
+    /**
+     * Returns how many tickets the stations have finished.
+     */
+    public long getTicketsPrepared() {
+        return ticketsPrepared.sum();
+    }
+
+    /**
+     * Stops taking tickets and waits for the stations to finish the ones already queued or reserved.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (Thread station : stations) {
+            LockSupport.unpark(station);
+        }
+        for (Thread publisher : blockedPublishers) {
+            LockSupport.unpark(publisher);
+        }
+        for (Thread station : stations) {
+            try {
+                station.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    //          === Prep stations ===
+    private void runStation() {
+        int spins = 0;
+        while (true) {
+            KitchenTicket ticket = tickets.poll();
+            if (ticket == null) {
+                if (closed && unpublished.get() == 0 && tickets.isEmpty()) {
+                    return;
+                }
+                if (spins++ < SPINS_BEFORE_PARKING) {
+                    Thread.onSpinWait();
+                } else {
+                    await(idleStations, () -> closed || !tickets.isEmpty());
+                }
+                continue;
+            }
+            spins = 0;
+            freeSlots.incrementAndGet();
+            wakeOne(blockedPublishers);
+            try {
+                prepWork.accept(ticket);
+            } catch (RuntimeException e) {
+                System.err.println("Prep station failed on order " + ticket.orderId() + ": " + e.getMessage());
+            }
+            ticketsPrepared.increment();
+        }
+    }
+
+    /**
+     * Parks the calling thread in {@code waiters} until it is woken, unless {@code ready} already holds once it
+     * is listed there. Listing before checking means a wake-up between the check and the park is never lost:
+     * either the check sees the change, or whoever made it finds this thread in the queue. May return spuriously,
+     * so callers re-check in a loop.
+     */
+    private void await(Queue<Thread> waiters, BooleanSupplier ready) {
+        Thread current = Thread.currentThread();
+        waiters.add(current);
+        try {
+            if (!ready.getAsBoolean()) {
+                LockSupport.park(this);
+            }
+        } finally {
+            waiters.remove(current);
+        }
+    }
+
+    /**
+     * Wakes one thread parked in {@code waiters}, if any.
+     */
+    private static void wakeOne(Queue<Thread> waiters) {
+        Thread waiter = waiters.poll();
+        if (waiter != null) {
+            LockSupport.unpark(waiter);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.pluralsight;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * What the kitchen gets for a paid order: a snapshot of its items taken at checkout.
+ * <p>
+ * Sandwiches are frozen {@link Sandwich#copy() copies} and drinks are copied, so the ticket cannot change
+ * after it is published, even though the order itself is cleared and reused by the terminal. A line with a
+ * quantity appears once per unit, every unit sharing the same snapshot.
+ * </p>
+ *
+ * @param orderId     The number of the order.
+ * @param queuedNanos The {@link System#nanoTime()} at which the ticket was created, for measuring time in the queue.
+ * @param items       The items to prepare, in the order they were added.
+ */
+public record KitchenTicket(long orderId, long queuedNanos, List<MenuItem> items) {
+
+    /**
+     * Takes a snapshot of an order for the kitchen.
+     *
+     * @param order The order being checked out.
+     * @return A ticket that no longer depends on the order.
+     */
+    public static KitchenTicket of(Order order) {
+        List<MenuItem> items = new ArrayList<>(order.getItemCount());
+        for (LineItem line : order.getLineItems()) {
+            MenuItem item = line.getItem();
+            MenuItem snapshot = item;
+            if (item instanceof Sandwich sandwich) {
+                Sandwich frozen = sandwich.copy();
+                frozen.freeze();
+                snapshot = frozen;
+            } else if (item instanceof Drink drink) {
+                snapshot = new Drink(drink.getCatalog(), drink.getSize(), drink.getFlavor());
+            }
+            // Every unit of a line is made the same way, so they share one snapshot.
+            for (int i = 0; i < line.getQuantity(); i++) {
+                items.add(snapshot);
+            }
+        }
+        return new KitchenTicket(order.getOrderId(), System.nanoTime(), Collections.unmodifiableList(items));
+    }
+}
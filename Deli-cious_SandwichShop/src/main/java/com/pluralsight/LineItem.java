@@ -0,0 +1,94 @@
+package com.pluralsight;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * One line of an {@link Order}: an item and how many of it were ordered.
+ * <p>
+ * Identical items are collapsed into one line by their content (kind, name, catalog and, for a sandwich,
+ * its size, bread, toasting and topping counts), so a catering order of 300 identical sandwiches keeps one
+ * {@link Sandwich} and the number 300. The line's item stands for every unit: changing it, for example adding
+ * a topping, changes all of them, and the order's total moves by the price change times the quantity.
+ * </p>
+ */
+public final class LineItem {
+    //          === Instance Variables ===
+    private final Order order;
+    private final MenuItem item;
+    private int quantity;
+    /** The content key the order files this line under; kept up to date by the order as the item changes. */
+    Key key;
+
+    //          === Constructor ===
+    LineItem(Order order, MenuItem item, Key key) {
+        this.order = order;
+        this.item = item;
+        this.key = key;
+    }
+
+    //          === Getters ===
+    /**
+     * Returns the item every unit of this line is made like.
+     */
+    public MenuItem getItem() {
+        return item;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    /**
+     * Returns the price of one unit times the quantity.
+     *
+     * @return The line total in cents.
+     */
+    public long getPriceCents() {
+        return item.getPriceCents() * quantity;
+    }
+
+    Order getOrder() {
+        return order;
+    }
+
+    void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+
+    //          === Content keys ===
+    /**
+     * What makes two items interchangeable on an order. The content array holds whatever a kind of item
+     * needs beyond its name, e.g. a sandwich's size, bread, toasting and packed topping counts.
+     */
+    static final class Key {
+        private final Class<?> kind;
+        private final String name;
+        private final Catalog catalog;
+        private final long[] content;
+        private final int hash;
+
+        Key(Class<?> kind, String name, Catalog catalog, long... content) {
+            this.kind = kind;
+            this.name = name;
+            this.catalog = catalog;
+            this.content = content;
+            this.hash = Objects.hash(kind, name, System.identityHashCode(catalog)) * 31 + Arrays.hashCode(content);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key
+                    && hash == key.hash
+                    && kind == key.kind
+                    && catalog == key.catalog
+                    && Objects.equals(name, key.name)
+                    && Arrays.equals(content, key.content);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -1,8 +1,57 @@
 package com.pluralsight;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.concurrent.ForkJoinPool;
+
 public class Main {
-    public static void main(String[] args) {
+    /**
+     * Starts the console app, or with {@code --server [port]} the multi-terminal {@link OrderServer}.
+     * {@code --migrate-receipts} moves the old text receipts into the {@link OrderLog} and rebuilds the receipt index;
+     * {@code --report [yyyy-MM-dd]} prints the {@link SalesReport} of a day, today by default.
+     * With {@code -Ddeli.catalog=<file>} the menu is read from that file and reloaded whenever it is saved.
+     * The {@link ReceiptIndex} and {@link SalesCube} are opened first, so every checkout is indexed and counted as it happens.
+     */
+    public static void main(String[] args) throws Exception {
+        String catalogFile = System.getProperty("deli.catalog");
+        if (catalogFile != null) {
+            CatalogWatcher.start(Paths.get(catalogFile));
+        }
+
+        if (args.length > 0 && args[0].equals("--migrate-receipts")) {
+            migrateReceipts(Paths.get("Receipts"));
+            return;
+        }
+
+        if (args.length > 0 && args[0].equals("--report")) {
+            LocalDate day = args.length > 1 ? LocalDate.parse(args[1]) : LocalDate.now();
+            SalesReport.forDay(OrderLog.getDefault().getFolder(), day, Catalog.current(), ForkJoinPool.commonPool()).render(System.out);
+            return;
+        }
+
+        ReceiptIndex.getDefault();
+        SalesCube.getDefault();
+
+        if (args.length > 0 && args[0].equals("--server")) {
+            int port = args.length > 1 ? Integer.parseInt(args[1]) : OrderServer.DEFAULT_PORT;
+            try (OrderServer server = new OrderServer(port, new OrderService())) {
+                server.serve();
+            }
+            return;
+        }
+
         HomeScreen homeScreen = new HomeScreen();
         homeScreen.display();
     }
-}
\ No newline at end of file
+
+    private static void migrateReceipts(Path folder) throws Exception {
+        ReceiptMigration migration = new ReceiptMigration(folder, OrderLog.getDefault(), Catalog.current(), ForkJoinPool.commonPool());
+        ReceiptMigration.Report report = migration.migrate(System.out::println);
+        System.out.println("Done: " + report);
+        report.rejects().forEach(reject -> System.out.println("Not migrated: " + reject));
+        try (ReceiptIndex index = ReceiptIndex.rebuild(folder)) {
+            System.out.printf("Receipt index rebuilt with %,d receipts.%n", index.size());
+        }
+    }
+}
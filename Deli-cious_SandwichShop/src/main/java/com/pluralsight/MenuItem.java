@@ -3,6 +3,7 @@ package com.pluralsight;
 public abstract class MenuItem implements Priceable{
     //          === Instance Variables ===
     protected String name;
+    private LineItem line;
 
     //          === Constructor ===
     protected MenuItem(String name) {
@@ -18,8 +19,72 @@ public abstract class MenuItem implements Priceable{
         this.name = name;
     }
 
+    //          === Order tracking ===
+    /**
+     * Records the {@link LineItem} this item currently stands for, so changes can be pushed to the
+     * owning order's running total. Pass {@code null} when the item leaves the order.
+     */
+    void setLine(LineItem line) {
+        this.line = line;
+    }
+
+    /**
+     * Returns the order line this item stands for, or {@code null} if it is not on an order.
+     */
+    LineItem getLine() {
+        return line;
+    }
+
+    /**
+     * Returns the key that identical items share, so an {@link Order} can collapse them into one {@link LineItem}.
+     * Subclasses with state beyond their name add it here.
+     */
+    LineItem.Key contentKey() {
+        return new LineItem.Key(getClass(), name, null);
+    }
+
+    /**
+     * Notifies the owning {@link Order} (if any) that this item's price changed.
+     * Subclasses call this whenever a mutation changes the value returned by {@link #getPriceCents()}.
+     *
+     * @param delta The change in price in cents; negative when the item became cheaper.
+     */
+    protected void priceChanged(long delta) {
+        if (line != null) {
+            line.getOrder().itemChanged(line, delta);
+        }
+    }
+
+    /**
+     * Notifies the owning {@link Order} (if any) that this item changed in a way that does not affect its price,
+     * such as toasting a sandwich, so it is no longer filed with items it used to be identical to.
+     */
+    protected void contentChanged() {
+        priceChanged(0);
+    }
+
+    /**
+     * Notifies the owning {@link Order} (if any) that a sandwich gained its first portion of a topping
+     * ({@code +1}) or lost its last one ({@code -1}), so discount rules on toppings stay up to date.
+     */
+    protected void toppingPresenceChanged(int toppingId, int delta) {
+        if (line != null) {
+            line.getOrder().toppingPresenceChanged(line, toppingId, delta);
+        }
+    }
+
+    /**
+     * Notifies the owning {@link Order} (if any) that a drink moved from one size ordinal to another, so
+     * discount rules on drink sizes stay up to date.
+     */
+    protected void drinkSizeChanged(int oldSize, int newSize) {
+        if (line != null) {
+            line.getOrder().drinkSizeChanged(line, oldSize, newSize);
+        }
+    }
+
     @Override
     public String toString(){
-        return name + " -$" + String.format("%.2f", getPrice()) + "\n";
+        return name + " -$" + Money.format(getPriceCents()) + "\n";
     }
 }
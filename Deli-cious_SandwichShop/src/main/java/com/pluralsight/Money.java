@@ -0,0 +1,93 @@
+package com.pluralsight;
+
+import java.io.IOException;
+
+/**
+ * Helpers for working with money amounts stored as a {@code long} number of cents.
+ * <p>
+ * All prices in the shop are kept in whole cents so totals add up exactly, no matter
+ * how many items are on a ticket. This class converts cents for display and writes
+ * them out as {@code "12.50"} without going through {@link String#format}.
+ * </p>
+ */
+public final class Money {
+    //          === Constant Variables ===
+    public static final long CENTS_PER_DOLLAR = 100;
+
+    private Money() {
+    }
+
+    //          === Conversions ===
+    /**
+     * Converts whole dollars and cents into a cent amount, e.g. {@code cents(7, 50)} is 750.
+     */
+    public static long cents(long dollars, long cents) {
+        return dollars * CENTS_PER_DOLLAR + cents;
+    }
+
+    /**
+     * Converts a cent amount to dollars. Only meant for callers that still need a {@code double}.
+     */
+    public static double toDollars(long cents) {
+        return cents / (double) CENTS_PER_DOLLAR;
+    }
+
+    //          === Formatting ===
+    /**
+     * Formats a cent amount as dollars with two decimals, e.g. {@code 1050} becomes {@code "10.50"}.
+     *
+     * @param cents The amount in cents.
+     * @return The formatted amount, without a currency symbol.
+     */
+    public static String format(long cents) {
+        StringBuilder sb = new StringBuilder(12);
+        appendTo(sb, cents);
+        return sb.toString();
+    }
+
+    /**
+     * Appends a cent amount as dollars with two decimals to a {@link StringBuilder}.
+     * Only primitive appends are used, so nothing is allocated beyond the builder's own growth.
+     *
+     * @param sb    The builder to append to.
+     * @param cents The amount in cents.
+     * @return The same builder.
+     */
+    public static StringBuilder appendTo(StringBuilder sb, long cents) {
+        if (cents < 0) {
+            sb.append('-');
+            cents = -cents;
+        }
+        long fraction = cents % CENTS_PER_DOLLAR;
+        sb.append(cents / CENTS_PER_DOLLAR).append('.');
+        sb.append((char) ('0' + fraction / 10)).append((char) ('0' + fraction % 10));
+        return sb;
+    }
+
+    /**
+     * Appends a cent amount as dollars with two decimals to any {@link Appendable}, one character at a time.
+     *
+     * @param out   The destination.
+     * @param cents The amount in cents.
+     * @throws IOException If the destination fails to accept the characters.
+     */
+    public static void appendTo(Appendable out, long cents) throws IOException {
+        if (cents < 0) {
+            out.append('-');
+            cents = -cents;
+        }
+        long dollars = cents / CENTS_PER_DOLLAR;
+        long fraction = cents % CENTS_PER_DOLLAR;
+
+        long divisor = 1;
+        while (divisor <= dollars / 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            out.append((char) ('0' + (dollars / divisor) % 10));
+        }
+        out.append('.');
+        out.append((char) ('0' + fraction / 10));
+        out.append((char) ('0' + fraction % 10));
+    }
+}
@@ -1,109 +1,370 @@
 package com.pluralsight;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+/**
+ * A customer's order: its {@link LineItem lines}, running total, discounts and the catalog it is priced with.
+ * <p>
+ * Identical items are collapsed into one line with a quantity, found by content key in a hash map, so adding,
+ * removing or changing the quantity of an item is a constant-time update however big the order grows, and
+ * pricing and receipts walk the distinct lines rather than every unit.
+ * </p>
+ */
 public class Order {
     //          === Instance Variables ===
-    private List<MenuItem> orderItems;
+    /** The lines in the order they were first added. */
+    private final Set<LineItem> lines;
+    private final Map<LineItem.Key, LineItem> linesByKey;
+    private int itemCount;
+    private long totalCents;
+    private long orderId;
+    private final OrderIdGenerator idGenerator;
+    private Catalog catalog;
+    private OrderDiscounts discounts;
+    private boolean loyaltyMember;
 
     //          === Constructor ===
     public Order() {
-        this.orderItems = new ArrayList<>();
+        this(OrderIdGenerator.getDefault());
+    }
+
+    /**
+     * Creates an empty order numbered by the given generator.
+     *
+     * @param idGenerator The generator used for this order's number and for the next one after {@link #clearOrder()}.
+     */
+    public Order(OrderIdGenerator idGenerator) {
+        this.lines = new LinkedHashSet<>();
+        this.linesByKey = new HashMap<>();
+        this.idGenerator = idGenerator;
+        this.orderId = idGenerator.nextId();
+        useCatalog(Catalog.current());
     }
 
     //          === Methods ===
     /**
-     * Adds a {@link MenuItem} to this order.
+     * Adds one {@link MenuItem} to this order; see {@link #addItem(MenuItem, int)}.
      *
      * @param item The {@link MenuItem} to be added to the order. Must not be null.
      */
     public void addItem(MenuItem item) {
-        orderItems.add(item);
+        addItem(item, 1);
+    }
+
+    /**
+     * Adds a number of units of a {@link MenuItem} to this order and adds their price to the running total.
+     * <p>
+     * If the order already has a line of identical items, its quantity goes up and {@code item} itself is not
+     * kept. Otherwise {@code item} starts a new line and is linked to this order, so later changes to it (like
+     * adding a topping to a sandwich) apply to every unit of the line and keep the total up to date. Adding an
+     * item that already stands for a line of this order adds to that line.
+     * </p>
+     *
+     * @param item     The {@link MenuItem} to be added to the order. Must not be null.
+     * @param quantity How many to add.
+     * @return The line the units were added to.
+     * @throws IllegalArgumentException If the quantity is not positive.
+     */
+    public LineItem addItem(MenuItem item, int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be at least 1, not " + quantity + ".");
+        }
+        if (lines.isEmpty()) {
+            useCatalog(Catalog.current());
+        }
+
+        LineItem line = lineOf(item);
+        if (line == null) {
+            line = newLine(item);
+        }
+        changeQuantity(line, quantity);
+        return line;
     }
 
     /**
-     * Removes a specific {@link MenuItem} from this order.
-     * If the item is not found in the order, the order remains unchanged.
+     * Adds one unit of a {@link MenuItem} on a line of its own, even if the order already has identical items,
+     * and links {@code item} to it. Later changes to {@code item}, like the toppings of a sandwich that was put
+     * on the order before it was built, then apply to this unit alone and never to units ordered before it.
+     *
+     * @param item The {@link MenuItem} to be added to the order. Must not be null.
+     * @return The new line.
+     * @throws IllegalArgumentException If {@code item} already stands for a line of this order.
+     */
+    public LineItem addSeparateItem(MenuItem item) {
+        LineItem current = item.getLine();
+        if (current != null && current.getOrder() == this) {
+            throw new IllegalArgumentException(item.getName() + " is already on order #" + orderId + ".");
+        }
+        if (lines.isEmpty()) {
+            useCatalog(Catalog.current());
+        }
+
+        LineItem line = newLine(item);
+        changeQuantity(line, 1);
+        return line;
+    }
+
+    /**
+     * Starts an empty line for an item and links the item to it. The line is found by content only if no other
+     * line has the same content.
+     */
+    private LineItem newLine(MenuItem item) {
+        LineItem.Key key = item.contentKey();
+        LineItem line = new LineItem(this, item, key);
+        lines.add(line);
+        linesByKey.putIfAbsent(key, line);
+        item.setLine(line);
+        return line;
+    }
+
+    /**
+     * Removes one unit of a {@link MenuItem} from this order and subtracts its price from the running total.
+     * The unit is taken from the line {@code item} stands for, or else from a line of items identical to it.
+     * If neither is found, the order remains unchanged.
      *
      * @param item The {@link MenuItem} to be removed from the order.
      */
     public void removeItem(MenuItem item) {
-        orderItems.remove(item);
+        LineItem line = lineOf(item);
+        if (line != null) {
+            changeQuantity(line, -1);
+        }
+    }
+
+    /**
+     * Sets how many units a line of this order has; a quantity of zero removes the line.
+     *
+     * @param line     A line of this order, from {@link #getLineItems()}.
+     * @param quantity The new quantity.
+     * @throws IllegalArgumentException If the line is not on this order or the quantity is negative.
+     */
+    public void setQuantity(LineItem line, int quantity) {
+        if (line.getOrder() != this || !lines.contains(line)) {
+            throw new IllegalArgumentException("That line is not on order #" + orderId + ".");
+        }
+        if (quantity < 0) {
+            throw new IllegalArgumentException("Quantity cannot be negative: " + quantity);
+        }
+        changeQuantity(line, quantity - line.getQuantity());
+    }
+
+    /**
+     * Finds the line an item stands for, or else the line of items identical to it.
+     */
+    private LineItem lineOf(MenuItem item) {
+        LineItem line = item.getLine();
+        if (line != null && line.getOrder() == this) {
+            return line;
+        }
+        return linesByKey.get(item.contentKey());
+    }
+
+    /**
+     * Moves a line's quantity, keeping the total, item count and discount counts in step, and drops the line at zero.
+     */
+    private void changeQuantity(LineItem line, int delta) {
+        if (delta == 0) {
+            return;
+        }
+        MenuItem item = line.getItem();
+        line.setQuantity(line.getQuantity() + delta);
+        itemCount += delta;
+        totalCents += item.getPriceCents() * delta;
+        discounts.add(item, delta);
+
+        if (line.getQuantity() == 0) {
+            lines.remove(line);
+            linesByKey.remove(line.key, line);
+            item.setLine(null);
+        }
+    }
+
+    /**
+     * Returns what the customer pays: the {@link #getSubtotalCents() subtotal} minus any discounts.
+     * Without discount rules in the catalog this is a constant-time lookup; with them, the discounts are
+     * worked out from the active rules only after the order changed.
+     *
+     * @return The order total in cents.
+     */
+    public long getTotalPriceCents() {
+        return totalCents - discounts.discountCents(lines, totalCents);
+    }
+
+    /**
+     * Returns the sum of the prices of all {@link MenuItem}s currently in the order, before discounts.
+     * It is maintained as items are added, removed or changed, so this is a constant-time lookup.
+     *
+     * @return The subtotal in cents.
+     */
+    public long getSubtotalCents() {
+        return totalCents;
     }
 
     /**
-     * Calculates the total price of all {@link MenuItem}s currently in the order.
+     * Returns the discounts the order gets from the catalog's discount rules, largest first.
      *
-     * @return The sum of the prices of all items in the order as a double.
+     * @return An unmodifiable list; empty when no rule applies.
+     */
+    public List<AppliedDiscount> getAppliedDiscounts() {
+        return discounts.applied(lines, totalCents);
+    }
+
+    /**
+     * Returns the total discount in cents; never more than the subtotal.
+     */
+    public long getDiscountCents() {
+        return discounts.discountCents(lines, totalCents);
+    }
+
+    /**
+     * Records whether the customer showed a loyalty card, for rules that require {@code loyalty}.
+     * A cleared order starts without one.
+     */
+    public void setLoyaltyMember(boolean loyaltyMember) {
+        this.loyaltyMember = loyaltyMember;
+        discounts.setLoyaltyMember(loyaltyMember);
+    }
+
+    public boolean isLoyaltyMember() {
+        return loyaltyMember;
+    }
+
+    /**
+     * Returns the order total in dollars.
+     *
+     * @return What the customer pays, as {@link #getTotalPriceCents()}, as a double.
      */
     public double getTotalPrice() {
-        return orderItems.stream()
-                .mapToDouble(MenuItem::getPrice)
-                .sum();
+        return Money.toDollars(getTotalPriceCents());
     }
 
+    /**
+     * Removes every item and starts over as a new order with a fresh order number.
+     */
     public void clearOrder() {
-        this.orderItems.clear();
+        for (LineItem line : lines) {
+            line.getItem().setLine(null);
+        }
+        this.lines.clear();
+        this.linesByKey.clear();
+        this.itemCount = 0;
+        this.totalCents = 0;
+        this.orderId = idGenerator.nextId();
+        this.loyaltyMember = false;
+        this.discounts = null;
+        useCatalog(Catalog.current());
+    }
+
+    /**
+     * Returns the catalog this order is priced with. Items for the order are created with it. An empty order
+     * follows the current {@link Catalog}; from its first item on it keeps the catalog it had, so a menu change
+     * published while the customer is still ordering does not reprice what they are looking at.
+     */
+    public Catalog getCatalog() {
+        if (lines.isEmpty()) {
+            useCatalog(Catalog.current());
+        }
+        return catalog;
     }
 
     /**
-     * Returns an unmodifiable view of the list of {@link MenuItem}s in this order.
-     * This prevents direct modification of the order's item list from outside the class.
+     * Switches an empty order to a catalog, starting its discount tracking over under that catalog's rules.
+     */
+    private void useCatalog(Catalog latest) {
+        if (latest != catalog || discounts == null) {
+            catalog = latest;
+            discounts = new OrderDiscounts(latest.getDiscounts());
+            discounts.setLoyaltyMember(loyaltyMember);
+        }
+    }
+
+    /**
+     * Returns this order's unique number, issued by an {@link OrderIdGenerator}.
+     */
+    public long getOrderId() {
+        return orderId;
+    }
+
+    /**
+     * Applies a change reported by the item of one of this order's lines: the price change times the quantity
+     * goes to the running total, and the line is filed under the item's new content key so identical items
+     * added later join it. If another line already has that content, the two stay separate lines.
      *
-     * @return An unmodifiable {@link List} of {@link MenuItem}s.
+     * @param line  The line whose item changed.
+     * @param delta The change in the item's price, in cents.
+     */
+    void itemChanged(LineItem line, long delta) {
+        totalCents += delta * line.getQuantity();
+        discounts.priceChanged();
+
+        LineItem.Key key = line.getItem().contentKey();
+        if (!key.equals(line.key)) {
+            linesByKey.remove(line.key, line);
+            linesByKey.putIfAbsent(key, line);
+            line.key = key;
+        }
+    }
+
+    /**
+     * Records that the sandwich of a line gained its first portion of a topping ({@code +1}) or lost its last one ({@code -1}),
+     * for discount rules on toppings; every unit of the line counts.
      */
-    public List<MenuItem> getOrderItems() {
-        return Collections.unmodifiableList(orderItems);
+    void toppingPresenceChanged(LineItem line, int toppingId, int delta) {
+        discounts.toppingPresenceChanged(toppingId, delta * line.getQuantity());
+    }
+
+    /**
+     * Records that the drink of a line was resized, for discount rules on drink sizes; every unit of the line moves.
+     */
+    void drinkSizeChanged(LineItem line, int oldSize, int newSize) {
+        discounts.drinkSizeChanged(oldSize, newSize, line.getQuantity());
+    }
+
+    /**
+     * Returns an unmodifiable view of this order's lines, in the order they were first added.
+     *
+     * @return The lines; each holds an item and its quantity.
+     */
+    public Collection<LineItem> getLineItems() {
+        return Collections.unmodifiableSet(lines);
+    }
+
+    public boolean isEmpty() {
+        return lines.isEmpty();
+    }
+
+    /**
+     * Returns how many units the order holds across all of its lines.
+     */
+    public int getItemCount() {
+        return itemCount;
     }
 
     /**
      * Generates a formatted string representation of the order for a receipt.
      * The receipt includes a header, details for each item, and the total order price.
      * <p>
-     * For each {@link MenuItem}, its name and price are listed.
-     * If an item is a {@link Sandwich}, its toasted status (if applicable) is detailed,
-     * followed by a list of its individual toppings. For each topping, its name is included,
-     * and if it was added as an "extra" portion, that is also noted.
-     * The topping details are retrieved by accessing the sandwich's list of toppings
-     * and a list of boolean statuses to see if each topping is extra.
+     * This is a convenience wrapper around {@link ReceiptRenderer#renderOrder(Order, Appendable)};
+     * callers that write the receipt somewhere should stream it there directly instead.
      * </p>
      *
      * @return A string formatted as a receipt for the current order.
      */
     public String generateReceiptFormat() {
-        StringBuilder receipt = new StringBuilder();
-
-        receipt.append("Order Details:\n");
-        receipt.append("-----------------\n");
-
-        for (MenuItem item : orderItems) {
-            receipt.append(String.format("%n%s - $%.2f%n", item.getName(), item.getPrice()));
-
-            if (item instanceof Sandwich sandwich) {
-                if (sandwich.isToasted()) {
-                    receipt.append("  * Toasted\n");
-                }
-
-                List<Topping> toppings = sandwich.getToppings();
-                List<Boolean> extraStatus = sandwich.getToppingExtraStatuses();
-
-                for (int i = 0; i < toppings.size(); i++) {
-                    Topping topping = toppings.get(i);
-                    boolean isExtra = extraStatus.get(i);
-                    String toppingName = topping.getName();
-                    if (isExtra){
-                        receipt.append(String.format("  + Extra %s%n", toppingName));
-                    }else {
-                        receipt.append(String.format("  + %s%n", toppingName));
-                    }
-                }
-            }
+        StringBuilder receipt = new StringBuilder(64 + lines.size() * 48);
+        try {
+            ReceiptRenderer.renderOrder(this, receipt);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-        receipt.append("-----------------\n");
-        receipt.append(String.format("Total: $%.2f%n", getTotalPrice()));
-
         return receipt.toString();
     }
 }
@@ -0,0 +1,224 @@
+package com.pluralsight;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The discount state of one {@link Order}: how many of every feature the order holds, and which
+ * {@link DiscountRules} are active because all of their requirements are met.
+ * <p>
+ * Adding or removing units of an item moves each of its features by that many, and a feature only visits the requirements
+ * whose threshold it crosses. The amounts are worked out on demand from the active rules and cached until
+ * the order changes again. An order must only be used by one session at a time, so neither is this.
+ * </p>
+ */
+final class OrderDiscounts {
+    //          === Instance Variables ===
+    private final DiscountRules rules;
+    private final int[] counts;
+    /** Per rule: how many of its requirements are not met yet. */
+    private final int[] unmet;
+    private final BitSet active;
+
+    private boolean stale;
+    private List<AppliedDiscount> applied = List.of();
+    private long discountCents;
+
+    //          === Constructor ===
+    OrderDiscounts(DiscountRules rules) {
+        this.rules = rules;
+        this.counts = new int[rules.featureCount()];
+        this.unmet = new int[rules.size()];
+        this.active = new BitSet(rules.size());
+        for (int r = 0; r < rules.size(); r++) {
+            unmet[r] = rules.rule(r).features().length;
+        }
+    }
+
+    //          === Tracking ===
+    /**
+     * Records that units of an item joined ({@code quantity > 0}) or left ({@code quantity < 0}) the order.
+     */
+    void add(MenuItem item, int quantity) {
+        adjust(item, quantity);
+    }
+
+    void setLoyaltyMember(boolean member) {
+        adjust(DiscountRules.LOYALTY, (member ? 1 : 0) - counts[DiscountRules.LOYALTY]);
+    }
+
+    /**
+     * Records that a sandwich in the order gained its first portion of a topping ({@code +1}) or lost its last one ({@code -1}).
+     */
+    void toppingPresenceChanged(int toppingId, int delta) {
+        adjust(DiscountRules.TOPPING + toppingId, delta);
+    }
+
+    /**
+     * Records that {@code quantity} drinks in the order moved from one size ordinal to another.
+     */
+    void drinkSizeChanged(int oldSize, int newSize, int quantity) {
+        if (rules.isEmpty()) {
+            return;
+        }
+        adjust(DiscountRules.DRINK_SIZE + oldSize, -quantity);
+        adjust(DiscountRules.DRINK_SIZE + newSize, quantity);
+    }
+
+    /**
+     * Records that an item's price changed, which can change percentage and free-item discounts.
+     */
+    void priceChanged() {
+        stale = !rules.isEmpty();
+    }
+
+    private void adjust(MenuItem item, int delta) {
+        if (rules.isEmpty()) {
+            return;
+        }
+        if (item instanceof Sandwich sandwich) {
+            adjust(DiscountRules.SANDWICH, delta);
+            adjust(DiscountRules.SANDWICH_SIZE + sandwich.getSizeIndex(), delta);
+            adjust(DiscountRules.SANDWICH_BREAD + sandwich.getBreadTypeIndex(), delta);
+            int limit = sandwich.getToppingIdLimit();
+            for (int id = 1; id < limit; id++) {
+                if (sandwich.getRegularCount(id) + sandwich.getExtraCount(id) > 0) {
+                    adjust(DiscountRules.TOPPING + id, delta);
+                }
+            }
+        } else if (item instanceof Drink drink) {
+            adjust(DiscountRules.DRINK, delta);
+            adjust(DiscountRules.DRINK_SIZE + drink.getSizeIndex(), delta);
+        } else if (item instanceof Chips) {
+            adjust(DiscountRules.CHIPS, delta);
+        }
+        stale = true;
+    }
+
+    /**
+     * Moves one feature's count and updates the requirements whose threshold lies between the old and new count.
+     */
+    private void adjust(int feature, int delta) {
+        if (delta == 0 || feature >= counts.length) {
+            return;
+        }
+        int before = counts[feature];
+        int after = before + delta;
+        counts[feature] = after;
+        stale = true;
+
+        int[] thresholds = rules.watchThresholds(feature);
+        int[] watching = rules.watchRules(feature);
+        int low = Math.min(before, after);
+        int high = Math.max(before, after);
+        // Requirements with low < threshold <= high switched between met and unmet.
+        for (int i = firstAbove(thresholds, low); i < thresholds.length && thresholds[i] <= high; i++) {
+            int rule = watching[i];
+            if (delta > 0) {
+                if (--unmet[rule] == 0) {
+                    active.set(rule);
+                }
+            } else {
+                if (unmet[rule]++ == 0) {
+                    active.clear(rule);
+                }
+            }
+        }
+    }
+
+    private static int firstAbove(int[] sorted, int value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    //          === Pricing ===
+    /**
+     * Returns the discounts of the active rules, largest first; empty when none applies.
+     */
+    List<AppliedDiscount> applied(Collection<LineItem> lines, long subtotalCents) {
+        evaluate(lines, subtotalCents);
+        return applied;
+    }
+
+    /**
+     * Returns the total discount, never more than the subtotal.
+     */
+    long discountCents(Collection<LineItem> lines, long subtotalCents) {
+        evaluate(lines, subtotalCents);
+        return discountCents;
+    }
+
+    private void evaluate(Collection<LineItem> lines, long subtotalCents) {
+        if (!stale) {
+            return;
+        }
+        stale = false;
+        if (active.isEmpty()) {
+            applied = List.of();
+            discountCents = 0;
+            return;
+        }
+
+        List<AppliedDiscount> found = new ArrayList<>(active.cardinality());
+        long total = 0;
+        for (int r = active.nextSetBit(0); r >= 0; r = active.nextSetBit(r + 1)) {
+            DiscountRules.Rule rule = rules.rule(r);
+            int times = Integer.MAX_VALUE;
+            for (int i = 0; i < rule.features().length; i++) {
+                times = Math.min(times, counts[rule.features()[i]] / rule.minimums()[i]);
+            }
+
+            long cents = switch (rule.reward()) {
+                case AMOUNT_OFF -> rule.amount() * times;
+                case PERCENT_OFF -> {
+                    times = 1;
+                    yield subtotalCents * rule.amount() / 100;
+                }
+                case FREE_ITEM -> cheapest(lines, rule.freeFeature(), times);
+            };
+            if (cents > 0) {
+                found.add(new AppliedDiscount(rule.name(), times, cents));
+                total += cents;
+            }
+        }
+        found.sort((a, b) -> Long.compare(b.cents(), a.cents()));
+        applied = Collections.unmodifiableList(found);
+        discountCents = Math.min(total, subtotalCents);
+    }
+
+    /**
+     * Adds up the prices of the {@code count} cheapest units with a feature, sorting the matching lines
+     * rather than every unit.
+     */
+    private static long cheapest(Collection<LineItem> lines, int feature, int count) {
+        // Unit price in the high bits, line quantity in the low 32, so sorting orders by price.
+        long[] prices = new long[lines.size()];
+        int matching = 0;
+        for (LineItem line : lines) {
+            if (DiscountRules.hasFeature(line.getItem(), feature)) {
+                prices[matching++] = (line.getItem().getPriceCents() << Integer.SIZE) | line.getQuantity();
+            }
+        }
+        Arrays.sort(prices, 0, matching);
+        long sum = 0;
+        for (int i = 0; i < matching && count > 0; i++) {
+            int units = Math.min(count, (int) prices[i]);
+            sum += (prices[i] >>> Integer.SIZE) * units;
+            count -= units;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,127 @@
+package com.pluralsight;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Generates unique, ever-increasing order numbers without locking.
+ * <p>
+ * Each id packs three fields into a positive {@code long}, Snowflake style:
+ * </p>
+ * <ul>
+ * <li>41 bits: milliseconds since {@link #EPOCH_MILLIS} (2025-01-01 UTC), good for about 69 years</li>
+ * <li>10 bits: the terminal id (0-1023), so registers never collide with each other</li>
+ * <li>12 bits: a sequence within the millisecond (4096 ids per millisecond per terminal)</li>
+ * </ul>
+ * The timestamp and sequence live together in one {@link AtomicLong} and advance with a single
+ * compare-and-set. When a millisecond's sequence runs out, the generator borrows the next millisecond
+ * instead of waiting, and if the clock steps backwards it keeps counting from the last id it issued,
+ * so ids from one generator always increase. Ids from different terminals differ in the terminal bits,
+ * and a restarted terminal starts above a given floor id, such as the last one in the {@link OrderLog}, so ids
+ * stay unique across restarts even if the clock moved back.
+ */
+public class OrderIdGenerator {
+    //          === Constant Variables ===
+    public static final long EPOCH_MILLIS = 1735689600000L;
+    public static final int TERMINAL_BITS = 10;
+    public static final int SEQUENCE_BITS = 12;
+    public static final int MAX_TERMINAL_ID = (1 << TERMINAL_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private static OrderIdGenerator defaultGenerator;
+
+    //          === Instance Variables ===
+    private final int terminalId;
+    private final LongSupplier clock;
+    /** The last issued (timestamp << SEQUENCE_BITS | sequence). */
+    private final AtomicLong lastTick;
+
+    //          === Constructors ===
+    public OrderIdGenerator(int terminalId) {
+        this(terminalId, 0, System::currentTimeMillis);
+    }
+
+    /**
+     * Creates a generator for a terminal.
+     *
+     * @param terminalId The terminal id, 0 to {@link #MAX_TERMINAL_ID}.
+     * @param floorId    An id this generator must stay above, e.g. the last id found on disk; 0 for none.
+     * @param clock      The wall clock in epoch milliseconds.
+     * @throws IllegalArgumentException If the terminal id is out of range.
+     */
+    public OrderIdGenerator(int terminalId, long floorId, LongSupplier clock) {
+        if (terminalId < 0 || terminalId > MAX_TERMINAL_ID) {
+            throw new IllegalArgumentException("Terminal id must be between 0 and " + MAX_TERMINAL_ID + ": " + terminalId);
+        }
+        this.terminalId = terminalId;
+        this.clock = clock;
+        this.lastTick = new AtomicLong(floorId > 0 ? ((timestampOf(floorId) - EPOCH_MILLIS) << SEQUENCE_BITS) | SEQUENCE_MASK : 0);
+    }
+
+    /**
+     * Returns the generator shared by this process. The terminal id comes from the
+     * {@code deli.terminalId} system property and defaults to 0. The generator starts above the last order
+     * number in the shared {@link OrderLog}, so a clock that stepped back, or milliseconds borrowed ahead
+     * before a restart, never re-issue a logged order number.
+     *
+     * @return The shared generator.
+     */
+    public static synchronized OrderIdGenerator getDefault() {
+        if (defaultGenerator == null) {
+            long floorId = 0;
+            try {
+                floorId = OrderLog.lastOrderId(OrderLog.getDefault().getFolder());
+            } catch (IOException e) {
+                System.err.println("Could not read the last order number from the order log: " + e.getMessage());
+            }
+            defaultGenerator = new OrderIdGenerator(Integer.getInteger("deli.terminalId", 0), floorId, System::currentTimeMillis);
+        }
+        return defaultGenerator;
+    }
+
+    //          === Methods ===
+    /**
+     * Issues the next order id.
+     *
+     * @return A unique id, greater than every id this generator issued before.
+     */
+    public long nextId() {
+        while (true) {
+            long last = lastTick.get();
+            long now = clock.getAsLong() - EPOCH_MILLIS;
+            long next = now > (last >>> SEQUENCE_BITS) ? now << SEQUENCE_BITS : last + 1;
+            if (lastTick.compareAndSet(last, next)) {
+                long sequence = next & SEQUENCE_MASK;
+                long millis = next >>> SEQUENCE_BITS;
+                return (millis << TERMINAL_BITS | terminalId) << SEQUENCE_BITS | sequence;
+            }
+        }
+    }
+
+    public int getTerminalId() {
+        return terminalId;
+    }
+
+    //          === Decoding ===
+    /**
+     * Returns the epoch milliseconds an id was issued at (or borrowed for).
+     */
+    public static long timestampOf(long id) {
+        return (id >>> (TERMINAL_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS;
+    }
+
+    /**
+     * Returns the terminal that issued an id.
+     */
+    public static int terminalOf(long id) {
+        return (int) (id >>> SEQUENCE_BITS) & MAX_TERMINAL_ID;
+    }
+
+    /**
+     * Returns the smallest id any terminal could issue at the given time; handy as a range bound.
+     */
+    public static long firstIdAt(long epochMillis) {
+        return (epochMillis - EPOCH_MILLIS) << (TERMINAL_BITS + SEQUENCE_BITS);
+    }
+}
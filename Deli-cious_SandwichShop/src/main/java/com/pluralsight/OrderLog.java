@@ -0,0 +1,678 @@
+package com.pluralsight;
+
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * An append-only binary log of checked-out orders, the shop's record of every sale.
+ * <p>
+ * Each order becomes one compact record: its number, checkout time, subtotal, discounts, price snapshot and
+ * every line with its quantity and unit price, a sandwich's size and bread ordinals, toasting and topping
+ * numbers with regular and extra portions (see {@link OrderRecord} for the layout). Records are written
+ * straight into a memory-mapped segment file ({@code orders-00000001.log}, ...); when one is full the log rolls
+ * over to the next. Text receipts are rendered from the record that was just written.
+ * </p>
+ * <p>
+ * Every record is followed by a zero length, and a record's own length is written last, after the rest of it
+ * and that zero, so a crash mid-write leaves a zero length that readers and the next writer treat as the end
+ * of the log. {@link #replay(Path, Consumer)} walks the segments
+ * with one reusable {@link OrderRecord}, so a scan runs at the speed of the disk and allocates nothing per order.
+ * </p>
+ * <p>
+ * Once the log has moved on from a segment, the first reader that needs to know which checkout times it holds
+ * writes them next to it ({@code orders-00000001.times}: earliest and latest), so
+ * {@link #replayBetween(Path, long, long, Consumer) a replay of a period} skips the rest of the history unread.
+ * </p>
+ */
+public class OrderLog implements AutoCloseable {
+    //          === Constant Variables ===
+    private static final String DEFAULT_FOLDER = "Receipts/orders";
+    private static final int MAGIC = 0x44454C49;
+    private static final int FORMAT_VERSION = 1;
+    static final int SEGMENT_HEADER_BYTES = 8;
+    public static final int DEFAULT_SEGMENT_BYTES = 16 << 20;
+    private static final int MIN_SEGMENT_BYTES = 4096;
+
+    private static OrderLog defaultLog;
+
+    //          === Instance Variables ===
+    private final Path folder;
+    private final int segmentBytes;
+    private final List<Consumer<? super OrderRecord>> subscribers = new CopyOnWriteArrayList<>();
+    /** Where the next record is encoded before it is copied into the segment; grows for big orders. */
+    private ByteBuffer scratch = ByteBuffer.allocate(1024);
+
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private int segmentNumber;
+    private boolean closed;
+
+    /** Serializes {@link #forceThrough(int, int)}, so appends never wait for the disk. */
+    private final Object forceLock = new Object();
+    /** How far records are known to be on disk, as a {@link #position()}. Guarded by {@link #forceLock}. */
+    private long forcedPosition;
+
+    //          === Constructor ===
+    /**
+     * Creates a log in {@code folder}. Nothing is opened until the first record is appended; then writing
+     * carries on after the last record of the newest segment.
+     *
+     * @param folder       The folder holding the segment files; created on first write.
+     * @param segmentBytes The size of each segment file.
+     * @throws IllegalArgumentException If the segment size is below 4 KiB.
+     */
+    public OrderLog(Path folder, int segmentBytes) {
+        if (segmentBytes < MIN_SEGMENT_BYTES) {
+            throw new IllegalArgumentException("Order log segments must be at least " + MIN_SEGMENT_BYTES + " bytes.");
+        }
+        this.folder = folder;
+        this.segmentBytes = segmentBytes;
+    }
+
+    /**
+     * Returns the log shared by the application, in {@code Receipts/orders}. The segment size in MiB comes from
+     * the {@code deli.orderlog.segment.mb} system property (16 by default). The log is closed on JVM exit.
+     *
+     * @return The shared log.
+     */
+    public static synchronized OrderLog getDefault() {
+        if (defaultLog == null) {
+            int megabytes = Integer.getInteger("deli.orderlog.segment.mb", DEFAULT_SEGMENT_BYTES >> 20);
+            defaultLog = new OrderLog(Paths.get(DEFAULT_FOLDER), megabytes << 20);
+            OrderLog log = defaultLog;
+            Runtime.getRuntime().addShutdownHook(new Thread(log::close, "order-log-shutdown"));
+        }
+        return defaultLog;
+    }
+
+    //          === Writing ===
+    /**
+     * Appends a record of an order as it is being checked out.
+     *
+     * @param order The order, with its lines, catalog and discounts still in place.
+     * @param time  The checkout time printed on the receipt.
+     * @return A view of the record just written; it stays valid and belongs to the caller.
+     * @throws IOException              If the segment cannot be opened or rolled.
+     * @throws IllegalStateException    If the log has been closed.
+     * @throws IllegalArgumentException If the order does not fit in one segment.
+     */
+    public synchronized OrderRecord append(Order order, LocalDateTime time) throws IOException {
+        checkOpen();
+        int length = encode(order, time);
+        if (length > maxRecordBytes()) {
+            throw new IllegalArgumentException("Order #" + order.getOrderId() + " is too big for an order log segment (" + length + " bytes).");
+        }
+        return write(scratch, 0, length, new OrderRecord());
+    }
+
+    /**
+     * Appends records that were encoded elsewhere, such as orders migrated from old text receipts, in one go.
+     * {@code records} holds complete records in the {@link OrderRecord} layout back to back, from its position
+     * to its limit, each starting with its own length. Subscribers see every record, through one reused view.
+     *
+     * @param records The encoded records; read but not moved.
+     * @return The number of records appended.
+     * @throws IOException              If a segment cannot be opened or rolled.
+     * @throws IllegalStateException    If the log has been closed.
+     * @throws IllegalArgumentException If a record is malformed or does not fit in one segment; the records
+     *                                  before it have been appended.
+     */
+    synchronized int appendEncoded(ByteBuffer records) throws IOException {
+        checkOpen();
+        OrderRecord record = new OrderRecord();
+        int count = 0;
+        for (int at = records.position(); at < records.limit(); count++) {
+            int length = records.getInt(at);
+            if (length < OrderRecord.LABEL || at + length > records.limit()) {
+                throw new IllegalArgumentException("Malformed order log record at byte " + at + " of the batch.");
+            }
+            if (length > maxRecordBytes()) {
+                throw new IllegalArgumentException("Order #" + records.getLong(at + OrderRecord.ORDER_ID) + " is too big for an order log segment (" + length + " bytes).");
+            }
+            write(records, at, length, record);
+            at += length;
+        }
+        return count;
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Order log is closed.");
+        }
+    }
+
+    private int maxRecordBytes() {
+        return segmentBytes - SEGMENT_HEADER_BYTES - Integer.BYTES;
+    }
+
+    /**
+     * Copies one encoded record into the current segment, rolling over if it does not fit, and tells the
+     * subscribers about it.
+     *
+     * @param source The buffer holding the record; its length field is not read.
+     * @param from   Where the record starts in {@code source}.
+     * @param length The record's length.
+     * @param view   The view to position on the written record.
+     * @return {@code view}.
+     */
+    private OrderRecord write(ByteBuffer source, int from, int length, OrderRecord view) throws IOException {
+        if (segment == null) {
+            openLatestSegment();
+        }
+        // Leave room for the zero length that ends the log.
+        if (segment.remaining() < length + Integer.BYTES) {
+            rollSegment();
+        }
+
+        int offset = segment.position();
+        segment.put(offset + Integer.BYTES, source, from + Integer.BYTES, length - Integer.BYTES);
+        // End the log right after the record. A crash may have left an unpublished, longer record here, and its
+        // bytes must not be read as the next length once this shorter one is published over it.
+        segment.putInt(offset + length, 0);
+        // Publish the body before the length, so readers never see a length without its record.
+        VarHandle.releaseFence();
+        segment.putInt(offset + OrderRecord.LENGTH, length);
+        segment.position(offset + length);
+
+        view.position(segment.duplicate(), segmentNumber, offset);
+        for (Consumer<? super OrderRecord> subscriber : subscribers) {
+            try {
+                subscriber.accept(view);
+            } catch (RuntimeException e) {
+                // The sale is recorded; whatever follows the log catches up from it later.
+                System.err.println("Order log subscriber failed for order #" + view.orderId() + ": " + e.getMessage());
+            }
+        }
+        return view;
+    }
+
+    /**
+     * Registers a callback that sees every record right after it is appended, in log order, such as an index
+     * kept alongside the log. A failing subscriber is reported but does not fail the sale.
+     *
+     * @param subscriber Called with each new record while the log is locked; it must not append to the log, and
+     *                   must not keep the view beyond the call.
+     */
+    public void subscribe(Consumer<? super OrderRecord> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    /**
+     * Encodes a record into {@link #scratch}, growing it until the order fits.
+     *
+     * @return The record's length.
+     */
+    private int encode(Order order, LocalDateTime time) {
+        while (true) {
+            try {
+                scratch.clear();
+                writeRecord(scratch, order, time);
+                return scratch.position();
+            } catch (BufferOverflowException e) {
+                scratch = ByteBuffer.allocate(scratch.capacity() * 2);
+            }
+        }
+    }
+
+    private static void writeRecord(ByteBuffer out, Order order, LocalDateTime time) {
+        List<AppliedDiscount> discounts = order.getAppliedDiscounts();
+        putHeader(out, order.getOrderId(), time.toInstant(ZoneOffset.UTC).toEpochMilli(), order.getSubtotalCents(),
+                order.getDiscountCents(), order.getLineItems().size(), discounts.size(), order.getCatalog().getLabel());
+        for (AppliedDiscount discount : discounts) {
+            putDiscount(out, discount.name(), discount.times(), discount.cents());
+        }
+
+        for (LineItem line : order.getLineItems()) {
+            MenuItem item = line.getItem();
+            byte type = item instanceof Sandwich ? OrderRecord.SANDWICH
+                    : item instanceof Drink ? OrderRecord.DRINK
+                    : OrderRecord.CHIPS;
+            putLine(out, type, line.getQuantity(), item.getPriceCents(), item.getName());
+
+            if (item instanceof Sandwich sandwich) {
+                int countAt = putSandwichDetails(out, sandwich.getSizeIndex(), sandwich.getBreadTypeIndex(), sandwich.isToasted());
+                int toppings = 0;
+                for (int id = 1; id < sandwich.getToppingIdLimit(); id++) {
+                    int regular = sandwich.getRegularCount(id);
+                    int extra = sandwich.getExtraCount(id);
+                    if (regular + extra > 0) {
+                        putTopping(out, id, regular, extra);
+                        toppings++;
+                    }
+                }
+                out.putShort(countAt, (short) toppings);
+            } else if (item instanceof Drink drink) {
+                putDrinkDetails(out, drink.getSizeIndex());
+            }
+        }
+    }
+
+    //          === Record encoding ===
+    // The pieces of an OrderRecord, in the order they are written. A record's length is left 0 here; the
+    // writer fills it in, last.
+
+    static void putHeader(ByteBuffer out, long orderId, long localMillis, long subtotalCents, long discountCents,
+                          int lineCount, int discountCount, String priceSnapshot) {
+        out.putInt(0);
+        out.putLong(orderId);
+        out.putLong(localMillis);
+        out.putLong(subtotalCents);
+        out.putLong(discountCents);
+        out.putInt(lineCount);
+        out.putShort((short) discountCount);
+        putString(out, priceSnapshot);
+    }
+
+    static void putDiscount(ByteBuffer out, String name, int times, long cents) {
+        putString(out, name);
+        out.putInt(times);
+        out.putLong(cents);
+    }
+
+    static void putLine(ByteBuffer out, byte type, int quantity, long unitPriceCents, String name) {
+        out.put(type);
+        out.putInt(quantity);
+        out.putLong(unitPriceCents);
+        putString(out, name);
+    }
+
+    /**
+     * Writes a sandwich line's size, bread and toasting, followed by a topping count of 0.
+     *
+     * @return Where the topping count is, to be set once the toppings are written.
+     */
+    static int putSandwichDetails(ByteBuffer out, int sizeIndex, int breadTypeIndex, boolean toasted) {
+        out.put((byte) sizeIndex);
+        out.put((byte) breadTypeIndex);
+        out.put((byte) (toasted ? 1 : 0));
+        int countAt = out.position();
+        out.putShort((short) 0);
+        return countAt;
+    }
+
+    static void putTopping(ByteBuffer out, int id, int regular, int extra) {
+        out.putShort((short) id);
+        out.put((byte) regular);
+        out.put((byte) extra);
+    }
+
+    static void putDrinkDetails(ByteBuffer out, int sizeIndex) {
+        out.put((byte) sizeIndex);
+    }
+
+    private static void putString(ByteBuffer out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(bytes.length, 0xFFFF);
+        out.putShort((short) length);
+        out.put(bytes, 0, length);
+    }
+
+    /**
+     * Returns where the next record will go: the segment number in the high half and the offset in the low
+     * half, as {@link #replay(Path, int, int, Consumer)} takes them; 0 if nothing has been appended yet.
+     */
+    synchronized long position() {
+        return segment == null ? 0 : ((long) segmentNumber << Integer.SIZE) | segment.position();
+    }
+
+    /**
+     * Forces the log to disk up to and including a record, e.g. before telling the customer their sale is
+     * recorded. Records written since are forced along with it, so when many receipts complete together only the
+     * first call touches the disk (a group commit); segments that were rolled or closed were forced then. The
+     * disk write happens outside the log's lock, so appends carry on meanwhile.
+     *
+     * @param segment The record's segment, from {@link OrderRecord#segment()}.
+     * @param end     The offset just past the record, {@link OrderRecord#offset()} plus {@link OrderRecord#length()}.
+     * @throws java.io.UncheckedIOException If the segment cannot be forced.
+     */
+    public void forceThrough(int segment, int end) {
+        long position = ((long) segment << Integer.SIZE) | end;
+        synchronized (forceLock) {
+            if (position <= forcedPosition) {
+                return;
+            }
+            MappedByteBuffer target;
+            int from;
+            int to;
+            synchronized (this) {
+                if (this.segment == null || segment < segmentNumber) {
+                    forcedPosition = position;
+                    return;
+                }
+                target = this.segment;
+                from = forcedPosition >>> Integer.SIZE == segmentNumber ? (int) forcedPosition : 0;
+                to = this.segment.position();
+                position = ((long) segmentNumber << Integer.SIZE) | to;
+            }
+            // Along with the zero length that ends the log.
+            target.force(from, Math.min(to + Integer.BYTES, target.capacity()) - from);
+            forcedPosition = position;
+        }
+    }
+
+    /**
+     * Forces everything written so far in the current segment to disk.
+     */
+    public synchronized void force() {
+        if (segment != null) {
+            segment.force();
+        }
+    }
+
+    /**
+     * Forces and closes the current segment; later appends are refused.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        closeSegment();
+    }
+
+    /**
+     * Returns the folder holding the segment files.
+     */
+    public Path getFolder() {
+        return folder;
+    }
+
+    //          === Segments ===
+    /**
+     * Opens the newest segment and finds the end of its records, or starts the first segment.
+     */
+    private void openLatestSegment() throws IOException {
+        Files.createDirectories(folder);
+        List<Path> segments = segmentFiles(folder);
+        if (segments.isEmpty()) {
+            startSegment(1);
+            return;
+        }
+
+        Path latest = segments.get(segments.size() - 1);
+        segmentNumber = segmentNumber(latest);
+        channel = FileChannel.open(latest, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(channel.size(), SEGMENT_HEADER_BYTES));
+        checkHeader(segment, latest);
+        segment.position(endOfRecords(segment));
+    }
+
+    private void rollSegment() throws IOException {
+        closeSegment();
+        startSegment(segmentNumber + 1);
+    }
+
+    private void startSegment(int number) throws IOException {
+        Path file = folder.resolve(segmentFileName(number));
+        channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        segment.putInt(MAGIC).putInt(FORMAT_VERSION);
+        segmentNumber = number;
+    }
+
+    private void closeSegment() {
+        if (segment != null) {
+            segment.force();
+            segment = null;
+        }
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                System.err.println("Error closing order log segment: " + e.getMessage());
+            }
+            channel = null;
+        }
+    }
+
+    static String segmentFileName(int number) {
+        return String.format("orders-%08d.log", number);
+    }
+
+    private static int segmentNumber(Path file) {
+        String name = file.getFileName().toString();
+        return Integer.parseInt(name.substring("orders-".length(), name.length() - ".log".length()));
+    }
+
+    /**
+     * Lists the segment files of a log folder, oldest first; empty if the folder does not exist.
+     */
+    static List<Path> segmentFiles(Path folder) throws IOException {
+        if (!Files.isDirectory(folder)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(folder)) {
+            List<Path> segments = new ArrayList<>();
+            files.filter(file -> file.getFileName().toString().matches("orders-\\d{8}\\.log")).sorted().forEach(segments::add);
+            return segments;
+        }
+    }
+
+    private static void checkHeader(ByteBuffer segment, Path file) throws IOException {
+        if (segment.capacity() < SEGMENT_HEADER_BYTES || segment.getInt(0) != MAGIC || segment.getInt(4) != FORMAT_VERSION) {
+            throw new IOException(file + " is not an order log segment.");
+        }
+    }
+
+    /**
+     * Returns the offset just past the last complete record of a segment.
+     */
+    private static int endOfRecords(ByteBuffer segment) {
+        int offset = SEGMENT_HEADER_BYTES;
+        while (offset + Integer.BYTES <= segment.capacity()) {
+            int length = segment.getInt(offset);
+            if (length < OrderRecord.LABEL || offset + length > segment.capacity()) {
+                break;
+            }
+            offset += length;
+        }
+        return offset;
+    }
+
+    //          === Reading ===
+    /**
+     * Streams every record of a log folder to {@code visitor}, oldest first, through one reused {@link OrderRecord}.
+     * Records appended while the replay runs may or may not be seen.
+     *
+     * @param folder  The log folder.
+     * @param visitor Called once per record; the view is only valid during the call.
+     * @return The number of records replayed.
+     * @throws IOException If a segment cannot be read or is not an order log segment.
+     */
+    public static long replay(Path folder, Consumer<? super OrderRecord> visitor) throws IOException {
+        return replay(folder, 0, 0, visitor);
+    }
+
+    /**
+     * Streams the records of a log folder from a position on, e.g. just past the last record an index has seen.
+     *
+     * @param folder      The log folder.
+     * @param fromSegment The segment to start in; earlier segments are skipped.
+     * @param fromOffset  The offset in {@code fromSegment} to start at; 0 for its first record.
+     * @param visitor     Called once per record; the view is only valid during the call.
+     * @return The number of records replayed.
+     * @throws IOException If a segment cannot be read or is not an order log segment.
+     */
+    public static long replay(Path folder, int fromSegment, int fromOffset, Consumer<? super OrderRecord> visitor) throws IOException {
+        OrderRecord record = new OrderRecord();
+        long count = 0;
+        for (Path file : segmentFiles(folder)) {
+            int number = segmentNumber(file);
+            if (number < fromSegment) {
+                continue;
+            }
+            int offset = number == fromSegment ? Math.max(fromOffset, SEGMENT_HEADER_BYTES) : SEGMENT_HEADER_BYTES;
+            count += replaySegment(mapReadOnly(file), number, offset, record, visitor);
+        }
+        return count;
+    }
+
+    /**
+     * Streams the records of the segments that may hold checkouts in {@code [fromMillis, toMillis)}, e.g. for a
+     * report on one day. Segments the log has moved on from are skipped when their earliest and latest checkout
+     * times lie outside the period; the newest segment is always read. The visitor still sees records outside
+     * the period and must check {@link OrderRecord#localMillis()} itself.
+     *
+     * @param folder     The log folder.
+     * @param fromMillis The start of the period, as in {@link OrderRecord#localMillis()}.
+     * @param toMillis   The end of the period, exclusive.
+     * @param visitor    Called once per record; the view is only valid during the call.
+     * @return The number of records replayed.
+     * @throws IOException If a segment cannot be read or is not an order log segment.
+     */
+    public static long replayBetween(Path folder, long fromMillis, long toMillis, Consumer<? super OrderRecord> visitor) throws IOException {
+        List<Path> segments = segmentFiles(folder);
+        OrderRecord record = new OrderRecord();
+        long count = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            Path file = segments.get(i);
+            ByteBuffer segment = mapReadOnly(file);
+            if (i < segments.size() - 1) {
+                long[] times = checkoutTimes(file, segment, record);
+                if (times[1] < fromMillis || times[0] >= toMillis) {
+                    continue;
+                }
+            }
+            count += replaySegment(segment, segmentNumber(file), SEGMENT_HEADER_BYTES, record, visitor);
+        }
+        return count;
+    }
+
+    private static long replaySegment(ByteBuffer segment, int number, int offset, OrderRecord record,
+                                      Consumer<? super OrderRecord> visitor) {
+        long count = 0;
+        while (offset + Integer.BYTES <= segment.capacity()) {
+            int length = segment.getInt(offset);
+            VarHandle.acquireFence();
+            if (length < OrderRecord.LABEL || offset + length > segment.capacity()) {
+                break;
+            }
+            record.position(segment, number, offset);
+            visitor.accept(record);
+            count++;
+            offset += length;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the earliest and latest checkout time of a segment the log has moved on from, reading them from
+     * the segment's {@code .times} file or, the first time, scanning the segment and writing that file.
+     * An empty segment has its earliest time after its latest.
+     */
+    private static long[] checkoutTimes(Path file, ByteBuffer segment, OrderRecord record) throws IOException {
+        String name = file.getFileName().toString();
+        Path timesFile = file.resolveSibling(name.substring(0, name.length() - ".log".length()) + ".times");
+        if (Files.exists(timesFile) && Files.size(timesFile) == 2 * Long.BYTES) {
+            ByteBuffer times = ByteBuffer.wrap(Files.readAllBytes(timesFile));
+            return new long[]{times.getLong(0), times.getLong(Long.BYTES)};
+        }
+
+        long[] times = {Long.MAX_VALUE, Long.MIN_VALUE};
+        replaySegment(segment, segmentNumber(file), SEGMENT_HEADER_BYTES, record, visited -> {
+            times[0] = Math.min(times[0], visited.localMillis());
+            times[1] = Math.max(times[1], visited.localMillis());
+        });
+        try {
+            Path temporary = timesFile.resolveSibling(timesFile.getFileName() + ".tmp");
+            Files.write(temporary, ByteBuffer.allocate(2 * Long.BYTES).putLong(times[0]).putLong(times[1]).array());
+            Files.move(temporary, timesFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // Only a shortcut for the next replay; this one has what it needs.
+            System.err.println("Error saving checkout times of " + file + ": " + e.getMessage());
+        }
+        return times;
+    }
+
+    /**
+     * Returns the highest order number in the newest two segments of a log folder, e.g. to seed an
+     * {@link OrderIdGenerator} after a restart. An order is numbered when it is started and logged at checkout
+     * minutes later, so the highest number ever issued is among the latest records.
+     *
+     * @param folder The log folder.
+     * @return The highest order number found; 0 if the log is empty.
+     * @throws IOException If a segment cannot be read or is not an order log segment.
+     */
+    public static long lastOrderId(Path folder) throws IOException {
+        List<Path> segments = segmentFiles(folder);
+        if (segments.isEmpty()) {
+            return 0;
+        }
+        long[] highest = {0};
+        replay(folder, segmentNumber(segments.get(Math.max(0, segments.size() - 2))), 0,
+                record -> highest[0] = Math.max(highest[0], record.orderId()));
+        return highest[0];
+    }
+
+    /**
+     * Replays this log's records; see {@link #replay(Path, Consumer)}.
+     */
+    public long replay(Consumer<? super OrderRecord> visitor) throws IOException {
+        return replay(folder, visitor);
+    }
+
+    /**
+     * Positions {@code into} on the record at a known place, e.g. one found through an index, without scanning.
+     *
+     * @param segment The segment number, from {@link OrderRecord#segment()}.
+     * @param offset  The record's offset, from {@link OrderRecord#offset()}.
+     * @param into    The view to position.
+     * @return {@code into}, for chaining.
+     * @throws IOException              If the segment cannot be read.
+     * @throws IllegalArgumentException If there is no complete record at that place.
+     */
+    public OrderRecord read(int segment, int offset, OrderRecord into) throws IOException {
+        return read(folder, segment, offset, into);
+    }
+
+    /**
+     * Positions {@code into} on the record at a known place of a log folder; see {@link #read(int, int, OrderRecord)}.
+     */
+    public static OrderRecord read(Path folder, int segment, int offset, OrderRecord into) throws IOException {
+        ByteBuffer buffer = mapSegment(folder, segment);
+        if (offset < SEGMENT_HEADER_BYTES || offset + Integer.BYTES > buffer.capacity()) {
+            throw new IllegalArgumentException("No order log record at " + segment + ":" + offset + ".");
+        }
+        int length = buffer.getInt(offset);
+        VarHandle.acquireFence();
+        if (length < OrderRecord.LABEL || offset + length > buffer.capacity()) {
+            throw new IllegalArgumentException("No order log record at " + segment + ":" + offset + ".");
+        }
+        into.position(buffer, segment, offset);
+        return into;
+    }
+
+    /**
+     * Maps one segment of a log folder for reading, e.g. to position views on records found by a replay
+     * from several threads at once.
+     */
+    static ByteBuffer mapSegment(Path folder, int segment) throws IOException {
+        return mapReadOnly(folder.resolve(segmentFileName(segment)));
+    }
+
+    private static ByteBuffer mapReadOnly(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            checkHeader(buffer, file);
+            return buffer;
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package com.pluralsight;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * A read-only view of one record of the {@link OrderLog}, laid over the log's bytes.
+ * <p>
+ * The view is a flyweight: replaying the log moves one instance from record to record, and every numeric
+ * accessor reads straight from the mapped segment, so scanning months of orders allocates nothing per record.
+ * Only the accessors returning a {@link String} or {@link LocalDateTime} allocate, and only when called.
+ * A view handed to a replay callback is only valid during that call.
+ * </p>
+ * <p>
+ * Lines and discounts are addressed by index. A sandwich line's toppings are addressed by line and
+ * topping index, in topping-number order.
+ * </p>
+ */
+public final class OrderRecord {
+    //          === Record layout ===
+    /** Offsets within a record. The length is written last, so a record with length 0 was never finished. */
+    static final int LENGTH = 0;
+    static final int ORDER_ID = 4;
+    static final int LOCAL_MILLIS = 12;
+    static final int SUBTOTAL = 20;
+    static final int DISCOUNT = 28;
+    static final int LINE_COUNT = 36;
+    static final int DISCOUNT_COUNT = 40;
+    static final int LABEL = 42;
+
+    /** Offsets within a line. */
+    static final int LINE_TYPE = 0;
+    static final int LINE_QUANTITY = 1;
+    static final int LINE_UNIT_PRICE = 5;
+    static final int LINE_NAME = 13;
+
+    /** Offsets within a sandwich's details, which follow its name. */
+    static final int SANDWICH_SIZE = 0;
+    static final int SANDWICH_BREAD = 1;
+    static final int SANDWICH_TOASTED = 2;
+    static final int SANDWICH_TOPPING_COUNT = 3;
+    static final int SANDWICH_TOPPINGS = 5;
+    static final int TOPPING_BYTES = 4;
+
+    /** Line types. */
+    public static final byte SANDWICH = 0;
+    public static final byte DRINK = 1;
+    public static final byte CHIPS = 2;
+
+    //          === Instance Variables ===
+    private ByteBuffer buffer;
+    private int base;
+    private int segment;
+    private int[] lineOffsets = new int[16];
+    /** Per line: where its type-specific details start, after its name. */
+    private int[] detailOffsets = new int[16];
+    private int[] discountOffsets = new int[4];
+
+    //          === Positioning ===
+    /**
+     * Moves this view onto the record at {@code offset} of a segment and indexes its lines and discounts.
+     * The index arrays are reused, so this only allocates when a record has more lines than any before it.
+     */
+    void position(ByteBuffer buffer, int segment, int offset) {
+        this.buffer = buffer;
+        this.segment = segment;
+        this.base = offset;
+
+        int at = base + LABEL;
+        at += Short.BYTES + stringLength(at);
+
+        int discounts = discountCount();
+        if (discountOffsets.length < discounts) {
+            discountOffsets = new int[Math.max(discounts, discountOffsets.length * 2)];
+        }
+        for (int i = 0; i < discounts; i++) {
+            discountOffsets[i] = at;
+            at += Short.BYTES + stringLength(at) + Integer.BYTES + Long.BYTES;
+        }
+
+        int lines = lineCount();
+        if (lineOffsets.length < lines) {
+            int size = Math.max(lines, lineOffsets.length * 2);
+            lineOffsets = new int[size];
+            detailOffsets = new int[size];
+        }
+        for (int i = 0; i < lines; i++) {
+            lineOffsets[i] = at;
+            int details = at + LINE_NAME + Short.BYTES + stringLength(at + LINE_NAME);
+            detailOffsets[i] = details;
+            at = switch (buffer.get(at + LINE_TYPE)) {
+                case SANDWICH -> details + SANDWICH_TOPPINGS + (buffer.getShort(details + SANDWICH_TOPPING_COUNT) & 0xFFFF) * TOPPING_BYTES;
+                case DRINK -> details + 1;
+                default -> details;
+            };
+        }
+    }
+
+    //          === Where the record is ===
+    /**
+     * Returns the number of the log segment holding this record.
+     */
+    public int segment() {
+        return segment;
+    }
+
+    /**
+     * Returns the byte offset of this record within its segment; with {@link #segment()} it locates the record
+     * for {@link OrderLog#read(int, int, OrderRecord)}.
+     */
+    public int offset() {
+        return base;
+    }
+
+    /**
+     * Returns the size of this record in bytes.
+     */
+    public int length() {
+        return buffer.getInt(base + LENGTH);
+    }
+
+    //          === Order ===
+    public long orderId() {
+        return buffer.getLong(base + ORDER_ID);
+    }
+
+    /**
+     * Returns the local wall-clock time of checkout, the one printed on the receipt, as milliseconds since
+     * 1970-01-01T00:00 of that same clock. The hour of day is {@code localMillis() / 3_600_000 % 24}.
+     */
+    public long localMillis() {
+        return buffer.getLong(base + LOCAL_MILLIS);
+    }
+
+    /**
+     * Returns the time of checkout as a {@link LocalDateTime}; allocates, so prefer {@link #localMillis()} in scans.
+     */
+    public LocalDateTime dateTime() {
+        long millis = localMillis();
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000L), (int) Math.floorMod(millis, 1000L) * 1_000_000, ZoneOffset.UTC);
+    }
+
+    public long subtotalCents() {
+        return buffer.getLong(base + SUBTOTAL);
+    }
+
+    public long discountCents() {
+        return buffer.getLong(base + DISCOUNT);
+    }
+
+    /**
+     * Returns what the customer paid: the subtotal minus discounts.
+     */
+    public long totalCents() {
+        return subtotalCents() - discountCents();
+    }
+
+    /**
+     * Returns the {@link Catalog#getLabel() label} of the prices the order was charged.
+     */
+    public String priceSnapshot() {
+        return string(base + LABEL);
+    }
+
+    //          === Discounts ===
+    public int discountCount() {
+        return buffer.getShort(base + DISCOUNT_COUNT) & 0xFFFF;
+    }
+
+    public String discountName(int index) {
+        return string(discountOffsets[index]);
+    }
+
+    public int discountTimes(int index) {
+        int at = discountOffsets[index];
+        return buffer.getInt(at + Short.BYTES + stringLength(at));
+    }
+
+    public long discountAmountCents(int index) {
+        int at = discountOffsets[index];
+        return buffer.getLong(at + Short.BYTES + stringLength(at) + Integer.BYTES);
+    }
+
+    //          === Lines ===
+    public int lineCount() {
+        return buffer.getInt(base + LINE_COUNT);
+    }
+
+    /**
+     * Returns the line's type: {@link #SANDWICH}, {@link #DRINK} or {@link #CHIPS}.
+     */
+    public byte lineType(int line) {
+        return buffer.get(lineOffsets[line] + LINE_TYPE);
+    }
+
+    public int quantity(int line) {
+        return buffer.getInt(lineOffsets[line] + LINE_QUANTITY);
+    }
+
+    public long unitPriceCents(int line) {
+        return buffer.getLong(lineOffsets[line] + LINE_UNIT_PRICE);
+    }
+
+    /**
+     * Returns the line's price: unit price times quantity.
+     */
+    public long linePriceCents(int line) {
+        return unitPriceCents(line) * quantity(line);
+    }
+
+    /**
+     * Returns the name the line was sold under, e.g. {@code 8" Rye sandwich}, {@code BLT} or {@code Cola Large}.
+     */
+    public String lineName(int line) {
+        return string(lineOffsets[line] + LINE_NAME);
+    }
+
+    /**
+     * Returns whether the line was sold under a name, given as UTF-8 bytes, e.g. to tell signature sandwiches
+     * from custom ones in a scan; unlike {@link #lineName(int)} it does not allocate.
+     */
+    public boolean lineNameEquals(int line, byte[] utf8) {
+        int at = lineOffsets[line] + LINE_NAME;
+        if (stringLength(at) != utf8.length) {
+            return false;
+        }
+        for (int i = 0; i < utf8.length; i++) {
+            if (buffer.get(at + Short.BYTES + i) != utf8[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns a sandwich's size as an index into {@link Bread#SIZES}, or a drink's as an index into {@link Drink#SIZES};
+     * -1 for chips.
+     */
+    public int sizeIndex(int line) {
+        return switch (lineType(line)) {
+            case SANDWICH -> buffer.get(detailOffsets[line] + SANDWICH_SIZE);
+            case DRINK -> buffer.get(detailOffsets[line]);
+            default -> -1;
+        };
+    }
+
+    /**
+     * Returns a sandwich's bread as an index into {@link Bread#BREAD_TYPES}; -1 for other lines.
+     */
+    public int breadTypeIndex(int line) {
+        return lineType(line) == SANDWICH ? buffer.get(detailOffsets[line] + SANDWICH_BREAD) : -1;
+    }
+
+    public boolean isToasted(int line) {
+        return lineType(line) == SANDWICH && buffer.get(detailOffsets[line] + SANDWICH_TOASTED) != 0;
+    }
+
+    /**
+     * Returns how many different toppings a sandwich line carries; 0 for other lines.
+     */
+    public int toppingCount(int line) {
+        return lineType(line) == SANDWICH ? buffer.getShort(detailOffsets[line] + SANDWICH_TOPPING_COUNT) & 0xFFFF : 0;
+    }
+
+    /**
+     * Returns the catalog number of a sandwich line's {@code topping}-th topping.
+     */
+    public int toppingId(int line, int topping) {
+        return buffer.getShort(toppingAt(line, topping)) & 0xFFFF;
+    }
+
+    public int regularPortions(int line, int topping) {
+        return buffer.get(toppingAt(line, topping) + Short.BYTES) & 0xFF;
+    }
+
+    public int extraPortions(int line, int topping) {
+        return buffer.get(toppingAt(line, topping) + Short.BYTES + 1) & 0xFF;
+    }
+
+    private int toppingAt(int line, int topping) {
+        return detailOffsets[line] + SANDWICH_TOPPINGS + topping * TOPPING_BYTES;
+    }
+
+    //          === Strings ===
+    private int stringLength(int at) {
+        return buffer.getShort(at) & 0xFFFF;
+    }
+
+    private String string(int at) {
+        byte[] bytes = new byte[stringLength(at)];
+        buffer.get(at + Short.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
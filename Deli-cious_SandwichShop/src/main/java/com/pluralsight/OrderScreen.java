@@ -1,20 +1,30 @@
 package com.pluralsight;
 
+import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.List;
 
 public class OrderScreen {
+    //          === Constant Variables ===
+    /** Returned by {@link #parseAddQuantity(String)} for input that is not an "add N" command. */
+    private static final int NOT_ADD = -1;
+
     //          === Instance Variables ===
 
     private Console console;
+    private PrintStream out;
+    private OrderService orderService;
     private Order currentOrder;
     private SandwichBuilderScreen sandwichBuilderScreen;
     private CheckoutScreen checkoutScreen;
 
     //          === Constructor ===
 
-    public OrderScreen(Console console, Order currentOrder, SandwichBuilderScreen sandwichBuilderScreen, CheckoutScreen checkoutScreen) {
+    public OrderScreen(Console console, OrderService orderService, Order currentOrder,
+                       SandwichBuilderScreen sandwichBuilderScreen, CheckoutScreen checkoutScreen) {
         this.console = console;
+        this.out = console.out();
+        this.orderService = orderService;
         this.currentOrder = currentOrder;
         this.sandwichBuilderScreen = sandwichBuilderScreen;
         this.checkoutScreen = checkoutScreen;
@@ -31,16 +41,24 @@ public class OrderScreen {
         int choice;
         do {
             displayCurrentOrder();
-            System.out.println("\n--- Order Screen ---" +
+            out.println("\n--- Order Screen ---" +
                     "\n1) Add sandich (Custom)" +
                     "\n2) Add Drink" +
                     "\n3) Add Chips" +
                     "\n4) Remove Item" +
                     "\n5) Modify Sandwich" +
                     "\n6) Checkout" +
+                    "\nadd N) Add N more of an item already in the order" +
                     "\n0) Cancel order (Back to Home)");
 
-            choice = console.promptForInt("Enter your choice: ");
+            String input = console.promptForString("Enter your choice: ").trim();
+            int quantity = parseAddQuantity(input);
+            if (quantity != NOT_ADD) {
+                handleAddQuantity(quantity);
+                choice = -1;
+                continue;
+            }
+            choice = parseChoice(input);
 
             switch (choice) {
                 case 1: handleAddSandwich(); break;
@@ -51,20 +69,46 @@ public class OrderScreen {
                 case 6: handleCheckout(); break;
                 case 0: handleCancelOrder(); break;
                 default:
-                    System.out.println("Invalid option. Please try again.");
+                    out.println("Invalid option. Please try again.");
             }
         }while (choice != 7 && choice != 0);
     }
 
+    /**
+     * Reads an "add N" command.
+     *
+     * @return N, 0 for a quantity that is not a positive number, or {@link #NOT_ADD} if the input is not an add command.
+     */
+    private static int parseAddQuantity(String input) {
+        String[] words = input.split("\\s+");
+        if (words.length != 2 || !words[0].equalsIgnoreCase("add")) {
+            return NOT_ADD;
+        }
+        try {
+            return Math.max(Integer.parseInt(words[1]), 0);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static int parseChoice(String input) {
+        try {
+            return Integer.parseInt(input);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
     /**
      * Displays the current items in the order, or a message if the order is empty.
      */
     private void displayCurrentOrder() {
-        if (currentOrder.getOrderItems().isEmpty()) {
-            System.out.println("\n--- Your Order is Currently Empty ---");
+        if (currentOrder.isEmpty()) {
+            out.println("\n--- Your Order is Currently Empty ---");
         }else {
-            System.out.println("\n--- Your Current Order ---");
-            System.out.println(currentOrder.generateReceiptFormat());
+            out.println("\n--- Your Current Order ---");
+            ReceiptRenderer.printOrder(currentOrder, out);
+            out.println();
         }
     }
 
@@ -76,9 +120,9 @@ public class OrderScreen {
     private void handleAddSandwich() {
         String addAnother = "yes";
         while (addAnother.equalsIgnoreCase("yes")) {
-            Sandwich newSandwich = sandwichBuilderScreen.buildSandwich();
-            currentOrder.addItem(newSandwich);
-            System.out.println("Sandwich '" + newSandwich.getName() + "' added to your order!");
+            Sandwich newSandwich = sandwichBuilderScreen.buildSandwich(currentOrder);
+            orderService.addItem(currentOrder, newSandwich);
+            out.println("Sandwich '" + newSandwich.getName() + "' added to your order!");
 
             addAnother = console.promptForString("Would you like to add another custom sandwich? (Yes/No): ");
         }
@@ -90,18 +134,21 @@ public class OrderScreen {
      * validation and pricing logic. Allows adding multiple drinks.
      */
     private void handleAddDrink() {
-        System.out.println("\n--- Add Drink ---");
+        out.println("\n--- Add Drink ---");
 
         String flavor = console.promptForString("Please enter the drink flavor: ");
-        System.out.println("Available sized: " + Drink.SMALL_SIZE + ", " + Drink.MEDIUM_SIZE + ", " + Drink.LARGE_SIZE);
+        out.println("Available sized: " + Drink.SMALL_SIZE + ", " + Drink.MEDIUM_SIZE + ", " + Drink.LARGE_SIZE);
         String size = console.promptForString("Enter drink size ('Small', 'Medium', 'Large' or abbreviations): ");
 
+        if (!orderService.isValidDrinkSize(size)) {
+            out.println("Invalid size: " + size + "\n. Applying default size (Medium).");
+        }
+
         try {
-            Drink newDrink = new Drink(size, flavor);
-            currentOrder.addItem(newDrink);
-            System.out.printf("'%s' added to your order for $%.2f.%n", newDrink.getName(), newDrink.getPrice());
+            Drink newDrink = orderService.addDrink(currentOrder, size, flavor);
+            out.printf("'%s' added to your order for $%s.%n", newDrink.getName(), Money.format(newDrink.getPriceCents()));
         }catch (IllegalArgumentException e) {
-            System.out.println("Error adding drink: " + e.getMessage());
+            out.println("Error adding drink: " + e.getMessage());
         }
     }
 
@@ -113,48 +160,115 @@ public class OrderScreen {
     private void handleAddChips() {
         String addAnother = "yes";
         while (addAnother.equalsIgnoreCase("yes")) {
-            System.out.println("\n--- Add Chips ---");
+            out.println("\n--- Add Chips ---");
 
             String chipType = console.promptForString("What chips would you like: ");
-            Chips newChips = new Chips(chipType);
-
-            currentOrder.addItem(newChips);
-            System.out.printf("'%s' added to your order for $%.2f.%n", newChips.getName(), newChips.getPrice());
+            try {
+                Chips newChips = orderService.addChips(currentOrder, chipType);
+                out.printf("'%s' added to your order for $%s.%n", newChips.getName(), Money.format(newChips.getPriceCents()));
+            } catch (IllegalArgumentException e) {
+                out.println(e.getMessage());
+                return;
+            }
 
             addAnother = console.promptForString("Add another bag of chips? (Yes/No): ");
         }
     }
 
+    /**
+     * Adds more units of an item already in the order, for catering-size orders.
+     * Lists the order's lines and prompts for the one to add to.
+     *
+     * @param quantity How many to add, as typed after "add".
+     */
+    private void handleAddQuantity(int quantity) {
+        if (quantity <= 0) {
+            out.println("Type 'add' followed by how many to add, e.g. 'add 25'.");
+            return;
+        }
+        if (currentOrder.isEmpty()) {
+            out.println("Your order is empty. Add an item first, then use 'add N' for more of it.");
+            return;
+        }
+
+        out.println("\n--- Add " + quantity + " More ---");
+        List<LineItem> lines = listLines();
+        out.println("0) Go back");
+
+        int selection = console.promptForInt("Enter the number of the item to add " + quantity + " more of: ");
+        if (selection == 0) {
+            return;
+        }
+
+        if (selection > 0 && selection <= lines.size()) {
+            LineItem line = lines.get(selection - 1);
+            try {
+                orderService.addItem(currentOrder, line.getItem(), quantity);
+                out.printf("%nYour order now has %d x '%s'.%n", line.getQuantity(), line.getItem().getName());
+            } catch (IllegalArgumentException e) {
+                out.println(e.getMessage());
+            }
+        }else {
+            out.println("Invalid selection. Please enter a number from the list.");
+        }
+    }
+
+    /**
+     * Prints the order's lines as a numbered list.
+     *
+     * @return The lines in the order they were printed.
+     */
+    private List<LineItem> listLines() {
+        List<LineItem> lines = new ArrayList<>(currentOrder.getLineItems());
+        for (int i = 0; i < lines.size(); i++) {
+            printLine(i + 1, lines.get(i));
+        }
+        return lines;
+    }
+
+    private void printLine(int number, LineItem line) {
+        if (line.getQuantity() > 1) {
+            out.printf("%d) %d x %s - $%s%n", number, line.getQuantity(), line.getItem().getName(), Money.format(line.getPriceCents()));
+        } else {
+            out.printf("%d) %s - $%s%n", number, line.getItem().getName(), Money.format(line.getPriceCents()));
+        }
+    }
+
     /**
      * Allows the user to remove an item from the current order.
-     * Displays a numbered list of items and prompts for selection.
+     * Displays a numbered list of items and prompts for selection; for a line of several,
+     * also asks how many to remove.
      */
     private void handleRemoveItem() {
-        if (currentOrder.getOrderItems().isEmpty()) {
-            System.out.println("Your order is empty. Nothing to remove.");
+        if (currentOrder.isEmpty()) {
+            out.println("Your order is empty. Nothing to remove.");
             return;
         }
 
-        System.out.println("\n--- Remove Item ---");
-        List<MenuItem> items = currentOrder.getOrderItems();
-        for (int i = 0; i < items.size(); i++) {
-            MenuItem item = items.get(i);
-            System.out.printf("%d) %s - $%.2f%n", (i + 1), item.getName(), item.getPrice());
-        }
+        out.println("\n--- Remove Item ---");
+        List<LineItem> lines = listLines();
 
-        System.out.println("0) Go back");
+        out.println("0) Go back");
 
         int selection = console.promptForInt("Enter the number of the item you want to remove: ");
         if (selection == 0) {
             return;
         }
 
-        if (selection > 0 && selection <= items.size()) {
-            MenuItem itemToRemove = items.get(selection - 1);
-            currentOrder.removeItem(itemToRemove);
-            System.out.printf("%n'%s' removed from order.%n", itemToRemove.getName());
+        if (selection > 0 && selection <= lines.size()) {
+            LineItem line = lines.get(selection - 1);
+            int count = 1;
+            if (line.getQuantity() > 1) {
+                count = console.promptForInt("How many of the " + line.getQuantity() + " do you want to remove? ");
+                if (count <= 0 || count > line.getQuantity()) {
+                    out.println("Invalid quantity. Nothing was removed.");
+                    return;
+                }
+            }
+            orderService.setQuantity(currentOrder, line, line.getQuantity() - count);
+            out.printf("%n%d x '%s' removed from order.%n", count, line.getItem().getName());
         }else {
-            System.out.println("Invalid selection. Please enter a number from the list.");
+            out.println("Invalid selection. Please enter a number from the list.");
         }
     }
 
@@ -164,43 +278,43 @@ public class OrderScreen {
      * then delegates to SandwichBuilderScreen for modification.
      */
     private void handleModifySandwich() {
-        if (currentOrder.getOrderItems().isEmpty()) {
-            System.out.println("Your order is empty. Nothing to modify.");
+        if (currentOrder.isEmpty()) {
+            out.println("Your order is empty. Nothing to modify.");
             return;
         }
 
-        System.out.println("\n--- Select Sandwich to Modify ---");
-        List<MenuItem> items = currentOrder.getOrderItems();
-        List<Integer> sandwichIndices = new ArrayList<>();
-        for (int i = 0; i < items.size(); i++) {
-            if (items.get(i) instanceof Sandwich) {
-                sandwichIndices.add(i);
-                System.out.printf("%d) %s - $%.2f%n", sandwichIndices.size(), items.get(i).getName(), items.get(i).getPrice());
+        out.println("\n--- Select Sandwich to Modify ---");
+        List<LineItem> sandwichLines = new ArrayList<>();
+        for (LineItem line : currentOrder.getLineItems()) {
+            if (line.getItem() instanceof Sandwich) {
+                sandwichLines.add(line);
+                printLine(sandwichLines.size(), line);
             }
         }
 
-        if (sandwichIndices.isEmpty()) {
-            System.out.println("No sandwiches in your order to modify.");
+        if (sandwichLines.isEmpty()) {
+            out.println("No sandwiches in your order to modify.");
             return;
         }
 
-        System.out.println("0) Go back");
+        out.println("0) Go back");
 
         int selection = console.promptForInt("Enter the number of the sandwich you want to modify: ");
         if (selection == 0) {
             return;
         }
 
-        if (selection > 0 && selection <= sandwichIndices.size()) {
-            int actualIndex = sandwichIndices.get(selection - 1);
-            MenuItem selectedItem = items.get(actualIndex);
-
-            Sandwich sandwichToModify = (Sandwich) selectedItem;
+        if (selection > 0 && selection <= sandwichLines.size()) {
+            LineItem selectedLine = sandwichLines.get(selection - 1);
+            Sandwich sandwichToModify = (Sandwich) selectedLine.getItem();
+            if (selectedLine.getQuantity() > 1) {
+                out.println("Changes apply to all " + selectedLine.getQuantity() + " of these sandwiches.");
+            }
 
             sandwichBuilderScreen.modifySandwich(sandwichToModify);
-            System.out.println("Sandwich '" + sandwichToModify.getName() + "' has been modified.");
+            out.println("Sandwich '" + sandwichToModify.getName() + "' has been modified.");
         }else {
-            System.out.println("Invalid selection. Please enter a valid number from the list.");
+            out.println("Invalid selection. Please enter a valid number from the list.");
         }
     }
 
@@ -209,11 +323,11 @@ public class OrderScreen {
      * Prevents checkout if the order is empty.
      */
     private void handleCheckout() {
-        if (currentOrder.getOrderItems().isEmpty()) {
-            System.out.println("Your order is empty. Cannot proceed to checkout.");
+        if (currentOrder.isEmpty()) {
+            out.println("Your order is empty. Cannot proceed to checkout.");
             return;
         }
-        System.out.println("Proceeding to checkout...");
+        out.println("Proceeding to checkout...");
         checkoutScreen.displayCheckout(currentOrder);
     }
 
@@ -224,10 +338,10 @@ public class OrderScreen {
     private void handleCancelOrder() {
         String confirm = console.promptForString("Are you sure you want to cancel the order? All items will be removed. (Yes/No): ");
         if (confirm.equalsIgnoreCase("yes")) {
-            currentOrder.clearOrder();
-            System.out.println("Order cancelled. Returning to the home screen.");
+            orderService.cancel(currentOrder);
+            out.println("Order cancelled. Returning to the home screen.");
         }else {
-            System.out.println("Order not cancelled. Returning to order screen.");
+            out.println("Order not cancelled. Returning to order screen.");
         }
     }
 }
@@ -0,0 +1,96 @@
+package com.pluralsight;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hosts many terminal sessions in one process.
+ * <p>
+ * Every register or kiosk connects over a plain TCP socket (for example with {@code telnet} or {@code nc})
+ * and gets the same home, order and checkout screens as the console app. Each session runs on its own
+ * virtual thread, so an idle terminal waiting for input costs little more than its order and screens.
+ * All sessions share one {@link OrderService}, and through it the menu, the order number generator
+ * and the receipt journal.
+ * </p>
+ */
+public class OrderServer implements AutoCloseable {
+    //          === Constant Variables ===
+    public static final int DEFAULT_PORT = 5150;
+
+    //          === Instance Variables ===
+    private final ServerSocket serverSocket;
+    private final OrderService orderService;
+    private final AtomicInteger activeSessions = new AtomicInteger();
+    private final AtomicInteger sessionCounter = new AtomicInteger();
+
+    //          === Constructor ===
+    /**
+     * Opens the server socket. Call {@link #serve()} to start accepting terminals.
+     *
+     * @param port         The TCP port to listen on; 0 picks a free port.
+     * @param orderService The service shared by all sessions.
+     * @throws IOException If the port cannot be opened.
+     */
+    public OrderServer(int port, OrderService orderService) throws IOException {
+        this.serverSocket = new ServerSocket(port);
+        this.orderService = orderService;
+    }
+
+    //          === Methods ===
+    /**
+     * Accepts terminals until the server is closed, starting a virtual thread for each one.
+     */
+    public void serve() {
+        System.out.println("DELI-cious order server listening on port " + getPort());
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                int session = sessionCounter.incrementAndGet();
+                Thread.ofVirtual().name("terminal-" + session).start(() -> runSession(socket));
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    System.err.println("Error accepting terminal: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs the home screen for one connected terminal until it exits or disconnects.
+     */
+    private void runSession(Socket socket) {
+        activeSessions.incrementAndGet();
+        try (socket) {
+            PrintStream out = new PrintStream(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+            Console console = new Console(socket.getInputStream(), out);
+            new HomeScreen(console, orderService).display();
+        } catch (NoSuchElementException e) {
+            // The terminal hung up while a prompt was waiting for input.
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Terminal session ended with an error: " + e);
+        } finally {
+            activeSessions.decrementAndGet();
+        }
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public int getActiveSessions() {
+        return activeSessions.get();
+    }
+
+    /**
+     * Stops accepting new terminals. Sessions already running finish on their own.
+     */
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+    }
+}
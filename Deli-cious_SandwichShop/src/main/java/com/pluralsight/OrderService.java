@@ -0,0 +1,364 @@
+package com.pluralsight;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The headless order-taking API of the shop: creating orders, adding and changing items,
+ * pricing and checking out.
+ * <p>
+ * It holds all of the ordering rules (extra-portion limits, signature sandwich copies, accepted payment
+ * methods) and performs no console I/O, so the screens, a server, or a batch import can all drive it.
+ * A single service can be shared by many sessions; each {@link Order} must only be used by one session at a time.
+ * </p>
+ */
+public class OrderService {
+    //          === Constant Variables ===
+    public static final int MAX_EXTRA_MEAT = 2;
+    public static final int MAX_EXTRA_CHEESE = 3;
+    public static final String PAYMENT_CASH = "cash";
+
+    /**
+     * What happened to a request to add a topping.
+     */
+    public enum ToppingResult {
+        /** Added exactly as requested. */
+        ADDED,
+        /** Extra was requested, but the topping has no extra portion; added as a regular portion. */
+        EXTRA_NOT_SUPPORTED,
+        /** Extra was requested, but the sandwich already has the most extra portions allowed; added as a regular portion. */
+        EXTRA_LIMIT_REACHED,
+        /** The topping is out of stock; nothing was added. */
+        SOLD_OUT
+    }
+
+    //          === Instance Variables ===
+    private final ReceiptJournal receiptJournal;
+    private final OrderIdGenerator idGenerator;
+    private final Kitchen kitchen;
+    private final Inventory inventory;
+    private final OrderLog orderLog;
+
+    //          === Constructors ===
+    /**
+     * Creates the service the application runs on, wired to the shared journal, id generator, kitchen,
+     * inventory and order log.
+     */
+    public OrderService() {
+        this(ReceiptJournal.getDefault(), OrderIdGenerator.getDefault(), Kitchen.getDefault(), Inventory.getDefault(), OrderLog.getDefault());
+    }
+
+    /**
+     * Creates a service on the given collaborators, e.g. private ones for a test, a benchmark or a second shop.
+     *
+     * @param receiptJournal Where receipt text is written at checkout.
+     * @param idGenerator    Numbers new orders.
+     * @param kitchen        Takes checked-out orders and quotes waits.
+     * @param inventory      Decides what is sold out and is drawn down at checkout.
+     * @param orderLog       Records every checked-out order.
+     */
+    public OrderService(ReceiptJournal receiptJournal, OrderIdGenerator idGenerator, Kitchen kitchen, Inventory inventory, OrderLog orderLog) {
+        this.receiptJournal = receiptJournal;
+        this.orderLog = orderLog;
+        this.idGenerator = idGenerator;
+        this.kitchen = kitchen;
+        this.inventory = inventory;
+    }
+
+    //          === Orders ===
+    /**
+     * Starts a new, empty order with its own order number.
+     */
+    public Order createOrder() {
+        return new Order(idGenerator);
+    }
+
+    /**
+     * Returns the order total in cents.
+     */
+    public long price(Order order) {
+        return order.getTotalPriceCents();
+    }
+
+    /**
+     * Adds an item that was built separately (for example a sandwich put together topping by topping).
+     *
+     * @throws IllegalArgumentException If anything the item is made of is sold out.
+     */
+    public void addItem(Order order, MenuItem item) {
+        checkAvailable(item);
+        order.addItem(item);
+    }
+
+    /**
+     * Adds more units of an item, collapsing them into one line with a quantity; see {@link Order#addItem(MenuItem, int)}.
+     *
+     * @throws IllegalArgumentException If the quantity is not positive, or anything the item is made of is sold out.
+     */
+    public LineItem addItem(Order order, MenuItem item, int quantity) {
+        checkAvailable(item);
+        return order.addItem(item, quantity);
+    }
+
+    /**
+     * Checks that an item can be sold right now, the way every add path does.
+     *
+     * @throws IllegalArgumentException If its bread, a topping, its cup size or chips are sold out.
+     */
+    private void checkAvailable(MenuItem item) {
+        if (item instanceof Sandwich sandwich && !inventory.isAvailable(sandwich)) {
+            throw new IllegalArgumentException("Sorry, the " + sandwich.getName() + " is sold out right now.");
+        }
+        if (item instanceof Drink drink && !inventory.isDrinkAvailable(drink.getSizeIndex())) {
+            throw new IllegalArgumentException("Sorry, " + drink.getSize() + " drinks are sold out right now.");
+        }
+        if (item instanceof Chips && !inventory.isChipsAvailable()) {
+            throw new IllegalArgumentException("Sorry, we are out of chips right now.");
+        }
+    }
+
+    /**
+     * Changes how many units an order line has; zero removes it.
+     *
+     * @throws IllegalArgumentException If the line is not on the order or the quantity is negative.
+     */
+    public void setQuantity(Order order, LineItem line, int quantity) {
+        order.setQuantity(line, quantity);
+    }
+
+    public void removeItem(Order order, MenuItem item) {
+        order.removeItem(item);
+    }
+
+    /**
+     * Empties the order and gives it a fresh order number.
+     */
+    public void cancel(Order order) {
+        order.clearOrder();
+    }
+
+    //          === Items ===
+    /**
+     * Creates a plain sandwich that is not yet part of any order, priced with the current {@link Catalog}.
+     *
+     * @throws IllegalArgumentException If the size or bread type is not recognized, or the bread is sold out.
+     */
+    public Sandwich createSandwich(String size, String breadType) {
+        return createSandwich(Catalog.current(), size, breadType);
+    }
+
+    /**
+     * Creates a plain sandwich for an order, priced with the order's catalog, without adding it yet.
+     *
+     * @throws IllegalArgumentException If the size or bread type is not recognized, or the bread is sold out.
+     */
+    public Sandwich createSandwich(Order order, String size, String breadType) {
+        return createSandwich(order.getCatalog(), size, breadType);
+    }
+
+    private Sandwich createSandwich(Catalog catalog, String size, String breadType) {
+        Sandwich sandwich = new Sandwich(catalog, size, breadType);
+        if (!inventory.isBreadAvailable(sandwich.getBreadTypeIndex())) {
+            throw new IllegalArgumentException("Sorry, we are out of " + sandwich.getBreadType() + " bread right now.");
+        }
+        return sandwich;
+    }
+
+    /**
+     * Adds a plain sandwich to the order on a line of its own, so it can be built up topping by topping
+     * without changing any sandwich already on the order.
+     *
+     * @throws IllegalArgumentException If the size or bread type is not recognized, or the bread is sold out.
+     */
+    public Sandwich addSandwich(Order order, String size, String breadType) {
+        Sandwich sandwich = createSandwich(order, size, breadType);
+        order.addSeparateItem(sandwich);
+        return sandwich;
+    }
+
+    /**
+     * Adds a copy of a signature sandwich to the order, on a line of its own. The copy can be changed freely
+     * without affecting the menu's signature sandwich or the same sandwich ordered before, and is made from the
+     * pre-priced prototype of the order's catalog without rebuilding the bread or replaying the toppings.
+     *
+     * @param order      The order to add to.
+     * @param menuNumber The signature sandwich's number in {@link DeliMenu}.
+     * @return The sandwich that was added.
+     * @throws IllegalArgumentException If there is no signature sandwich with that number, or it is sold out.
+     */
+    public Sandwich addSignatureSandwich(Order order, int menuNumber) {
+        Sandwich signature = order.getCatalog().getSignaturePrototype(menuNumber);
+        if (signature == null) {
+            throw new IllegalArgumentException("No signature sandwich number " + menuNumber + ".");
+        }
+        checkAvailable(signature);
+
+        Sandwich copy = signature.copy();
+        order.addSeparateItem(copy);
+        return copy;
+    }
+
+    public Map<Integer, Sandwich> getSignatureSandwiches() {
+        return DeliMenu.getSignatureSandwiches();
+    }
+
+    /**
+     * Returns whether everything on a sandwich is in stock; screens use this to mark menu entries sold out.
+     */
+    public boolean isAvailable(Sandwich sandwich) {
+        return inventory.isAvailable(sandwich);
+    }
+
+    /**
+     * Returns whether a topping is in stock.
+     */
+    public boolean isAvailable(Topping topping) {
+        return inventory.isAvailable(topping);
+    }
+
+    /**
+     * Adds a drink to the order. Unrecognized sizes fall back to medium;
+     * use {@link #isValidDrinkSize(String)} to warn about that beforehand.
+     *
+     * @throws IllegalArgumentException If cups of that size are sold out.
+     */
+    public Drink addDrink(Order order, String size, String flavor) {
+        Drink drink = new Drink(order.getCatalog(), size, flavor);
+        checkAvailable(drink);
+        order.addItem(drink);
+        return drink;
+    }
+
+    public boolean isValidDrinkSize(String size) {
+        return Drink.parseSize(size) != AliasTrie.NO_MATCH;
+    }
+
+    /**
+     * Adds a bag of chips to the order.
+     *
+     * @throws IllegalArgumentException If chips are sold out.
+     */
+    public Chips addChips(Order order, String name) {
+        Chips chips = new Chips(order.getCatalog(), name);
+        checkAvailable(chips);
+        order.addItem(chips);
+        return chips;
+    }
+
+    /**
+     * Returns whether any discount rule of the order's catalog depends on a loyalty card,
+     * so screens only ask for one when it matters.
+     */
+    public boolean offersLoyaltyDiscounts(Order order) {
+        return order.getCatalog().getDiscounts().usesLoyalty();
+    }
+
+    /**
+     * Records whether the customer showed a loyalty card; discount rules requiring {@code loyalty} apply only then.
+     */
+    public void setLoyaltyMember(Order order, boolean loyaltyMember) {
+        order.setLoyaltyMember(loyaltyMember);
+    }
+
+    /**
+     * Returns whether the kitchen is taking new orders; kiosks can check this before a customer starts ordering.
+     */
+    public boolean isAcceptingOrders() {
+        return kitchen.isAcceptingOrders();
+    }
+
+    /**
+     * Returns the wait the kitchen would quote for an order checked out now.
+     */
+    public Duration quoteWait() {
+        return kitchen.quoteWait();
+    }
+
+    //          === Sandwich changes ===
+    /**
+     * Adds a topping to a sandwich, enforcing the extra-portion rules: only premium toppings can be extra,
+     * and a sandwich can hold at most {@value #MAX_EXTRA_MEAT} extra portions of any one meat and
+     * {@value #MAX_EXTRA_CHEESE} of any one cheese. When extra is not allowed, a regular portion is added instead.
+     *
+     * @param sandwich The sandwich to change.
+     * @param topping  The topping to add.
+     * @param extra    Whether an extra portion was requested.
+     * @return Whether the topping was added as requested, downgraded to a regular portion, or not added because it is sold out.
+     */
+    public ToppingResult addTopping(Sandwich sandwich, Topping topping, boolean extra) {
+        if (!inventory.isAvailable(topping)) {
+            return ToppingResult.SOLD_OUT;
+        }
+        ToppingResult result = ToppingResult.ADDED;
+        if (extra && !topping.supportsExtra()) {
+            result = ToppingResult.EXTRA_NOT_SUPPORTED;
+        } else if (extra && sandwich.getToppingCount(topping, true) >= maxExtraPortions(topping)) {
+            result = ToppingResult.EXTRA_LIMIT_REACHED;
+        }
+
+        sandwich.addTopping(topping, result == ToppingResult.ADDED && extra);
+        return result;
+    }
+
+    /**
+     * Returns how many extra portions of one topping a sandwich may hold.
+     */
+    public int maxExtraPortions(Topping topping) {
+        if (!topping.supportsExtra()) {
+            return 0;
+        }
+        return Topping.MEAT.equals(topping.getCategory()) ? MAX_EXTRA_MEAT : MAX_EXTRA_CHEESE;
+    }
+
+    public void removeTopping(Sandwich sandwich, Topping topping, boolean extra) {
+        sandwich.removeTopping(topping, extra);
+    }
+
+    public void setToasted(Sandwich sandwich, boolean toasted) {
+        sandwich.setToasted(toasted);
+    }
+
+    //          === Checkout ===
+    /**
+     * Takes payment for an order, records it in the {@link OrderLog}, queues its receipt on the journal, takes its ingredients out of the
+     * {@link Inventory}, sends it to the {@link Kitchen} and clears the order for the next customer.
+     * <p>
+     * The ticket's place in the kitchen queue is reserved before the sale is recorded, and nothing after the
+     * log write can fail, so an order that throws was not recorded and can simply be checked out again.
+     * </p>
+     *
+     * @param order         The order to check out.
+     * @param paymentMethod The payment method; only {@value #PAYMENT_CASH} is accepted.
+     * @return The order number, amount charged, a future for the receipt write and the quoted wait.
+     * @throws IllegalStateException    If the order is empty, the kitchen is too busy or closed, or the thread is
+     *                                  interrupted waiting for room in the kitchen queue; nothing is recorded then.
+     * @throws IllegalArgumentException If the payment method is not accepted.
+     */
+    public CheckoutResult checkout(Order order, String paymentMethod) {
+        if (order.isEmpty()) {
+            throw new IllegalStateException("Your order is empty. Cannot proceed to checkout.");
+        }
+        if (!kitchen.isAcceptingOrders()) {
+            throw new IllegalStateException("The kitchen is very busy right now and is not taking new orders. Please try again in a few minutes.");
+        }
+        if (paymentMethod == null || !paymentMethod.trim().equalsIgnoreCase(PAYMENT_CASH)) {
+            throw new IllegalArgumentException("Payment method not recognized or funds insufficient. Please try again.");
+        }
+
+        KitchenTicket ticket = KitchenTicket.of(order);
+        kitchen.reserve();
+        CompletableFuture<Void> receiptSaved;
+        try {
+            receiptSaved = new Receipt(order).save(receiptJournal, orderLog);
+        } catch (RuntimeException e) {
+            kitchen.cancelReservation();
+            throw e;
+        }
+        inventory.consume(order);
+        Duration estimatedWait = kitchen.publishReserved(ticket);
+        CheckoutResult result = new CheckoutResult(order.getOrderId(), order.getTotalPriceCents(), receiptSaved, estimatedWait);
+        order.clearOrder();
+        return result;
+    }
+}
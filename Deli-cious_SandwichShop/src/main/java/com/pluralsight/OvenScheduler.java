@@ -0,0 +1,318 @@
+package com.pluralsight;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Plans the kitchen's work around the ovens.
+ * <p>
+ * The scheduler takes {@link KitchenTicket}s (it is the {@link Kitchen}'s prep work) and splits them into
+ * sandwiches. Untoasted sandwiches go straight to a prep station. Toasted ones are grouped across orders by
+ * bread type and size, because only those can share an oven cycle, and a group goes into the oven when:
+ * </p>
+ * <ul>
+ * <li>it fills the oven, or</li>
+ * <li>it has waited one oven cycle for company (the oven would have been busy about that long anyway), or</li>
+ * <li>its first sandwich would otherwise miss its order's deadline.</li>
+ * </ul>
+ * The prep stations are the workers of a {@link ForkJoinPool}. An oven batch forks one assembly task per
+ * sandwich, so idle stations steal assembly work from busy ones before the batch is toasted. There are only
+ * {@link OvenSettings#ovenCount()} ovens, so a station with an assembled batch waits for a free one.
+ * <p>
+ * The scheduler also replays every toasted sandwich through plain FIFO loading, so
+ * {@link #projectThroughput()} can compare the two on the same arrivals.
+ * </p>
+ */
+public class OvenScheduler implements Consumer<KitchenTicket>, AutoCloseable {
+    //          === Constant Variables ===
+    private static final int GROUP_COUNT = Bread.BREAD_TYPES.size() * Bread.SIZES.size();
+    private static final double NANOS_PER_HOUR = TimeUnit.HOURS.toNanos(1);
+
+    private static OvenScheduler defaultScheduler;
+
+    //          === Instance Variables ===
+    private final OvenSettings settings;
+    private final PrepStation station;
+    private final ForkJoinPool stations;
+    /** One permit per oven, held while a batch toasts. */
+    private final Semaphore ovens;
+    private final ScheduledExecutorService timer;
+    private final long ovenCycleNanos;
+    private final long deadlineNanos;
+
+    /** Toasted sandwiches waiting for an oven, one group per bread type and size. Guarded by {@code this}. */
+    private final List<List<PrepTask>> groups = new ArrayList<>(GROUP_COUNT);
+    /** The FIFO replay: the group of the load being filled, how full it is, and how many loads it took. Guarded by {@code this}. */
+    private int fifoGroup = -1;
+    private int fifoFill;
+    private long fifoCycles;
+
+    private final LongAdder toastedSandwiches = new LongAdder();
+    private final LongAdder batchedSandwiches = new LongAdder();
+    private final LongAdder ovenCycles = new LongAdder();
+    private final LongAdder sandwichesReady = new LongAdder();
+    private final LongAdder deadlineMisses = new LongAdder();
+
+    //          === Constructor ===
+    /**
+     * Creates a scheduler and starts its prep stations.
+     *
+     * @param settings     The ovens and the per-order deadline.
+     * @param stationCount How many prep stations work in parallel.
+     * @param station      The physical work of assembling and toasting.
+     */
+    public OvenScheduler(OvenSettings settings, int stationCount, PrepStation station) {
+        this.settings = settings;
+        this.station = station;
+        this.ovenCycleNanos = settings.ovenCycle().toNanos();
+        this.deadlineNanos = settings.deadline().toNanos();
+        this.ovens = new Semaphore(settings.ovenCount(), true);
+        this.stations = new ForkJoinPool(stationCount, pool -> {
+            ForkJoinWorkerThread worker = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            worker.setName("oven-station-" + worker.getPoolIndex());
+            return worker;
+        }, null, false);
+        this.timer = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "oven-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < GROUP_COUNT; i++) {
+            groups.add(new ArrayList<>(settings.ovenCapacity()));
+        }
+    }
+
+    /**
+     * Returns the scheduler shared by the application, with {@link OvenSettings#fromSystemProperties()},
+     * {@code deli.kitchen.stations} prep stations (default 2) and no physical work attached.
+     *
+     * @return The shared scheduler.
+     */
+    public static synchronized OvenScheduler getDefault() {
+        if (defaultScheduler == null) {
+            defaultScheduler = new OvenScheduler(OvenSettings.fromSystemProperties(), Integer.getInteger("deli.kitchen.stations", 2), PrepStation.NONE);
+        }
+        return defaultScheduler;
+    }
+
+    //          === Scheduling ===
+    /**
+     * Schedules every sandwich on a ticket. Drinks and chips need no preparation and are skipped.
+     */
+    @Override
+    public void accept(KitchenTicket ticket) {
+        long deadline = ticket.queuedNanos() + deadlineNanos;
+        for (MenuItem item : ticket.items()) {
+            if (item instanceof Sandwich sandwich) {
+                PrepTask task = new PrepTask(ticket.orderId(), sandwich, deadline);
+                if (sandwich.isToasted()) {
+                    scheduleToasted(task);
+                } else {
+                    stations.execute(new Assembly(task, true));
+                }
+            }
+        }
+    }
+
+    private void scheduleToasted(PrepTask task) {
+        int group = task.sandwich().getBreadTypeIndex() * Bread.SIZES.size() + task.sandwich().getSizeIndex();
+        toastedSandwiches.increment();
+
+        List<PrepTask> full = null;
+        List<PrepTask> opened = null;
+        synchronized (this) {
+            replayFifo(group);
+            List<PrepTask> batch = groups.get(group);
+            batch.add(task);
+            if (batch.size() >= settings.ovenCapacity()) {
+                full = batch;
+                groups.set(group, new ArrayList<>(settings.ovenCapacity()));
+            } else if (batch.size() == 1) {
+                opened = batch;
+            }
+        }
+
+        if (full != null) {
+            startOven(full);
+        } else if (opened != null) {
+            // Deadlines grow with arrival time, so the first sandwich in a group has the earliest one.
+            long now = System.nanoTime();
+            long releaseAt = Math.min(now + ovenCycleNanos, task.deadlineNanos() - ovenCycleNanos);
+            List<PrepTask> batch = opened;
+            timer.schedule(() -> flush(group, batch), Math.max(0, releaseAt - now), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Sends a waiting group to the oven, unless it already went because it filled up.
+     */
+    private void flush(int group, List<PrepTask> batch) {
+        synchronized (this) {
+            if (groups.get(group) != batch) {
+                return;
+            }
+            groups.set(group, new ArrayList<>(settings.ovenCapacity()));
+        }
+        startOven(batch);
+    }
+
+    private void startOven(List<PrepTask> batch) {
+        ovenCycles.increment();
+        batchedSandwiches.add(batch.size());
+        stations.execute(new OvenBatch(batch));
+    }
+
+    /**
+     * Counts the oven loads FIFO would have needed: a load only grows while sandwiches of its group arrive back to back.
+     */
+    private void replayFifo(int group) {
+        if (group == fifoGroup && fifoFill < settings.ovenCapacity()) {
+            fifoFill++;
+        } else {
+            fifoGroup = group;
+            fifoFill = 1;
+            fifoCycles++;
+        }
+    }
+
+    private void finished(PrepTask task) {
+        sandwichesReady.increment();
+        if (System.nanoTime() > task.deadlineNanos()) {
+            deadlineMisses.increment();
+        }
+    }
+
+    //          === Station work ===
+    /**
+     * Assembles one sandwich. Untoasted sandwiches are ready right after; toasted ones still go into the oven.
+     */
+    @SuppressWarnings("serial")
+    private final class Assembly extends RecursiveAction {
+        private final PrepTask task;
+        private final boolean readyAfter;
+
+        private Assembly(PrepTask task, boolean readyAfter) {
+            this.task = task;
+            this.readyAfter = readyAfter;
+        }
+
+        @Override
+        protected void compute() {
+            station.assemble(task);
+            if (readyAfter) {
+                finished(task);
+            }
+        }
+    }
+
+    /**
+     * Assembles a batch in parallel, with idle stations stealing sandwiches, then runs it through one oven cycle.
+     */
+    @SuppressWarnings("serial")
+    private final class OvenBatch extends RecursiveAction {
+        private final List<PrepTask> batch;
+
+        private OvenBatch(List<PrepTask> batch) {
+            this.batch = batch;
+        }
+
+        @Override
+        protected void compute() {
+            List<Assembly> assemblies = new ArrayList<>(batch.size());
+            for (PrepTask task : batch) {
+                assemblies.add(new Assembly(task, false));
+            }
+            invokeAll(assemblies);
+            ovens.acquireUninterruptibly();
+            try {
+                station.toast(batch);
+            } finally {
+                ovens.release();
+            }
+            for (PrepTask task : batch) {
+                finished(task);
+            }
+        }
+    }
+
+    //          === Reporting ===
+    /**
+     * Projects sandwiches per hour through the ovens, batched versus FIFO, from the toasted sandwiches seen so far.
+     *
+     * @return The projection; all zero before the first toasted sandwich.
+     */
+    public ThroughputProjection projectThroughput() {
+        long cycles = ovenCycles.sum();
+        long batched = batchedSandwiches.sum();
+        long fifo;
+        synchronized (this) {
+            fifo = fifoCycles;
+        }
+        long toasted = toastedSandwiches.sum();
+
+        double batchedFill = cycles == 0 ? 0 : (double) batched / cycles;
+        double fifoFill = fifo == 0 ? 0 : (double) toasted / fifo;
+        double cyclesPerHour = settings.ovenCount() * NANOS_PER_HOUR / ovenCycleNanos;
+        return new ThroughputProjection(toasted, batchedFill, fifoFill, batchedFill * cyclesPerHour, fifoFill * cyclesPerHour);
+    }
+
+    /**
+     * Returns how many toasted sandwiches are waiting for their group to go into the oven.
+     */
+    public synchronized int getWaitingForOven() {
+        int waiting = 0;
+        for (List<PrepTask> group : groups) {
+            waiting += group.size();
+        }
+        return waiting;
+    }
+
+    public long getOvenCycles() {
+        return ovenCycles.sum();
+    }
+
+    public long getSandwichesReady() {
+        return sandwichesReady.sum();
+    }
+
+    /**
+     * Returns how many sandwiches were ready after their order's deadline.
+     */
+    public long getDeadlineMisses() {
+        return deadlineMisses.sum();
+    }
+
+    /**
+     * Sends every waiting group to the oven, waits for the stations to finish, and stops them.
+     */
+    @Override
+    public void close() {
+        for (int group = 0; group < GROUP_COUNT; group++) {
+            List<PrepTask> batch;
+            synchronized (this) {
+                batch = groups.get(group);
+                if (batch.isEmpty()) {
+                    continue;
+                }
+                groups.set(group, new ArrayList<>(settings.ovenCapacity()));
+            }
+            startOven(batch);
+        }
+        timer.shutdownNow();
+        stations.shutdown();
+        try {
+            stations.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
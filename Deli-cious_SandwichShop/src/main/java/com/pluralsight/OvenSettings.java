@@ -0,0 +1,36 @@
+package com.pluralsight;
+
+import java.time.Duration;
+
+/**
+ * The physical limits the {@link OvenScheduler} plans around.
+ *
+ * @param ovenCount    How many ovens run in parallel.
+ * @param ovenCapacity How many sandwiches fit in one oven cycle.
+ * @param ovenCycle    How long one oven cycle takes.
+ * @param deadline     How long after checkout every sandwich of an order should be ready.
+ */
+public record OvenSettings(int ovenCount, int ovenCapacity, Duration ovenCycle, Duration deadline) {
+
+    public OvenSettings {
+        if (ovenCount <= 0 || ovenCapacity <= 0) {
+            throw new IllegalArgumentException("Ovens and oven capacity must be positive: " + ovenCount + ", " + ovenCapacity);
+        }
+        if (ovenCycle.isNegative() || ovenCycle.isZero() || deadline.isNegative()) {
+            throw new IllegalArgumentException("The oven cycle must be positive and the deadline not negative.");
+        }
+    }
+
+    /**
+     * Returns the settings configured by system properties: {@code deli.oven.count} (default 1),
+     * {@code deli.oven.capacity} (default 4), {@code deli.oven.cycleSeconds} (default 90) and
+     * {@code deli.oven.deadlineSeconds} (default 600).
+     */
+    public static OvenSettings fromSystemProperties() {
+        return new OvenSettings(
+                Integer.getInteger("deli.oven.count", 1),
+                Integer.getInteger("deli.oven.capacity", 4),
+                Duration.ofSeconds(Long.getLong("deli.oven.cycleSeconds", 90)),
+                Duration.ofSeconds(Long.getLong("deli.oven.deadlineSeconds", 600)));
+    }
+}
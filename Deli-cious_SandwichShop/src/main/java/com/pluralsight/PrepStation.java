@@ -0,0 +1,34 @@
+package com.pluralsight;
+
+import java.util.List;
+
+/**
+ * The physical work behind the {@link OvenScheduler}: what happens when a station assembles a sandwich
+ * and when an oven runs a batch. Both methods are called from the scheduler's worker threads and may block
+ * for as long as the real work takes.
+ */
+public interface PrepStation {
+
+    /**
+     * Assembles one sandwich: bread and toppings, before any toasting.
+     */
+    void assemble(PrepTask task);
+
+    /**
+     * Runs one oven cycle for a batch of assembled sandwiches that share bread type and size.
+     */
+    void toast(List<PrepTask> batch);
+
+    /**
+     * A station that does no physical work, for when the scheduler only tracks the kitchen's flow.
+     */
+    PrepStation NONE = new PrepStation() {
+        @Override
+        public void assemble(PrepTask task) {
+        }
+
+        @Override
+        public void toast(List<PrepTask> batch) {
+        }
+    };
+}
@@ -0,0 +1,11 @@
+package com.pluralsight;
+
+/**
+ * One sandwich waiting to be made, as scheduled by the {@link OvenScheduler}.
+ *
+ * @param orderId       The order the sandwich belongs to.
+ * @param sandwich      The sandwich, a frozen snapshot taken at checkout.
+ * @param deadlineNanos The {@link System#nanoTime()} by which the sandwich should be ready.
+ */
+public record PrepTask(long orderId, Sandwich sandwich, long deadlineNanos) {
+}
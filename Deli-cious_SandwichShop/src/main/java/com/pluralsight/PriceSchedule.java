@@ -0,0 +1,150 @@
+package com.pluralsight;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The day of a catalog with promotions, cut into time slices with one precompiled {@link Catalog} per slice.
+ * <p>
+ * Every promotion start and end is a boundary. Between two boundaries the same promotions run, so the
+ * slice gets a snapshot whose {@link PriceTable} already has their prices in it; slices running the same
+ * promotions share one snapshot. A timer thread publishes the next slice's snapshot at each boundary.
+ * Pricing an item therefore never looks at a clock or a rule: it reads the arrays of the snapshot its
+ * order started with, exactly as without promotions.
+ * </p>
+ */
+final class PriceSchedule {
+    //          === Constant Variables ===
+    private static final int SECONDS_PER_DAY = 24 * 60 * 60;
+    /** Fire slightly after a boundary so the wall clock is past it when the next slice is picked. */
+    private static final long BOUNDARY_MARGIN_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    /** The catalog whose boundaries the timer is following, and the timer's next task. Guarded by the class. */
+    private static Catalog following;
+    private static ScheduledFuture<?> pending;
+
+    //          === Instance Variables ===
+    private final int[] startSeconds;
+    private final Catalog[] slices;
+
+    //          === Constructor ===
+    private PriceSchedule(int[] startSeconds, Catalog[] slices) {
+        this.startSeconds = startSeconds;
+        this.slices = slices;
+    }
+
+    /**
+     * Cuts a catalog's day at every promotion boundary and compiles the snapshot of each slice.
+     *
+     * @param base A catalog with at least one promotion.
+     * @return The schedule.
+     */
+    static PriceSchedule compile(Catalog base) {
+        List<Promotion> promotions = base.getPromotions();
+        TreeSet<Integer> boundaries = new TreeSet<>();
+        for (Promotion promotion : promotions) {
+            boundaries.add(promotion.start().toSecondOfDay());
+            boundaries.add(promotion.end().toSecondOfDay());
+        }
+
+        int[] startSeconds = new int[boundaries.size()];
+        Catalog[] slices = new Catalog[boundaries.size()];
+        Map<BitSet, Catalog> compiled = new HashMap<>();
+        int slice = 0;
+        for (int second : boundaries) {
+            LocalTime start = LocalTime.ofSecondOfDay(second);
+            BitSet running = new BitSet(promotions.size());
+            List<Promotion> active = new ArrayList<>();
+            for (int i = 0; i < promotions.size(); i++) {
+                if (promotions.get(i).covers(start)) {
+                    running.set(i);
+                    active.add(promotions.get(i));
+                }
+            }
+            startSeconds[slice] = second;
+            slices[slice++] = compiled.computeIfAbsent(running, r -> base.withPromotions(active));
+        }
+        return new PriceSchedule(startSeconds, slices);
+    }
+
+    //          === Lookups ===
+    /**
+     * Returns the snapshot for a time of day.
+     */
+    Catalog at(LocalTime time) {
+        return slices[sliceAt(time.toSecondOfDay())];
+    }
+
+    /**
+     * Returns how long after {@code time} the next slice starts.
+     */
+    long nanosUntilNextBoundary(LocalTime time) {
+        int second = time.toSecondOfDay();
+        int next = sliceAt(second) + 1;
+        int nextSecond = next < startSeconds.length ? startSeconds[next] : startSeconds[0];
+        int seconds = Math.floorMod(nextSecond - second, SECONDS_PER_DAY);
+        return TimeUnit.SECONDS.toNanos(seconds == 0 ? SECONDS_PER_DAY : seconds) - time.getNano();
+    }
+
+    /**
+     * Finds the slice whose start is the latest one at or before a second of the day; before the first
+     * boundary that is the last slice, which runs over midnight.
+     */
+    private int sliceAt(int second) {
+        int index = Arrays.binarySearch(startSeconds, second);
+        if (index < 0) {
+            index = -index - 2;
+        }
+        return index < 0 ? startSeconds.length - 1 : index;
+    }
+
+    //          === Timer ===
+    /**
+     * Starts publishing a catalog's snapshots at its boundaries, replacing the catalog followed before.
+     * A catalog without promotions just stops the timer.
+     */
+    static synchronized void follow(Catalog base) {
+        if (pending != null) {
+            pending.cancel(false);
+            pending = null;
+        }
+        following = base;
+        scheduleNext(base);
+    }
+
+    private static synchronized void scheduleNext(Catalog base) {
+        PriceSchedule schedule = base.getSchedule();
+        if (following != base || schedule == null) {
+            return;
+        }
+        long delay = schedule.nanosUntilNextBoundary(LocalTime.now()) + BOUNDARY_MARGIN_NANOS;
+        pending = Timer.EXECUTOR.schedule(() -> advance(base), delay, TimeUnit.NANOSECONDS);
+    }
+
+    private static void advance(Catalog base) {
+        if (Catalog.advance(base, LocalTime.now())) {
+            scheduleNext(base);
+        }
+    }
+
+    /**
+     * Holds the timer thread, which is only started once some catalog has promotions.
+     */
+    private static final class Timer {
+        private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "price-schedule");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,150 @@
+package com.pluralsight;
+
+import java.util.Map;
+
+/**
+ * A precompiled, read-only price table for sandwiches. All prices are in cents (see {@link Money}).
+ * <p>
+ * The menu's pricing rules from the {@link Catalog} (bread price per size, premium meat and cheese prices
+ * per size, and the surcharge for an extra portion) are flattened once into dense primitive arrays.
+ * Prices are then looked up by plain array indexing on a topping's price row, the bread's
+ * size ordinal and the extra flag, so repricing a sandwich needs no string comparisons
+ * and allocates nothing.
+ * </p>
+ * Rows {@code 1..n} belong to the catalog toppings (the row is the topping number).
+ * A few extra rows at the end hold the category defaults used by toppings that were
+ * created outside the catalog.
+ */
+public final class PriceTable {
+    //          === Constant Variables ===
+    public static final int SIZE_FOUR_INDEX = 0;
+    public static final int SIZE_EIGHT_INDEX = 1;
+    public static final int SIZE_TWELVE_INDEX = 2;
+    public static final int SIZE_COUNT = 3;
+
+    /** Category order used for the default rows; matches {@link Topping#getCategoryIndex()}. */
+    static final String[] CATEGORIES = {Topping.MEAT, Topping.CHEESE, Topping.REGULAR, Topping.SAUCE, Topping.SIDE};
+
+    //          === Instance Variables ===
+    private final long[] breadPrices;
+    private final long[] toppingPrices;
+    private final int defaultRowStart;
+
+    //          === Constructor ===
+    private PriceTable(long[] breadPrices, long[] toppingPrices, int defaultRowStart) {
+        this.breadPrices = breadPrices;
+        this.toppingPrices = toppingPrices;
+        this.defaultRowStart = defaultRowStart;
+    }
+
+    //          === Static Methods ===
+    /**
+     * Returns the price table of the current {@link Catalog}. Items that are already on an order keep
+     * pricing against the table of the catalog they were created with.
+     *
+     * @return The active {@code PriceTable}.
+     */
+    public static PriceTable current() {
+        return Catalog.current().getPrices();
+    }
+
+    /**
+     * Compiles a catalog of toppings into a dense price table.
+     * Each topping gets one row of {@code SIZE_COUNT * 2} prices: the regular price and the
+     * regular-plus-extra price for every size. Only premium toppings in a category with prices are charged for;
+     * everything else gets a row of zeros.
+     *
+     * @param catalog       The toppings keyed by their menu number.
+     * @param breadPrices   The bread price per size ordinal.
+     * @param premium       Per {@link #CATEGORIES} entry, the premium price per size ordinal, or {@code null} for free categories.
+     * @param premiumExtra  Per {@link #CATEGORIES} entry, the extra-portion surcharge per size ordinal.
+     * @return A new {@code PriceTable} for the catalog.
+     */
+    static PriceTable compile(Map<Integer, Topping> catalog, long[] breadPrices, long[][] premium, long[][] premiumExtra) {
+        int maxId = 0;
+        for (int id : catalog.keySet()) {
+            maxId = Math.max(maxId, id);
+        }
+
+        int defaultRowStart = maxId + 1;
+        int rows = defaultRowStart + CATEGORIES.length * 2;
+        long[] prices = new long[rows * SIZE_COUNT * 2];
+
+        for (Map.Entry<Integer, Topping> entry : catalog.entrySet()) {
+            Topping topping = entry.getValue();
+            if (topping.isPremium()) {
+                fillRow(prices, entry.getKey(), premium[topping.getCategoryIndex()], premiumExtra[topping.getCategoryIndex()]);
+            }
+        }
+        for (int category = 0; category < CATEGORIES.length; category++) {
+            fillRow(prices, defaultRowStart + category * 2 + 1, premium[category], premiumExtra[category]);
+        }
+
+        return new PriceTable(breadPrices.clone(), prices, defaultRowStart);
+    }
+
+    /**
+     * Looks up the size ordinal for one of the {@link Bread} size constants.
+     *
+     * @param size A standardized size string ({@code "4"}, {@code "8"} or {@code "12"}).
+     * @return The size ordinal. Unknown sizes map to the 8" ordinal, matching the old defaults.
+     */
+    public static int sizeIndexOf(String size) {
+        if (Bread.SIZE_FOUR.equals(size)) return SIZE_FOUR_INDEX;
+        if (Bread.SIZE_TWELVE.equals(size)) return SIZE_TWELVE_INDEX;
+        return SIZE_EIGHT_INDEX;
+    }
+
+    private static void fillRow(long[] prices, int row, long[] base, long[] extra) {
+        if (base == null) {
+            return;
+        }
+
+        int offset = row * SIZE_COUNT * 2;
+        for (int size = 0; size < SIZE_COUNT; size++) {
+            prices[offset + size * 2] = base[size];
+            prices[offset + size * 2 + 1] = base[size] + extra[size];
+        }
+    }
+
+    //          === Lookups ===
+    /**
+     * Returns the base price of the bread for a size ordinal.
+     *
+     * @param sizeIndex The size ordinal (see {@link #SIZE_FOUR_INDEX} and friends).
+     * @return The bread price in cents.
+     */
+    public long breadPrice(int sizeIndex) {
+        return breadPrices[sizeIndex];
+    }
+
+    /**
+     * Returns the price of one portion of a topping.
+     *
+     * @param row       The topping's price row ({@link Topping#getPriceRow(PriceTable)}).
+     * @param sizeIndex The sandwich size ordinal.
+     * @param isExtra   {@code true} to include the extra-portion surcharge.
+     * @return The topping price in cents.
+     */
+    public long toppingPrice(int row, int sizeIndex, boolean isExtra) {
+        return toppingPrices[(row * SIZE_COUNT + sizeIndex) * 2 + (isExtra ? 1 : 0)];
+    }
+
+    /**
+     * Returns whether a topping number has a row of its own in this table.
+     */
+    boolean hasRow(int toppingId) {
+        return toppingId > 0 && toppingId < defaultRowStart;
+    }
+
+    /**
+     * Returns the row used by toppings that are not part of the catalog.
+     *
+     * @param categoryIndex The topping's category ordinal.
+     * @param isPremium     Whether the topping is premium.
+     * @return The default price row for that category.
+     */
+    int defaultRow(int categoryIndex, boolean isPremium) {
+        return defaultRowStart + categoryIndex * 2 + (isPremium ? 1 : 0);
+    }
+}
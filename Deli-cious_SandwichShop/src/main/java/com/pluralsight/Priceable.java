@@ -1,5 +1,15 @@
 package com.pluralsight;
 
 public interface Priceable {
-    double getPrice();
+    /**
+     * Returns the price in whole cents. This is the value all totals are built from.
+     */
+    long getPriceCents();
+
+    /**
+     * Returns the price in dollars, for display and older callers.
+     */
+    default double getPrice() {
+        return Money.toDollars(getPriceCents());
+    }
 }
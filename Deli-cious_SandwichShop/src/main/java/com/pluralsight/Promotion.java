@@ -0,0 +1,36 @@
+package com.pluralsight;
+
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A time-boxed price change, such as cheaper 12" sandwiches from 2 to 4pm, read from the {@code [promotions]}
+ * section of the catalog file. A promotion may run past midnight, e.g. from 22:00 to 02:00.
+ *
+ * @param name   The name printed on receipts while the promotion runs (e.g. "Happy Hour").
+ * @param start  When it starts, inclusive.
+ * @param end    When it ends, exclusive.
+ * @param prices The price grids it replaces, keyed like the catalog's {@code [prices]} section.
+ */
+public record Promotion(String name, LocalTime start, LocalTime end, Map<String, long[]> prices) {
+
+    public Promotion {
+        if (start.equals(end)) {
+            throw new IllegalArgumentException("Promotion '" + name + "' starts and ends at " + start + ".");
+        }
+        Map<String, long[]> copy = new HashMap<>();
+        prices.forEach((key, grid) -> copy.put(key, grid.clone()));
+        prices = Map.copyOf(copy);
+    }
+
+    /**
+     * Returns whether the promotion runs at a time of day.
+     */
+    public boolean covers(LocalTime time) {
+        if (start.isBefore(end)) {
+            return !time.isBefore(start) && time.isBefore(end);
+        }
+        return !time.isBefore(start) || time.isBefore(end);
+    }
+}
@@ -1,73 +1,78 @@
 package com.pluralsight;
 
-import java.io.*;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CompletableFuture;
 
 /**
- * Handles the generation and saving of order receipts to files.
- * Each receipt is saved with a unique filename based on the current timestamp
- * into a designated receipts' folder.
+ * Handles the generation and saving of order receipts.
+ * Each receipt carries the order's unique number (see {@link OrderIdGenerator}). The sale is recorded in the
+ * binary {@link OrderLog}, and the text receipt rendered from that record is handed to a {@link ReceiptJournal},
+ * which appends it to the day's journal file in the background.
  */
 public class Receipt {
     //          === Instance Variables ===
-    private static final String RECEIPTS_FOLDER = "Receipts";
     private Order order;
-    private String fileName;
+    private LocalDateTime time;
+    private String orderNumber;
+    private String priceSnapshot;
 
     //          === Constructor ===
     public Receipt(Order order) {
         this.order = order;
-        this.fileName = generateFileName();
+        this.time = LocalDateTime.now();
+        this.orderNumber = Long.toString(order.getOrderId());
+        this.priceSnapshot = order.getCatalog().getLabel();
     }
 
     //          === Methods ===
     /**
-     * Saves the formatted receipt content for the associated order to a text file.
-     * The file is stored in the {@value #RECEIPTS_FOLDER} directory.
-     * If the directory does not exist, an attempt is made to create it.
+     * Records the associated order in the {@link OrderLog}, then renders the receipt from that record
+     * and queues it on a {@link ReceiptJournal}.
      * <p>
-     * The receipt file includes a header with a deli name, an order number derived
-     * from the filename, the current date and time, followed by the detailed
-     * order information generated by {@link Order#generateReceiptFormat()}.
+     * The receipt includes a header with a deli name, the order number, the date and time and the
+     * price snapshot, followed by the detailed order information. It is rendered right away, on the calling thread,
+     * so the order can be cleared as soon as this returns. The disk writes happen in the background: once the
+     * journal has forced the receipt, the log is forced through the sale's record, as often as the journal's
+     * {@link ReceiptJournal.Durability} mode forces (per order, or once per group of receipts).
      * </p>
-     * A message is printed to the console indicating whether the save was successful
-     * or if an error occurred.
+     *
+     * @param journal The journal to append the receipt to.
+     * @param log     The log recording the sale.
+     * @return A future that completes once both the receipt and the sale's record are durable on disk. It fails
+     *         if the journal refuses the receipt; the sale is logged by then, and a reprint renders from the log.
+     * @throws UncheckedIOException If the sale cannot be written to the log.
      */
-    public void saveToFile() {
-        File folder = new File(RECEIPTS_FOLDER);
-        if (!folder.exists()) {
-            boolean created = folder.mkdir();
-            if (!created) {
-                System.out.println("Failed to create receipts folder.\n");
-                return;
-            }
+    public CompletableFuture<Void> save(ReceiptJournal journal, OrderLog log) {
+        StringBuilder text = new StringBuilder(256 + order.getLineItems().size() * 48);
+        int segment;
+        int end;
+        try {
+            OrderRecord record = log.append(order, time);
+            segment = record.segment();
+            end = record.offset() + record.length();
+            ReceiptRenderer.renderReceipt(record, order.getCatalog(), text);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-
-        String filePath = RECEIPTS_FOLDER + "/" + this.fileName;
-
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filePath))) {
-            writer.write("=== DELI-cious Receipt ===\n");
-            writer.write("Order #: " + fileName.replace(".txt", "") + "\n");
-            writer.write("Date: " + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")) + "\n\n");
-
-            writer.write(order.generateReceiptFormat());
-
-            System.out.println("Receipt saved: " + fileName);
-        }catch (IOException e) {
-            System.out.println("Error saving receipt: " + e.getMessage());
+        CompletableFuture<Void> journaled;
+        try {
+            journaled = journal.append(time.toLocalDate(), text);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
         }
+        return journaled.thenRun(() -> log.forceThrough(segment, end));
     }
-    
+
+    public String getOrderNumber() {
+        return orderNumber;
+    }
+
     /**
-     * Generates a unique filename for a receipt based on the current date and time.
-     * The format of the filename is "yyyyMMdd-HHmmss.txt".
-     *
-     * @return A string representing the generated filename.
+     * Returns which prices the order was charged, e.g. {@code 2025.1 (Happy Hour)}; see {@link Catalog#getLabel()}.
      */
-    private String generateFileName() {
-        LocalDateTime now = LocalDateTime.now();
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
-        return now.format(formatter) + ".txt";
+    public String getPriceSnapshot() {
+        return priceSnapshot;
     }
 }
@@ -0,0 +1,831 @@
+package com.pluralsight;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * An on-disk index of every receipt in the {@code Receipts} folder, for reprints and refunds at the counter.
+ * <p>
+ * It answers "order #X", "all orders between 12:00 and 13:00" and "orders over $50" with binary searches
+ * instead of opening receipt files. The index file ({@code Receipts/index/receipts.idx}) holds one fixed-size
+ * entry per receipt (order number, checkout time, total and where the receipt is) sorted by order number,
+ * followed by the entry numbers sorted by time and by total; it is memory-mapped, so a lookup touches a few
+ * pages. Orders checked out since the file was written are appended to a small tail file as they happen
+ * (the index {@link OrderLog#subscribe(java.util.function.Consumer) follows} the {@link OrderLog}) and folded
+ * into the index file every {@value #COMPACT_AT} orders, on a background thread so checkouts never wait for it.
+ * </p>
+ * <p>
+ * The index can always be {@link #rebuild(Path) rebuilt} from the folder: the binary order log, the daily
+ * {@link ReceiptJournal} files and the older one-receipt-per-file {@code yyyyMMdd-HHmmss.txt} receipts.
+ * When opened it also picks up any orders the log has beyond what the index last saw.
+ * </p>
+ */
+public class ReceiptIndex implements AutoCloseable {
+    //          === Constant Variables ===
+    private static final String DEFAULT_FOLDER = "Receipts";
+    private static final String INDEX_FOLDER = "index";
+    private static final String INDEX_FILE = "receipts.idx";
+    private static final String TAIL_FILE = "receipts.tail";
+    private static final String LOG_FOLDER = "orders";
+    private static final int MAGIC = 0x44494458;
+    private static final int FORMAT_VERSION = 1;
+    /** Magic, version, entry count, file count and the log position the index has seen. */
+    private static final int HEADER_BYTES = 4 * Integer.BYTES + Long.BYTES;
+    private static final int ENTRY_BYTES = 4 * Long.BYTES;
+    static final int COMPACT_AT = 4096;
+
+    private static final byte[] RECEIPT_START = "=== DELI-cious Receipt ===".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] ORDER_NUMBER = "Order #: ".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] DATE = "Date: ".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TOTAL = "Total: $".getBytes(StandardCharsets.US_ASCII);
+
+    private static ReceiptIndex defaultIndex;
+
+    /**
+     * One indexed receipt.
+     *
+     * @param orderId     The order number; for older receipts numbered by timestamp ({@code 20250529-181352}),
+     *                    its digits ({@code 20250529181352}).
+     * @param localMillis The checkout time, as in {@link OrderRecord#localMillis()}.
+     * @param totalCents  What the customer paid.
+     * @param source      Where the receipt is: a positive {@link OrderLog} segment number, or {@code -(n + 1)}
+     *                    for the {@code n}-th text file of the index.
+     * @param offset      The byte offset of the receipt within its source.
+     */
+    public record Entry(long orderId, long localMillis, long totalCents, int source, int offset) {
+        public LocalDateTime time() {
+            return LocalDateTime.ofEpochSecond(Math.floorDiv(localMillis, 1000L), (int) Math.floorMod(localMillis, 1000L) * 1_000_000, ZoneOffset.UTC);
+        }
+
+        /**
+         * Returns whether the receipt is a record of the binary order log rather than text.
+         */
+        public boolean inOrderLog() {
+            return source > 0;
+        }
+    }
+
+    //          === Instance Variables ===
+    private final Path folder;
+    private final Path logFolder;
+    private final Path indexFile;
+    private final Path tailFile;
+
+    /** The index file: header, text file names, entries by order number, then entry numbers by time and by total. */
+    private ByteBuffer index;
+    private int count;
+    private List<String> files;
+    private int entriesAt;
+    private int byTimeAt;
+    private int byTotalAt;
+
+    /** Orders since the index file was written: four longs each, in the layout of an index entry. */
+    private long[] tail = new long[4 * 64];
+    private int tailCount;
+    private FileChannel tailChannel;
+    /** The log position just past the last record indexed: segment in the high half, offset in the low half. */
+    private long logPosition;
+    private boolean closed;
+    /** The thread folding the tail into a new index file, or null. */
+    private Thread compaction;
+    /** The tail size that starts the next compaction; pushed back after one fails. */
+    private int compactAt = COMPACT_AT;
+
+    //          === Constructor ===
+    private ReceiptIndex(Path folder) throws IOException {
+        this.folder = folder;
+        this.logFolder = folder.resolve(LOG_FOLDER);
+        this.indexFile = folder.resolve(INDEX_FOLDER).resolve(INDEX_FILE);
+        this.tailFile = folder.resolve(INDEX_FOLDER).resolve(TAIL_FILE);
+
+        if (!Files.exists(indexFile)) {
+            writeIndex(scanFolder(folder, logFolder));
+            Files.deleteIfExists(tailFile);
+        }
+        mapIndex();
+        loadTail();
+    }
+
+    /**
+     * Opens the index of a receipts folder, building it first if it does not exist yet, and catches up with
+     * orders in the folder's order log that the index has not seen.
+     *
+     * @param folder The receipts folder; its order log is in {@code orders} and the index in {@code index}.
+     * @return The open index.
+     * @throws IOException If the index cannot be read, built or written.
+     */
+    public static ReceiptIndex open(Path folder) throws IOException {
+        ReceiptIndex index = new ReceiptIndex(folder);
+        OrderLog.replay(index.logFolder, (int) (index.logPosition >>> Integer.SIZE), (int) index.logPosition, index::add);
+        if (index.tailCount >= COMPACT_AT) {
+            index.compact();
+        }
+        return index;
+    }
+
+    /**
+     * Returns the index of the application's {@code Receipts} folder, kept up to date with the shared
+     * {@link OrderLog#getDefault() order log}. It is closed on JVM exit.
+     *
+     * @return The shared index.
+     * @throws UncheckedIOException If the index cannot be opened.
+     */
+    public static synchronized ReceiptIndex getDefault() {
+        if (defaultIndex == null) {
+            try {
+                defaultIndex = ReceiptIndex.open(Paths.get(DEFAULT_FOLDER));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            ReceiptIndex index = defaultIndex;
+            OrderLog.getDefault().subscribe(index::add);
+            Runtime.getRuntime().addShutdownHook(new Thread(index::close, "receipt-index-shutdown"));
+        }
+        return defaultIndex;
+    }
+
+    /**
+     * Throws away the index of a receipts folder and builds it again from the order log and text receipts.
+     *
+     * @param folder The receipts folder.
+     * @return The rebuilt index, open.
+     * @throws IOException If the folder cannot be read or the index cannot be written.
+     */
+    public static ReceiptIndex rebuild(Path folder) throws IOException {
+        Path indexFolder = folder.resolve(INDEX_FOLDER);
+        Files.deleteIfExists(indexFolder.resolve(INDEX_FILE));
+        Files.deleteIfExists(indexFolder.resolve(TAIL_FILE));
+        return open(folder);
+    }
+
+    //          === Lookups ===
+    /**
+     * Finds the receipt of an order.
+     *
+     * @param orderId The order number.
+     * @return The receipt's entry, or empty if there is none.
+     */
+    public synchronized Optional<Entry> findOrder(long orderId) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (index.getLong(entryAt(mid)) < orderId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        if (low < count && index.getLong(entryAt(low)) == orderId) {
+            return Optional.of(entry(entryAt(low)));
+        }
+        for (int i = 0; i < tailCount; i++) {
+            if (tail[4 * i] == orderId) {
+                return Optional.of(tailEntry(i));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Finds the receipt of an order by the number printed on it; older receipts are numbered by timestamp
+     * ({@code 20250529-181352}), so everything but the digits is ignored.
+     *
+     * @throws IllegalArgumentException If the number has no digits or does not fit in a {@code long}.
+     */
+    public Optional<Entry> findOrder(String orderNumber) {
+        long orderId = 0;
+        int digits = 0;
+        try {
+            for (int i = 0; i < orderNumber.length(); i++) {
+                char c = orderNumber.charAt(i);
+                if (c >= '0' && c <= '9') {
+                    orderId = Math.addExact(Math.multiplyExact(orderId, 10L), c - '0');
+                    digits++;
+                }
+            }
+        } catch (ArithmeticException e) {
+            digits = 0;
+        }
+        if (digits == 0) {
+            throw new IllegalArgumentException("Not an order number: '" + orderNumber + "'.");
+        }
+        return findOrder(orderId);
+    }
+
+    /**
+     * Returns the receipts checked out in {@code [from, to)}, by time.
+     */
+    public synchronized List<Entry> between(LocalDateTime from, LocalDateTime to) {
+        long fromMillis = from.toInstant(ZoneOffset.UTC).toEpochMilli();
+        long toMillis = to.toInstant(ZoneOffset.UTC).toEpochMilli();
+        List<Entry> found = range(byTimeAt, Long.BYTES, fromMillis, toMillis, 1);
+        found.sort(Comparator.comparingLong(Entry::localMillis));
+        return found;
+    }
+
+    /**
+     * Returns the receipts with a total in {@code [minCents, maxCents)}, from smallest to largest total.
+     */
+    public synchronized List<Entry> totalBetween(long minCents, long maxCents) {
+        List<Entry> found = range(byTotalAt, 2 * Long.BYTES, minCents, maxCents, 2);
+        found.sort(Comparator.comparingLong(Entry::totalCents));
+        return found;
+    }
+
+    /**
+     * Returns the receipts with a total over {@code cents}, e.g. {@code totalOver(5000)} for orders over $50.
+     */
+    public List<Entry> totalOver(long cents) {
+        return totalBetween(cents + 1, Long.MAX_VALUE);
+    }
+
+    /**
+     * Returns the number of indexed receipts.
+     */
+    public synchronized int size() {
+        return count + tailCount;
+    }
+
+    /**
+     * Collects the entries whose key lies in {@code [from, to)}, binary searching one of the sorted lists of
+     * entry numbers and scanning the tail.
+     *
+     * @param listAt    Where the sorted entry numbers start.
+     * @param keyOffset Where the key is within an entry.
+     * @param tailField Which of a tail entry's longs is the key.
+     */
+    private List<Entry> range(int listAt, int keyOffset, long from, long to, int tailField) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (index.getLong(entryAt(index.getInt(listAt + mid * Integer.BYTES)) + keyOffset) < from) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        List<Entry> found = new ArrayList<>();
+        for (int i = low; i < count; i++) {
+            int at = entryAt(index.getInt(listAt + i * Integer.BYTES));
+            if (index.getLong(at + keyOffset) >= to) {
+                break;
+            }
+            found.add(entry(at));
+        }
+        for (int i = 0; i < tailCount; i++) {
+            long key = tail[4 * i + tailField];
+            if (key >= from && key < to) {
+                found.add(tailEntry(i));
+            }
+        }
+        return found;
+    }
+
+    //          === Receipts ===
+    /**
+     * Returns the receipt text of an entry, for a reprint. Receipts from the order log are rendered from their
+     * record, naming toppings by the current {@link Catalog}; text receipts are read back as they were written.
+     *
+     * @throws IOException If the receipt cannot be read.
+     */
+    public String receiptText(Entry entry) throws IOException {
+        if (entry.inOrderLog()) {
+            OrderRecord record = OrderLog.read(logFolder, entry.source(), entry.offset(), new OrderRecord());
+            StringBuilder text = new StringBuilder(512);
+            ReceiptRenderer.renderReceipt(record, Catalog.current(), text);
+            return text.toString();
+        }
+
+        String file;
+        synchronized (this) {
+            file = files.get(-entry.source() - 1);
+        }
+        try (FileChannel channel = FileChannel.open(folder.resolve(file), StandardOpenOption.READ)) {
+            ByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            int end = indexOf(bytes, RECEIPT_START, entry.offset() + 1, bytes.limit());
+            byte[] receipt = new byte[(end < 0 ? bytes.limit() : end) - entry.offset()];
+            bytes.get(entry.offset(), receipt);
+            return new String(receipt, StandardCharsets.UTF_8).stripTrailing() + "\n";
+        }
+    }
+
+    //          === Keeping up with the order log ===
+    /**
+     * Indexes an order just appended to the log. Entries go to the tail file, which is folded into the
+     * index file once it holds {@value #COMPACT_AT} orders.
+     *
+     * @throws UncheckedIOException If the tail file cannot be written; the order is indexed again on the next open.
+     */
+    public synchronized void add(OrderRecord record) {
+        if (closed) {
+            return;
+        }
+        long position = ((long) record.segment() << Integer.SIZE) | (record.offset() + record.length());
+        if (position <= logPosition) {
+            return;
+        }
+        try {
+            ByteBuffer entry = ByteBuffer.allocate(ENTRY_BYTES);
+            entry.putLong(record.orderId()).putLong(record.localMillis()).putLong(record.totalCents())
+                    .putLong(location(record.segment(), record.offset())).flip();
+            while (entry.hasRemaining()) {
+                tailChannel.write(entry);
+            }
+            addToTail(record.orderId(), record.localMillis(), record.totalCents(), location(record.segment(), record.offset()));
+            logPosition = position;
+            if (tailCount >= compactAt && compaction == null) {
+                startCompaction();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Closes the tail file, waiting for a compaction in progress to finish writing its index file.
+     */
+    @Override
+    public void close() {
+        Thread running;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            running = compaction;
+            try {
+                tailChannel.close();
+            } catch (IOException e) {
+                System.err.println("Error closing receipt index: " + e.getMessage());
+            }
+        }
+        if (running != null) {
+            try {
+                running.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void addToTail(long orderId, long localMillis, long totalCents, long location) {
+        if (4 * (tailCount + 1) > tail.length) {
+            tail = Arrays.copyOf(tail, tail.length * 2);
+        }
+        int at = 4 * tailCount++;
+        tail[at] = orderId;
+        tail[at + 1] = localMillis;
+        tail[at + 2] = totalCents;
+        tail[at + 3] = location;
+    }
+
+    /**
+     * Folds the tail into a new index file and empties the tail, on the calling thread.
+     */
+    private void compact() throws IOException {
+        Compaction snapshot = new Compaction();
+        writeIndex(snapshot.merge());
+        install(snapshot);
+    }
+
+    /**
+     * Starts folding the tail into a new index file on a background thread. Lookups keep using the current
+     * index file and the whole tail until the new file is written; orders added meanwhile stay in the tail.
+     */
+    private void startCompaction() {
+        Compaction snapshot = new Compaction();
+        compaction = new Thread(() -> {
+            try {
+                writeIndex(snapshot.merge());
+                synchronized (this) {
+                    if (!closed) {
+                        install(snapshot);
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Error compacting receipt index: " + e.getMessage());
+                synchronized (this) {
+                    compactAt = tailCount + COMPACT_AT;
+                }
+            } finally {
+                synchronized (this) {
+                    compaction = null;
+                }
+            }
+        }, "receipt-index-compaction");
+        compaction.setDaemon(true);
+        compaction.start();
+    }
+
+    /**
+     * Switches to the index file written for a compaction and keeps only the tail entries added after it started.
+     */
+    private void install(Compaction snapshot) throws IOException {
+        long seen = logPosition;
+        tailChannel.close();
+        writeTail(snapshot.tailSize);
+        mapIndex();
+        int remaining = tailCount - snapshot.tailSize;
+        System.arraycopy(tail, 4 * snapshot.tailSize, tail, 0, 4 * remaining);
+        tailCount = remaining;
+        tailChannel = FileChannel.open(tailFile, StandardOpenOption.WRITE);
+        tailChannel.position((long) tailCount * ENTRY_BYTES);
+        logPosition = seen;
+        compactAt = COMPACT_AT;
+    }
+
+    /**
+     * Replaces the tail file in one step with the tail entries from {@code from} on.
+     */
+    private void writeTail(int from) throws IOException {
+        ByteBuffer bytes = ByteBuffer.allocate((tailCount - from) * ENTRY_BYTES);
+        bytes.asLongBuffer().put(tail, 4 * from, 4 * (tailCount - from));
+        Path temporary = tailFile.resolveSibling(TAIL_FILE + ".tmp");
+        Files.write(temporary, bytes.array());
+        Files.move(temporary, tailFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * The index file and tail as they were when a compaction started. The mapped index file is never written,
+     * so the new one can be built from it without holding the lock.
+     */
+    private final class Compaction {
+        private final ByteBuffer base = index;
+        private final int baseCount = count;
+        private final int baseEntriesAt = entriesAt;
+        private final List<String> baseFiles = files;
+        private final long[] tailEntries = Arrays.copyOf(tail, 4 * tailCount);
+        private final int tailSize = tailCount;
+        private final long seenPosition = logPosition;
+
+        Entries merge() {
+            Entries merged = new Entries();
+            for (int i = 0; i < baseCount; i++) {
+                int at = baseEntriesAt + i * ENTRY_BYTES;
+                merged.add(base.getLong(at), base.getLong(at + Long.BYTES), base.getLong(at + 2 * Long.BYTES), base.getLong(at + 3 * Long.BYTES));
+            }
+            for (int i = 0; i < tailSize; i++) {
+                merged.add(tailEntries[4 * i], tailEntries[4 * i + 1], tailEntries[4 * i + 2], tailEntries[4 * i + 3]);
+            }
+            merged.files.addAll(baseFiles);
+            merged.logPosition = seenPosition;
+            return merged;
+        }
+    }
+
+    //          === Index file ===
+    private int entryAt(int entry) {
+        return entriesAt + entry * ENTRY_BYTES;
+    }
+
+    private Entry entry(int at) {
+        long location = index.getLong(at + 3 * Long.BYTES);
+        return new Entry(index.getLong(at), index.getLong(at + Long.BYTES), index.getLong(at + 2 * Long.BYTES),
+                (int) (location >> Integer.SIZE), (int) location);
+    }
+
+    private Entry tailEntry(int i) {
+        long location = tail[4 * i + 3];
+        return new Entry(tail[4 * i], tail[4 * i + 1], tail[4 * i + 2], (int) (location >> Integer.SIZE), (int) location);
+    }
+
+    private static long location(int source, int offset) {
+        return ((long) source << Integer.SIZE) | (offset & 0xFFFFFFFFL);
+    }
+
+    private void mapIndex() throws IOException {
+        try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+            index = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (index.limit() < HEADER_BYTES || index.getInt(0) != MAGIC || index.getInt(Integer.BYTES) != FORMAT_VERSION) {
+            throw new IOException(indexFile + " is not a receipt index; delete it to rebuild.");
+        }
+        count = index.getInt(2 * Integer.BYTES);
+        int fileCount = index.getInt(3 * Integer.BYTES);
+        logPosition = index.getLong(4 * Integer.BYTES);
+
+        files = new ArrayList<>(fileCount);
+        int at = HEADER_BYTES;
+        for (int i = 0; i < fileCount; i++) {
+            byte[] name = new byte[index.getShort(at) & 0xFFFF];
+            index.get(at + Short.BYTES, name);
+            files.add(new String(name, StandardCharsets.UTF_8));
+            at += Short.BYTES + name.length;
+        }
+        entriesAt = at;
+        byTimeAt = entriesAt + count * ENTRY_BYTES;
+        byTotalAt = byTimeAt + count * Integer.BYTES;
+    }
+
+    /**
+     * Reads the tail file into memory and opens it for appending.
+     */
+    private void loadTail() throws IOException {
+        tailCount = 0;
+        long lastRecord = -1;
+        if (Files.exists(tailFile)) {
+            ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(tailFile));
+            // A torn last entry from a crash is dropped; the order log has it and the next open re-adds it.
+            int complete = bytes.limit() / ENTRY_BYTES;
+            for (int i = 0; i < complete; i++) {
+                int at = i * ENTRY_BYTES;
+                long location = bytes.getLong(at + 3 * Long.BYTES);
+                if (location > 0 && location < logPosition) {
+                    // Folded into the index file by a compaction that stopped before it could trim the tail.
+                    continue;
+                }
+                addToTail(bytes.getLong(at), bytes.getLong(at + Long.BYTES), bytes.getLong(at + 2 * Long.BYTES), location);
+                if (location > 0) {
+                    lastRecord = Math.max(lastRecord, location);
+                }
+            }
+        }
+        tailChannel = FileChannel.open(tailFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        if (tailChannel.size() != (long) tailCount * ENTRY_BYTES) {
+            tailChannel.close();
+            writeTail(0);
+            tailChannel = FileChannel.open(tailFile, StandardOpenOption.WRITE);
+        }
+        tailChannel.position((long) tailCount * ENTRY_BYTES);
+        if (lastRecord > logPosition) {
+            // The tail stores where records start; step past the last one so it is not indexed twice.
+            OrderRecord record = OrderLog.read(logFolder, (int) (lastRecord >>> Integer.SIZE), (int) lastRecord, new OrderRecord());
+            logPosition = lastRecord + record.length();
+        }
+    }
+
+    /**
+     * Writes an index file next to the current one and moves it into place in one step.
+     */
+    private void writeIndex(Entries entries) throws IOException {
+        Files.createDirectories(indexFile.getParent());
+        int n = entries.size;
+        int[] byId = sortedBy(entries, 0);
+        // Positions in the id-sorted entries, ordered by time and by total.
+        int[] position = new int[n];
+        for (int i = 0; i < n; i++) {
+            position[byId[i]] = i;
+        }
+        int[] byTime = sortedBy(entries, 1);
+        int[] byTotal = sortedBy(entries, 2);
+        for (int i = 0; i < n; i++) {
+            byTime[i] = position[byTime[i]];
+            byTotal[i] = position[byTotal[i]];
+        }
+
+        int namesBytes = 0;
+        List<byte[]> names = new ArrayList<>(entries.files.size());
+        for (String file : entries.files) {
+            byte[] name = file.getBytes(StandardCharsets.UTF_8);
+            names.add(name);
+            namesBytes += Short.BYTES + name.length;
+        }
+
+        Path temporary = indexFile.resolveSibling(INDEX_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = (long) HEADER_BYTES + namesBytes + (long) n * (ENTRY_BYTES + 2 * Integer.BYTES);
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Too many receipts for one index file: " + n);
+            }
+            ByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            out.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(n).putInt(names.size()).putLong(entries.logPosition);
+            for (byte[] name : names) {
+                out.putShort((short) name.length).put(name);
+            }
+            for (int i : byId) {
+                out.putLong(entries.data[4 * i]).putLong(entries.data[4 * i + 1])
+                        .putLong(entries.data[4 * i + 2]).putLong(entries.data[4 * i + 3]);
+            }
+            for (int i : byTime) {
+                out.putInt(i);
+            }
+            for (int i : byTotal) {
+                out.putInt(i);
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Returns the entry numbers ordered by one of an entry's longs. Keys are full longs, so each is first replaced
+     * by its rank among the sorted keys; {@code rank << 32 | entry} then sorts as a plain {@code long[]}.
+     */
+    private static int[] sortedBy(Entries entries, int field) {
+        int n = entries.size;
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = entries.data[4 * i + field];
+        }
+        long[] sortedKeys = keys.clone();
+        Arrays.sort(sortedKeys);
+        long[] packed = new long[n];
+        for (int i = 0; i < n; i++) {
+            // Equal keys get the same rank: the search always takes the same path through the same array.
+            packed[i] = ((long) Arrays.binarySearch(sortedKeys, keys[i]) << Integer.SIZE) | i;
+        }
+        Arrays.sort(packed);
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = (int) packed[i];
+        }
+        return order;
+    }
+
+    /**
+     * Entries being collected for a new index file, four longs each.
+     */
+    private static final class Entries {
+        long[] data = new long[4 * 256];
+        int size;
+        final List<String> files = new ArrayList<>();
+        long logPosition;
+
+        void add(long orderId, long localMillis, long totalCents, long location) {
+            if (4 * (size + 1) > data.length) {
+                data = Arrays.copyOf(data, data.length * 2);
+            }
+            int at = 4 * size++;
+            data[at] = orderId;
+            data[at + 1] = localMillis;
+            data[at + 2] = totalCents;
+            data[at + 3] = location;
+        }
+    }
+
+    //          === Building from the folder ===
+    /**
+     * Collects an entry for every order in the log and every text receipt of an order that is not in the log.
+     */
+    private static Entries scanFolder(Path folder, Path logFolder) throws IOException {
+        Entries entries = new Entries();
+        OrderLog.replay(logFolder, record -> {
+            entries.add(record.orderId(), record.localMillis(), record.totalCents(), location(record.segment(), record.offset()));
+            entries.logPosition = ((long) record.segment() << Integer.SIZE) | (record.offset() + record.length());
+        });
+        long[] logged = new long[entries.size];
+        for (int i = 0; i < entries.size; i++) {
+            logged[i] = entries.data[4 * i];
+        }
+        Arrays.sort(logged);
+
+        List<Path> textFiles;
+        if (Files.isDirectory(folder)) {
+            try (Stream<Path> files = Files.list(folder)) {
+                textFiles = files.filter(file -> file.getFileName().toString().endsWith(".txt") && Files.isRegularFile(file)).sorted().toList();
+            }
+        } else {
+            textFiles = List.of();
+        }
+        for (Path file : textFiles) {
+            int source = -(entries.files.size() + 1);
+            boolean used = false;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                if (channel.size() == 0 || channel.size() > Integer.MAX_VALUE) {
+                    continue;
+                }
+                ByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                for (int start = indexOf(bytes, RECEIPT_START, 0, bytes.limit()); start >= 0; ) {
+                    int next = indexOf(bytes, RECEIPT_START, start + 1, bytes.limit());
+                    int end = next < 0 ? bytes.limit() : next;
+                    long orderId = digitsAfter(bytes, ORDER_NUMBER, start, end);
+                    long localMillis = timeAfter(bytes, start, end);
+                    long totalCents = centsAfter(bytes, TOTAL, start, end);
+                    if (orderId >= 0 && localMillis != Long.MIN_VALUE && totalCents >= 0 && Arrays.binarySearch(logged, orderId) < 0) {
+                        entries.add(orderId, localMillis, totalCents, location(source, start));
+                        used = true;
+                    }
+                    start = next;
+                }
+            }
+            if (used) {
+                entries.files.add(folder.relativize(file).toString());
+            }
+        }
+        return entries;
+    }
+
+    private static int indexOf(ByteBuffer bytes, byte[] pattern, int from, int to) {
+        outer:
+        for (int i = from; i <= to - pattern.length; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (bytes.get(i + j) != pattern[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Reads the digits on the line after a label, e.g. {@code 20250529181352} from {@code Order #: 20250529-181352}.
+     *
+     * @return The number, or -1 if the label is missing, has no digits or does not fit in a {@code long}.
+     */
+    private static long digitsAfter(ByteBuffer bytes, byte[] label, int from, int to) {
+        int at = indexOf(bytes, label, from, to);
+        if (at < 0) {
+            return -1;
+        }
+        long value = 0;
+        int digits = 0;
+        for (int i = at + label.length; i < to && bytes.get(i) != '\n'; i++) {
+            byte b = bytes.get(i);
+            if (b >= '0' && b <= '9') {
+                try {
+                    value = Math.addExact(Math.multiplyExact(value, 10L), b - '0');
+                } catch (ArithmeticException e) {
+                    return -1;
+                }
+                digits++;
+            }
+        }
+        return digits == 0 ? -1 : value;
+    }
+
+    /**
+     * Reads an amount like {@code $29.50} after a label as cents.
+     *
+     * @return The cents, or -1 if the label is missing.
+     */
+    private static long centsAfter(ByteBuffer bytes, byte[] label, int from, int to) {
+        int at = indexOf(bytes, label, from, to);
+        if (at < 0) {
+            return -1;
+        }
+        long dollars = 0;
+        long cents = 0;
+        int centDigits = -1;
+        for (int i = at + label.length; i < to; i++) {
+            byte b = bytes.get(i);
+            if (b == '.') {
+                centDigits = 0;
+            } else if (b >= '0' && b <= '9') {
+                if (centDigits < 0) {
+                    dollars = dollars * 10 + (b - '0');
+                } else if (centDigits < 2) {
+                    cents = cents * 10 + (b - '0');
+                    centDigits++;
+                }
+            } else if (b != ',') {
+                break;
+            }
+        }
+        if (centDigits == 1) {
+            cents *= 10;
+        }
+        return Money.cents(dollars, cents);
+    }
+
+    /**
+     * Reads the {@code Date: yyyy-MM-dd HH:mm:ss} line as local milliseconds.
+     *
+     * @return The time, or {@link Long#MIN_VALUE} if it is missing or malformed.
+     */
+    private static long timeAfter(ByteBuffer bytes, int from, int to) {
+        int at = indexOf(bytes, DATE, from, to);
+        if (at < 0 || at + DATE.length + 19 > to) {
+            return Long.MIN_VALUE;
+        }
+        at += DATE.length;
+        try {
+            LocalDateTime time = LocalDateTime.of(number(bytes, at, 4), number(bytes, at + 5, 2), number(bytes, at + 8, 2),
+                    number(bytes, at + 11, 2), number(bytes, at + 14, 2), number(bytes, at + 17, 2));
+            return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+        } catch (RuntimeException e) {
+            return Long.MIN_VALUE;
+        }
+    }
+
+    private static int number(ByteBuffer bytes, int at, int digits) {
+        int value = 0;
+        for (int i = 0; i < digits; i++) {
+            byte b = bytes.get(at + i);
+            if (b < '0' || b > '9') {
+                throw new IllegalArgumentException("Not a digit");
+            }
+            value = value * 10 + (b - '0');
+        }
+        return value;
+    }
+}
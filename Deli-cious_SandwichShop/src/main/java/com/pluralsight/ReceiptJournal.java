@@ -0,0 +1,262 @@
+package com.pluralsight;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * An append-only journal of receipts, written by a background thread.
+ * <p>
+ * Checkout hands over a rendered receipt and gets back a {@link CompletableFuture} right away.
+ * The writer thread drains whatever receipts are waiting, appends them to one journal file per day
+ * ({@code Receipts/journal-yyyyMMdd.txt}) and forces them to disk before completing their futures.
+ * How often it forces is set by the {@link Durability} mode.
+ * </p>
+ */
+public class ReceiptJournal implements AutoCloseable {
+    //          === Constant Variables ===
+    private static final String DEFAULT_FOLDER = "Receipts";
+    private static final int MAX_BATCH = 256;
+    private static final DateTimeFormatter FILE_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final byte[] RECORD_SEPARATOR = "\n".getBytes(StandardCharsets.UTF_8);
+    private static final ThreadLocal<CharsetEncoder> ENCODER = ThreadLocal.withInitial(StandardCharsets.UTF_8::newEncoder);
+
+    /**
+     * When receipts are forced to disk.
+     */
+    public enum Durability {
+        /** Every receipt is forced on its own before its future completes. */
+        PER_ORDER,
+        /** All receipts drained together are forced once (group commit). */
+        BATCHED
+    }
+
+    private static ReceiptJournal defaultJournal;
+
+    //          === Instance Variables ===
+    private final Path folder;
+    private final Durability durability;
+    private final BlockingQueue<Entry> queue = new LinkedBlockingQueue<>();
+    private Thread writer;
+    /** Guards {@link #closed} so that no receipt is queued behind {@link #SHUTDOWN}. */
+    private final Object queueLock = new Object();
+    private boolean closed;
+
+    private FileChannel channel;
+    private LocalDate channelDate;
+
+    /**
+     * A rendered receipt waiting to be written.
+     */
+    private record Entry(LocalDate date, ByteBuffer bytes, CompletableFuture<Void> durable) {
+    }
+
+    /** Queued by {@link #close()} to wake the writer once everything before it is written. */
+    private static final Entry SHUTDOWN = new Entry(null, null, null);
+
+    //          === Constructor ===
+    private ReceiptJournal(Path folder, Durability durability) {
+        this.folder = folder;
+        this.durability = durability;
+    }
+
+    /**
+     * Creates a journal writing into {@code folder} and starts its writer thread.
+     *
+     * @param folder     The folder holding the daily journal files; created on first write.
+     * @param durability When receipts are forced to disk.
+     * @return The open journal.
+     */
+    public static ReceiptJournal open(Path folder, Durability durability) {
+        ReceiptJournal journal = new ReceiptJournal(folder, durability);
+        journal.writer = new Thread(journal::writeLoop, "receipt-journal");
+        journal.writer.setDaemon(true);
+        journal.writer.start();
+        return journal;
+    }
+
+    /**
+     * Returns the journal shared by the application, writing into the {@code Receipts} folder.
+     * The durability mode comes from the {@code deli.receipts.durability} system property
+     * ({@code per_order} or {@code batched}, the default). The journal is drained and closed on JVM exit.
+     *
+     * @return The shared journal.
+     */
+    public static synchronized ReceiptJournal getDefault() {
+        if (defaultJournal == null) {
+            String mode = System.getProperty("deli.receipts.durability", Durability.BATCHED.name());
+            defaultJournal = ReceiptJournal.open(Paths.get(DEFAULT_FOLDER), Durability.valueOf(mode.trim().toUpperCase()));
+            ReceiptJournal journal = defaultJournal;
+            Runtime.getRuntime().addShutdownHook(new Thread(journal::close, "receipt-journal-shutdown"));
+        }
+        return defaultJournal;
+    }
+
+    //          === Methods ===
+    /**
+     * Queues a rendered receipt for the journal file of the given day.
+     *
+     * @param date    The business day the receipt belongs to.
+     * @param receipt The full receipt text.
+     * @return A future that completes once the receipt is durable, or completes exceptionally if writing fails.
+     * @throws IllegalStateException If the journal has been closed.
+     * @throws IllegalArgumentException If the receipt is not valid text (an unpaired surrogate).
+     */
+    public CompletableFuture<Void> append(LocalDate date, CharSequence receipt) {
+        // Encoded straight from the caller's text, without building it as a String first.
+        ByteBuffer bytes;
+        try {
+            bytes = ENCODER.get().reset().encode(CharBuffer.wrap(receipt));
+        } catch (CharacterCodingException e) {
+            throw new IllegalArgumentException("Receipt is not valid text.", e);
+        }
+        CompletableFuture<Void> durable = new CompletableFuture<>();
+        synchronized (queueLock) {
+            if (closed) {
+                throw new IllegalStateException("Receipt journal is closed.");
+            }
+            queue.add(new Entry(date, bytes, durable));
+        }
+        return durable;
+    }
+
+    /**
+     * Returns the journal file for a day.
+     */
+    public Path journalFile(LocalDate date) {
+        return folder.resolve("journal-" + date.format(FILE_DATE) + ".txt");
+    }
+
+    /**
+     * Stops accepting receipts, waits for the queued ones to be written, and closes the journal file.
+     */
+    @Override
+    public void close() {
+        synchronized (queueLock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            queue.add(SHUTDOWN);
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    //          === Writer thread ===
+    private void writeLoop() {
+        List<Entry> batch = new ArrayList<>(MAX_BATCH);
+        boolean running = true;
+        while (running) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, MAX_BATCH - 1);
+            } catch (InterruptedException e) {
+                break;
+            }
+
+            int end = batch.indexOf(SHUTDOWN);
+            if (end >= 0) {
+                running = false;
+                batch.subList(end, batch.size()).clear();
+            }
+            writeBatch(batch);
+            batch.clear();
+        }
+        closeChannel();
+    }
+
+    /**
+     * Appends a batch of receipts and completes their futures, forcing per the durability mode.
+     * Receipts for different days go to their own files, forcing each file before switching.
+     */
+    private void writeBatch(List<Entry> batch) {
+        int pending = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            Entry entry = batch.get(i);
+            try {
+                if (!entry.date().equals(channelDate)) {
+                    commit(batch, pending, i);
+                    pending = i;
+                    openChannel(entry.date());
+                }
+                writeFully(entry.bytes());
+                writeFully(ByteBuffer.wrap(RECORD_SEPARATOR));
+                if (durability == Durability.PER_ORDER) {
+                    commit(batch, i, i + 1);
+                    pending = i + 1;
+                }
+            } catch (IOException e) {
+                for (int j = pending; j < batch.size(); j++) {
+                    batch.get(j).durable().completeExceptionally(e);
+                }
+                closeChannel();
+                return;
+            }
+        }
+        try {
+            commit(batch, pending, batch.size());
+        } catch (IOException e) {
+            for (int j = pending; j < batch.size(); j++) {
+                batch.get(j).durable().completeExceptionally(e);
+            }
+            closeChannel();
+        }
+    }
+
+    /**
+     * Forces the open journal file and completes the futures of {@code batch[from, to)}.
+     */
+    private void commit(List<Entry> batch, int from, int to) throws IOException {
+        if (from >= to) {
+            return;
+        }
+        channel.force(false);
+        for (int i = from; i < to; i++) {
+            batch.get(i).durable().complete(null);
+        }
+    }
+
+    private void openChannel(LocalDate date) throws IOException {
+        closeChannel();
+        Files.createDirectories(folder);
+        channel = FileChannel.open(journalFile(date), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        channelDate = date;
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private void closeChannel() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                System.err.println("Error closing receipt journal: " + e.getMessage());
+            }
+        }
+        channel = null;
+        channelDate = null;
+    }
+}
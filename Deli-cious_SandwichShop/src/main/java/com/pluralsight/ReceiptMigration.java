@@ -0,0 +1,618 @@
+package com.pluralsight;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Moves the old one-receipt-per-file text receipts ({@code Receipts/yyyyMMdd-HHmmss.txt}) into the {@link OrderLog},
+ * so that years of sales before the log existed can be looked up and reported on like any other order.
+ * <p>
+ * Each receipt is read through a memory-mapped buffer and turned back into an order: its number (the digits of
+ * the timestamp it was numbered with), checkout time, items with their printed prices, toasting, and toppings by
+ * catalog number with regular and {@code Extra} portions. Identical items become one line with a quantity, as
+ * they would be today. The parsing is spread over a {@link ForkJoinPool}, each task encoding its orders straight
+ * into log records, and every batch is then appended to the log in one go, oldest receipt first.
+ * </p>
+ * <p>
+ * After each batch the log is forced to disk and a checkpoint ({@value #CHECKPOINT_FILE} in the log folder) records
+ * the last receipt migrated, so an interrupted migration resumes where it stopped. Orders already in the log are
+ * skipped, so running it twice, or after a crash between a batch and its checkpoint, migrates nothing twice.
+ * Receipts that cannot be read back (no order number, an unknown topping, ...) are reported and left alone.
+ * The text files are not changed.
+ * </p>
+ */
+public class ReceiptMigration {
+    //          === Constant Variables ===
+    static final String CHECKPOINT_FILE = "legacy-migration.checkpoint";
+    /** The price snapshot recorded for migrated orders, which were priced before snapshots existed. */
+    public static final String PRICE_SNAPSHOT = "legacy receipt";
+    /** The discount recorded when a receipt's total differs from the sum of its lines. */
+    public static final String ADJUSTMENT = "Receipt adjustment";
+    public static final int DEFAULT_BATCH_FILES = 4096;
+    private static final int FILES_PER_TASK = 64;
+    private static final int MAX_REJECTS_LISTED = 100;
+
+    private static final Pattern LEGACY_NAME = Pattern.compile("\\d{8}-\\d{6}\\.txt");
+    private static final Pattern SANDWICH_NAME = Pattern.compile("(\\S+)\" (\\S+) sandwich", Pattern.CASE_INSENSITIVE);
+    private static final String EXTRA = "Extra ";
+
+    private static final byte[] ORDER_NUMBER = "Order #: ".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] DATE = "Date: ".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] DETAILS = "Order Details:".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] DIVIDER = "-----".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TOTAL = "Total: $".getBytes(StandardCharsets.US_ASCII);
+    private static final String PRICE_SEPARATOR = " - $";
+    private static final String TOASTED = "* Toasted";
+    private static final String TOPPING = "+ ";
+
+    /**
+     * How far a migration has got; passed to the progress callback after every batch and returned at the end.
+     *
+     * @param files        The legacy receipts in the folder.
+     * @param resumed      Receipts migrated by an earlier run, per the checkpoint, and not read again.
+     * @param migrated     Orders appended to the log by this run.
+     * @param skipped      Receipts of orders the log already had.
+     * @param rejected     Receipts that could not be read back into an order.
+     * @param bytesRead    The size of the receipts read.
+     * @param elapsedNanos Time spent so far.
+     * @param rejects      The first rejected receipts with the reason, e.g. {@code "20250529-173940.txt: no total"}.
+     */
+    public record Report(int files, int resumed, long migrated, long skipped, long rejected, long bytesRead,
+                         long elapsedNanos, List<String> rejects) {
+        public double ordersPerSecond() {
+            return elapsedNanos == 0 ? 0 : migrated * 1e9 / elapsedNanos;
+        }
+
+        public double megabytesPerSecond() {
+            return elapsedNanos == 0 ? 0 : bytesRead * 1e9 / elapsedNanos / (1 << 20);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%,d of %,d receipts migrated (%,d done before, %,d already logged, %,d rejected) in %.1f s: %,.0f orders/s, %.1f MB/s",
+                    migrated, files, resumed, skipped, rejected, elapsedNanos / 1e9, ordersPerSecond(), megabytesPerSecond());
+        }
+    }
+
+    //          === Instance Variables ===
+    private final Path folder;
+    private final OrderLog log;
+    private final Catalog catalog;
+    private final ForkJoinPool pool;
+    private final int batchFiles;
+    private final Path checkpointFile;
+    /** Topping numbers by lower-case name; the lowest number wins where two toppings share a name. */
+    private final Map<String, Integer> toppingIds = new HashMap<>();
+    private final Map<String, SignatureRecipe> signatures = new HashMap<>();
+
+    //          === Constructor ===
+    /**
+     * Prepares a migration of the receipts in {@code folder}.
+     *
+     * @param folder  The folder holding the {@code yyyyMMdd-HHmmss.txt} receipts.
+     * @param log     The log to migrate into; its folder also holds the checkpoint.
+     * @param catalog The menu used to read topping names, bread, sizes and signature sandwiches.
+     * @param pool    The pool the receipts are parsed on.
+     */
+    public ReceiptMigration(Path folder, OrderLog log, Catalog catalog, ForkJoinPool pool) {
+        this(folder, log, catalog, pool, DEFAULT_BATCH_FILES);
+    }
+
+    ReceiptMigration(Path folder, OrderLog log, Catalog catalog, ForkJoinPool pool, int batchFiles) {
+        if (batchFiles <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive.");
+        }
+        this.folder = folder;
+        this.log = log;
+        this.catalog = catalog;
+        this.pool = pool;
+        this.batchFiles = batchFiles;
+        this.checkpointFile = log.getFolder().resolve(CHECKPOINT_FILE);
+
+        catalog.getToppings().forEach((id, topping) -> toppingIds.putIfAbsent(topping.getName().toLowerCase(Locale.ROOT), id));
+        catalog.getSignatureRecipes().values().forEach(recipe -> signatures.putIfAbsent(recipe.name().toLowerCase(Locale.ROOT), recipe));
+    }
+
+    //          === Migration ===
+    /**
+     * Migrates every receipt not migrated yet, batch by batch.
+     *
+     * @param progress Called after every batch with the totals so far.
+     * @return The final totals.
+     * @throws IOException If the folder, the log or the checkpoint cannot be read or written; the migration can
+     *                     be run again to resume.
+     */
+    public Report migrate(Consumer<? super Report> progress) throws IOException {
+        long started = System.nanoTime();
+        List<Path> files = legacyFiles(folder);
+
+        Properties checkpoint = readCheckpoint();
+        String lastFile = checkpoint.getProperty("file", "");
+        long position = Long.parseLong(checkpoint.getProperty("position", "0"));
+        int from = 0;
+        while (from < files.size() && files.get(from).getFileName().toString().compareTo(lastFile) <= 0) {
+            from++;
+        }
+        long[] logged = loggedSince(position);
+
+        int resumed = from;
+        long migrated = 0;
+        long skipped = 0;
+        long rejected = 0;
+        long bytesRead = 0;
+        List<String> rejects = new ArrayList<>();
+        Report report = new Report(files.size(), resumed, 0, 0, 0, 0, System.nanoTime() - started, List.of());
+
+        while (from < files.size()) {
+            int to = Math.min(from + batchFiles, files.size());
+            List<Chunk> chunks = pool.invoke(new ParseTask(files, from, to, logged));
+            for (Chunk chunk : chunks) {
+                chunk.records.flip();
+                log.appendEncoded(chunk.records);
+                migrated += chunk.orders;
+                skipped += chunk.skipped;
+                rejected += chunk.rejects.size();
+                bytesRead += chunk.bytesRead;
+                for (String reject : chunk.rejects) {
+                    if (rejects.size() < MAX_REJECTS_LISTED) {
+                        rejects.add(reject);
+                    }
+                }
+            }
+            log.force();
+            writeCheckpoint(files.get(to - 1).getFileName().toString(), log.position());
+            from = to;
+
+            report = new Report(files.size(), resumed, migrated, skipped, rejected, bytesRead, System.nanoTime() - started, List.copyOf(rejects));
+            progress.accept(report);
+        }
+        return report;
+    }
+
+    /**
+     * Lists the receipts named {@code yyyyMMdd-HHmmss.txt} in a folder, oldest first.
+     */
+    static List<Path> legacyFiles(Path folder) throws IOException {
+        if (!Files.isDirectory(folder)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(folder)) {
+            return files.filter(file -> LEGACY_NAME.matcher(file.getFileName().toString()).matches()).sorted().toList();
+        }
+    }
+
+    /**
+     * Collects the order numbers the log has from a position on, sorted; these were appended after the last
+     * checkpoint and must not be appended again.
+     */
+    private long[] loggedSince(long position) throws IOException {
+        long[][] ids = {new long[256]};
+        int[] count = {0};
+        OrderLog.replay(log.getFolder(), (int) (position >>> Integer.SIZE), (int) position, record -> {
+            if (count[0] == ids[0].length) {
+                ids[0] = Arrays.copyOf(ids[0], count[0] * 2);
+            }
+            ids[0][count[0]++] = record.orderId();
+        });
+        long[] sorted = Arrays.copyOf(ids[0], count[0]);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    private Properties readCheckpoint() throws IOException {
+        Properties checkpoint = new Properties();
+        if (Files.exists(checkpointFile)) {
+            try (Reader in = Files.newBufferedReader(checkpointFile, StandardCharsets.UTF_8)) {
+                checkpoint.load(in);
+            }
+        }
+        return checkpoint;
+    }
+
+    /**
+     * Records the last receipt migrated and where the log ended after it, replacing the checkpoint in one step.
+     */
+    private void writeCheckpoint(String lastFile, long position) throws IOException {
+        Properties checkpoint = new Properties();
+        checkpoint.setProperty("file", lastFile);
+        checkpoint.setProperty("position", Long.toString(position));
+        Files.createDirectories(checkpointFile.getParent());
+        Path temporary = checkpointFile.resolveSibling(CHECKPOINT_FILE + ".tmp");
+        try (Writer out = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+            checkpoint.store(out, "Legacy receipt migration");
+        }
+        Files.move(temporary, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    //          === Parallel parsing ===
+    /**
+     * Parses a range of receipts, splitting it in halves down to {@value #FILES_PER_TASK} files.
+     * Returns the encoded orders in file order, one chunk per leaf.
+     */
+    @SuppressWarnings("serial")
+    private final class ParseTask extends RecursiveTask<List<Chunk>> {
+        private final List<Path> files;
+        private final int from;
+        private final int to;
+        private final long[] logged;
+
+        ParseTask(List<Path> files, int from, int to, long[] logged) {
+            this.files = files;
+            this.from = from;
+            this.to = to;
+            this.logged = logged;
+        }
+
+        @Override
+        protected List<Chunk> compute() {
+            if (to - from <= FILES_PER_TASK) {
+                Chunk chunk = new Chunk();
+                for (int i = from; i < to; i++) {
+                    parseFile(files.get(i), chunk, logged);
+                }
+                return List.of(chunk);
+            }
+            int mid = (from + to) >>> 1;
+            ParseTask left = new ParseTask(files, from, mid, logged);
+            left.fork();
+            List<Chunk> right = new ParseTask(files, mid, to, logged).compute();
+            List<Chunk> chunks = new ArrayList<>(left.join());
+            chunks.addAll(right);
+            return chunks;
+        }
+    }
+
+    /**
+     * The orders of one task, encoded back to back as log records, with its counts.
+     */
+    private static final class Chunk {
+        ByteBuffer records = ByteBuffer.allocate(64 << 10);
+        int orders;
+        int skipped;
+        long bytesRead;
+        final List<String> rejects = new ArrayList<>();
+    }
+
+    private void parseFile(Path file, Chunk chunk, long[] logged) {
+        String name = file.getFileName().toString();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            chunk.bytesRead += in.limit();
+            LegacyReceipt receipt = parse(in);
+            if (Arrays.binarySearch(logged, receipt.orderId) >= 0) {
+                chunk.skipped++;
+                return;
+            }
+            encode(receipt, chunk);
+            chunk.orders++;
+        } catch (IOException | IllegalArgumentException e) {
+            chunk.rejects.add(name + ": " + e.getMessage());
+        }
+    }
+
+    //          === Reading a receipt ===
+    /**
+     * One receipt read back: the order and its lines as printed, identical ones merged.
+     */
+    private static final class LegacyReceipt {
+        long orderId = -1;
+        long localMillis = Long.MIN_VALUE;
+        long totalCents = -1;
+        final List<LegacyLine> lines = new ArrayList<>();
+    }
+
+    private static final class LegacyLine {
+        final String name;
+        final long priceCents;
+        byte type = OrderRecord.CHIPS;
+        int quantity = 1;
+        int sizeIndex = AliasTrie.NO_MATCH;
+        int breadTypeIndex = AliasTrie.NO_MATCH;
+        boolean toasted;
+        /** Portions by topping number; null until the first topping. */
+        int[] regular;
+        int[] extra;
+
+        LegacyLine(String name, long priceCents) {
+            this.name = name;
+            this.priceCents = priceCents;
+        }
+
+        boolean sameAs(LegacyLine other) {
+            return type == other.type && priceCents == other.priceCents && name.equals(other.name)
+                    && sizeIndex == other.sizeIndex && breadTypeIndex == other.breadTypeIndex && toasted == other.toasted
+                    && Arrays.equals(regular, other.regular) && Arrays.equals(extra, other.extra);
+        }
+    }
+
+    /**
+     * Reads a receipt in the format of the old {@code Order.generateReceiptFormat()}: header lines, then after
+     * {@code Order Details:} one {@code name - $price} line per item, a sandwich's {@code * Toasted} and
+     * {@code + [Extra ]topping} lines indented under it, and finally {@code Total: $amount}.
+     *
+     * @throws IllegalArgumentException If the receipt is incomplete or names something not on the menu.
+     */
+    private LegacyReceipt parse(ByteBuffer in) {
+        LegacyReceipt receipt = new LegacyReceipt();
+        boolean inDetails = false;
+        LegacyLine item = null;
+        int limit = in.limit();
+        for (int start = 0; start < limit; ) {
+            int end = start;
+            while (end < limit && in.get(end) != '\n') {
+                end++;
+            }
+            int next = end + 1;
+            if (end > start && in.get(end - 1) == '\r') {
+                end--;
+            }
+
+            if (startsWith(in, start, end, ORDER_NUMBER)) {
+                receipt.orderId = digits(in, start + ORDER_NUMBER.length, end);
+            } else if (startsWith(in, start, end, DATE)) {
+                receipt.localMillis = dateTime(in, start + DATE.length, end);
+            } else if (startsWith(in, start, end, TOTAL)) {
+                receipt.totalCents = cents(text(in, start + TOTAL.length, end));
+                inDetails = false;
+            } else if (startsWith(in, start, end, DETAILS)) {
+                inDetails = true;
+            } else if (inDetails && end > start && !startsWith(in, start, end, DIVIDER)) {
+                if (in.get(start) == ' ') {
+                    if (item == null) {
+                        throw new IllegalArgumentException("details before the first item");
+                    }
+                    detail(item, text(in, start, end).trim());
+                } else {
+                    String line = text(in, start, end);
+                    int separator = line.lastIndexOf(PRICE_SEPARATOR);
+                    if (separator <= 0) {
+                        throw new IllegalArgumentException("unreadable item '" + line + "'");
+                    }
+                    item = new LegacyLine(line.substring(0, separator), cents(line.substring(separator + PRICE_SEPARATOR.length())));
+                    receipt.lines.add(item);
+                }
+            }
+            start = next;
+        }
+
+        if (receipt.orderId < 0) {
+            throw new IllegalArgumentException("no order number");
+        }
+        if (receipt.localMillis == Long.MIN_VALUE) {
+            throw new IllegalArgumentException("no date");
+        }
+        if (receipt.totalCents < 0) {
+            throw new IllegalArgumentException("no total");
+        }
+        if (receipt.lines.isEmpty()) {
+            throw new IllegalArgumentException("no items");
+        }
+        mergeLines(receipt.lines);
+        return receipt;
+    }
+
+    private void detail(LegacyLine item, String detail) {
+        if (detail.equals(TOASTED)) {
+            item.toasted = true;
+            return;
+        }
+        if (!detail.startsWith(TOPPING)) {
+            throw new IllegalArgumentException("unreadable detail '" + detail + "' of " + item.name);
+        }
+        String topping = detail.substring(TOPPING.length()).trim();
+        Integer id = toppingIds.get(topping.toLowerCase(Locale.ROOT));
+        boolean isExtra = false;
+        if (id == null && topping.startsWith(EXTRA)) {
+            id = toppingIds.get(topping.substring(EXTRA.length()).trim().toLowerCase(Locale.ROOT));
+            isExtra = true;
+        }
+        if (id == null) {
+            throw new IllegalArgumentException("unknown topping '" + topping + "'");
+        }
+        if (item.regular == null) {
+            item.regular = new int[catalog.getToppingIdLimit()];
+            item.extra = new int[catalog.getToppingIdLimit()];
+        }
+        int[] portions = isExtra ? item.extra : item.regular;
+        if (portions[id] == 0xFF) {
+            throw new IllegalArgumentException("too many portions of " + topping);
+        }
+        portions[id]++;
+    }
+
+    /**
+     * Works out what each line was, then merges identical lines into quantities. A line with toasting or
+     * toppings, a {@code 8" Rye sandwich} or a signature sandwich's name is a sandwich; a name ending in a
+     * drink size is a drink; anything else was chips.
+     */
+    private void mergeLines(List<LegacyLine> lines) {
+        for (LegacyLine line : lines) {
+            Matcher custom = SANDWICH_NAME.matcher(line.name);
+            SignatureRecipe signature = signatures.get(line.name.toLowerCase(Locale.ROOT));
+            if (custom.matches()) {
+                line.type = OrderRecord.SANDWICH;
+                line.sizeIndex = catalog.parseBreadSize(custom.group(1));
+                line.breadTypeIndex = catalog.parseBreadType(custom.group(2));
+            } else if (signature != null) {
+                line.type = OrderRecord.SANDWICH;
+                line.sizeIndex = catalog.parseBreadSize(signature.size());
+                line.breadTypeIndex = catalog.parseBreadType(signature.breadType());
+            } else if (line.toasted || line.regular != null) {
+                line.type = OrderRecord.SANDWICH;
+            } else {
+                int space = line.name.lastIndexOf(' ');
+                int drinkSize = space < 0 ? AliasTrie.NO_MATCH : catalog.parseDrinkSize(line.name.substring(space + 1));
+                if (drinkSize != AliasTrie.NO_MATCH) {
+                    line.type = OrderRecord.DRINK;
+                    line.sizeIndex = drinkSize;
+                }
+            }
+        }
+
+        for (int i = 0; i < lines.size(); i++) {
+            LegacyLine line = lines.get(i);
+            for (int j = lines.size() - 1; j > i; j--) {
+                if (line.sameAs(lines.get(j))) {
+                    line.quantity++;
+                    lines.remove(j);
+                }
+            }
+        }
+    }
+
+    //          === Writing records ===
+    /**
+     * Encodes a receipt as a log record at the end of the chunk, growing the chunk's buffer if needed.
+     * The receipt's printed total is kept: any difference from its lines is recorded as an adjustment.
+     */
+    private static void encode(LegacyReceipt receipt, Chunk chunk) {
+        int start = chunk.records.position();
+        while (true) {
+            try {
+                writeRecord(chunk.records, receipt);
+                chunk.records.putInt(start, chunk.records.position() - start);
+                return;
+            } catch (BufferOverflowException e) {
+                ByteBuffer bigger = ByteBuffer.allocate(chunk.records.capacity() * 2);
+                bigger.put(0, chunk.records, 0, start);
+                bigger.position(start);
+                chunk.records = bigger;
+            }
+        }
+    }
+
+    private static void writeRecord(ByteBuffer out, LegacyReceipt receipt) {
+        long subtotal = 0;
+        for (LegacyLine line : receipt.lines) {
+            subtotal += line.priceCents * line.quantity;
+        }
+        long adjustment = subtotal - receipt.totalCents;
+        OrderLog.putHeader(out, receipt.orderId, receipt.localMillis, subtotal, adjustment, receipt.lines.size(),
+                adjustment != 0 ? 1 : 0, PRICE_SNAPSHOT);
+        if (adjustment != 0) {
+            OrderLog.putDiscount(out, ADJUSTMENT, 1, adjustment);
+        }
+
+        for (LegacyLine line : receipt.lines) {
+            OrderLog.putLine(out, line.type, line.quantity, line.priceCents, line.name);
+            if (line.type == OrderRecord.SANDWICH) {
+                int countAt = OrderLog.putSandwichDetails(out, line.sizeIndex, line.breadTypeIndex, line.toasted);
+                int toppings = 0;
+                for (int id = 1; line.regular != null && id < line.regular.length; id++) {
+                    if (line.regular[id] + line.extra[id] > 0) {
+                        OrderLog.putTopping(out, id, line.regular[id], line.extra[id]);
+                        toppings++;
+                    }
+                }
+                out.putShort(countAt, (short) toppings);
+            } else if (line.type == OrderRecord.DRINK) {
+                OrderLog.putDrinkDetails(out, line.sizeIndex);
+            }
+        }
+    }
+
+    //          === Bytes ===
+    private static boolean startsWith(ByteBuffer in, int start, int end, byte[] prefix) {
+        if (end - start < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (in.get(start + i) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String text(ByteBuffer in, int start, int end) {
+        byte[] bytes = new byte[end - start];
+        in.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads the digits of an order number, e.g. {@code 20250529181352} from {@code 20250529-181352}.
+     */
+    private static long digits(ByteBuffer in, int start, int end) {
+        long value = 0;
+        int digits = 0;
+        for (int i = start; i < end; i++) {
+            byte b = in.get(i);
+            if (b >= '0' && b <= '9') {
+                try {
+                    value = Math.addExact(Math.multiplyExact(value, 10L), b - '0');
+                } catch (ArithmeticException e) {
+                    throw new IllegalArgumentException("order number too long");
+                }
+                digits++;
+            }
+        }
+        if (digits == 0) {
+            throw new IllegalArgumentException("no order number");
+        }
+        return value;
+    }
+
+    /**
+     * Reads {@code yyyy-MM-dd HH:mm:ss} as local milliseconds, like {@link OrderRecord#localMillis()}.
+     */
+    private static long dateTime(ByteBuffer in, int start, int end) {
+        if (end - start < 19) {
+            throw new IllegalArgumentException("unreadable date");
+        }
+        LocalDateTime time = LocalDateTime.of(number(in, start, 4), number(in, start + 5, 2), number(in, start + 8, 2),
+                number(in, start + 11, 2), number(in, start + 14, 2), number(in, start + 17, 2));
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static int number(ByteBuffer in, int at, int digits) {
+        int value = 0;
+        for (int i = 0; i < digits; i++) {
+            byte b = in.get(at + i);
+            if (b < '0' || b > '9') {
+                throw new IllegalArgumentException("unreadable date");
+            }
+            value = value * 10 + (b - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Reads an amount printed with {@code %.2f}, e.g. {@code 29.50}, as cents.
+     */
+    private static long cents(String amount) {
+        String value = amount.trim();
+        int point = value.indexOf('.');
+        String dollars = point < 0 ? value : value.substring(0, point);
+        String cents = point < 0 ? "0" : value.substring(point + 1);
+        if (dollars.isEmpty() || cents.isEmpty() || cents.length() > 2 || !dollars.chars().allMatch(Character::isDigit)
+                || !cents.chars().allMatch(Character::isDigit)) {
+            throw new IllegalArgumentException("unreadable amount '" + amount + "'");
+        }
+        return Money.cents(Long.parseLong(dollars), Long.parseLong(cents) * (cents.length() == 1 ? 10 : 1));
+    }
+}
@@ -0,0 +1,210 @@
+package com.pluralsight;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Renders orders as receipt text, streaming straight into any {@link Appendable}
+ * (a {@link java.io.Writer}, a {@link PrintStream} such as {@code System.out}, or a {@link StringBuilder}).
+ * <p>
+ * The fixed parts of every line are precomputed constants, amounts are written by {@link Money},
+ * and toppings are read from the sandwich's packed counts, so rendering creates no
+ * {@code Formatter} and never builds the full receipt as one intermediate string.
+ * </p>
+ */
+public final class ReceiptRenderer {
+    //          === Constant Variables ===
+    private static final String NEWLINE = System.lineSeparator();
+    private static final String HEADER = "=== DELI-cious Receipt ===\n";
+    private static final String ORDER_NUMBER = "Order #: ";
+    private static final String DATE = "Date: ";
+    private static final String PRICES = "Prices: ";
+    private static final String DETAILS = "Order Details:\n-----------------\n";
+    private static final String FOOTER = "-----------------\n";
+    private static final String PRICE_SEPARATOR = " - $";
+    private static final String TOASTED = "  * Toasted\n";
+    private static final String TOPPING = "  + ";
+    private static final String EXTRA_TOPPING = "  + Extra ";
+    private static final String SUBTOTAL = "Subtotal: $";
+    private static final String DISCOUNT_SEPARATOR = " - -$";
+    private static final String TIMES = " x";
+    private static final String TOTAL = "Total: $";
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private ReceiptRenderer() {
+    }
+
+    //          === Rendering ===
+    /**
+     * Writes a full receipt: the shop header, order number, date and price snapshot, followed by the order details.
+     *
+     * @param order         The order to render.
+     * @param orderNumber   The order number printed in the header.
+     * @param time          The time printed in the header.
+     * @param priceSnapshot The {@link Catalog#getLabel() label} of the prices the order was charged.
+     * @param out           The destination.
+     * @throws IOException If the destination fails.
+     */
+    public static void renderReceipt(Order order, CharSequence orderNumber, LocalDateTime time, CharSequence priceSnapshot, Appendable out) throws IOException {
+        renderHeader(orderNumber, time, priceSnapshot, out);
+        renderOrder(order, out);
+    }
+
+    /**
+     * Writes the full receipt of an {@link OrderLog} record, exactly as {@link #renderReceipt(Order, CharSequence,
+     * LocalDateTime, CharSequence, Appendable)} wrote it for the order at checkout.
+     *
+     * @param record  The record to render.
+     * @param catalog The catalog whose topping names are printed; the record keeps only topping numbers.
+     * @param out     The destination.
+     * @throws IOException If the destination fails.
+     */
+    public static void renderReceipt(OrderRecord record, Catalog catalog, Appendable out) throws IOException {
+        renderHeader(Long.toString(record.orderId()), record.dateTime(), record.priceSnapshot(), out);
+        out.append(DETAILS);
+
+        for (int line = 0; line < record.lineCount(); line++) {
+            out.append(NEWLINE).append(record.lineName(line));
+            if (record.quantity(line) > 1) {
+                out.append(TIMES).append(Integer.toString(record.quantity(line)));
+            }
+            out.append(PRICE_SEPARATOR);
+            Money.appendTo(out, record.linePriceCents(line));
+            out.append(NEWLINE);
+
+            if (record.lineType(line) == OrderRecord.SANDWICH) {
+                if (record.isToasted(line)) {
+                    out.append(TOASTED);
+                }
+                for (int i = 0; i < record.toppingCount(line); i++) {
+                    Topping topping = catalog.getTopping(record.toppingId(line, i));
+                    String name = topping != null ? topping.getName() : "#" + record.toppingId(line, i);
+                    renderPortions(name, record.regularPortions(line, i), record.extraPortions(line, i), out);
+                }
+            }
+        }
+
+        out.append(FOOTER);
+        if (record.discountCount() > 0) {
+            out.append(SUBTOTAL);
+            Money.appendTo(out, record.subtotalCents());
+            out.append(NEWLINE);
+            for (int i = 0; i < record.discountCount(); i++) {
+                renderDiscount(record.discountName(i), record.discountTimes(i), record.discountAmountCents(i), out);
+            }
+        }
+        out.append(TOTAL);
+        Money.appendTo(out, record.totalCents());
+        out.append(NEWLINE);
+    }
+
+    private static void renderHeader(CharSequence orderNumber, LocalDateTime time, CharSequence priceSnapshot, Appendable out) throws IOException {
+        out.append(HEADER);
+        out.append(ORDER_NUMBER).append(orderNumber).append('\n');
+        out.append(DATE);
+        DATE_FORMAT.formatTo(time, out);
+        out.append('\n');
+        out.append(PRICES).append(priceSnapshot).append('\n').append('\n');
+    }
+
+    /**
+     * Writes the order details: every line with its quantity (when more than one) and price, a sandwich's toasted status and toppings,
+     * the subtotal and applied discounts if there are any, and the order total.
+     *
+     * @param order The order to render.
+     * @param out   The destination.
+     * @throws IOException If the destination fails.
+     */
+    public static void renderOrder(Order order, Appendable out) throws IOException {
+        out.append(DETAILS);
+
+        for (LineItem line : order.getLineItems()) {
+            MenuItem item = line.getItem();
+            out.append(NEWLINE).append(item.getName());
+            if (line.getQuantity() > 1) {
+                out.append(TIMES).append(Integer.toString(line.getQuantity()));
+            }
+            out.append(PRICE_SEPARATOR);
+            Money.appendTo(out, line.getPriceCents());
+            out.append(NEWLINE);
+
+            if (item instanceof Sandwich sandwich) {
+                renderSandwichDetails(sandwich, out);
+            }
+        }
+
+        out.append(FOOTER);
+        List<AppliedDiscount> discounts = order.getAppliedDiscounts();
+        if (!discounts.isEmpty()) {
+            out.append(SUBTOTAL);
+            Money.appendTo(out, order.getSubtotalCents());
+            out.append(NEWLINE);
+            for (AppliedDiscount discount : discounts) {
+                renderDiscount(discount.name(), discount.times(), discount.cents(), out);
+            }
+        }
+        out.append(TOTAL);
+        Money.appendTo(out, order.getTotalPriceCents());
+        out.append(NEWLINE);
+    }
+
+    /**
+     * Prints the order details to a console stream.
+     * {@link PrintStream} never reports I/O errors through exceptions, so none are declared here.
+     *
+     * @param order The order to render.
+     * @param out   The console stream, usually {@code System.out}.
+     */
+    public static void printOrder(Order order, PrintStream out) {
+        try {
+            renderOrder(order, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes a sandwich's toasted status and one line per topping portion, walking the packed counts
+     * in topping-number order with regular portions before extra ones.
+     */
+    private static void renderSandwichDetails(Sandwich sandwich, Appendable out) throws IOException {
+        if (sandwich.isToasted()) {
+            out.append(TOASTED);
+        }
+
+        Catalog catalog = sandwich.getCatalog();
+        int limit = sandwich.getToppingIdLimit();
+        for (int id = 1; id < limit; id++) {
+            int regular = sandwich.getRegularCount(id);
+            int extra = sandwich.getExtraCount(id);
+            if (regular + extra == 0) {
+                continue;
+            }
+
+            renderPortions(catalog.getTopping(id).getName(), regular, extra, out);
+        }
+    }
+
+    private static void renderPortions(String name, int regular, int extra, Appendable out) throws IOException {
+        for (int i = 0; i < regular; i++) {
+            out.append(TOPPING).append(name).append(NEWLINE);
+        }
+        for (int i = 0; i < extra; i++) {
+            out.append(EXTRA_TOPPING).append(name).append(NEWLINE);
+        }
+    }
+
+    private static void renderDiscount(String name, int times, long cents, Appendable out) throws IOException {
+        out.append(name);
+        if (times > 1) {
+            out.append(TIMES).append(Integer.toString(times));
+        }
+        out.append(DISCOUNT_SEPARATOR);
+        Money.appendTo(out, cents);
+        out.append(NEWLINE);
+    }
+}
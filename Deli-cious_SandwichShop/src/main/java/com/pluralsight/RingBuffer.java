@@ -0,0 +1,121 @@
+package com.pluralsight;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A bounded, lock-free queue backed by a fixed array (Dmitry Vyukov's MPMC ring buffer).
+ * <p>
+ * Every slot carries a sequence number that says whose turn it is: a producer may fill slot {@code i}
+ * when its sequence equals the producer's position, and a consumer may empty it when the sequence is one
+ * past the consumer's position. Producers and consumers each claim positions with one compare-and-set, so
+ * any number of terminals can publish while any number of stations drain, without locks. The buffer never
+ * grows: {@link #offer(Object)} returns {@code false} when it is full, which is the caller's cue to apply backpressure.
+ * </p>
+ *
+ * @param <E> The element type.
+ */
+public final class RingBuffer<E> {
+    //          === Instance Variables ===
+    private final int mask;
+    private final Object[] slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    //          === Constructor ===
+    /**
+     * Creates an empty ring buffer.
+     *
+     * @param capacity The minimum number of elements it can hold; rounded up to a power of two.
+     * @throws IllegalArgumentException If the capacity is not positive or too large.
+     */
+    public RingBuffer(int capacity) {
+        if (capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Ring buffer capacity must be between 1 and 2^30: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.mask = size - 1;
+        this.slots = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    //          === Methods ===
+    /**
+     * Adds an element if there is room.
+     *
+     * @param element The element; must not be {@code null}.
+     * @return {@code true} if it was added, {@code false} if the buffer is full.
+     */
+    public boolean offer(E element) {
+        if (element == null) {
+            throw new NullPointerException("Ring buffer elements must not be null.");
+        }
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.getAcquire(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots[index] = element;
+                    sequences.setRelease(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Removes the oldest element.
+     *
+     * @return The element, or {@code null} if the buffer is empty.
+     */
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        long position = head.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.getAcquire(index) - (position + 1);
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    E element = (E) slots[index];
+                    slots[index] = null;
+                    sequences.setRelease(index, position + mask + 1);
+                    return element;
+                }
+                position = head.get();
+            } else if (difference < 0) {
+                return null;
+            } else {
+                position = head.get();
+            }
+        }
+    }
+
+    /**
+     * Returns how many elements are waiting. Under concurrent use this is a snapshot that may already be stale.
+     */
+    public int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, capacity()));
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,733 @@
+package com.pluralsight;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Hourly sales counters kept up to date at checkout, so managers' questions ("revenue per hour by bread",
+ * "top toppings this week", "drink sizes by day") are answered from a few kilobytes of counters instead of
+ * rescanning orders.
+ * <p>
+ * For every hour with sales the cube holds one slice of {@code int} counters: units and revenue for each
+ * item type × bread × size cell ({@link OrderRecord#SANDWICH}/{@link OrderRecord#DRINK}/{@link OrderRecord#CHIPS},
+ * {@link Bread#BREAD_TYPES} and {@link Bread#SIZES} or {@link Drink#SIZES} ordinals, with an extra "none or other"
+ * slot for each), orders and what they paid, and for each topping number the sandwiches carrying it and its
+ * regular and extra portions. Toppings are counted per hour only, not per bread or size, which keeps a slice
+ * under a kilobyte. A {@link #query() query} adds up the slices it selects, so a week takes microseconds.
+ * </p>
+ * <p>
+ * The cube follows the {@link OrderLog}: each checkout is counted as it is logged, the cube is saved to
+ * {@code Receipts/rollup/sales.cube} when an hour ends and on close, keeping only non-zero counters, and when
+ * opened it counts whatever the log has beyond the saved cube. Deleting the file rebuilds it from the log.
+ * Saving happens on a thread of its own: the checkout that opens an hour only copies the slices that changed
+ * since the last save, and the saver keeps its own copy of the rest to write the file from.
+ * </p>
+ */
+public class SalesCube implements AutoCloseable {
+    //          === Constant Variables ===
+    private static final String DEFAULT_FOLDER = "Receipts";
+    private static final String CUBE_FOLDER = "rollup";
+    private static final String CUBE_FILE = "sales.cube";
+    private static final String LOG_FOLDER = "orders";
+    private static final int MAGIC = 0x44435542;
+    private static final int FORMAT_VERSION = 1;
+    private static final long MILLIS_PER_HOUR = 3_600_000L;
+    /** Day-of-week index of 1970-01-01, a Thursday, counting Monday as 0. */
+    private static final int EPOCH_DAY_OF_WEEK = 3;
+
+    /** The dimensions a query can break its results down by. */
+    public enum Dimension {
+        /** {@link OrderRecord#SANDWICH}, {@link OrderRecord#DRINK} and {@link OrderRecord#CHIPS}. */
+        TYPE(TYPES),
+        /** {@link Bread#BREAD_TYPES} ordinals, then one slot for lines without bread or with an unknown one. */
+        BREAD(BREADS),
+        /** {@link Bread#SIZES} or {@link Drink#SIZES} ordinals by line type, then one slot for chips and unknown sizes. */
+        SIZE(SIZES),
+        /** 0 to 23. */
+        HOUR_OF_DAY(24),
+        /** Monday = 0 to Sunday = 6. */
+        DAY_OF_WEEK(7);
+
+        private final int slots;
+
+        Dimension(int slots) {
+            this.slots = slots;
+        }
+
+        public int slots() {
+            return slots;
+        }
+    }
+
+    public static final int TYPES = 3;
+    public static final int BREADS = Bread.BREAD_TYPES.size() + 1;
+    public static final int SIZES = Math.max(Bread.SIZES.size(), Drink.SIZES.size()) + 1;
+
+    //          === Slice layout ===
+    private static final int ITEM_CELLS = TYPES * BREADS * SIZES;
+    private static final int UNITS = 0;
+    private static final int REVENUE = ITEM_CELLS;
+    private static final int ORDERS = 2 * ITEM_CELLS;
+    private static final int ORDER_REVENUE = ORDERS + 1;
+    /** Toppings come last, three counters per topping number, so slices widen in place when the menu grows. */
+    private static final int TOPPINGS = ORDER_REVENUE + 1;
+    private static final int WITH_TOPPING = 0;
+    private static final int REGULAR_PORTIONS = 1;
+    private static final int EXTRA_PORTIONS = 2;
+    private static final int TOPPING_COUNTERS = 3;
+
+    private static SalesCube defaultCube;
+
+    //          === Instance Variables ===
+    private final Path file;
+    private final Path logFolder;
+    private int toppingSlots;
+    /** Hours since 1970-01-01T00:00 local time that have sales, ascending, and their slices. */
+    private long[] hours = new long[64];
+    private int[][] slices = new int[64][];
+    /** Which slices have changed since they were last handed to the saver. */
+    private boolean[] dirty = new boolean[64];
+    private int sliceCount;
+    /** The log position just past the last record counted: segment in the high half, offset in the low half. */
+    private long logPosition;
+    private boolean closed;
+
+    /** Writes the file, one snapshot at a time in the order they were taken. */
+    private final ExecutorService saver = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "sales-cube-saver");
+        thread.setDaemon(true);
+        return thread;
+    });
+    /** The saver's copy of the cube, as last saved; only touched on the saver's thread. */
+    private long[] savedHours = new long[64];
+    private int[][] savedSlices = new int[64][];
+    private int savedCount;
+
+    //          === Constructor ===
+    private SalesCube(Path folder) throws IOException {
+        this.file = folder.resolve(CUBE_FOLDER).resolve(CUBE_FILE);
+        this.logFolder = folder.resolve(LOG_FOLDER);
+        this.toppingSlots = Catalog.current().getToppingIdLimit();
+        if (Files.exists(file)) {
+            load();
+        }
+    }
+
+    /**
+     * Opens the cube of a receipts folder, building it from the folder's order log if it has not been saved
+     * yet, and counts the orders the log has beyond the saved cube.
+     *
+     * @param folder The receipts folder; the log is in {@code orders} and the cube is saved in {@code rollup}.
+     * @return The open cube.
+     * @throws IOException If the cube or the log cannot be read.
+     */
+    public static SalesCube open(Path folder) throws IOException {
+        SalesCube cube = new SalesCube(folder);
+        OrderLog.replay(cube.logFolder, (int) (cube.logPosition >>> Integer.SIZE), (int) cube.logPosition, cube::count);
+        cube.save();
+        return cube;
+    }
+
+    /**
+     * Returns the cube of the application's {@code Receipts} folder, fed by the shared
+     * {@link OrderLog#getDefault() order log}. It is saved and closed on JVM exit.
+     *
+     * @throws UncheckedIOException If the cube cannot be opened.
+     */
+    public static synchronized SalesCube getDefault() {
+        if (defaultCube == null) {
+            try {
+                defaultCube = SalesCube.open(Paths.get(DEFAULT_FOLDER));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            SalesCube cube = defaultCube;
+            OrderLog.getDefault().subscribe(cube::add);
+            Runtime.getRuntime().addShutdownHook(new Thread(cube::close, "sales-cube-shutdown"));
+        }
+        return defaultCube;
+    }
+
+    //          === Counting ===
+    /**
+     * Counts an order just appended to the log. When the order opens a new hour the cube is saved in the
+     * background; if that fails, the error is reported and the counts are saved with the next hour.
+     */
+    public synchronized void add(OrderRecord record) {
+        if (closed) {
+            return;
+        }
+        int slicesBefore = sliceCount;
+        if (!count(record)) {
+            return;
+        }
+        if (sliceCount > slicesBefore) {
+            Snapshot snapshot = snapshot();
+            saver.execute(() -> {
+                try {
+                    write(snapshot);
+                } catch (IOException e) {
+                    System.err.println("Error saving sales cube: " + e.getMessage());
+                }
+            });
+        }
+    }
+
+    /**
+     * Adds a record to its hour's slice, unless the cube has already counted it.
+     *
+     * @return Whether the record was counted.
+     */
+    private boolean count(OrderRecord record) {
+        long position = ((long) record.segment() << Integer.SIZE) | (record.offset() + record.length());
+        if (position <= logPosition) {
+            return false;
+        }
+        logPosition = position;
+
+        long hour = Math.floorDiv(record.localMillis(), MILLIS_PER_HOUR);
+        int[] slice = slice(hour);
+        slice[ORDERS]++;
+        slice[ORDER_REVENUE] += (int) record.totalCents();
+        for (int line = 0; line < record.lineCount(); line++) {
+            int type = record.lineType(line);
+            if (type < 0 || type >= TYPES) {
+                continue;
+            }
+            int quantity = record.quantity(line);
+            int cell = cell(type, slot(record.breadTypeIndex(line), BREADS), slot(record.sizeIndex(line), SIZES));
+            slice[UNITS + cell] += quantity;
+            slice[REVENUE + cell] += (int) record.linePriceCents(line);
+
+            for (int i = 0; i < record.toppingCount(line); i++) {
+                int id = record.toppingId(line, i);
+                if (id >= toppingSlots) {
+                    widen(id + 1);
+                    slice = slice(hour);
+                }
+                int at = TOPPINGS + id * TOPPING_COUNTERS;
+                slice[at + WITH_TOPPING] += quantity;
+                slice[at + REGULAR_PORTIONS] += record.regularPortions(line, i) * quantity;
+                slice[at + EXTRA_PORTIONS] += record.extraPortions(line, i) * quantity;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the slice of an hour to count into, marking it changed and adding an empty one if the hour has
+     * none yet.
+     */
+    private int[] slice(long hour) {
+        int index = Arrays.binarySearch(hours, 0, sliceCount, hour);
+        if (index >= 0) {
+            dirty[index] = true;
+            return slices[index];
+        }
+        index = -index - 1;
+        if (sliceCount == hours.length) {
+            hours = Arrays.copyOf(hours, sliceCount * 2);
+            slices = Arrays.copyOf(slices, sliceCount * 2);
+            dirty = Arrays.copyOf(dirty, sliceCount * 2);
+        }
+        // Hours almost always arrive in order, so this rarely moves anything.
+        System.arraycopy(hours, index, hours, index + 1, sliceCount - index);
+        System.arraycopy(slices, index, slices, index + 1, sliceCount - index);
+        System.arraycopy(dirty, index, dirty, index + 1, sliceCount - index);
+        hours[index] = hour;
+        slices[index] = new int[sliceInts()];
+        dirty[index] = true;
+        sliceCount++;
+        return slices[index];
+    }
+
+    /**
+     * Makes room for topping numbers up to {@code limit}, e.g. after toppings were added to the menu.
+     */
+    private void widen(int limit) {
+        toppingSlots = limit;
+        for (int i = 0; i < sliceCount; i++) {
+            slices[i] = Arrays.copyOf(slices[i], sliceInts());
+        }
+    }
+
+    private int sliceInts() {
+        return TOPPINGS + toppingSlots * TOPPING_COUNTERS;
+    }
+
+    private static int cell(int type, int bread, int size) {
+        return (type * BREADS + bread) * SIZES + size;
+    }
+
+    /**
+     * Maps an ordinal to its slot, or to the last slot ("none or other") if it is out of range.
+     */
+    private static int slot(int ordinal, int slots) {
+        return ordinal >= 0 && ordinal < slots - 1 ? ordinal : slots - 1;
+    }
+
+    //          === Persistence ===
+    /**
+     * Saves the cube, keeping only its non-zero counters, and replaces the previous file in one step. Waits
+     * for saves already started in the background.
+     *
+     * @throws IOException If the file cannot be written.
+     */
+    public void save() throws IOException {
+        Future<?> saved;
+        synchronized (this) {
+            if (saver.isShutdown()) {
+                throw new IOException("The sales cube is closed.");
+            }
+            Snapshot snapshot = snapshot();
+            saved = saver.submit(() -> {
+                write(snapshot);
+                return null;
+            });
+        }
+        try {
+            saved.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while saving the sales cube.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            throw new IOException("Error saving sales cube.", e.getCause());
+        }
+    }
+
+    /**
+     * Copies the slices changed since the last snapshot, for the saver.
+     */
+    private Snapshot snapshot() {
+        Snapshot snapshot = new Snapshot(toppingSlots, logPosition);
+        for (int i = 0; i < sliceCount; i++) {
+            if (dirty[i]) {
+                snapshot.add(hours[i], slices[i].clone());
+                dirty[i] = false;
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Folds a snapshot into the saver's copy of the cube and writes that copy out. Runs on the saver's thread.
+     */
+    private void write(Snapshot snapshot) throws IOException {
+        for (int i = 0; i < snapshot.count; i++) {
+            int index = Arrays.binarySearch(savedHours, 0, savedCount, snapshot.hours[i]);
+            if (index < 0) {
+                index = -index - 1;
+                if (savedCount == savedHours.length) {
+                    savedHours = Arrays.copyOf(savedHours, savedCount * 2);
+                    savedSlices = Arrays.copyOf(savedSlices, savedCount * 2);
+                }
+                System.arraycopy(savedHours, index, savedHours, index + 1, savedCount - index);
+                System.arraycopy(savedSlices, index, savedSlices, index + 1, savedCount - index);
+                savedHours[index] = snapshot.hours[i];
+                savedCount++;
+            }
+            savedSlices[index] = snapshot.slices[i];
+        }
+
+        long size = 6L * Integer.BYTES + Long.BYTES;
+        for (int i = 0; i < savedCount; i++) {
+            size += Long.BYTES + Integer.BYTES + (long) nonZero(savedSlices[i]) * 2 * Integer.BYTES;
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Sales cube too large to save: " + size + " bytes.");
+        }
+
+        ByteBuffer out = ByteBuffer.allocate((int) size);
+        out.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(ITEM_CELLS).putInt(snapshot.toppingSlots).putInt(savedCount).putInt(0)
+                .putLong(snapshot.logPosition);
+        for (int i = 0; i < savedCount; i++) {
+            int[] slice = savedSlices[i];
+            out.putLong(savedHours[i]).putInt(nonZero(slice));
+            for (int at = 0; at < slice.length; at++) {
+                if (slice[at] != 0) {
+                    out.putInt(at).putInt(slice[at]);
+                }
+            }
+        }
+        out.flip();
+
+        Files.createDirectories(file.getParent());
+        Path temporary = file.resolveSibling(CUBE_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * The slices that changed since the previous snapshot, copied, with the cube's topping slots and log position.
+     */
+    private static final class Snapshot {
+        final int toppingSlots;
+        final long logPosition;
+        long[] hours = new long[4];
+        int[][] slices = new int[4][];
+        int count;
+
+        Snapshot(int toppingSlots, long logPosition) {
+            this.toppingSlots = toppingSlots;
+            this.logPosition = logPosition;
+        }
+
+        void add(long hour, int[] slice) {
+            if (count == hours.length) {
+                hours = Arrays.copyOf(hours, count * 2);
+                slices = Arrays.copyOf(slices, count * 2);
+            }
+            hours[count] = hour;
+            slices[count++] = slice;
+        }
+    }
+
+    private void load() throws IOException {
+        ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (in.limit() < 6 * Integer.BYTES + Long.BYTES || in.getInt() != MAGIC || in.getInt() != FORMAT_VERSION || in.getInt() != ITEM_CELLS) {
+            throw new IOException(file + " is not a sales cube of this version; delete it to rebuild it from the order log.");
+        }
+        toppingSlots = Math.max(toppingSlots, in.getInt());
+        int count = in.getInt();
+        in.getInt();
+        logPosition = in.getLong();
+
+        hours = new long[Math.max(count, 64)];
+        slices = new int[hours.length][];
+        // Loaded slices count as changed, so the first save hands them all to the saver.
+        dirty = new boolean[hours.length];
+        Arrays.fill(dirty, 0, count, true);
+        for (int i = 0; i < count; i++) {
+            hours[i] = in.getLong();
+            int[] slice = new int[sliceInts()];
+            int counters = in.getInt();
+            for (int j = 0; j < counters; j++) {
+                int at = in.getInt();
+                slice[at] = in.getInt();
+            }
+            slices[i] = slice;
+        }
+        sliceCount = count;
+    }
+
+    private static int nonZero(int[] slice) {
+        int count = 0;
+        for (int value : slice) {
+            if (value != 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Saves the cube; later orders are no longer counted until it is opened again, which catches up from the log.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        try {
+            save();
+        } catch (IOException e) {
+            System.err.println("Error saving sales cube: " + e.getMessage());
+        }
+        saver.shutdown();
+    }
+
+    //          === Queries ===
+    /**
+     * Starts a query over all hours, all item types, breads and sizes; narrow it with the query's methods.
+     */
+    public Query query() {
+        return new Query();
+    }
+
+    /**
+     * A slice of the cube. Each narrowing method returns the query itself; calling one twice selects both values,
+     * e.g. {@code bread(rye).bread(wheat)}. Results are totals over the selected hours and cells.
+     * <p>
+     * Toppings and order counts are kept per hour, not per item, so {@link #orders()}, {@link #orderRevenueCents()}
+     * and the topping results honour only the time filters.
+     * </p>
+     */
+    public final class Query {
+        private long fromHour = Long.MIN_VALUE;
+        private long toHour = Long.MAX_VALUE;
+        private int hoursOfDay;
+        private int types;
+        private int breads;
+        private int sizes;
+
+        private Query() {
+        }
+
+        /**
+         * Selects the hours from {@code from}'s hour up to, not including, {@code to}'s.
+         */
+        public Query between(LocalDateTime from, LocalDateTime to) {
+            fromHour = Math.floorDiv(from.toInstant(ZoneOffset.UTC).toEpochMilli(), MILLIS_PER_HOUR);
+            toHour = Math.floorDiv(to.toInstant(ZoneOffset.UTC).toEpochMilli(), MILLIS_PER_HOUR);
+            return this;
+        }
+
+        public Query on(LocalDate day) {
+            return between(day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+        }
+
+        /**
+         * Selects an hour of the day on every selected day, 0 to 23.
+         */
+        public Query hourOfDay(int hour) {
+            hoursOfDay |= 1 << check(hour, 24, "hour");
+            return this;
+        }
+
+        /**
+         * Selects an item type: {@link OrderRecord#SANDWICH}, {@link OrderRecord#DRINK} or {@link OrderRecord#CHIPS}.
+         */
+        public Query type(byte type) {
+            types |= 1 << check(type, TYPES, "item type");
+            return this;
+        }
+
+        /**
+         * Selects a bread by its {@link Bread#BREAD_TYPES} ordinal.
+         */
+        public Query bread(int breadTypeIndex) {
+            breads |= 1 << check(breadTypeIndex, BREADS, "bread");
+            return this;
+        }
+
+        /**
+         * Selects a size by its {@link Bread#SIZES} or {@link Drink#SIZES} ordinal, whichever fits the selected type.
+         */
+        public Query size(int sizeIndex) {
+            sizes |= 1 << check(sizeIndex, SIZES, "size");
+            return this;
+        }
+
+        private int check(int value, int slots, String what) {
+            if (value < 0 || value >= slots) {
+                throw new IllegalArgumentException("No " + what + " " + value + " in the sales cube.");
+            }
+            return value;
+        }
+
+        public long units() {
+            return sum(UNITS);
+        }
+
+        /**
+         * Returns what the selected lines were charged, before order discounts.
+         */
+        public long revenueCents() {
+            return sum(REVENUE);
+        }
+
+        public long orders() {
+            return sumCounter(ORDERS);
+        }
+
+        /**
+         * Returns what the selected hours' orders paid, after discounts.
+         */
+        public long orderRevenueCents() {
+            return sumCounter(ORDER_REVENUE);
+        }
+
+        /**
+         * Returns units by one dimension, e.g. {@code query().on(day).type(DRINK).unitsBy(SIZE)} for the drink size mix.
+         */
+        public long[] unitsBy(Dimension dimension) {
+            return by(dimension, UNITS);
+        }
+
+        /**
+         * Returns line revenue by one dimension, e.g. {@code query().bread(rye).revenueBy(HOUR_OF_DAY)}.
+         */
+        public long[] revenueBy(Dimension dimension) {
+            return by(dimension, REVENUE);
+        }
+
+        /**
+         * Returns, by topping number, how many sandwiches carried each topping.
+         */
+        public long[] toppingSandwiches() {
+            return toppings(WITH_TOPPING);
+        }
+
+        /**
+         * Returns, by topping number, the regular or extra portions served.
+         */
+        public long[] toppingPortions(boolean extra) {
+            return toppings(extra ? EXTRA_PORTIONS : REGULAR_PORTIONS);
+        }
+
+        /**
+         * Returns the topping numbers sold on the most sandwiches, most first, up to {@code limit}.
+         */
+        public int[] topToppings(int limit) {
+            long[] counts = toppingSandwiches();
+            int[] top = new int[Math.min(limit, counts.length)];
+            int found = 0;
+            boolean[] taken = new boolean[counts.length];
+            for (; found < top.length; found++) {
+                int best = -1;
+                for (int id = 0; id < counts.length; id++) {
+                    if (!taken[id] && counts[id] > 0 && (best < 0 || counts[id] > counts[best])) {
+                        best = id;
+                    }
+                }
+                if (best < 0) {
+                    break;
+                }
+                taken[best] = true;
+                top[found] = best;
+            }
+            return Arrays.copyOf(top, found);
+        }
+
+        private long sum(int base) {
+            int[] cells = cells();
+            long total = 0;
+            synchronized (SalesCube.this) {
+                int end = end();
+                for (int i = start(); i < end; i++) {
+                    if (selected(hours[i])) {
+                        int[] slice = slices[i];
+                        for (int cell : cells) {
+                            total += slice[base + cell];
+                        }
+                    }
+                }
+            }
+            return total;
+        }
+
+        private long sumCounter(int at) {
+            long total = 0;
+            synchronized (SalesCube.this) {
+                int end = end();
+                for (int i = start(); i < end; i++) {
+                    if (selected(hours[i])) {
+                        total += slices[i][at];
+                    }
+                }
+            }
+            return total;
+        }
+
+        private long[] by(Dimension dimension, int base) {
+            long[] totals = new long[dimension.slots()];
+            int[] cells = cells();
+            synchronized (SalesCube.this) {
+                int end = end();
+                for (int i = start(); i < end; i++) {
+                    long hour = hours[i];
+                    if (!selected(hour)) {
+                        continue;
+                    }
+                    int[] slice = slices[i];
+                    for (int cell : cells) {
+                        int value = slice[base + cell];
+                        if (value != 0) {
+                            totals[coordinate(dimension, cell, hour)] += value;
+                        }
+                    }
+                }
+            }
+            return totals;
+        }
+
+        private long[] toppings(int counter) {
+            long[] totals;
+            synchronized (SalesCube.this) {
+                totals = new long[toppingSlots];
+                int end = end();
+                for (int i = start(); i < end; i++) {
+                    if (selected(hours[i])) {
+                        int[] slice = slices[i];
+                        for (int id = 0; id < toppingSlots; id++) {
+                            totals[id] += slice[TOPPINGS + id * TOPPING_COUNTERS + counter];
+                        }
+                    }
+                }
+            }
+            return totals;
+        }
+
+        private int coordinate(Dimension dimension, int cell, long hour) {
+            return switch (dimension) {
+                case TYPE -> cell / (BREADS * SIZES);
+                case BREAD -> cell / SIZES % BREADS;
+                case SIZE -> cell % SIZES;
+                case HOUR_OF_DAY -> (int) Math.floorMod(hour, 24L);
+                case DAY_OF_WEEK -> (int) Math.floorMod(Math.floorDiv(hour, 24L) + EPOCH_DAY_OF_WEEK, 7L);
+            };
+        }
+
+        /**
+         * Returns the item cells the type, bread and size filters select.
+         */
+        private int[] cells() {
+            int[] cells = new int[ITEM_CELLS];
+            int count = 0;
+            for (int type = 0; type < TYPES; type++) {
+                for (int bread = 0; bread < BREADS; bread++) {
+                    for (int size = 0; size < SIZES; size++) {
+                        if (matches(types, type) && matches(breads, bread) && matches(sizes, size)) {
+                            cells[count++] = cell(type, bread, size);
+                        }
+                    }
+                }
+            }
+            return Arrays.copyOf(cells, count);
+        }
+
+        private boolean matches(int mask, int value) {
+            return mask == 0 || (mask & (1 << value)) != 0;
+        }
+
+        private boolean selected(long hour) {
+            return hour < toHour && matches(hoursOfDay, (int) Math.floorMod(hour, 24L));
+        }
+
+        private int start() {
+            int index = Arrays.binarySearch(hours, 0, sliceCount, fromHour);
+            return index >= 0 ? index : -index - 1;
+        }
+
+        private int end() {
+            int index = Arrays.binarySearch(hours, 0, sliceCount, toHour);
+            return index >= 0 ? index : -index - 1;
+        }
+    }
+}
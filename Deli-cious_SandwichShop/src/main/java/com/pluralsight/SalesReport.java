@@ -0,0 +1,488 @@
+package com.pluralsight;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * An end-of-day sales report computed from the {@link OrderLog}: revenue by item type, bread and size, topping
+ * attach rates, toasted share, signature versus custom sandwiches and orders per hour.
+ * <p>
+ * The report is built in two passes. A {@link OrderLog#replayBetween replay} finds the records in the period,
+ * reading little more than their lengths and times and skipping segments checked out entirely outside it; then
+ * the records are split between the tasks of a {@link ForkJoinPool}, each positioning its own
+ * {@link OrderRecord} view over the mapped segments and counting into primitive arrays
+ * indexed by catalog ordinal ({@link Bread#BREAD_TYPES}, {@link Bread#SIZES}, {@link Drink#SIZES}, topping
+ * numbers, hour of day). Halves are merged by adding the arrays, so a busy day of several registers takes one
+ * pass at memory speed on every core, with no boxing.
+ * </p>
+ * <p>
+ * Revenue per item type, bread and size is what the lines were charged before order discounts; revenue per hour
+ * and the report total are what customers paid. Breads, sizes and toppings unknown to the catalog, such as those
+ * of migrated receipts, are counted as "other".
+ * </p>
+ */
+public class SalesReport {
+    //          === Constant Variables ===
+    private static final int RECORDS_PER_TASK = 1024;
+    private static final long MILLIS_PER_HOUR = 3_600_000L;
+    public static final int HOURS = 24;
+    private static final String[] TYPE_NAMES = {"Sandwiches", "Drinks", "Chips"};
+
+    //          === Instance Variables ===
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+    private final Catalog catalog;
+    private final List<String> signatureNames;
+    private final Totals totals;
+
+    private SalesReport(LocalDateTime from, LocalDateTime to, Catalog catalog, List<String> signatureNames, Totals totals) {
+        this.from = from;
+        this.to = to;
+        this.catalog = catalog;
+        this.signatureNames = signatureNames;
+        this.totals = totals;
+    }
+
+    //          === Building ===
+    /**
+     * Reports on the orders checked out on one day.
+     *
+     * @param logFolder The order log's folder.
+     * @param day       The day, in the shop's local time.
+     * @param catalog   The menu whose signature sandwiches and toppings are reported on.
+     * @param pool      The pool the records are counted on.
+     * @throws IOException If the log cannot be read.
+     */
+    public static SalesReport forDay(Path logFolder, LocalDate day, Catalog catalog, ForkJoinPool pool) throws IOException {
+        return between(logFolder, day.atStartOfDay(), day.plusDays(1).atStartOfDay(), catalog, pool);
+    }
+
+    /**
+     * Reports on the orders checked out in {@code [from, to)}.
+     *
+     * @throws IOException If the log cannot be read.
+     */
+    public static SalesReport between(Path logFolder, LocalDateTime from, LocalDateTime to, Catalog catalog, ForkJoinPool pool) throws IOException {
+        long fromMillis = from.toInstant(ZoneOffset.UTC).toEpochMilli();
+        long toMillis = to.toInstant(ZoneOffset.UTC).toEpochMilli();
+
+        // First pass: where the period's records are, as segment << 32 | offset.
+        long[][] found = {new long[1024]};
+        int[] count = {0};
+        OrderLog.replayBetween(logFolder, fromMillis, toMillis, record -> {
+            long millis = record.localMillis();
+            if (millis >= fromMillis && millis < toMillis) {
+                if (count[0] == found[0].length) {
+                    found[0] = Arrays.copyOf(found[0], count[0] * 2);
+                }
+                found[0][count[0]++] = ((long) record.segment() << Integer.SIZE) | record.offset();
+            }
+        });
+        long[] positions = found[0];
+        int records = count[0];
+
+        int firstSegment = records == 0 ? 0 : (int) (positions[0] >>> Integer.SIZE);
+        int lastSegment = records == 0 ? -1 : (int) (positions[records - 1] >>> Integer.SIZE);
+        ByteBuffer[] segments = new ByteBuffer[lastSegment - firstSegment + 1];
+        for (int i = 0; i < records; i++) {
+            int segment = (int) (positions[i] >>> Integer.SIZE);
+            if (segments[segment - firstSegment] == null) {
+                segments[segment - firstSegment] = OrderLog.mapSegment(logFolder, segment);
+            }
+        }
+
+        Map<Integer, SignatureRecipe> recipes = catalog.getSignatureRecipes();
+        List<String> signatureNames = new ArrayList<>(recipes.size());
+        recipes.values().forEach(recipe -> signatureNames.add(recipe.name()));
+        byte[][] signatures = new byte[signatureNames.size()][];
+        for (int i = 0; i < signatures.length; i++) {
+            signatures[i] = signatureNames.get(i).getBytes(StandardCharsets.UTF_8);
+        }
+
+        // Second pass: count in parallel.
+        Scan scan = new Scan(positions, segments, firstSegment, signatures, catalog.getToppingIdLimit(), 0, records);
+        Totals totals = records == 0 ? scan.newTotals() : pool.invoke(scan);
+        return new SalesReport(from, to, catalog, List.copyOf(signatureNames), totals);
+    }
+
+    /**
+     * Counts a range of the found records, splitting it in halves down to {@value #RECORDS_PER_TASK} records.
+     */
+    @SuppressWarnings("serial")
+    private static final class Scan extends RecursiveTask<Totals> {
+        private final long[] positions;
+        private final ByteBuffer[] segments;
+        private final int firstSegment;
+        private final byte[][] signatures;
+        private final int toppingIdLimit;
+        private final int from;
+        private final int to;
+
+        Scan(long[] positions, ByteBuffer[] segments, int firstSegment, byte[][] signatures, int toppingIdLimit, int from, int to) {
+            this.positions = positions;
+            this.segments = segments;
+            this.firstSegment = firstSegment;
+            this.signatures = signatures;
+            this.toppingIdLimit = toppingIdLimit;
+            this.from = from;
+            this.to = to;
+        }
+
+        Totals newTotals() {
+            return new Totals(signatures.length, toppingIdLimit);
+        }
+
+        @Override
+        protected Totals compute() {
+            if (to - from <= RECORDS_PER_TASK) {
+                Totals totals = newTotals();
+                OrderRecord record = new OrderRecord();
+                for (int i = from; i < to; i++) {
+                    int segment = (int) (positions[i] >>> Integer.SIZE);
+                    record.position(segments[segment - firstSegment], segment, (int) positions[i]);
+                    totals.add(record, signatures);
+                }
+                return totals;
+            }
+            int mid = (from + to) >>> 1;
+            Scan left = new Scan(positions, segments, firstSegment, signatures, toppingIdLimit, from, mid);
+            left.fork();
+            Totals right = new Scan(positions, segments, firstSegment, signatures, toppingIdLimit, mid, to).compute();
+            Totals totals = left.join();
+            totals.merge(right);
+            return totals;
+        }
+    }
+
+    /**
+     * The counters of one task. Ordinal-indexed arrays have one more slot than the catalog has entries, for "other".
+     */
+    private static final class Totals {
+        long orders;
+        long subtotalCents;
+        long discountCents;
+
+        final long[] typeUnits = new long[TYPE_NAMES.length];
+        final long[] typeRevenue = new long[TYPE_NAMES.length];
+        final long[] breadUnits = new long[Bread.BREAD_TYPES.size() + 1];
+        final long[] breadRevenue = new long[Bread.BREAD_TYPES.size() + 1];
+        final long[] sandwichSizeUnits = new long[Bread.SIZES.size() + 1];
+        final long[] sandwichSizeRevenue = new long[Bread.SIZES.size() + 1];
+        final long[] drinkSizeUnits = new long[Drink.SIZES.size() + 1];
+        final long[] drinkSizeRevenue = new long[Drink.SIZES.size() + 1];
+        long toastedUnits;
+        long customUnits;
+        final long[] signatureUnits;
+
+        /** Sandwiches carrying a topping at all, and carrying it extra; portions of each. Indexed by topping number. */
+        final long[] withTopping;
+        final long[] withExtra;
+        final long[] regularPortions;
+        final long[] extraPortions;
+
+        final long[] hourOrders = new long[HOURS];
+        final long[] hourRevenue = new long[HOURS];
+
+        Totals(int signatures, int toppingIdLimit) {
+            signatureUnits = new long[signatures];
+            withTopping = new long[toppingIdLimit];
+            withExtra = new long[toppingIdLimit];
+            regularPortions = new long[toppingIdLimit];
+            extraPortions = new long[toppingIdLimit];
+        }
+
+        void add(OrderRecord record, byte[][] signatures) {
+            orders++;
+            subtotalCents += record.subtotalCents();
+            discountCents += record.discountCents();
+            int hour = (int) Math.floorMod(Math.floorDiv(record.localMillis(), MILLIS_PER_HOUR), (long) HOURS);
+            hourOrders[hour]++;
+            hourRevenue[hour] += record.totalCents();
+
+            for (int line = 0; line < record.lineCount(); line++) {
+                int type = record.lineType(line);
+                if (type < 0 || type >= TYPE_NAMES.length) {
+                    continue;
+                }
+                int quantity = record.quantity(line);
+                long revenue = record.linePriceCents(line);
+                typeUnits[type] += quantity;
+                typeRevenue[type] += revenue;
+
+                if (type == OrderRecord.SANDWICH) {
+                    int bread = slot(record.breadTypeIndex(line), breadUnits.length);
+                    breadUnits[bread] += quantity;
+                    breadRevenue[bread] += revenue;
+                    int size = slot(record.sizeIndex(line), sandwichSizeUnits.length);
+                    sandwichSizeUnits[size] += quantity;
+                    sandwichSizeRevenue[size] += revenue;
+                    if (record.isToasted(line)) {
+                        toastedUnits += quantity;
+                    }
+                    countSignature(record, line, quantity, signatures);
+                    countToppings(record, line, quantity);
+                } else if (type == OrderRecord.DRINK) {
+                    int size = slot(record.sizeIndex(line), drinkSizeUnits.length);
+                    drinkSizeUnits[size] += quantity;
+                    drinkSizeRevenue[size] += revenue;
+                }
+            }
+        }
+
+        private void countSignature(OrderRecord record, int line, int quantity, byte[][] signatures) {
+            for (int i = 0; i < signatures.length; i++) {
+                if (record.lineNameEquals(line, signatures[i])) {
+                    signatureUnits[i] += quantity;
+                    return;
+                }
+            }
+            customUnits += quantity;
+        }
+
+        private void countToppings(OrderRecord record, int line, int quantity) {
+            for (int i = 0; i < record.toppingCount(line); i++) {
+                int id = record.toppingId(line, i);
+                // Toppings since removed from the menu are not reported on.
+                if (id >= withTopping.length) {
+                    continue;
+                }
+                int regular = record.regularPortions(line, i);
+                int extra = record.extraPortions(line, i);
+                withTopping[id] += quantity;
+                if (extra > 0) {
+                    withExtra[id] += quantity;
+                }
+                regularPortions[id] += (long) regular * quantity;
+                extraPortions[id] += (long) extra * quantity;
+            }
+        }
+
+        /**
+         * Maps an ordinal to its slot, or to the last slot ("other") if the catalog does not know it.
+         */
+        private static int slot(int ordinal, int slots) {
+            return ordinal >= 0 && ordinal < slots - 1 ? ordinal : slots - 1;
+        }
+
+        void merge(Totals other) {
+            orders += other.orders;
+            subtotalCents += other.subtotalCents;
+            discountCents += other.discountCents;
+            toastedUnits += other.toastedUnits;
+            customUnits += other.customUnits;
+            add(typeUnits, other.typeUnits);
+            add(typeRevenue, other.typeRevenue);
+            add(breadUnits, other.breadUnits);
+            add(breadRevenue, other.breadRevenue);
+            add(sandwichSizeUnits, other.sandwichSizeUnits);
+            add(sandwichSizeRevenue, other.sandwichSizeRevenue);
+            add(drinkSizeUnits, other.drinkSizeUnits);
+            add(drinkSizeRevenue, other.drinkSizeRevenue);
+            add(signatureUnits, other.signatureUnits);
+            add(withTopping, other.withTopping);
+            add(withExtra, other.withExtra);
+            add(regularPortions, other.regularPortions);
+            add(extraPortions, other.extraPortions);
+            add(hourOrders, other.hourOrders);
+            add(hourRevenue, other.hourRevenue);
+        }
+
+        private static void add(long[] into, long[] other) {
+            for (int i = 0; i < into.length; i++) {
+                into[i] += other[i];
+            }
+        }
+    }
+
+    //          === Getters ===
+
+    public long getOrders() {
+        return totals.orders;
+    }
+
+    /**
+     * Returns what customers paid: line prices minus discounts.
+     */
+    public long getRevenueCents() {
+        return totals.subtotalCents - totals.discountCents;
+    }
+
+    public long getDiscountCents() {
+        return totals.discountCents;
+    }
+
+    /**
+     * Returns the units sold of an item type: {@link OrderRecord#SANDWICH}, {@link OrderRecord#DRINK} or {@link OrderRecord#CHIPS}.
+     */
+    public long getTypeUnits(byte type) {
+        return totals.typeUnits[type];
+    }
+
+    public long getTypeRevenueCents(byte type) {
+        return totals.typeRevenue[type];
+    }
+
+    /**
+     * Returns the sandwiches sold on a bread, by index into {@link Bread#BREAD_TYPES}; {@code BREAD_TYPES.size()} for other breads.
+     */
+    public long getBreadUnits(int breadTypeIndex) {
+        return totals.breadUnits[breadTypeIndex];
+    }
+
+    public long getBreadRevenueCents(int breadTypeIndex) {
+        return totals.breadRevenue[breadTypeIndex];
+    }
+
+    /**
+     * Returns the sandwiches sold in a size, by index into {@link Bread#SIZES}; {@code SIZES.size()} for other sizes.
+     */
+    public long getSandwichSizeUnits(int sizeIndex) {
+        return totals.sandwichSizeUnits[sizeIndex];
+    }
+
+    public long getSandwichSizeRevenueCents(int sizeIndex) {
+        return totals.sandwichSizeRevenue[sizeIndex];
+    }
+
+    /**
+     * Returns the drinks sold in a size, by index into {@link Drink#SIZES}; {@code SIZES.size()} for other sizes.
+     */
+    public long getDrinkSizeUnits(int sizeIndex) {
+        return totals.drinkSizeUnits[sizeIndex];
+    }
+
+    public long getDrinkSizeRevenueCents(int sizeIndex) {
+        return totals.drinkSizeRevenue[sizeIndex];
+    }
+
+    /**
+     * Returns the share of sandwiches that were toasted, from 0 to 1.
+     */
+    public double getToastedShare() {
+        return share(totals.toastedUnits, totals.typeUnits[OrderRecord.SANDWICH]);
+    }
+
+    /**
+     * Returns the share of sandwiches that carried a topping, from 0 to 1.
+     *
+     * @param toppingId The topping number.
+     */
+    public double getAttachRate(int toppingId) {
+        return toppingId < totals.withTopping.length ? share(totals.withTopping[toppingId], totals.typeUnits[OrderRecord.SANDWICH]) : 0;
+    }
+
+    /**
+     * Returns the share of sandwiches that carried an extra portion of a topping, from 0 to 1.
+     */
+    public double getExtraAttachRate(int toppingId) {
+        return toppingId < totals.withExtra.length ? share(totals.withExtra[toppingId], totals.typeUnits[OrderRecord.SANDWICH]) : 0;
+    }
+
+    public long getRegularPortions(int toppingId) {
+        return toppingId < totals.regularPortions.length ? totals.regularPortions[toppingId] : 0;
+    }
+
+    public long getExtraPortions(int toppingId) {
+        return toppingId < totals.extraPortions.length ? totals.extraPortions[toppingId] : 0;
+    }
+
+    /**
+     * Returns the signature sandwiches sold under a menu name; 0 for names not on the menu.
+     */
+    public long getSignatureUnits(String name) {
+        int index = signatureNames.indexOf(name);
+        return index < 0 ? 0 : totals.signatureUnits[index];
+    }
+
+    public long getSignatureUnits() {
+        return Arrays.stream(totals.signatureUnits).sum();
+    }
+
+    public long getCustomUnits() {
+        return totals.customUnits;
+    }
+
+    public long getHourOrders(int hour) {
+        return totals.hourOrders[hour];
+    }
+
+    /**
+     * Returns what customers paid for orders checked out in an hour of the day, 0 to 23.
+     */
+    public long getHourRevenueCents(int hour) {
+        return totals.hourRevenue[hour];
+    }
+
+    private static double share(long part, long whole) {
+        return whole == 0 ? 0 : (double) part / whole;
+    }
+
+    //          === Rendering ===
+    /**
+     * Writes the report as text, for printing at closing time.
+     *
+     * @throws IOException If the destination fails.
+     */
+    public void render(Appendable out) throws IOException {
+        out.append("=== DELI-cious Sales Report ===\n");
+        out.append(String.format("%s to %s%n", from, to));
+        out.append(String.format("Orders: %,d%nRevenue: $%s (discounts $%s)%n", getOrders(),
+                Money.format(getRevenueCents()), Money.format(getDiscountCents())));
+
+        out.append("\n--- By item type ---\n");
+        for (byte type = 0; type < TYPE_NAMES.length; type++) {
+            row(out, TYPE_NAMES[type], totals.typeUnits[type], totals.typeRevenue[type]);
+        }
+
+        out.append("\n--- Sandwiches by bread ---\n");
+        for (int i = 0; i < totals.breadUnits.length; i++) {
+            row(out, i < Bread.BREAD_TYPES.size() ? Bread.BREAD_TYPES.get(i) : "Other", totals.breadUnits[i], totals.breadRevenue[i]);
+        }
+        out.append("\n--- Sandwiches by size ---\n");
+        for (int i = 0; i < totals.sandwichSizeUnits.length; i++) {
+            row(out, i < Bread.SIZES.size() ? Bread.SIZES.get(i) + "\"" : "Other", totals.sandwichSizeUnits[i], totals.sandwichSizeRevenue[i]);
+        }
+        out.append("\n--- Drinks by size ---\n");
+        for (int i = 0; i < totals.drinkSizeUnits.length; i++) {
+            row(out, i < Drink.SIZES.size() ? Drink.SIZES.get(i) : "Other", totals.drinkSizeUnits[i], totals.drinkSizeRevenue[i]);
+        }
+
+        out.append("\n--- Sandwich mix ---\n");
+        out.append(String.format("Toasted: %.1f%%%n", getToastedShare() * 100));
+        out.append(String.format("Custom: %,d%n", getCustomUnits()));
+        for (int i = 0; i < signatureNames.size(); i++) {
+            out.append(String.format("%s: %,d%n", signatureNames.get(i), totals.signatureUnits[i]));
+        }
+
+        out.append("\n--- Toppings (on % of sandwiches: any / extra) ---\n");
+        for (Map.Entry<Integer, Topping> topping : catalog.getToppings().entrySet()) {
+            int id = topping.getKey();
+            if (id < totals.withTopping.length && totals.withTopping[id] > 0) {
+                out.append(String.format("%-18s %5.1f%% / %5.1f%%%n", topping.getValue().getName(),
+                        getAttachRate(id) * 100, getExtraAttachRate(id) * 100));
+            }
+        }
+
+        out.append("\n--- By hour ---\n");
+        for (int hour = 0; hour < HOURS; hour++) {
+            if (totals.hourOrders[hour] > 0) {
+                out.append(String.format("%02d:00 %,6d orders  $%s%n", hour, totals.hourOrders[hour], Money.format(totals.hourRevenue[hour])));
+            }
+        }
+    }
+
+    private static void row(Appendable out, String name, long units, long revenueCents) throws IOException {
+        out.append(String.format("%-12s %,8d  $%s%n", name, units, Money.format(revenueCents)));
+    }
+}
@@ -3,26 +3,58 @@ package com.pluralsight;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.IntStream;
 
 public class Sandwich extends MenuItem implements Priceable{
+    //          === Constant Variables ===
+    /** Each topping number owns 16 bits: the low byte counts regular portions, the high byte extra portions. */
+    private static final int BITS_PER_TOPPING = 16;
+    private static final int TOPPINGS_PER_WORD = Long.SIZE / BITS_PER_TOPPING;
+    private static final int MAX_PORTIONS = 0xFF;
+
     //          === Instance Variables ===
     private Bread bread;
-    private List<Topping> toppings;
-    private List<Boolean> isExtra;
+    private long[] toppingCounts;
+    private int toppingTotal;
     private boolean isToasted;
+    private long priceCents;
+    /** Set on menu prototypes, which must never change once published. */
+    private boolean frozen;
+    /** Set while {@link #toppingCounts} may be shared with another sandwich; the next write copies it first. */
+    private boolean countsShared;
 
     //          === Constructor ===
     public Sandwich(String size, String breadType) {
+        this(Catalog.current(), size, breadType);
+    }
+
+    /**
+     * Creates a plain sandwich priced with the given catalog. The sandwich keeps that catalog's prices
+     * for its whole life, even after a newer catalog is published.
+     */
+    public Sandwich(Catalog catalog, String size, String breadType) {
         super("Sandwich");
-        this.toppings = new ArrayList<>();
-        this.isExtra = new ArrayList<>();
+        this.toppingCounts = new long[wordsFor(catalog.getToppingIdLimit())];
         this.isToasted = false;
-        this.bread = new Bread(size, breadType);
+        this.bread = new Bread(catalog, size, breadType);
+        this.priceCents = bread.getBasePriceCents();
         updateName();
     }
 
+    /**
+     * Creates a copy of {@code original} that starts out sharing its packed topping counts.
+     * The counts are copied only when one of the two sandwiches changes its toppings, so copying
+     * costs a few field writes however many toppings the original carries.
+     */
+    private Sandwich(Sandwich original) {
+        super(original.getName());
+        this.bread = original.bread;
+        this.toppingCounts = original.toppingCounts;
+        this.toppingTotal = original.toppingTotal;
+        this.isToasted = original.isToasted;
+        this.priceCents = original.priceCents;
+        this.countsShared = true;
+    }
+
     //          === Getters ===
 
     public boolean isToasted() {
@@ -37,12 +69,52 @@ public class Sandwich extends MenuItem implements Priceable{
         return bread.getBreadType();
     }
 
+    /**
+     * Returns the size as an index into {@link Bread#SIZES}.
+     */
+    public int getSizeIndex() {
+        return bread.getSizeIndex();
+    }
+
+    /**
+     * Returns the bread type as an index into {@link Bread#BREAD_TYPES}.
+     */
+    public int getBreadTypeIndex() {
+        return bread.getBreadTypeIndex();
+    }
+
+    /**
+     * Returns the catalog this sandwich is priced with and whose topping numbers it holds.
+     */
+    public Catalog getCatalog() {
+        return bread.getCatalog();
+    }
+
+    /**
+     * Returns the toppings on this sandwich, one entry per portion, ordered by topping number
+     * with regular portions before extra portions. The list is built on demand from the
+     * packed counts, so it is meant for display rather than hot paths.
+     *
+     * @return An unmodifiable list of toppings.
+     */
     public List<Topping> getToppings() {
+        List<Topping> toppings = new ArrayList<>(toppingTotal);
+        Catalog catalog = getCatalog();
+        for (int id = 1; id < getToppingIdLimit(); id++) {
+            int portions = getRegularCount(id) + getExtraCount(id);
+            for (int i = 0; i < portions; i++) {
+                toppings.add(catalog.getTopping(id));
+            }
+        }
         return Collections.unmodifiableList(toppings);
     }
 
     public void setToasted(boolean toasted) {
-        isToasted = toasted;
+        checkNotFrozen();
+        if (isToasted != toasted) {
+            isToasted = toasted;
+            contentChanged();
+        }
     }
 
     private void updateName() {
@@ -51,36 +123,127 @@ public class Sandwich extends MenuItem implements Priceable{
         }
     }
 
+    /**
+     * Returns the extra status of each entry in {@link #getToppings()}, in the same order.
+     *
+     * @return An unmodifiable list of extra flags.
+     */
     public List<Boolean> getToppingExtraStatuses() {
-        return Collections.unmodifiableList(this.isExtra);
+        List<Boolean> statuses = new ArrayList<>(toppingTotal);
+        for (int id = 1; id < getToppingIdLimit(); id++) {
+            statuses.addAll(Collections.nCopies(getRegularCount(id), Boolean.FALSE));
+            statuses.addAll(Collections.nCopies(getExtraCount(id), Boolean.TRUE));
+        }
+        return Collections.unmodifiableList(statuses);
+    }
+
+    /**
+     * Returns one past the highest topping number this sandwich can hold.
+     * Together with {@link #getRegularCount(int)} and {@link #getExtraCount(int)} this lets callers
+     * walk the toppings without building any lists.
+     */
+    public int getToppingIdLimit() {
+        return toppingCounts.length * TOPPINGS_PER_WORD;
+    }
+
+    /**
+     * Returns how many regular portions of the topping with the given number are on the sandwich.
+     */
+    public int getRegularCount(int toppingId) {
+        return portions(toppingId, false);
+    }
+
+    /**
+     * Returns how many extra portions of the topping with the given number are on the sandwich.
+     */
+    public int getExtraCount(int toppingId) {
+        return portions(toppingId, true);
+    }
+
+    /**
+     * Returns how many portions of a topping with the given extra status are on the sandwich.
+     *
+     * @param topping The topping to count.
+     * @param extra   {@code true} to count extra portions, {@code false} for regular ones.
+     * @return The number of matching portions, or 0 for {@code null} or off-menu toppings.
+     */
+    public int getToppingCount(Topping topping, boolean extra) {
+        if (topping == null || topping.getId() <= 0) {
+            return 0;
+        }
+        return portions(topping.getId(), extra);
+    }
+
+    /**
+     * Returns the total number of topping portions on the sandwich.
+     */
+    public int getToppingTotal() {
+        return toppingTotal;
     }
 
     //          === Methods ===
+    /**
+     * Returns an independent copy of this sandwich with the same name, bread, toasting, toppings and price.
+     * The copy belongs to no order and can be changed freely; this is how signature sandwiches are ordered.
+     *
+     * @return The copy.
+     */
+    public Sandwich copy() {
+        if (!frozen) {
+            // Both sides now point at the same counts, so this sandwich must copy before its next write too.
+            countsShared = true;
+        }
+        return new Sandwich(this);
+    }
+
+    /**
+     * Makes this sandwich read-only, so it can be shared as a menu prototype between terminals.
+     * Any later attempt to change its toppings or toasting throws {@link UnsupportedOperationException}.
+     */
+    void freeze() {
+        frozen = true;
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
     /**
      * Adds a topping to the sandwich.
      * <p>
      * If the {@code topping} is {@code null}, the method returns without making any changes.
      * If {@code extra} is requested ({@code true}) but the specific {@code topping} does not support
-     * an extra portion (determined by {@code topping.supportsExtra()}), a message is printed
-     * to the console, and the topping is added as a regular amount.
+     * an extra portion (determined by {@code topping.supportsExtra()}), the topping is added as a regular amount.
      * <p>
-     * The topping and its determined "extra" status are added to their own
-     * internal lists, ensuring proper management.
+     * The portion is recorded by bumping the topping's regular or extra counter, which is a
+     * constant-time update of the packed counts.
      *
+     * @throws IllegalArgumentException If the topping is not on this sandwich's menu, or the sandwich already holds
+     *                                  the maximum number of portions of it.
      */
     public void addTopping(Topping topping, boolean extra) {
         if (topping == null) {
             return;
         }
-
-        boolean extras = extra;
-        if (extra && !topping.supportsExtra()) {
-            System.out.println("Note: " + topping.getName() + " cannot be extra. Adding regular amount.");
-            extras = false;
+        if (topping.getId() <= 0 || getCatalog().getTopping(topping.getId()) == null) {
+            throw new IllegalArgumentException(topping.getName() + " is not on the menu.");
         }
+        checkNotFrozen();
 
-        this.toppings.add(topping);
-        this.isExtra.add(extras);
+        boolean extras = extra && topping.supportsExtra();
+
+        int id = topping.getId();
+        ensureCapacity(id);
+        if (portions(id, extras) == MAX_PORTIONS) {
+            throw new IllegalArgumentException("A sandwich can hold at most " + MAX_PORTIONS + " portions of " + topping.getName() + ".");
+        }
+        boolean first = portions(id, false) + portions(id, true) == 0;
+        setPortions(id, extras, portions(id, extras) + 1);
+        toppingTotal++;
+        adjustPrice(priceOf(topping, extras));
+        if (first) {
+            toppingPresenceChanged(id, 1);
+        }
     }
 
     /**
@@ -98,68 +261,136 @@ public class Sandwich extends MenuItem implements Priceable{
             return;
         }
 
-        for (int i = toppings.size() - 1; i >= 0; i--) {
-            if (toppings.get(i).equals(topping)) {
-                toppings.remove(i);
-                isExtra.remove(i);
-            }
+        int regular = getToppingCount(topping, false);
+        int extra = getToppingCount(topping, true);
+        if (regular + extra == 0) {
+            return;
         }
+        checkNotFrozen();
+
+        setPortions(topping.getId(), false, 0);
+        setPortions(topping.getId(), true, 0);
+        toppingTotal -= regular + extra;
+        adjustPrice(-(regular * priceOf(topping, false) + extra * priceOf(topping, true)));
+        toppingPresenceChanged(topping.getId(), -1);
     }
 
     /**
-     * Removes the first occurrence of a specific topping from the sandwich that matches
+     * Removes one portion of a specific topping from the sandwich that matches
      * both the topping type and its "extra" status.
      * <p>
      * If the {@code topping} is {@code null}, the method returns without
-     * making any changes. If no matching topping is found, the lists of toppings remain unchanged.
+     * making any changes. If no matching topping is found, the toppings remain unchanged.
      *
      * @param topping The {@link Topping} to identify the entry to be removed.
      * @param extra   The "extra" status of the topping entry to be removed.
-     * The method will look for the first entry that matches both this topping
-     * and this specific extra status.
      */
 
     public void removeTopping(Topping topping, boolean extra) {
-        if (topping == null) {
+        int count = getToppingCount(topping, extra);
+        if (count == 0) {
             return;
         }
+        checkNotFrozen();
 
-        for (int i = 0; i < toppings.size(); i++) {
-            if (toppings.get(i).equals(topping) && isExtra.get(i) == extra) {
-                toppings.remove(i);
-                isExtra.remove(i);
-                return;
-            }
+        setPortions(topping.getId(), extra, count - 1);
+        toppingTotal--;
+        adjustPrice(-priceOf(topping, extra));
+        if (getRegularCount(topping.getId()) + getExtraCount(topping.getId()) == 0) {
+            toppingPresenceChanged(topping.getId(), -1);
         }
     }
 
     /**
-     * Calculates the total price of this item, fulfilling the contract from the {@link Priceable} interface.
-     * The price is determined by summing the item's base price (based on its size)
-     * and the total cost of all its added toppings.
+     * Returns the total price of this item, fulfilling the contract from the {@link Priceable} interface.
+     * The price is the bread's base price (based on its size) plus the cost of all added toppings.
+     * It is kept up to date as toppings are added and removed, so this is a constant-time lookup.
      *
-     * @return The total calculated price of the item as a double.
+     * @return The total price of the item in cents.
      */
     @Override
-    public double getPrice() {
-        return bread.getBasePrice() + getToppingsTotal();
+    public long getPriceCents() {
+        return priceCents;
     }
 
+    /**
+     * Prices one portion of a topping at this sandwich's size, straight from its catalog's {@link PriceTable}.
+     */
+    private long priceOf(Topping topping, boolean extra) {
+        return topping.getPriceCents(getCatalog().getPrices(), bread.getSizeIndex(), extra);
+    }
 
     /**
-     * Calculates the total price of all toppings added to this sandwich.
-     * It iterates through each topping and its corresponding "extra" status,
-     * getting its price based on the current sandwich's size using a stream.
-     *
-     * @return The sum of the prices of all toppings as a double.
-     */
-    private double getToppingsTotal() {
-        return IntStream.range(0, toppings.size())
-                .mapToDouble(i -> {
-                    Topping topping = toppings.get(i);
-                    boolean toppingExtraStatus = isExtra.get(i);
-                    return topping.getPrice(this.bread.getSize(), toppingExtraStatus);
-                })
-                .sum();
-    }
-}
\ No newline at end of file
+     * Keys the sandwich by its name, catalog, size, bread, toasting and packed topping counts, so identical
+     * sandwiches share one order line. Trailing empty words are left out, so a sandwich whose counts grew
+     * for a newer topping still matches one that never did.
+     */
+    @Override
+    LineItem.Key contentKey() {
+        int words = toppingCounts.length;
+        while (words > 0 && toppingCounts[words - 1] == 0) {
+            words--;
+        }
+        long[] content = new long[3 + words];
+        content[0] = bread.getSizeIndex();
+        content[1] = bread.getBreadTypeIndex();
+        content[2] = isToasted ? 1 : 0;
+        System.arraycopy(toppingCounts, 0, content, 3, words);
+        return new LineItem.Key(Sandwich.class, getName(), getCatalog(), content);
+    }
+
+    private void checkNotFrozen() {
+        if (frozen) {
+            throw new UnsupportedOperationException(getName() + " is a menu prototype; order a copy() of it instead.");
+        }
+    }
+
+    /**
+     * Applies a price change to this sandwich and forwards it to the owning order's running total.
+     */
+    private void adjustPrice(long delta) {
+        priceCents += delta;
+        priceChanged(delta);
+    }
+
+    //          === Packed topping counts ===
+
+    private static int wordsFor(int idLimit) {
+        return (idLimit + TOPPINGS_PER_WORD - 1) / TOPPINGS_PER_WORD;
+    }
+
+    private static int shiftOf(int toppingId, boolean extra) {
+        return (toppingId % TOPPINGS_PER_WORD) * BITS_PER_TOPPING + (extra ? Byte.SIZE : 0);
+    }
+
+    private int portions(int toppingId, boolean extra) {
+        int word = toppingId / TOPPINGS_PER_WORD;
+        if (toppingId < 0 || word >= toppingCounts.length) {
+            return 0;
+        }
+        return (int) (toppingCounts[word] >>> shiftOf(toppingId, extra)) & MAX_PORTIONS;
+    }
+
+    private void setPortions(int toppingId, boolean extra, int count) {
+        if (countsShared) {
+            toppingCounts = toppingCounts.clone();
+            countsShared = false;
+        }
+        int word = toppingId / TOPPINGS_PER_WORD;
+        int shift = shiftOf(toppingId, extra);
+        toppingCounts[word] = (toppingCounts[word] & ~((long) MAX_PORTIONS << shift)) | ((long) count << shift);
+    }
+
+    /**
+     * Grows the packed counts if the catalog gained toppings after this sandwich was created.
+     */
+    private void ensureCapacity(int toppingId) {
+        int words = wordsFor(toppingId + 1);
+        if (words > toppingCounts.length) {
+            long[] grown = new long[words];
+            System.arraycopy(toppingCounts, 0, grown, 0, toppingCounts.length);
+            toppingCounts = grown;
+            countsShared = false;
+        }
+    }
+}
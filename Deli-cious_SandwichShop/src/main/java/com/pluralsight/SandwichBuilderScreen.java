@@ -1,15 +1,20 @@
 package com.pluralsight;
 
+import java.io.PrintStream;
 import java.util.List;
 import java.util.Map;
 
 public class SandwichBuilderScreen {
     //          === Instance Variables ===
     private Console console;
+    private PrintStream out;
+    private OrderService orderService;
 
     //          === Constructor ===
-    public SandwichBuilderScreen(Console console) {
+    public SandwichBuilderScreen(Console console, OrderService orderService) {
         this.console = console;
+        this.out = console.out();
+        this.orderService = orderService;
     }
 
     //          === Methods ===
@@ -18,10 +23,11 @@ public class SandwichBuilderScreen {
      * This method handles selecting the base bread and size, adding toppings,
      * and setting the toasted status. It also enforces limits on "extra" meat and cheese.
      *
+     * @param order The order the sandwich is for; it is priced with the order's catalog but not added to it.
      * @return A fully configured and new Sandwich object based on user input.
      */
-    public Sandwich buildSandwich() {
-        System.out.println("\n=== Build Your Custom Sandwich ===");
+    public Sandwich buildSandwich(Order order) {
+        out.println("\n=== Build Your Custom Sandwich ===");
 
         Sandwich sandwich = null;
         while (sandwich == null) {
@@ -30,10 +36,10 @@ public class SandwichBuilderScreen {
                         "Available sizes include (4\", 8\", 12\"): ");
                 String breadTypeInput = console.promptForString("Enter bread type." +
                         "\nAvailable bread types include (White, Wheat, Rye, Wrap): ");
-                sandwich = new Sandwich(sizeInput, breadTypeInput);
-                System.out.println("Starting your " + sandwich.getName() + ".");
+                sandwich = orderService.createSandwich(order, sizeInput, breadTypeInput);
+                out.println("Starting your " + sandwich.getName() + ".");
             }catch (IllegalArgumentException e) {
-                System.out.println(e.getMessage());
+                out.println(e.getMessage());
             }
         }
 
@@ -50,12 +56,12 @@ public class SandwichBuilderScreen {
      * Changes are applied directly to this object.
      */
     public void modifySandwich (Sandwich sandwichToModify) {
-        System.out.println("\n--- Modifying Your Sandwich ---");
+        out.println("\n--- Modifying Your Sandwich ---");
         displaySandwichDetails(sandwichToModify);
 
         String choice;
         do {
-            System.out.println("\n---Modification Options ---" +
+            out.println("\n---Modification Options ---" +
                     "\n1) Add Topping" +
                     "\n2) Remove Topping" +
                     "\n0) Done Modifying!");
@@ -64,8 +70,8 @@ public class SandwichBuilderScreen {
             switch (option) {
                 case 1: addToppingsToSandwich(sandwichToModify); break;
                 case 2: removeToppingFromSandwich(sandwichToModify); break;
-                case 0: System.out.println("Your changes have been saved!"); return;
-                default: System.out.println("Invalid option. Please try again."); break;
+                case 0: out.println("Your changes have been saved!"); return;
+                default: out.println("Invalid option. Please try again."); break;
             }
             displaySandwichDetails(sandwichToModify);
             choice = console.promptForString("Continue modifying? (Yes/No): ");
@@ -74,15 +80,16 @@ public class SandwichBuilderScreen {
 
     /**
      * Guides the user through adding toppings to the specified sandwich.
-     * This method implements the specific rules for limiting "extra" meat (max 2 extra)
-     * and "extra" cheese (max 3 extra) portions per individual topping type.
+     * The rules for limiting "extra" meat (max 2 extra) and "extra" cheese (max 3 extra)
+     * portions per individual topping type are enforced by {@link OrderService#addTopping(Sandwich, Topping, boolean)}.
      *
      * @param sandwich The Sandwich object to which toppings will be added.
      */
     private void addToppingsToSandwich(Sandwich sandwich) {
+        Catalog catalog = sandwich.getCatalog();
         String addMoreChoice = null;
         do {
-            System.out.println("\n--- Add Toppings ---" +
+            out.println("\n--- Add Toppings ---" +
                     "\n1) Meat" +
                     "\n2) Cheese" +
                     "\n3) Regular Toppings" +
@@ -103,66 +110,51 @@ public class SandwichBuilderScreen {
                 case 5: selectedCategory = Topping.SIDE; break;
                 case 0: return;
                 default:
-                    System.out.println("Invalid category. Please try again.");
+                    out.println("Invalid category. Please try again.");
                     continue;
             }
 
-            toppingsInSelectedCategory = Topping.getToppingByCategory(selectedCategory);
+            toppingsInSelectedCategory = catalog.getToppingsByCategory(selectedCategory);
             if (toppingsInSelectedCategory.isEmpty()){
-                System.out.println("No toppings available in this category.");
+                out.println("No toppings available in this category.");
                 continue;
             }
 
-            System.out.println("\n--- Available " + selectedCategory + " Toppings ---");
+            out.println("\n--- Available " + selectedCategory + " Toppings ---");
             toppingsInSelectedCategory.forEach((key, topping) ->
-                    System.out.printf("%d) %s%n", key, topping.getName()));
+                    out.printf("%d) %s%s%n", key, topping.getName(), orderService.isAvailable(topping) ? "" : " (sold out)"));
 
             int toppingNumber = console.promptForInt("Enter topping number to add (0 to return to categories): ");
             if (toppingNumber == 0) {
                 continue;
             }
 
-            Topping selectedTopping = Topping.getByNumber(toppingNumber);
+            Topping selectedTopping = catalog.getTopping(toppingNumber);
             if (selectedTopping == null || !selectedTopping.getCategory().equals(selectedCategory)) {
-                System.out.println("Invalid topping number for the selected category " + selectedCategory + ". Please try again");
+                out.println("Invalid topping number for the selected category " + selectedCategory + ". Please try again");
                 continue;
             }
 
-            boolean addAsExtra = false;
+            boolean wantsExtra = false;
             if (selectedTopping.supportsExtra()) {
                 String extraChoice = console.promptForString("\nAdd extra " + selectedTopping.getName() + "?" +
                         "(Yes/No):");
-                if (extraChoice.equalsIgnoreCase("yes")) {
-                    int currentExtraToppingCount = 0;
-                    List<Topping> currentSandwichToppings = sandwich.getToppings();
-                    List<Boolean> currentExtraToppings = sandwich.getToppingExtraStatuses();
-
-                    for (int i = 0; i < currentSandwichToppings.size(); i++) {
-                        if (currentSandwichToppings.get(i).getName().equals(selectedTopping.getName())
-                        && currentExtraToppings.get(i)) {
-                            currentExtraToppingCount++;
-                        }
-                    }
-
-                    if (selectedTopping.getCategory().equals(Topping.MEAT)) {
-                        if (currentExtraToppingCount < 2) {
-                            addAsExtra = true;
-                        }else {
-                            System.out.println("Limit reached!" +
-                                    "\nYou can add a maximum of 2 extra portions of " + selectedTopping.getName() + ".");
-                        }
-                    } else if (selectedTopping.getCategory().equals(Topping.CHEESE)) {
-                        if (currentExtraToppingCount < 3) {
-                            addAsExtra = true;
-                        }else {
-                            System.out.println("Limit reached!" +
-                                    "\nYou can add a maximum of 3 extra portions of " + selectedTopping.getName() + ".");
-                        }
-                    }
-                }
+                wantsExtra = extraChoice.equalsIgnoreCase("yes");
             }
-            sandwich.addTopping(selectedTopping, addAsExtra);
-            System.out.println(selectedTopping.getName() + (addAsExtra ? " (extra)" : "") + " added to your sandwich.");
+
+            OrderService.ToppingResult result = orderService.addTopping(sandwich, selectedTopping, wantsExtra);
+            if (result == OrderService.ToppingResult.SOLD_OUT) {
+                out.println("Sorry, " + selectedTopping.getName() + " is sold out right now.");
+                addMoreChoice = console.promptForString("\nAdd another topping? (Yes/No): ");
+                continue;
+            }
+            if (result == OrderService.ToppingResult.EXTRA_LIMIT_REACHED) {
+                out.println("Limit reached!" +
+                        "\nYou can add a maximum of " + orderService.maxExtraPortions(selectedTopping) +
+                        " extra portions of " + selectedTopping.getName() + ".");
+            }
+            boolean addedAsExtra = wantsExtra && result == OrderService.ToppingResult.ADDED;
+            out.println(selectedTopping.getName() + (addedAsExtra ? " (extra)" : "") + " added to your sandwich.");
             addMoreChoice = console.promptForString("\nAdd another topping? (Yes/No): ");
         }while (addMoreChoice.equalsIgnoreCase("yes"));
     }
@@ -174,24 +166,24 @@ public class SandwichBuilderScreen {
      * @param sandwich The sandwich from which to remove toppings.
      */
     private void  removeToppingFromSandwich(Sandwich sandwich) {
-        if (sandwich.getToppings().isEmpty()) {
-            System.out.println("This sandwich has no toppings to remove.");
+        if (sandwich.getToppingTotal() == 0) {
+            out.println("This sandwich has no toppings to remove.");
             return;
         }
 
-        System.out.println("\n--- Remove Topping ---");
+        out.println("\n--- Remove Topping ---");
         displaySandwichDetails(sandwich);
 
         List<Topping> currentToppings = sandwich.getToppings();
         List<Boolean> toppingExtraStatus = sandwich.getToppingExtraStatuses();
 
-        System.out.println("Select a topping to remove: ");
+        out.println("Select a topping to remove: ");
         for (int i = 0; i < currentToppings.size(); i++) {
             Topping t = currentToppings.get(i);
             boolean isExtra = toppingExtraStatus.get(i);
-            System.out.printf("%d) %s %s%n", (i + 1), t.getName(), isExtra ? "(Extra)" : "");
+            out.printf("%d) %s %s%n", (i + 1), t.getName(), isExtra ? "(Extra)" : "");
         }
-        System.out.println("0) Go back");
+        out.println("0) Go back");
 
         int selection = console.promptForInt("\nEnter number of topping to remove (0 to go back): ");
         if (selection == 0) {
@@ -204,10 +196,10 @@ public class SandwichBuilderScreen {
             Topping toppingToRemove = currentToppings.get(indexToRemove);
             boolean extraToppingToRemove = toppingExtraStatus.get(indexToRemove);
 
-            sandwich.removeTopping(toppingToRemove, extraToppingToRemove);
-            System.out.println(toppingToRemove.getName() + (extraToppingToRemove ? " (Extra)" : "") + " removed.");
+            orderService.removeTopping(sandwich, toppingToRemove, extraToppingToRemove);
+            out.println(toppingToRemove.getName() + (extraToppingToRemove ? " (Extra)" : "") + " removed.");
         }else {
-            System.out.println("Invalid selection. Please enter a number from the list.");
+            out.println("Invalid selection. Please enter a number from the list.");
         }
     }
 
@@ -220,8 +212,8 @@ public class SandwichBuilderScreen {
         String currentStatus = sandwich.isToasted() ? "Yes" : "No";
         String toastedChoice = console.promptForString("Current toasted status: " + currentStatus + "." +
                 "\nDo you want your sandwich toasted? (Yes/No): ");
-        sandwich.setToasted(toastedChoice.equalsIgnoreCase("yes"));
-        System.out.println("Sandwich will be " + (sandwich.isToasted() ? "toasted." : "not toasted."));
+        orderService.setToasted(sandwich, toastedChoice.equalsIgnoreCase("yes"));
+        out.println("Sandwich will be " + (sandwich.isToasted() ? "toasted." : "not toasted."));
     }
 
     /**
@@ -232,23 +224,23 @@ public class SandwichBuilderScreen {
      * @param sandwich The sandwich whose details are to be displayed.
      */
     private void displaySandwichDetails(Sandwich sandwich) {
-        System.out.println("\n--- Current Sandwich Details ---" +
+        out.println("\n--- Current Sandwich Details ---" +
                 "\nName: " + sandwich.getName() +
                 "\nBread: " + sandwich.getBreadType() + " " + sandwich.getSize() + "\"" +
                 "\nToasted: " + (sandwich.isToasted() ? "Yes" : "No") +
                 "\nToppings:");
-        if (sandwich.getToppings().isEmpty()) {
-            System.out.println("  (No Toppings yet)");
+        if (sandwich.getToppingTotal() == 0) {
+            out.println("  (No Toppings yet)");
         }else {
             List<Topping> toppings = sandwich.getToppings();
             List<Boolean> toppingExtraStatus = sandwich.getToppingExtraStatuses();
             for (int i = 0; i < toppings.size(); i++) {
                 Topping t = toppings.get(i);
                 boolean isExtra = toppingExtraStatus.get(i);
-                System.out.printf("  - %s %s%n", t.getName(), isExtra ? "(Extra)" : "");
+                out.printf("  - %s %s%n", t.getName(), isExtra ? "(Extra)" : "");
             }
         }
-        System.out.printf("Current Price: $%.2f%n", sandwich.getPrice());
-        System.out.println("----------------------------------");
+        out.printf("Current Price: $%s%n", Money.format(sandwich.getPriceCents()));
+        out.println("----------------------------------");
     }
 }
@@ -0,0 +1,95 @@
+package com.pluralsight;
+
+import java.util.Arrays;
+
+/**
+ * Describes a signature sandwich: its menu name, bread, whether it is toasted, and its toppings
+ * by topping number (see {@link Catalog#getTopping(int)}). A topping number listed twice adds two portions.
+ * <p>
+ * Recipes are plain data, so a new signature sandwich is added by a line in the catalog file's
+ * {@code [signatures]} section, or by {@link DeliMenu#register(int, SignatureRecipe)}, rather than by writing a new class.
+ * </p>
+ *
+ * @param name       The name shown on the menu and on receipts (e.g. "BLT").
+ * @param size       The bread size, in any form {@link Bread} accepts.
+ * @param breadType  The bread type, in any form {@link Bread} accepts.
+ * @param toasted    Whether the sandwich is toasted.
+ * @param toppingIds The topping numbers, one per regular portion.
+ */
+public record SignatureRecipe(String name, String size, String breadType, boolean toasted, int... toppingIds) {
+
+    public SignatureRecipe {
+        toppingIds = toppingIds.clone();
+    }
+
+    @Override
+    public int[] toppingIds() {
+        return toppingIds.clone();
+    }
+
+    /**
+     * Builds a fresh sandwich from this recipe with the current {@link Catalog}.
+     *
+     * @return A new, unfrozen sandwich named after the recipe.
+     * @throws IllegalArgumentException If the bread is invalid or a topping number is not on the menu.
+     */
+    public Sandwich build() {
+        return build(Catalog.current());
+    }
+
+    /**
+     * Builds a fresh sandwich from this recipe, with the toppings and prices of the given catalog.
+     *
+     * @return A new, unfrozen sandwich named after the recipe.
+     * @throws IllegalArgumentException If the bread is invalid or a topping number is not in the catalog.
+     */
+    public Sandwich build(Catalog catalog) {
+        Sandwich sandwich = new Sandwich(catalog, size, breadType);
+        sandwich.setName(name);
+        for (int id : toppingIds) {
+            Topping topping = catalog.getTopping(id);
+            if (topping == null) {
+                throw new IllegalArgumentException(name + " uses topping number " + id + ", which is not on the menu.");
+            }
+            sandwich.addTopping(topping, false);
+        }
+        sandwich.setToasted(toasted);
+        return sandwich;
+    }
+
+    /**
+     * Checks this recipe against a catalog without building it: the bread must parse and every topping number
+     * must be in the catalog. Catalogs call this on load, so a bad recipe is rejected before any prototype is built.
+     *
+     * @throws IllegalArgumentException If the bread is invalid or a topping number is not in the catalog.
+     */
+    void validate(Catalog catalog) {
+        if (catalog.parseBreadSize(size) == AliasTrie.NO_MATCH) {
+            throw new IllegalArgumentException(name + " uses bread size '" + size + "', which is not on the menu.");
+        }
+        if (catalog.parseBreadType(breadType) == AliasTrie.NO_MATCH) {
+            throw new IllegalArgumentException(name + " uses bread type '" + breadType + "', which is not on the menu.");
+        }
+        for (int id : toppingIds) {
+            if (catalog.getTopping(id) == null) {
+                throw new IllegalArgumentException(name + " uses topping number " + id + ", which is not on the menu.");
+            }
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof SignatureRecipe other && name.equals(other.name) && size.equals(other.size)
+                && breadType.equals(other.breadType) && toasted == other.toasted && Arrays.equals(toppingIds, other.toppingIds);
+    }
+
+    @Override
+    public int hashCode() {
+        return ((name.hashCode() * 31 + size.hashCode()) * 31 + breadType.hashCode()) * 31 + Arrays.hashCode(toppingIds) + (toasted ? 1 : 0);
+    }
+
+    @Override
+    public String toString() {
+        return "SignatureRecipe[" + name + ", " + size + "\" " + breadType + (toasted ? ", toasted" : "") + ", toppings=" + Arrays.toString(toppingIds) + "]";
+    }
+}
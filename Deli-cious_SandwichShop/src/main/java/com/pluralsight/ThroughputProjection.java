@@ -0,0 +1,33 @@
+package com.pluralsight;
+
+/**
+ * The oven throughput the {@link OvenScheduler} projects from the sandwiches it has seen so far,
+ * next to what plain first-in, first-out loading would achieve with the same arrivals.
+ * <p>
+ * Toasting is the bottleneck, so throughput is modeled as ovens &times; cycles per hour &times; the average
+ * number of sandwiches per cycle. FIFO may only share a cycle between sandwiches that arrive back to back
+ * with the same bread type and size, while the scheduler groups them across orders.
+ * </p>
+ *
+ * @param toastedSandwiches How many toasted sandwiches were scheduled.
+ * @param batchedFill       The scheduler's average sandwiches per oven cycle.
+ * @param fifoFill          FIFO's average sandwiches per oven cycle for the same arrivals.
+ * @param batchedPerHour    The projected sandwiches per hour with batching.
+ * @param fifoPerHour       The projected sandwiches per hour with FIFO.
+ */
+public record ThroughputProjection(long toastedSandwiches, double batchedFill, double fifoFill,
+                                   double batchedPerHour, double fifoPerHour) {
+
+    /**
+     * Returns how many times more sandwiches per hour batching gets through than FIFO, or 1 with no data yet.
+     */
+    public double speedup() {
+        return fifoPerHour == 0 ? 1 : batchedPerHour / fifoPerHour;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Projected oven throughput: %.0f sandwiches/hour batched (%.2f per cycle) vs %.0f FIFO (%.2f per cycle), %.2fx over %d toasted sandwiches",
+                batchedPerHour, batchedFill, fifoPerHour, fifoFill, speedup(), toastedSandwiches);
+    }
+}
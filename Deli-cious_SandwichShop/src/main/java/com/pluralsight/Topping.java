@@ -1,8 +1,6 @@
 package com.pluralsight;
 
-import java.util.HashMap;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 public class Topping {
 
@@ -17,121 +15,88 @@ public class Topping {
     private String name;
     private final String category;
     private boolean isPremium;
-
-    private static final Map<Integer,Topping> AVAILABLE_TOPPINGS = new HashMap<>();
-    static {
-        AVAILABLE_TOPPINGS.put(1, new Topping("Steak", Topping.MEAT, true));
-        AVAILABLE_TOPPINGS.put(2, new Topping("Ham", Topping.MEAT, true));
-        AVAILABLE_TOPPINGS.put(3, new Topping("Salami", Topping.MEAT, true));
-        AVAILABLE_TOPPINGS.put(4, new Topping("Pastrami", Topping.MEAT, true));
-        AVAILABLE_TOPPINGS.put(5, new Topping("Chicken", Topping.MEAT, true));
-        AVAILABLE_TOPPINGS.put(6, new Topping("Bacon", Topping.MEAT, true));
-        AVAILABLE_TOPPINGS.put(7, new Topping("American", Topping.CHEESE, true));
-        AVAILABLE_TOPPINGS.put(8, new Topping("Provolone", Topping.CHEESE, true));
-        AVAILABLE_TOPPINGS.put(9, new Topping("Cheddar", Topping.CHEESE, true));
-        AVAILABLE_TOPPINGS.put(10, new Topping("Swiss", Topping.CHEESE, true));
-        AVAILABLE_TOPPINGS.put(11, new Topping("Lettuce", Topping.REGULAR, false));
-        AVAILABLE_TOPPINGS.put(12, new Topping("Peppers", Topping.REGULAR, false));
-        AVAILABLE_TOPPINGS.put(13, new Topping("Onions", Topping.REGULAR, false));
-        AVAILABLE_TOPPINGS.put(14, new Topping("Tomatoes", Topping.REGULAR, false));
-        AVAILABLE_TOPPINGS.put(15, new Topping("Jalapeños", Topping.REGULAR, false));
-        AVAILABLE_TOPPINGS.put(16, new Topping("Cucumbers", Topping.REGULAR, false));
-        AVAILABLE_TOPPINGS.put(17, new Topping("Pickles", Topping.REGULAR, false));
-        AVAILABLE_TOPPINGS.put(18, new Topping("Guacamole", Topping.REGULAR, false));
-        AVAILABLE_TOPPINGS.put(19, new Topping("Mushrooms", Topping.REGULAR, false));
-        AVAILABLE_TOPPINGS.put(20, new Topping("Mayo", Topping.SAUCE, false));
-        AVAILABLE_TOPPINGS.put(21, new Topping("Mustard", Topping.SAUCE, false));
-        AVAILABLE_TOPPINGS.put(22, new Topping("Ketchup", Topping.SAUCE, false));
-        AVAILABLE_TOPPINGS.put(23, new Topping("Ranch", Topping.SAUCE, false));
-        AVAILABLE_TOPPINGS.put(24, new Topping("Thousand Islands", Topping.SAUCE, false));
-        AVAILABLE_TOPPINGS.put(25, new Topping("Vinaigrette", Topping.SAUCE, false));
-        AVAILABLE_TOPPINGS.put(26, new Topping("Au Jus", Topping.SIDE, false));
-        AVAILABLE_TOPPINGS.put(27, new Topping("French Fries", Topping.SIDE, false));
-        AVAILABLE_TOPPINGS.put(28, new Topping("Coleslaw", Topping.SIDE, false));
-        AVAILABLE_TOPPINGS.put(29, new Topping("Pickles", Topping.SIDE, false));
-        AVAILABLE_TOPPINGS.put(30, new Topping("DELI-cious Dip", Topping.SIDE, false));
-    }
+    private final int id;
+    private final int categoryIndex;
 
     //          === Constructor ===
+    /**
+     * Creates a topping by name and category. If the current {@link Catalog} has a topping with the same
+     * name and category, the new topping takes on its menu number and is equal to it;
+     * otherwise it is an off-menu topping with number {@code 0}.
+     */
     public Topping(String name, String category, boolean isPremium) {
+        this(catalogIdOf(name, category), name, category, isPremium);
+    }
+
+    /**
+     * Creates a catalog topping with its menu number; used by {@link Catalog} when it reads the menu.
+     */
+    Topping(int id, String name, String category, boolean isPremium) {
+        this.id = id;
         this.name = name;
         this.category = category;
         this.isPremium = isPremium;
+        this.categoryIndex = indexOfCategory(category);
+    }
+
+    private static int catalogIdOf(String name, String category) {
+        for (Topping topping : Catalog.current().getToppings().values()) {
+            if (topping.name.equals(name) && topping.category.equals(category)) {
+                return topping.id;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Finds the ordinal of a category in {@link PriceTable#CATEGORIES}.
+     * Unrecognized categories are treated like regular toppings, which are never charged for.
+     */
+    private static int indexOfCategory(String category) {
+        for (int i = 0; i < PriceTable.CATEGORIES.length; i++) {
+            if (PriceTable.CATEGORIES[i].equals(category)) {
+                return i;
+            }
+        }
+        return indexOfCategory(REGULAR);
     }
 
     //          === Methods to access toppings ===
+    // These read the current Catalog. Code pricing an existing order should ask the order's catalog instead.
 
     public static Topping getByNumber(int number) {
-        return AVAILABLE_TOPPINGS.get(number);
+        return Catalog.current().getTopping(number);
     }
 
+    /**
+     * Returns the toppings in a category, keyed by menu number and ordered by it.
+     * The map is precomputed when the catalog loads, so this call does not allocate.
+     *
+     * @param category One of the category constants, e.g. {@link #MEAT}.
+     * @return An unmodifiable map of the category's toppings; empty for unknown categories.
+     */
     public static Map<Integer, Topping> getToppingByCategory(String category) {
-        return AVAILABLE_TOPPINGS.entrySet().stream()
-                .filter(entry -> entry.getValue().getCategory().equals(category))
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-    }
-
-    public static Map<Integer, Topping> getAvailableToppings() {
-        return new HashMap<>(AVAILABLE_TOPPINGS);
+        return Catalog.current().getToppingsByCategory(category);
     }
 
-    //          === Instance methods ===
-
     /**
-     * Gets the base price of this premium topping for a given sandwich size.
+     * Returns the whole topping catalog keyed by menu number, ordered by it.
      *
-     * @param size The size of the sandwich ).
-     * @return The price of the topping for the specified size. Defaults to 2.00 for unknown sizes.
+     * @return An unmodifiable view of the catalog.
      */
-    private double getBasePrice(String size) {
-        if (!isPremium) return 0.0;
-
-        if (category.equals(MEAT)){
-            switch (size){
-                case "4" -> {return 1.00;}
-                case "8" -> {return 2.00;}
-                case "12" -> {return 3.00;}
-                default -> {return 2.00;}
-            }
-        }else if (category.equals(CHEESE)){
-            switch (size){
-                case "4" -> {return 0.75;}
-                case "8" -> {return 1.50;}
-                case "12" -> {return 2.25;}
-                default -> {return 1.50;}
-            }
-        }
-        return 0;
+    public static Map<Integer, Topping> getAvailableToppings() {
+        return Catalog.current().getToppings();
     }
 
     /**
-     * Calculates the price for an extra portion of this premium topping based on the sandwich size.
-     * Note: This method currently returns fixed values based on size and does not use the {@code extraPrice} instance variable.
-     *
-     * @param size The size of the sandwich.
-     * @return The price for an extra portion of the topping. Defaults to 1.00 for unknown sizes.
+     * Returns one past the highest menu number in the catalog, for sizing arrays indexed by topping number.
      */
-    private double getExtraPrice(String size) {
-        if (!isPremium) return 0.0;
-
-        if (category.equals(MEAT)){
-            switch (size) {
-                case "4" -> {return 0.50;}
-                case "8" -> {return 1.00;}
-                case "12" -> {return 1.50;}
-                default -> {return 1.00;}
-            }
-        } else if (category.equals(CHEESE)) {
-            switch (size){
-                case "4" -> {return 0.30;}
-                case "8" -> {return 0.60;}
-                case "12" -> {return 0.90;}
-                default -> {return 0.60;}
-            }
-        }
-        return 0;
+    public static int getIdLimit() {
+        return Catalog.current().getToppingIdLimit();
     }
 
+    //          === Instance methods ===
+
     public boolean supportsExtra() {
         return isPremium;
     }
@@ -147,12 +112,62 @@ public class Topping {
         return isPremium;
     }
 
-    public double getPrice(String size, boolean isExtra) {
-        double price = getBasePrice(size);
+    /**
+     * Returns the menu number of this topping, or {@code 0} if it was not created from the catalog.
+     */
+    public int getId() {
+        return id;
+    }
+
+    public int getCategoryIndex() {
+        return categoryIndex;
+    }
 
-        if (isExtra && supportsExtra()) {
-            price += getExtraPrice(size);
-        }
-        return price;
+    /**
+     * Returns the row of this topping in a given {@link PriceTable}. Catalog toppings own the row matching their
+     * menu number; other toppings, and toppings the table's catalog does not know (for instance one added to the
+     * menu after the table was compiled), share the default row for their category.
+     */
+    public int getPriceRow(PriceTable prices) {
+        return prices.hasRow(id) ? id : prices.defaultRow(categoryIndex, isPremium);
+    }
+
+    /**
+     * Gets the price of this topping for a sandwich size given as a string.
+     *
+     * @param prices  The price table to price against, usually the sandwich's {@link Catalog#getPrices()}.
+     * @param size    The size of the sandwich ({@code "4"}, {@code "8"} or {@code "12"}). Unknown sizes price as 8".
+     * @param isExtra Whether an extra portion was requested. Ignored for toppings that do not support extra.
+     * @return The price of the topping in dollars.
+     */
+    public double getPrice(PriceTable prices, String size, boolean isExtra) {
+        return Money.toDollars(getPriceCents(prices, PriceTable.sizeIndexOf(size), isExtra));
+    }
+
+    /**
+     * Gets the price of this topping for a sandwich size ordinal, straight from a {@link PriceTable}.
+     *
+     * @param prices    The price table to price against.
+     * @param sizeIndex The sandwich size ordinal.
+     * @param isExtra   Whether an extra portion was requested.
+     * @return The price of the topping in cents.
+     */
+    public long getPriceCents(PriceTable prices, int sizeIndex, boolean isExtra) {
+        return prices.toppingPrice(getPriceRow(prices), sizeIndex, isExtra && isPremium);
+    }
+
+    /**
+     * Two toppings are equal when they share a menu number. Off-menu toppings are only equal to themselves.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Topping other)) return false;
+        return id > 0 && id == other.id;
+    }
+
+    @Override
+    public int hashCode() {
+        return id > 0 ? id : System.identityHashCode(this);
     }
-}
\ No newline at end of file
+}
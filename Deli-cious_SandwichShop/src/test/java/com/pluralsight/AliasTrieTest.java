@@ -0,0 +1,44 @@
+package com.pluralsight;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("AliasTrie Class Tests")
+public class AliasTrieTest {
+
+    @Test
+    void breadSize_ShouldIgnoreCaseAndSurroundingWhitespace() {
+        org.junit.jupiter.api.Assertions.assertEquals(PriceTable.SIZE_FOUR_INDEX, Bread.parseSize("  SMALL "));
+        org.junit.jupiter.api.Assertions.assertEquals(PriceTable.SIZE_EIGHT_INDEX, Bread.parseSize("8 Inch"));
+        org.junit.jupiter.api.Assertions.assertEquals(PriceTable.SIZE_TWELVE_INDEX, Bread.parseSize("12\""));
+    }
+
+    @Test
+    void breadType_ShouldMatchAliases() {
+        org.junit.jupiter.api.Assertions.assertEquals(Bread.BREAD_TYPES.indexOf(Bread.BREAD_WHEAT), Bread.parseBreadType("Whole Wheat"));
+        org.junit.jupiter.api.Assertions.assertEquals(Bread.BREAD_TYPES.indexOf(Bread.BREAD_WRAP), Bread.parseBreadType("\ttortilla"));
+    }
+
+    @Test
+    void unknownInput_ShouldNotMatch() {
+        org.junit.jupiter.api.Assertions.assertEquals(AliasTrie.NO_MATCH, Bread.parseSize("sma"));
+        org.junit.jupiter.api.Assertions.assertEquals(AliasTrie.NO_MATCH, Bread.parseSize("4inch"));
+        org.junit.jupiter.api.Assertions.assertEquals(AliasTrie.NO_MATCH, Bread.parseBreadType("Jalapeños"));
+        org.junit.jupiter.api.Assertions.assertEquals(AliasTrie.NO_MATCH, Bread.parseBreadType("   "));
+        org.junit.jupiter.api.Assertions.assertEquals(AliasTrie.NO_MATCH, Drink.parseSize(null));
+    }
+
+    @Test
+    void drinkSize_ShouldMatchPrefixAliases() {
+        org.junit.jupiter.api.Assertions.assertEquals(0, Drink.parseSize("Sma"));
+        org.junit.jupiter.api.Assertions.assertEquals(1, Drink.parseSize("MID"));
+        org.junit.jupiter.api.Assertions.assertEquals(2, Drink.parseSize("larg "));
+    }
+
+    @Test
+    void invalidDrinkSize_ShouldDefaultToMedium() {
+        Drink drink = new Drink("Huge", "Cola");
+        org.junit.jupiter.api.Assertions.assertEquals(Drink.MEDIUM_SIZE, drink.getSize());
+        org.junit.jupiter.api.Assertions.assertEquals(250, drink.getPriceCents());
+    }
+}
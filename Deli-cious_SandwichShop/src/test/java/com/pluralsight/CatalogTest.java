@@ -0,0 +1,145 @@
+package com.pluralsight;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+
+@DisplayName("Catalog Class Tests")
+public class CatalogTest {
+
+    private Catalog original;
+
+    @BeforeEach
+    void setUp() {
+        original = Catalog.current();
+    }
+
+    @AfterEach
+    void tearDown() {
+        Catalog.publish(original);
+    }
+
+    @Test
+    void publish_ShouldRepriceNewOrdersButNotOrdersInProgress() throws IOException {
+        Order inProgress = new Order(new OrderIdGenerator(1));
+        Sandwich sandwich = new Sandwich(inProgress.getCatalog(), "8", "White");
+        inProgress.addItem(sandwich);
+
+        Catalog.publish(Catalog.parse(new StringReader(catalogText("bread = 600 800 1000", "1 = Steak | Meat | premium")), "test"));
+
+        sandwich.addTopping(Topping.getByNumber(1), false);
+        org.junit.jupiter.api.Assertions.assertEquals(900, inProgress.getTotalPriceCents());
+
+        Order next = new Order(new OrderIdGenerator(2));
+        next.addItem(new Sandwich(next.getCatalog(), "8", "White"));
+        org.junit.jupiter.api.Assertions.assertEquals(800, next.getTotalPriceCents());
+        org.junit.jupiter.api.Assertions.assertEquals("test-1", Catalog.current().getVersion());
+    }
+
+    @Test
+    void parse_InvalidLine_ShouldNameTheLine() {
+        String text = catalogText("bread = 550 700 850", "1 = Steak | Meat");
+
+        IllegalArgumentException e = org.junit.jupiter.api.Assertions.assertThrows(IllegalArgumentException.class,
+                () -> Catalog.parse(new StringReader(text), "menu.txt"));
+        org.junit.jupiter.api.Assertions.assertTrue(e.getMessage().startsWith("menu.txt line 10:"), e.getMessage());
+    }
+
+    @Test
+    void parse_SignatureWithUnknownTopping_ShouldBeRejected() throws IOException {
+        String valid = catalogText("bread = 550 700 850", "1 = Steak | Meat | premium") + """
+                [signatures]
+                1 = Steak Sub | 12 | Wheat | toasted | 1 1
+                """;
+        Catalog catalog = Catalog.parse(new StringReader(valid), "menu.txt");
+        org.junit.jupiter.api.Assertions.assertEquals(850 + 2 * 300, catalog.getSignaturePrototype(1).getPriceCents());
+
+        String invalid = valid.replace("| 1 1", "| 1 2");
+        IllegalArgumentException e = org.junit.jupiter.api.Assertions.assertThrows(IllegalArgumentException.class,
+                () -> Catalog.parse(new StringReader(invalid), "menu.txt"));
+        org.junit.jupiter.api.Assertions.assertTrue(e.getMessage().startsWith("menu.txt: Steak Sub uses topping number 2"), e.getMessage());
+    }
+
+    @Test
+    void watcher_ShouldPublishSavedFileAndKeepOldMenuOnErrors(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("catalog.txt");
+        Files.writeString(file, catalogText("bread = 600 800 1000", "1 = Steak | Meat | premium"), StandardCharsets.UTF_8);
+
+        try (CatalogWatcher watcher = CatalogWatcher.start(file)) {
+            org.junit.jupiter.api.Assertions.assertTrue(watcher.reload());
+            Catalog loaded = Catalog.current();
+            org.junit.jupiter.api.Assertions.assertEquals(1000, loaded.getPrices().breadPrice(PriceTable.SIZE_TWELVE_INDEX));
+
+            Files.writeString(file, "[prices]\nbread = cheap\n", StandardCharsets.UTF_8);
+            org.junit.jupiter.api.Assertions.assertFalse(watcher.reload());
+            org.junit.jupiter.api.Assertions.assertSame(loaded, Catalog.current());
+            org.junit.jupiter.api.Assertions.assertNotNull(watcher.getLastError());
+        }
+    }
+
+    @Test
+    void promotions_ShouldCompileOneSnapshotPerSliceOfTheDay() throws IOException {
+        String text = catalogText("bread = 550 700 850", "1 = Steak | Meat | premium") + """
+                [promotions]
+                Happy Hour = 14:00-16:00 | bread = 550 700 700
+                Late Night = 22:00-02:00 | bread = 500 600 700 | Meat = 50 100 150
+                """;
+        Catalog catalog = Catalog.parse(new StringReader(text), "test");
+
+        org.junit.jupiter.api.Assertions.assertSame(catalog, catalog.at(LocalTime.of(13, 59)));
+        Catalog happyHour = catalog.at(LocalTime.of(15, 0));
+        org.junit.jupiter.api.Assertions.assertEquals(700, happyHour.getPrices().breadPrice(PriceTable.SIZE_TWELVE_INDEX));
+        org.junit.jupiter.api.Assertions.assertEquals("test-1 (Happy Hour)", happyHour.getLabel());
+        org.junit.jupiter.api.Assertions.assertSame(catalog, catalog.at(LocalTime.of(16, 0)));
+
+        Catalog lateNight = catalog.at(LocalTime.of(1, 0));
+        org.junit.jupiter.api.Assertions.assertSame(lateNight, catalog.at(LocalTime.of(23, 0)));
+        org.junit.jupiter.api.Assertions.assertEquals(100, lateNight.getPrices().toppingPrice(1, PriceTable.SIZE_EIGHT_INDEX, false));
+        org.junit.jupiter.api.Assertions.assertEquals(TimeUnit.HOURS.toNanos(1),
+                catalog.getSchedule().nanosUntilNextBoundary(LocalTime.of(1, 0)));
+        org.junit.jupiter.api.Assertions.assertEquals(TimeUnit.HOURS.toNanos(4),
+                catalog.getSchedule().nanosUntilNextBoundary(LocalTime.of(22, 0)));
+
+        Order order = new Order(new OrderIdGenerator(4));
+        order.addItem(new Sandwich(happyHour, "12", "White"));
+        org.junit.jupiter.api.Assertions.assertEquals(700, order.getTotalPriceCents());
+    }
+
+    private static String catalogText(String breadPrices, String topping) {
+        return """
+                version = test-1
+                [prices]
+                %s
+                drink = 200 250 300
+                chips = 150
+                Meat = 100 200 300
+                Meat.extra = 50 100 150
+                [toppings]
+                # number = name | category | premium or regular
+                %s
+                [bread sizes]
+                4 = small
+                8 = medium
+                12 = large
+                [bread types]
+                White = w
+                Wheat = wh
+                Rye = r
+                Wrap = tortilla
+                [drink sizes]
+                Small = s
+                Medium = m
+                Large = l
+                """.formatted(breadPrices, topping);
+    }
+}
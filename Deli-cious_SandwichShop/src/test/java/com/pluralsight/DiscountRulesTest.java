@@ -0,0 +1,143 @@
+package com.pluralsight;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+@DisplayName("DiscountRules Class Tests")
+public class DiscountRulesTest {
+
+    private Catalog original;
+    private Order order;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        original = Catalog.current();
+        Catalog.publish(withDiscounts("""
+                Meal Combo = sandwich + drink + chips | 150 off
+                Small Sub BOGO = 2 sandwich.4 | free sandwich.4
+                Lettuce Bonus = topping.11 + drink.Large | 100 off
+                Loyalty = loyalty | 10% off
+                """));
+        order = new Order(new OrderIdGenerator(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        Catalog.publish(original);
+    }
+
+    @Test
+    void combo_ShouldApplyPerCompleteSetAndFollowRemovals() {
+        Sandwich first = new Sandwich("8", "White");
+        Sandwich second = new Sandwich("8", "Wheat");
+        Chips chips = new Chips("Cool ranch");
+        order.addItem(first);
+        order.addItem(new Drink("Small", "Cola"));
+        order.addItem(chips);
+        order.addItem(second);
+        order.addItem(new Drink("Small", "Tea"));
+        order.addItem(new Chips("Plain"));
+
+        org.junit.jupiter.api.Assertions.assertEquals(List.of(new AppliedDiscount("Meal Combo", 2, 300)), order.getAppliedDiscounts());
+        org.junit.jupiter.api.Assertions.assertEquals(order.getSubtotalCents() - 300, order.getTotalPriceCents());
+        org.junit.jupiter.api.Assertions.assertEquals((order.getSubtotalCents() - 300) / 100.0, order.getTotalPrice(), 0.001);
+        org.junit.jupiter.api.Assertions.assertTrue(order.generateReceiptFormat().contains("Meal Combo x2 - -$3.00"));
+
+        order.removeItem(chips);
+        org.junit.jupiter.api.Assertions.assertEquals(List.of(new AppliedDiscount("Meal Combo", 1, 150)), order.getAppliedDiscounts());
+        order.removeItem(second);
+        order.removeItem(first);
+        org.junit.jupiter.api.Assertions.assertEquals(List.of(), order.getAppliedDiscounts());
+        org.junit.jupiter.api.Assertions.assertEquals(order.getSubtotalCents(), order.getTotalPriceCents());
+    }
+
+    @Test
+    void bogoAndToppingRules_ShouldFollowItemsAndToppings() {
+        Sandwich plain = new Sandwich("4", "White");
+        Sandwich loaded = new Sandwich("4", "White");
+        loaded.addTopping(Topping.getByNumber(1), false);
+        order.addItem(plain);
+        order.addItem(loaded);
+        order.addItem(new Drink("Large", "Cola"));
+
+        org.junit.jupiter.api.Assertions.assertEquals(List.of(new AppliedDiscount("Small Sub BOGO", 1, 550)), order.getAppliedDiscounts());
+
+        plain.addTopping(Topping.getByNumber(11), false);
+        org.junit.jupiter.api.Assertions.assertEquals(650, order.getDiscountCents());
+        plain.removeTopping(Topping.getByNumber(11));
+        org.junit.jupiter.api.Assertions.assertEquals(550, order.getDiscountCents());
+
+        order.setLoyaltyMember(true);
+        long subtotal = order.getSubtotalCents();
+        org.junit.jupiter.api.Assertions.assertEquals(550 + subtotal / 10, order.getDiscountCents());
+        order.clearOrder();
+        org.junit.jupiter.api.Assertions.assertFalse(order.isLoyaltyMember());
+    }
+
+    @Test
+    void drinkResize_ShouldMoveTheDrinkSizeCounts() {
+        Sandwich lettuce = new Sandwich("8", "White");
+        lettuce.addTopping(Topping.getByNumber(11), false);
+        Drink resized = new Drink("Small", "Cola");
+        order.addItem(lettuce);
+        order.addItem(resized);
+        org.junit.jupiter.api.Assertions.assertEquals(0, order.getDiscountCents());
+
+        resized.setSize("Large");
+        org.junit.jupiter.api.Assertions.assertEquals(100, order.getDiscountCents());
+
+        Drink large = new Drink("Large", "Tea");
+        order.addItem(large);
+        order.removeItem(resized);
+        org.junit.jupiter.api.Assertions.assertEquals(100, order.getDiscountCents());
+        order.removeItem(large);
+        org.junit.jupiter.api.Assertions.assertEquals(0, order.getDiscountCents());
+        order.addItem(new Drink("Large", "Sprite"));
+        org.junit.jupiter.api.Assertions.assertEquals(100, order.getDiscountCents());
+    }
+
+    @Test
+    void manyRules_ShouldOnlyApplyTheMatchingOnes() throws IOException {
+        StringBuilder rules = new StringBuilder();
+        for (int id = 1; id <= 30; id++) {
+            for (int count = 1; count <= 20; count++) {
+                rules.append("Topping ").append(id).append(" x").append(count)
+                        .append(" = ").append(count).append(" topping.").append(id).append(" | 1 off\n");
+            }
+        }
+        Catalog.publish(withDiscounts(rules.toString()));
+        order.clearOrder();
+
+        for (int i = 0; i < 3; i++) {
+            Sandwich sandwich = new Sandwich("8", "Rye");
+            sandwich.addTopping(Topping.getByNumber(11), false);
+            order.addItem(sandwich);
+        }
+        org.junit.jupiter.api.Assertions.assertEquals(3, order.getAppliedDiscounts().size());
+        // "1 topping.11" applies three times, "2 topping.11" once and "3 topping.11" once.
+        org.junit.jupiter.api.Assertions.assertEquals(5, order.getDiscountCents());
+    }
+
+    @Test
+    void parse_UnknownFeature_ShouldNameTheLine() {
+        IllegalArgumentException e = org.junit.jupiter.api.Assertions.assertThrows(IllegalArgumentException.class,
+                () -> withDiscounts("Soup Deal = soup + drink | 100 off\n"));
+        org.junit.jupiter.api.Assertions.assertTrue(e.getMessage().contains("unknown 'soup'"), e.getMessage());
+        org.junit.jupiter.api.Assertions.assertTrue(e.getMessage().contains(" line "), e.getMessage());
+    }
+
+    private static Catalog withDiscounts(String rules) throws IOException {
+        try (InputStream in = DiscountRulesTest.class.getResourceAsStream("/catalog.txt")) {
+            String text = new String(in.readAllBytes(), StandardCharsets.UTF_8) + "\n[discounts]\n" + rules;
+            return Catalog.parse(new StringReader(text), "test");
+        }
+    }
+}
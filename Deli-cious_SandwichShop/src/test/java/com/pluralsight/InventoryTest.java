@@ -0,0 +1,119 @@
+package com.pluralsight;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@DisplayName("Inventory Class Tests")
+public class InventoryTest {
+
+    private Inventory inventory;
+    private Order order;
+    private Topping steak;
+    private Topping lettuce;
+
+    @BeforeEach
+    void setUp() {
+        inventory = new Inventory();
+        order = new Order(new OrderIdGenerator(3));
+        steak = Topping.getByNumber(1);
+        lettuce = Topping.getByNumber(11);
+    }
+
+    @Test
+    void consume_ShouldScalePortionsBySizeAndCountExtras() {
+        inventory.setToppingStock(steak, 100, 0);
+        inventory.setBreadStock(Bread.BREAD_TYPES.indexOf(Bread.BREAD_RYE), 100, 0);
+        inventory.setDrinkStock(2, 10, 0);
+        inventory.setChipsStock(10, 0);
+
+        Sandwich sandwich = new Sandwich("12", "Rye");
+        sandwich.addTopping(steak, false);
+        sandwich.addTopping(steak, true);
+        order.addItem(sandwich);
+        order.addItem(new Drink("Large", "Cola"));
+        order.addItem(new Chips("Cool ranch"));
+        inventory.consume(order);
+
+        // One regular portion, and one extra that is a regular portion plus an extra one, on a 12".
+        org.junit.jupiter.api.Assertions.assertEquals(100 - 3 * 3, inventory.getToppingStock(steak));
+        org.junit.jupiter.api.Assertions.assertEquals(100 - 3, inventory.getBreadStock(Bread.BREAD_TYPES.indexOf(Bread.BREAD_RYE)));
+        org.junit.jupiter.api.Assertions.assertEquals(9, inventory.getDrinkStock(2));
+        org.junit.jupiter.api.Assertions.assertEquals(9, inventory.getChipsStock());
+    }
+
+    @Test
+    void lowStock_ShouldMarkItemUnavailableUntilRestocked() {
+        inventory.setToppingStock(lettuce, 5, 2);
+        Sandwich sandwich = new Sandwich("4", "White");
+        sandwich.addTopping(lettuce, false);
+        sandwich.addTopping(lettuce, false);
+        order.addItem(sandwich);
+
+        org.junit.jupiter.api.Assertions.assertTrue(inventory.isAvailable(lettuce));
+        inventory.consume(order);
+        org.junit.jupiter.api.Assertions.assertEquals(3, inventory.getToppingStock(lettuce));
+        org.junit.jupiter.api.Assertions.assertTrue(inventory.isAvailable(sandwich));
+
+        inventory.consume(order);
+        org.junit.jupiter.api.Assertions.assertFalse(inventory.isAvailable(lettuce));
+        org.junit.jupiter.api.Assertions.assertFalse(inventory.isAvailable(sandwich));
+        org.junit.jupiter.api.Assertions.assertTrue(inventory.isAvailable(steak));
+
+        inventory.setToppingStock(lettuce, 50, 2);
+        org.junit.jupiter.api.Assertions.assertTrue(inventory.isAvailable(lettuce));
+    }
+
+    @Test
+    void concurrentCheckouts_ShouldCountEveryPortion() throws InterruptedException {
+        inventory.setChipsStock(100_000, 0);
+        Order chipsOrder = new Order(new OrderIdGenerator(4));
+        chipsOrder.addItem(new Chips("Cool ranch"));
+
+        List<Thread> terminals = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            terminals.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    inventory.consume(chipsOrder);
+                }
+            }));
+        }
+        for (Thread terminal : terminals) {
+            terminal.join();
+        }
+
+        org.junit.jupiter.api.Assertions.assertEquals(60_000, inventory.getChipsStock());
+        org.junit.jupiter.api.Assertions.assertTrue(inventory.isChipsAvailable());
+    }
+
+    @Test
+    void restockDuringCheckouts_ShouldLeaveTheItemAvailable() throws InterruptedException {
+        Order chipsOrder = new Order(new OrderIdGenerator(4));
+        chipsOrder.addItem(new Chips("Cool ranch"));
+
+        for (int round = 0; round < 20; round++) {
+            inventory.setChipsStock(0, 5);
+            List<Thread> terminals = new ArrayList<>();
+            for (int t = 0; t < 3; t++) {
+                terminals.add(Thread.ofPlatform().start(() -> {
+                    for (int i = 0; i < 2_000; i++) {
+                        inventory.consume(chipsOrder);
+                    }
+                }));
+            }
+            // Sold out and restocked while the terminals keep selling; the last restock wins.
+            for (int i = 0; i < 200; i++) {
+                inventory.setChipsStock(i % 2 == 0 ? 1 : 1_000_000, 5);
+            }
+            for (Thread terminal : terminals) {
+                terminal.join();
+            }
+
+            org.junit.jupiter.api.Assertions.assertTrue(inventory.getChipsStock() > 5);
+            org.junit.jupiter.api.Assertions.assertTrue(inventory.isChipsAvailable());
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.pluralsight;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+@DisplayName("Kitchen Class Tests")
+public class KitchenTest {
+
+    @Test
+    void idleStations_ShouldParkUntilATicketIsPublished() throws Exception {
+        BlockingQueue<KitchenTicket> prepared = new LinkedBlockingQueue<>();
+        try (Kitchen kitchen = Kitchen.start(16, 2, 0, Duration.ofMinutes(2), prepared::add)) {
+            awaitParked("prep-station-");
+
+            kitchen.publish(ticket(1));
+            org.junit.jupiter.api.Assertions.assertEquals(1, prepared.poll(10, TimeUnit.SECONDS).orderId());
+            awaitParked("prep-station-");
+        }
+    }
+
+    @Test
+    void publish_ShouldWaitForAFreeSlotWhenTheQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        try (Kitchen kitchen = Kitchen.start(2, 1, 0, Duration.ofMinutes(2), ticket -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        })) {
+            // One ticket is held by the station and two fill the queue.
+            for (int i = 0; i < 3; i++) {
+                kitchen.publish(ticket(i));
+            }
+            Thread publisher = new Thread(() -> kitchen.publish(ticket(3)), "late-register");
+            publisher.start();
+            awaitParked("late-register");
+
+            release.countDown();
+            publisher.join(10_000);
+            org.junit.jupiter.api.Assertions.assertFalse(publisher.isAlive());
+        }
+    }
+
+    @Test
+    void reservedSlot_ShouldBePreparedEvenIfTheKitchenClosesFirst() throws Exception {
+        BlockingQueue<KitchenTicket> prepared = new LinkedBlockingQueue<>();
+        Kitchen kitchen = Kitchen.start(2, 1, 0, Duration.ofMinutes(2), prepared::add);
+        kitchen.reserve();
+        kitchen.reserve();
+        kitchen.cancelReservation();
+        Thread closing = new Thread(kitchen::close, "closing");
+        closing.start();
+        while (kitchen.isAcceptingOrders()) {
+            Thread.onSpinWait();
+        }
+        org.junit.jupiter.api.Assertions.assertThrows(IllegalStateException.class, kitchen::reserve);
+
+        kitchen.publishReserved(ticket(1));
+        closing.join(10_000);
+        org.junit.jupiter.api.Assertions.assertFalse(closing.isAlive());
+        org.junit.jupiter.api.Assertions.assertEquals(1, prepared.size());
+    }
+
+    private static KitchenTicket ticket(long orderId) {
+        return new KitchenTicket(orderId, System.nanoTime(), List.of(new Chips("Bbq")));
+    }
+
+    /**
+     * Waits until every live thread whose name starts with {@code prefix} is parked rather than spinning.
+     */
+    private static void awaitParked(String prefix) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            boolean parked = true;
+            boolean found = false;
+            for (Thread thread : Thread.getAllStackTraces().keySet()) {
+                if (thread.getName().startsWith(prefix)) {
+                    found = true;
+                    parked &= thread.getState() == Thread.State.WAITING;
+                }
+            }
+            if (found && parked) {
+                return;
+            }
+            Thread.sleep(5);
+        }
+        org.junit.jupiter.api.Assertions.fail("Threads named " + prefix + "* did not park.");
+    }
+}
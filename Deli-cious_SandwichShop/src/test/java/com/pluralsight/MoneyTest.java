@@ -0,0 +1,50 @@
+package com.pluralsight;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+@DisplayName("Money Class Tests")
+public class MoneyTest {
+
+    @Test
+    void format_ShouldPadCents() {
+        org.junit.jupiter.api.Assertions.assertEquals("0.00", Money.format(0));
+        org.junit.jupiter.api.Assertions.assertEquals("0.05", Money.format(5));
+        org.junit.jupiter.api.Assertions.assertEquals("10.50", Money.format(1050));
+        org.junit.jupiter.api.Assertions.assertEquals("1234.99", Money.format(123499));
+    }
+
+    @Test
+    void format_ShouldHandleNegativeAmounts() {
+        org.junit.jupiter.api.Assertions.assertEquals("-2.50", Money.format(-250));
+    }
+
+    @Test
+    void appendTo_Appendable_ShouldMatchFormat() throws IOException {
+        long[] amounts = {0, 7, 99, 100, 1050, 100000, 987654321};
+        for (long amount : amounts) {
+            StringBuilder out = new StringBuilder();
+            Money.appendTo((Appendable) out, amount);
+            org.junit.jupiter.api.Assertions.assertEquals(Money.format(amount), out.toString());
+        }
+    }
+
+    @Test
+    void cents_ShouldCombineDollarsAndCents() {
+        org.junit.jupiter.api.Assertions.assertEquals(750, Money.cents(7, 50));
+    }
+
+    @Test
+    void manySmallPrices_ShouldSumExactly() {
+        Order order = new Order();
+        for (int i = 0; i < 1000; i++) {
+            Sandwich sandwich = new Sandwich("4", "Rye");
+            sandwich.addTopping(Topping.getByNumber(7), true);
+            order.addItem(sandwich);
+        }
+        org.junit.jupiter.api.Assertions.assertEquals(1000 * (550 + 75 + 30), order.getTotalPriceCents());
+        org.junit.jupiter.api.Assertions.assertEquals("6550.00", Money.format(order.getTotalPriceCents()));
+    }
+}
@@ -0,0 +1,62 @@
+package com.pluralsight;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+@DisplayName("OrderIdGenerator Class Tests")
+public class OrderIdGeneratorTest {
+
+    private static final long NOW = OrderIdGenerator.EPOCH_MILLIS + 1_000_000L;
+
+    @Test
+    void nextId_ShouldEncodeTimestampAndTerminal() {
+        OrderIdGenerator generator = new OrderIdGenerator(42, 0, () -> NOW);
+        long id = generator.nextId();
+        org.junit.jupiter.api.Assertions.assertEquals(NOW, OrderIdGenerator.timestampOf(id));
+        org.junit.jupiter.api.Assertions.assertEquals(42, OrderIdGenerator.terminalOf(id));
+    }
+
+    @Test
+    void nextId_ShouldIncreaseWhenClockStandsStillOrGoesBack() {
+        long[] clock = {NOW};
+        OrderIdGenerator generator = new OrderIdGenerator(1, 0, () -> clock[0]);
+        long previous = generator.nextId();
+        for (int i = 0; i < 10_000; i++) {
+            if (i == 5_000) {
+                clock[0] -= 10;
+            }
+            long id = generator.nextId();
+            org.junit.jupiter.api.Assertions.assertTrue(id > previous);
+            previous = id;
+        }
+    }
+
+    @Test
+    void nextId_ShouldStayAboveFloor() {
+        OrderIdGenerator before = new OrderIdGenerator(3, 0, () -> NOW);
+        long floor = before.nextId();
+        OrderIdGenerator restarted = new OrderIdGenerator(3, floor, () -> NOW);
+        org.junit.jupiter.api.Assertions.assertTrue(restarted.nextId() > floor);
+    }
+
+    @Test
+    void nextId_ShouldBeUniqueAcrossThreadsAndTerminals() {
+        OrderIdGenerator first = new OrderIdGenerator(1);
+        OrderIdGenerator second = new OrderIdGenerator(2);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        IntStream.range(0, 200_000).parallel().forEach(i -> {
+            ids.add(first.nextId());
+            ids.add(second.nextId());
+        });
+        org.junit.jupiter.api.Assertions.assertEquals(400_000, ids.size());
+    }
+
+    @Test
+    void invalidTerminal_ShouldThrow() {
+        org.junit.jupiter.api.Assertions.assertThrows(IllegalArgumentException.class, () -> new OrderIdGenerator(1024));
+    }
+}
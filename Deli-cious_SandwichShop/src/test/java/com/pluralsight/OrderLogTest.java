@@ -0,0 +1,211 @@
+package com.pluralsight;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@DisplayName("OrderLog Class Tests")
+public class OrderLogTest {
+
+    private static final LocalDateTime NOON = LocalDateTime.of(2025, 5, 29, 12, 30, 15);
+
+    @TempDir
+    Path folder;
+
+    @Test
+    void append_ShouldRenderTheSameReceiptAsTheOrder() throws IOException {
+        Order order = new Order(new OrderIdGenerator(41));
+        Sandwich sandwich = new Sandwich("12", "Rye");
+        sandwich.addTopping(Topping.getByNumber(3), true);
+        sandwich.addTopping(Topping.getByNumber(3), false);
+        sandwich.addTopping(Topping.getByNumber(11), false);
+        sandwich.setToasted(true);
+        order.addItem(sandwich, 3);
+        order.addItem(new Drink("Large", "Cola"));
+        order.addItem(new Chips("Cool ranch"), 2);
+
+        try (OrderLog log = new OrderLog(folder, OrderLog.DEFAULT_SEGMENT_BYTES)) {
+            OrderRecord record = log.append(order, NOON);
+
+            StringBuilder expected = new StringBuilder();
+            ReceiptRenderer.renderReceipt(order, Long.toString(order.getOrderId()), NOON, order.getCatalog().getLabel(), expected);
+            StringBuilder rendered = new StringBuilder();
+            ReceiptRenderer.renderReceipt(record, order.getCatalog(), rendered);
+            org.junit.jupiter.api.Assertions.assertEquals(expected.toString(), rendered.toString());
+
+            org.junit.jupiter.api.Assertions.assertEquals(3, record.lineCount());
+            org.junit.jupiter.api.Assertions.assertEquals(3, record.quantity(0));
+            org.junit.jupiter.api.Assertions.assertEquals(Bread.BREAD_TYPES.indexOf("Rye"), record.breadTypeIndex(0));
+            org.junit.jupiter.api.Assertions.assertEquals(2, record.toppingCount(0));
+            org.junit.jupiter.api.Assertions.assertEquals(1, record.extraPortions(0, 0));
+            org.junit.jupiter.api.Assertions.assertEquals(NOON, record.dateTime());
+            org.junit.jupiter.api.Assertions.assertEquals(order.getTotalPriceCents(), record.totalCents());
+        }
+    }
+
+    @Test
+    void replay_ShouldStreamEveryRecordAcrossRolledSegmentsAndReopenedLogs() throws IOException {
+        List<Long> written = new ArrayList<>();
+        try (OrderLog log = new OrderLog(folder, 4096)) {
+            for (int i = 0; i < 60; i++) {
+                written.add(log.append(TestOrders.sandwichOrder(i), NOON.plusMinutes(i)).orderId());
+            }
+        }
+        try (OrderLog reopened = new OrderLog(folder, 4096)) {
+            for (int i = 60; i < 80; i++) {
+                written.add(reopened.append(TestOrders.sandwichOrder(i), NOON.plusMinutes(i)).orderId());
+            }
+        }
+
+        List<Long> replayed = new ArrayList<>();
+        OrderRecord[] seen = new OrderRecord[1];
+        long count = OrderLog.replay(folder, record -> {
+            org.junit.jupiter.api.Assertions.assertTrue(seen[0] == null || seen[0] == record);
+            seen[0] = record;
+            replayed.add(record.orderId());
+        });
+
+        org.junit.jupiter.api.Assertions.assertEquals(80, count);
+        org.junit.jupiter.api.Assertions.assertEquals(written, replayed);
+        org.junit.jupiter.api.Assertions.assertTrue(OrderLog.segmentFiles(folder).size() > 1);
+    }
+
+    @Test
+    void unfinishedRecord_ShouldEndTheLogAndBeOverwritten() throws IOException {
+        OrderRecord first;
+        try (OrderLog log = new OrderLog(folder, 4096)) {
+            first = log.append(TestOrders.sandwichOrder(1), NOON);
+        }
+        // A crash after the body but before the length leaves bytes behind a zero length.
+        int end = first.offset() + first.length();
+        try (FileChannel channel = FileChannel.open(folder.resolve(OrderLog.segmentFileName(1)), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0, 0, 0, 0, 7, 7, 7, 7}), end);
+        }
+
+        org.junit.jupiter.api.Assertions.assertEquals(1, OrderLog.replay(folder, record -> { }));
+        try (OrderLog log = new OrderLog(folder, 4096)) {
+            OrderRecord second = log.append(TestOrders.sandwichOrder(2), NOON);
+            org.junit.jupiter.api.Assertions.assertEquals(end, second.offset());
+            org.junit.jupiter.api.Assertions.assertEquals(second.orderId(), log.read(1, end, new OrderRecord()).orderId());
+        }
+        org.junit.jupiter.api.Assertions.assertEquals(2, OrderLog.replay(folder, record -> { }));
+    }
+
+    @Test
+    void unfinishedLongerRecord_ShouldNotBeReadPastAShorterOneWrittenOverIt() throws IOException {
+        // The bytes of a whole record, to plant as leftovers that look like one.
+        Path other = folder.resolve("other");
+        OrderRecord planted;
+        try (OrderLog log = new OrderLog(other, 4096)) {
+            planted = log.append(TestOrders.sandwichOrder(9), NOON);
+        }
+        byte[] ghost = Arrays.copyOfRange(Files.readAllBytes(other.resolve(OrderLog.segmentFileName(1))),
+                planted.offset(), planted.offset() + planted.length());
+
+        int end;
+        try (OrderLog log = new OrderLog(folder, 4096)) {
+            OrderRecord first = log.append(TestOrders.sandwichOrder(1), NOON);
+            end = first.offset() + first.length();
+        }
+        // A crash mid-write of a longer record left its tail behind an unpublished (zero) length. Where the next,
+        // shorter record will end, those leftovers happen to look like a complete record.
+        try (FileChannel channel = FileChannel.open(folder.resolve(OrderLog.segmentFileName(1)), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(ghost), end + ghost.length);
+        }
+
+        try (OrderLog log = new OrderLog(folder, 4096)) {
+            log.append(TestOrders.sandwichOrder(2), NOON);
+        }
+        org.junit.jupiter.api.Assertions.assertEquals(2, OrderLog.replay(folder, record -> { }));
+    }
+
+    @Test
+    void forceThrough_ShouldForceCurrentRecordsAndSkipRolledOrForcedOnes() throws IOException {
+        try (OrderLog log = new OrderLog(folder, 4096)) {
+            List<OrderRecord> records = new ArrayList<>();
+            for (int i = 0; i < 60; i++) {
+                records.add(log.append(TestOrders.sandwichOrder(i), NOON.plusMinutes(i)));
+            }
+            OrderRecord first = records.get(0);
+            OrderRecord last = records.get(records.size() - 1);
+            org.junit.jupiter.api.Assertions.assertTrue(last.segment() > first.segment());
+
+            log.forceThrough(last.segment(), last.offset() + last.length());
+            // Already forced, and rolled segments were forced when they were closed.
+            log.forceThrough(last.segment(), last.offset());
+            log.forceThrough(first.segment(), first.offset() + first.length());
+        }
+        org.junit.jupiter.api.Assertions.assertEquals(60, OrderLog.replay(folder, record -> { }));
+    }
+
+    @Test
+    void replayBetween_ShouldSkipSegmentsCheckedOutOutsideThePeriod() throws IOException {
+        LocalDateTime migrated = NOON.minusDays(30);
+        try (OrderLog log = new OrderLog(folder, 4096)) {
+            for (int i = 0; i < 200; i++) {
+                log.append(TestOrders.sandwichOrder(i % 1000), NOON.plusHours(i));
+                if (i == 100) {
+                    // An old receipt migrated in the middle of the day.
+                    log.append(TestOrders.sandwichOrder(1), migrated);
+                }
+            }
+        }
+        long[] inPeriod = new long[2];
+        long from = millis(NOON.plusHours(10));
+        long to = millis(NOON.plusHours(20));
+        long visited = OrderLog.replayBetween(folder, from, to, record -> {
+            if (record.localMillis() >= from && record.localMillis() < to) {
+                inPeriod[0]++;
+            }
+        });
+        org.junit.jupiter.api.Assertions.assertEquals(10, inPeriod[0]);
+        // The period is in the first segment; the newest is always read, the two or more between are not.
+        org.junit.jupiter.api.Assertions.assertTrue(OrderLog.segmentFiles(folder).size() >= 4);
+        org.junit.jupiter.api.Assertions.assertTrue(visited < 150, "visited " + visited);
+        org.junit.jupiter.api.Assertions.assertTrue(Files.exists(folder.resolve("orders-00000001.times")));
+
+        // Read again through the saved times, for the migrated receipt's period.
+        OrderLog.replayBetween(folder, millis(migrated), millis(migrated.plusHours(1)), record -> {
+            if (record.localMillis() == millis(migrated)) {
+                inPeriod[1]++;
+            }
+        });
+        org.junit.jupiter.api.Assertions.assertEquals(1, inPeriod[1]);
+    }
+
+    @Test
+    void lastOrderId_ShouldSeedAGeneratorAboveEveryLoggedOrder() throws IOException {
+        org.junit.jupiter.api.Assertions.assertEquals(0, OrderLog.lastOrderId(folder));
+        long now = System.currentTimeMillis();
+        OrderIdGenerator ahead = new OrderIdGenerator(5, 0, () -> now + 60_000);
+        long highest = 0;
+        try (OrderLog log = new OrderLog(folder, 4096)) {
+            for (int i = 0; i < 40; i++) {
+                Order order = new Order(ahead);
+                order.addItem(new Chips("Bbq"));
+                highest = Math.max(highest, log.append(order, NOON).orderId());
+            }
+        }
+
+        org.junit.jupiter.api.Assertions.assertEquals(highest, OrderLog.lastOrderId(folder));
+        // Restarted with the clock a minute behind the ids it issued.
+        OrderIdGenerator restarted = new OrderIdGenerator(5, OrderLog.lastOrderId(folder), () -> now);
+        org.junit.jupiter.api.Assertions.assertTrue(restarted.nextId() > highest);
+    }
+
+    private static long millis(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
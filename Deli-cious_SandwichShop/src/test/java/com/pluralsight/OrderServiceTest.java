@@ -0,0 +1,273 @@
+package com.pluralsight;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+@DisplayName("OrderService Class Tests")
+public class OrderServiceTest {
+
+    @TempDir
+    Path folder;
+
+    private ReceiptJournal journal;
+    private Kitchen kitchen;
+    private Inventory inventory;
+    private OrderLog orderLog;
+    private BlockingQueue<KitchenTicket> prepared;
+    private OrderService service;
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        journal = ReceiptJournal.open(folder, ReceiptJournal.Durability.PER_ORDER);
+        prepared = new LinkedBlockingQueue<>();
+        kitchen = Kitchen.start(16, 1, 0, Duration.ofMinutes(2), prepared::add);
+        inventory = new Inventory();
+        orderLog = new OrderLog(folder.resolve("orders"), OrderLog.DEFAULT_SEGMENT_BYTES);
+        service = new OrderService(journal, new OrderIdGenerator(7), kitchen, inventory, orderLog);
+        order = service.createOrder();
+    }
+
+    @AfterEach
+    void tearDown() {
+        journal.close();
+        kitchen.close();
+        orderLog.close();
+    }
+
+    @Test
+    void addTopping_ShouldLimitExtraMeat() {
+        Sandwich sandwich = service.addSandwich(order, "8", "White");
+        Topping ham = Topping.getByNumber(2);
+
+        org.junit.jupiter.api.Assertions.assertEquals(OrderService.ToppingResult.ADDED, service.addTopping(sandwich, ham, true));
+        org.junit.jupiter.api.Assertions.assertEquals(OrderService.ToppingResult.ADDED, service.addTopping(sandwich, ham, true));
+        org.junit.jupiter.api.Assertions.assertEquals(OrderService.ToppingResult.EXTRA_LIMIT_REACHED, service.addTopping(sandwich, ham, true));
+        org.junit.jupiter.api.Assertions.assertEquals(2, sandwich.getToppingCount(ham, true));
+        org.junit.jupiter.api.Assertions.assertEquals(1, sandwich.getToppingCount(ham, false));
+    }
+
+    @Test
+    void addTopping_ExtraOnRegularTopping_ShouldAddRegular() {
+        Sandwich sandwich = service.addSandwich(order, "8", "White");
+        Topping onions = Topping.getByNumber(13);
+
+        org.junit.jupiter.api.Assertions.assertEquals(OrderService.ToppingResult.EXTRA_NOT_SUPPORTED, service.addTopping(sandwich, onions, true));
+        org.junit.jupiter.api.Assertions.assertEquals(1, sandwich.getToppingCount(onions, false));
+    }
+
+    @Test
+    void addSignatureSandwich_ShouldAddIndependentCopy() {
+        Sandwich signature = service.getSignatureSandwiches().get(1);
+        Sandwich copy = service.addSignatureSandwich(order, 1);
+        service.addTopping(copy, Topping.getByNumber(9), false);
+
+        org.junit.jupiter.api.Assertions.assertNotSame(signature, copy);
+        org.junit.jupiter.api.Assertions.assertEquals(signature.getName(), copy.getName());
+        org.junit.jupiter.api.Assertions.assertEquals(signature.getPriceCents() + 150, copy.getPriceCents());
+        org.junit.jupiter.api.Assertions.assertEquals(copy.getPriceCents(), service.price(order));
+        org.junit.jupiter.api.Assertions.assertEquals(0, signature.getToppingCount(Topping.getByNumber(9), false));
+    }
+
+    @Test
+    void addSandwich_ShouldNotChangeIdenticalSandwichesAlreadyOrdered() {
+        Sandwich first = service.addSignatureSandwich(order, 1);
+        Sandwich second = service.addSignatureSandwich(order, 1);
+        service.addTopping(second, Topping.getByNumber(9), false);
+        Sandwich plain = service.addSandwich(order, "8", "White");
+        Sandwich another = service.addSandwich(order, "8", "White");
+        service.addTopping(another, Topping.getByNumber(11), false);
+
+        org.junit.jupiter.api.Assertions.assertEquals(4, order.getLineItems().size());
+        org.junit.jupiter.api.Assertions.assertEquals(0, first.getToppingCount(Topping.getByNumber(9), false));
+        org.junit.jupiter.api.Assertions.assertEquals(0, plain.getToppingTotal());
+        org.junit.jupiter.api.Assertions.assertEquals(first.getPriceCents() + second.getPriceCents() + plain.getPriceCents() + another.getPriceCents(),
+                service.price(order));
+        org.junit.jupiter.api.Assertions.assertEquals(first.getPriceCents() + 150, second.getPriceCents());
+    }
+
+    @Test
+    void registeredRecipe_ShouldBeOrderable() {
+        DeliMenu.register(90, new SignatureRecipe("Veggie", "4", "Wrap", false, 11, 12, 14));
+        Sandwich copy = service.addSignatureSandwich(order, 90);
+
+        org.junit.jupiter.api.Assertions.assertEquals("Veggie", copy.getName());
+        org.junit.jupiter.api.Assertions.assertEquals(3, copy.getToppingTotal());
+        org.junit.jupiter.api.Assertions.assertEquals(550, copy.getPriceCents());
+        org.junit.jupiter.api.Assertions.assertSame(DeliMenu.getPrototype(90), service.getSignatureSandwiches().get(90));
+    }
+
+    @Test
+    void addSignatureSandwich_UnknownNumber_ShouldThrow() {
+        org.junit.jupiter.api.Assertions.assertThrows(IllegalArgumentException.class, () -> service.addSignatureSandwich(order, 99));
+    }
+
+    @Test
+    void checkout_ShouldSaveReceiptAndClearOrder() throws Exception {
+        service.addChips(order, "Cool ranch");
+        long orderId = order.getOrderId();
+
+        CheckoutResult result = service.checkout(order, "Cash");
+        result.receiptSaved().get(10, TimeUnit.SECONDS);
+
+        org.junit.jupiter.api.Assertions.assertEquals(orderId, result.orderId());
+        org.junit.jupiter.api.Assertions.assertEquals(150, result.totalCents());
+        org.junit.jupiter.api.Assertions.assertTrue(order.isEmpty());
+        org.junit.jupiter.api.Assertions.assertNotEquals(orderId, order.getOrderId());
+        try (var files = Files.list(folder)) {
+            Path journalFile = files.filter(Files::isRegularFile).findFirst().orElseThrow();
+            org.junit.jupiter.api.Assertions.assertTrue(Files.readString(journalFile).contains("Order #: " + orderId));
+        }
+    }
+
+    @Test
+    void checkout_ShouldRejectEmptyOrderAndUnknownPayment() {
+        org.junit.jupiter.api.Assertions.assertThrows(IllegalStateException.class, () -> service.checkout(order, "cash"));
+        service.addChips(order, "Cool ranch");
+        org.junit.jupiter.api.Assertions.assertThrows(IllegalArgumentException.class, () -> service.checkout(order, "card"));
+        org.junit.jupiter.api.Assertions.assertFalse(order.isEmpty());
+    }
+
+    @Test
+    void checkout_ShouldSendSnapshotToKitchen() throws Exception {
+        Sandwich sandwich = service.addSignatureSandwich(order, 2);
+        service.addDrink(order, "Large", "Cola");
+        long orderId = order.getOrderId();
+
+        CheckoutResult result = service.checkout(order, "cash");
+        KitchenTicket ticket = prepared.poll(10, TimeUnit.SECONDS);
+
+        org.junit.jupiter.api.Assertions.assertNotNull(ticket);
+        org.junit.jupiter.api.Assertions.assertEquals(orderId, ticket.orderId());
+        org.junit.jupiter.api.Assertions.assertEquals(2, ticket.items().size());
+        org.junit.jupiter.api.Assertions.assertNotSame(sandwich, ticket.items().get(0));
+        org.junit.jupiter.api.Assertions.assertEquals(sandwich.getToppingTotal(), ((Sandwich) ticket.items().get(0)).getToppingTotal());
+        org.junit.jupiter.api.Assertions.assertEquals(Duration.ofMinutes(2), result.estimatedWait());
+    }
+
+    @Test
+    void checkout_BusyKitchen_ShouldQuoteLongerWaitThenRefuse() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        try (Kitchen busy = Kitchen.start(8, 1, 2, Duration.ofMinutes(2), ticket -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        })) {
+            OrderService busyService = new OrderService(journal, new OrderIdGenerator(8), busy, new Inventory(), orderLog);
+            Order busyOrder = busyService.createOrder();
+
+            busyService.addChips(busyOrder, "Cool ranch");
+            busyService.checkout(busyOrder, "cash");
+            while (busy.getQueueDepth() > 0) {
+                Thread.onSpinWait();
+            }
+            for (int waiting = 0; waiting < 2; waiting++) {
+                busyService.addChips(busyOrder, "Cool ranch");
+                CheckoutResult result = busyService.checkout(busyOrder, "cash");
+                org.junit.jupiter.api.Assertions.assertEquals(Duration.ofMinutes(2 * (waiting + 1)), result.estimatedWait());
+            }
+
+            busyService.addChips(busyOrder, "Cool ranch");
+            org.junit.jupiter.api.Assertions.assertEquals(2, busy.getQueueDepth());
+            org.junit.jupiter.api.Assertions.assertFalse(busyService.isAcceptingOrders());
+            org.junit.jupiter.api.Assertions.assertThrows(IllegalStateException.class, () -> busyService.checkout(busyOrder, "cash"));
+            org.junit.jupiter.api.Assertions.assertFalse(busyOrder.isEmpty());
+            release.countDown();
+        }
+    }
+
+    @Test
+    void checkout_KitchenRefusingTheTicket_ShouldRecordNothing() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        try (Kitchen full = Kitchen.start(1, 1, 0, Duration.ofMinutes(2), ticket -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        })) {
+            try {
+                Inventory stock = new Inventory();
+                stock.setChipsStock(10, 0);
+                OrderService fullService = new OrderService(journal, new OrderIdGenerator(9), full, stock, orderLog);
+                Order fullOrder = fullService.createOrder();
+                // One ticket is held by the station and one fills the queue.
+                for (int i = 0; i < 2; i++) {
+                    fullService.addChips(fullOrder, "Cool ranch");
+                    fullService.checkout(fullOrder, "cash");
+                    while (i == 0 && full.getQueueDepth() > 0) {
+                        Thread.onSpinWait();
+                    }
+                }
+                long logged = orderLog.replay(record -> { });
+
+                fullService.addChips(fullOrder, "Cool ranch");
+                Thread.currentThread().interrupt();
+                try {
+                    org.junit.jupiter.api.Assertions.assertThrows(IllegalStateException.class, () -> fullService.checkout(fullOrder, "cash"));
+                } finally {
+                    Thread.interrupted();
+                }
+
+                org.junit.jupiter.api.Assertions.assertEquals(logged, orderLog.replay(record -> { }));
+                org.junit.jupiter.api.Assertions.assertEquals(8, stock.getChipsStock());
+                org.junit.jupiter.api.Assertions.assertFalse(fullOrder.isEmpty());
+            } finally {
+                release.countDown();
+            }
+        }
+    }
+
+    @Test
+    void soldOutItems_ShouldNotBeAdded() {
+        Topping bacon = Topping.getByNumber(6);
+        inventory.setToppingStock(bacon, 0, 0);
+        inventory.setChipsStock(0, 0);
+        Sandwich sandwich = service.addSandwich(order, "8", "White");
+
+        org.junit.jupiter.api.Assertions.assertEquals(OrderService.ToppingResult.SOLD_OUT, service.addTopping(sandwich, bacon, false));
+        org.junit.jupiter.api.Assertions.assertEquals(0, sandwich.getToppingTotal());
+        org.junit.jupiter.api.Assertions.assertThrows(IllegalArgumentException.class, () -> service.addSignatureSandwich(order, 2));
+        org.junit.jupiter.api.Assertions.assertThrows(IllegalArgumentException.class, () -> service.addChips(order, "Cool ranch"));
+        org.junit.jupiter.api.Assertions.assertEquals(1, order.getItemCount());
+    }
+
+    @Test
+    void addItemWithQuantity_ShouldRefuseSoldOutItems() {
+        Sandwich sandwich = service.addSandwich(order, "8", "Rye");
+        service.addTopping(sandwich, Topping.getByNumber(6), false);
+        service.addChips(order, "Cool ranch");
+        inventory.setBreadStock(Bread.BREAD_TYPES.indexOf(Bread.BREAD_RYE), 0, 0);
+        inventory.setChipsStock(0, 0);
+
+        org.junit.jupiter.api.Assertions.assertThrows(IllegalArgumentException.class, () -> service.addItem(order, sandwich, 300));
+        for (LineItem line : order.getLineItems()) {
+            org.junit.jupiter.api.Assertions.assertThrows(IllegalArgumentException.class, () -> service.addItem(order, line.getItem(), 2));
+        }
+        org.junit.jupiter.api.Assertions.assertEquals(2, order.getItemCount());
+    }
+
+    @Test
+    void checkout_ShouldTakeOrderOutOfStock() {
+        inventory.setChipsStock(10, 0);
+        service.addChips(order, "Cool ranch");
+        service.addChips(order, "BBQ");
+
+        service.checkout(order, "cash");
+
+        org.junit.jupiter.api.Assertions.assertEquals(8, inventory.getChipsStock());
+    }
+}
@@ -0,0 +1,143 @@
+package com.pluralsight;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Order Class Tests")
+public class OrderTest {
+
+    private Order order;
+    private Sandwich sandwich;
+    private Topping steak;
+
+    @BeforeEach
+    void setUp() {
+        order = new Order();
+        sandwich = new Sandwich("8", "White");
+        steak = Topping.getByNumber(1);
+    }
+
+    @Test
+    void getTotalPrice_EmptyOrder() {
+        org.junit.jupiter.api.Assertions.assertEquals(0.0, order.getTotalPrice(), 0.001);
+    }
+
+    @Test
+    void addItem_ShouldAddToTotal() {
+        order.addItem(sandwich);
+        order.addItem(new Drink("Large", "Cola"));
+        order.addItem(new Chips("Cool ranch"));
+        org.junit.jupiter.api.Assertions.assertEquals(7.00 + 3.00 + 1.50, order.getTotalPrice(), 0.001);
+    }
+
+    @Test
+    void removeItem_ShouldSubtractFromTotal() {
+        Chips chips = new Chips("Cool ranch");
+        order.addItem(sandwich);
+        order.addItem(chips);
+        order.removeItem(chips);
+        org.junit.jupiter.api.Assertions.assertEquals(7.00, order.getTotalPrice(), 0.001);
+    }
+
+    @Test
+    void removeItem_NotInOrder_ShouldNotChangeTotal() {
+        order.addItem(sandwich);
+        order.removeItem(new Chips("Cool ranch"));
+        org.junit.jupiter.api.Assertions.assertEquals(7.00, order.getTotalPrice(), 0.001);
+    }
+
+    @Test
+    void sandwichChanges_ShouldUpdateTotal() {
+        order.addItem(sandwich);
+        sandwich.addTopping(steak, true);
+        org.junit.jupiter.api.Assertions.assertEquals(7.00 + 2.00 + 1.00, order.getTotalPrice(), 0.001);
+
+        sandwich.removeTopping(steak, true);
+        org.junit.jupiter.api.Assertions.assertEquals(7.00, order.getTotalPrice(), 0.001);
+    }
+
+    @Test
+    void removedSandwichChanges_ShouldNotUpdateTotal() {
+        order.addItem(sandwich);
+        order.removeItem(sandwich);
+        sandwich.addTopping(steak, false);
+        org.junit.jupiter.api.Assertions.assertEquals(0.0, order.getTotalPrice(), 0.001);
+    }
+
+    @Test
+    void drinkResize_ShouldUpdateTotal() {
+        Drink drink = new Drink("Small", "Cola");
+        order.addItem(drink);
+        drink.setSize("Large");
+        org.junit.jupiter.api.Assertions.assertEquals(3.00, order.getTotalPrice(), 0.001);
+    }
+
+    @Test
+    void clearOrder_ShouldResetTotal() {
+        order.addItem(sandwich);
+        order.clearOrder();
+        sandwich.addTopping(steak, false);
+        org.junit.jupiter.api.Assertions.assertEquals(0.0, order.getTotalPrice(), 0.001);
+        org.junit.jupiter.api.Assertions.assertTrue(order.isEmpty());
+    }
+
+    @Test
+    void generateReceiptFormat_ShouldListItemsToppingsAndTotal() {
+        String n = System.lineSeparator();
+        sandwich.addTopping(Topping.getByNumber(4), true);
+        sandwich.addTopping(steak, false);
+        sandwich.setToasted(true);
+        order.addItem(sandwich);
+        order.addItem(new Drink("Medium", "Pepsi"));
+
+        String expected = "Order Details:\n-----------------\n" +
+                n + "8\" White sandwich - $12.00" + n +
+                "  * Toasted\n" +
+                "  + Steak" + n +
+                "  + Extra Pastrami" + n +
+                n + "Pepsi Medium - $2.50" + n +
+                "-----------------\n" +
+                "Total: $14.50" + n;
+        org.junit.jupiter.api.Assertions.assertEquals(expected, order.generateReceiptFormat());
+    }
+
+    @Test
+    void identicalItems_ShouldCollapseIntoOneLineWithAQuantity() {
+        order.addItem(sandwich, 300);
+        order.addItem(new Sandwich("8", "White"));
+        order.addItem(new Chips("Cool ranch"), 2);
+
+        org.junit.jupiter.api.Assertions.assertEquals(2, order.getLineItems().size());
+        org.junit.jupiter.api.Assertions.assertEquals(303, order.getItemCount());
+        org.junit.jupiter.api.Assertions.assertEquals(301 * 700 + 2 * 150, order.getTotalPriceCents());
+        org.junit.jupiter.api.Assertions.assertTrue(order.generateReceiptFormat().contains("8\" White sandwich x301 - $2107.00"));
+
+        order.removeItem(new Sandwich("8", "White"));
+        LineItem sandwiches = order.getLineItems().iterator().next();
+        org.junit.jupiter.api.Assertions.assertEquals(300, sandwiches.getQuantity());
+        order.setQuantity(sandwiches, 0);
+        org.junit.jupiter.api.Assertions.assertEquals(300, order.getTotalPriceCents());
+        org.junit.jupiter.api.Assertions.assertThrows(IllegalArgumentException.class, () -> order.addItem(sandwich, 0));
+    }
+
+    @Test
+    void changedLineItem_ShouldRepriceEveryUnitAndStopMatchingOldContent() {
+        LineItem line = order.addItem(sandwich, 10);
+        sandwich.addTopping(steak, false);
+        org.junit.jupiter.api.Assertions.assertEquals(10 * 900, order.getTotalPriceCents());
+
+        order.addItem(new Sandwich("8", "White"));
+        Sandwich withSteak = new Sandwich("8", "White");
+        withSteak.addTopping(steak, false);
+        order.addItem(withSteak);
+
+        org.junit.jupiter.api.Assertions.assertEquals(2, order.getLineItems().size());
+        org.junit.jupiter.api.Assertions.assertEquals(11, line.getQuantity());
+
+        sandwich.setToasted(true);
+        order.addItem(withSteak.copy());
+        org.junit.jupiter.api.Assertions.assertEquals(3, order.getLineItems().size());
+        org.junit.jupiter.api.Assertions.assertEquals(11 * 900 + 700 + 900, order.getTotalPriceCents());
+    }
+}
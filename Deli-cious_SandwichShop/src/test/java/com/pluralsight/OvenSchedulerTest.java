@@ -0,0 +1,127 @@
+package com.pluralsight;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@DisplayName("OvenScheduler Class Tests")
+public class OvenSchedulerTest {
+
+    private final List<Integer> ovenLoads = new CopyOnWriteArrayList<>();
+    private final List<Long> assembled = new CopyOnWriteArrayList<>();
+
+    private final PrepStation recorder = new PrepStation() {
+        @Override
+        public void assemble(PrepTask task) {
+            assembled.add(task.orderId());
+        }
+
+        @Override
+        public void toast(List<PrepTask> batch) {
+            ovenLoads.add(batch.size());
+        }
+    };
+
+    private static KitchenTicket ticket(long orderId, Sandwich sandwich) {
+        return new KitchenTicket(orderId, System.nanoTime(), List.of(sandwich));
+    }
+
+    private static Sandwich toasted(String size, String breadType) {
+        Sandwich sandwich = new Sandwich(size, breadType);
+        sandwich.setToasted(true);
+        return sandwich;
+    }
+
+    private static void awaitReady(OvenScheduler scheduler, int sandwiches) throws InterruptedException {
+        long giveUp = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (scheduler.getSandwichesReady() < sandwiches && System.nanoTime() < giveUp) {
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    void toastedSandwiches_ShouldBatchAcrossOrdersByBreadAndSize() throws InterruptedException {
+        OvenSettings settings = new OvenSettings(1, 4, Duration.ofHours(1), Duration.ofHours(3));
+        try (OvenScheduler scheduler = new OvenScheduler(settings, 2, recorder)) {
+            for (int i = 0; i < 8; i++) {
+                Sandwich sandwich = i % 2 == 0 ? DeliMenu.getPrototype(2).copy() : toasted("12", "Rye");
+                scheduler.accept(ticket(i, sandwich));
+            }
+            awaitReady(scheduler, 8);
+
+            org.junit.jupiter.api.Assertions.assertEquals(List.of(4, 4), ovenLoads);
+            org.junit.jupiter.api.Assertions.assertEquals(8, assembled.size());
+            org.junit.jupiter.api.Assertions.assertEquals(0, scheduler.getDeadlineMisses());
+
+            ThroughputProjection projection = scheduler.projectThroughput();
+            org.junit.jupiter.api.Assertions.assertEquals(4.0, projection.batchedFill(), 0.001);
+            org.junit.jupiter.api.Assertions.assertEquals(1.0, projection.fifoFill(), 0.001);
+            org.junit.jupiter.api.Assertions.assertEquals(4.0, projection.speedup(), 0.001);
+        }
+    }
+
+    @Test
+    void partialBatch_ShouldNotWaitPastItsDeadline() throws InterruptedException {
+        // With a deadline of one oven cycle, the sandwich has to go in right away.
+        OvenSettings settings = new OvenSettings(1, 4, Duration.ofHours(1), Duration.ofHours(1));
+        try (OvenScheduler scheduler = new OvenScheduler(settings, 1, recorder)) {
+            scheduler.accept(ticket(1, toasted("8", "Wheat")));
+            awaitReady(scheduler, 1);
+
+            org.junit.jupiter.api.Assertions.assertEquals(List.of(1), ovenLoads);
+            org.junit.jupiter.api.Assertions.assertEquals(0, scheduler.getWaitingForOven());
+        }
+    }
+
+    @Test
+    void batches_ShouldNotToastInMoreOvensThanThereAre() throws InterruptedException {
+        AtomicInteger toasting = new AtomicInteger();
+        AtomicInteger mostAtOnce = new AtomicInteger();
+        PrepStation slowOven = new PrepStation() {
+            @Override
+            public void assemble(PrepTask task) {
+            }
+
+            @Override
+            public void toast(List<PrepTask> batch) {
+                mostAtOnce.accumulateAndGet(toasting.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    toasting.decrementAndGet();
+                }
+            }
+        };
+        // One-sandwich ovens, so every toasted sandwich is a full batch of its own.
+        OvenSettings settings = new OvenSettings(2, 1, Duration.ofHours(1), Duration.ofHours(3));
+        try (OvenScheduler scheduler = new OvenScheduler(settings, 6, slowOven)) {
+            for (int i = 0; i < 8; i++) {
+                scheduler.accept(ticket(i, toasted("8", "White")));
+            }
+            awaitReady(scheduler, 8);
+
+            org.junit.jupiter.api.Assertions.assertEquals(8, scheduler.getSandwichesReady());
+            org.junit.jupiter.api.Assertions.assertTrue(mostAtOnce.get() <= 2, "toasted " + mostAtOnce.get() + " batches at once");
+        }
+    }
+
+    @Test
+    void untoastedSandwiches_ShouldSkipTheOven() throws InterruptedException {
+        OvenSettings settings = new OvenSettings(1, 4, Duration.ofHours(1), Duration.ofHours(3));
+        try (OvenScheduler scheduler = new OvenScheduler(settings, 2, recorder)) {
+            scheduler.accept(new KitchenTicket(5, System.nanoTime(), List.of(new Sandwich("4", "Wrap"), new Chips("Cool ranch"))));
+            awaitReady(scheduler, 1);
+
+            org.junit.jupiter.api.Assertions.assertEquals(List.of(5L), assembled);
+            org.junit.jupiter.api.Assertions.assertTrue(ovenLoads.isEmpty());
+            org.junit.jupiter.api.Assertions.assertEquals(0, scheduler.getOvenCycles());
+        }
+    }
+}
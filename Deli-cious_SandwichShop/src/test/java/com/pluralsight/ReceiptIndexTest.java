@@ -0,0 +1,156 @@
+package com.pluralsight;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@DisplayName("ReceiptIndex Class Tests")
+public class ReceiptIndexTest {
+
+    private static final LocalDateTime NOON = LocalDateTime.of(2025, 5, 29, 12, 0, 0);
+
+    private static final String LEGACY_RECEIPT = """
+            === DELI-cious Receipt ===
+            Order #: 20250529-173940
+            Date: 2025-05-29 17:39:40
+
+            Order Details:
+            -----------------
+            Sprite Large - $3.00
+            -----------------
+            Total: $3.00
+            """;
+
+    @TempDir
+    Path folder;
+
+    @Test
+    void add_ShouldIndexEveryCheckoutAndCatchUpWhenReopened() throws IOException {
+        Order first = TestOrders.sandwichOrder(1);
+        Order second = TestOrders.sandwichOrder(2);
+        try (OrderLog log = new OrderLog(folder.resolve("orders"), OrderLog.DEFAULT_SEGMENT_BYTES)) {
+            try (ReceiptIndex index = ReceiptIndex.open(folder)) {
+                log.subscribe(index::add);
+                log.append(first, NOON);
+
+                ReceiptIndex.Entry entry = index.findOrder(first.getOrderId()).orElseThrow();
+                org.junit.jupiter.api.Assertions.assertEquals(NOON, entry.time());
+                org.junit.jupiter.api.Assertions.assertEquals(first.getTotalPriceCents(), entry.totalCents());
+
+                StringBuilder expected = new StringBuilder();
+                ReceiptRenderer.renderReceipt(first, Long.toString(first.getOrderId()), NOON, first.getCatalog().getLabel(), expected);
+                org.junit.jupiter.api.Assertions.assertEquals(expected.toString(), index.receiptText(entry));
+            }
+            // Checked out while the index was closed.
+            log.append(second, NOON.plusMinutes(5));
+        }
+
+        try (ReceiptIndex reopened = ReceiptIndex.open(folder)) {
+            org.junit.jupiter.api.Assertions.assertEquals(2, reopened.size());
+            org.junit.jupiter.api.Assertions.assertTrue(reopened.findOrder(second.getOrderId()).isPresent());
+            org.junit.jupiter.api.Assertions.assertTrue(reopened.findOrder(12345L).isEmpty());
+        }
+    }
+
+    @Test
+    void rebuild_ShouldIndexTextReceiptsAndTheOrderLogOnce() throws IOException {
+        Files.writeString(folder.resolve("20250529-173940.txt"), LEGACY_RECEIPT);
+        Order logged = TestOrders.sandwichOrder(3);
+        try (OrderLog log = new OrderLog(folder.resolve("orders"), OrderLog.DEFAULT_SEGMENT_BYTES)) {
+            log.append(logged, NOON);
+        }
+        // The day's journal has the logged order's receipt too, after one only in the journal.
+        StringBuilder journal = new StringBuilder(LEGACY_RECEIPT.replace("20250529-173940", "77")
+                .replace("17:39:40", "18:00:00").replace("$3.00", "$52.25"));
+        journal.append('\n');
+        ReceiptRenderer.renderReceipt(logged, Long.toString(logged.getOrderId()), NOON, logged.getCatalog().getLabel(), journal);
+        Files.writeString(folder.resolve("journal-20250529.txt"), journal);
+
+        try (ReceiptIndex index = ReceiptIndex.rebuild(folder)) {
+            org.junit.jupiter.api.Assertions.assertEquals(3, index.size());
+
+            ReceiptIndex.Entry legacy = index.findOrder("20250529-173940").orElseThrow();
+            org.junit.jupiter.api.Assertions.assertEquals(LocalDateTime.of(2025, 5, 29, 17, 39, 40), legacy.time());
+            org.junit.jupiter.api.Assertions.assertEquals(300, legacy.totalCents());
+            org.junit.jupiter.api.Assertions.assertEquals(LEGACY_RECEIPT, index.receiptText(legacy));
+
+            ReceiptIndex.Entry journaled = index.findOrder(77).orElseThrow();
+            org.junit.jupiter.api.Assertions.assertEquals(5225, journaled.totalCents());
+            org.junit.jupiter.api.Assertions.assertTrue(index.receiptText(journaled).endsWith("Total: $52.25\n"));
+
+            org.junit.jupiter.api.Assertions.assertTrue(index.findOrder(logged.getOrderId()).orElseThrow().inOrderLog());
+            org.junit.jupiter.api.Assertions.assertEquals(List.of(77L),
+                    index.totalOver(5000).stream().map(ReceiptIndex.Entry::orderId).toList());
+        }
+    }
+
+    @Test
+    void findOrder_ShouldAcceptNineteenDigitNumbersUpToTheLargestLong() throws IOException {
+        String later = "9223372036854775807";
+        Files.writeString(folder.resolve("journal-20320101.txt"), LEGACY_RECEIPT.replace("20250529-173940", later));
+        Files.writeString(folder.resolve("journal-20320102.txt"), LEGACY_RECEIPT.replace("20250529-173940", "9223372036854775808"));
+
+        try (ReceiptIndex index = ReceiptIndex.rebuild(folder)) {
+            org.junit.jupiter.api.Assertions.assertEquals(1, index.size());
+            org.junit.jupiter.api.Assertions.assertEquals(Long.MAX_VALUE, index.findOrder(later).orElseThrow().orderId());
+            org.junit.jupiter.api.Assertions.assertThrows(IllegalArgumentException.class,
+                    () -> index.findOrder("9223372036854775808"));
+        }
+    }
+
+    @Test
+    void between_ShouldFindRangesAcrossTheTailAndCompactedIndex() throws IOException {
+        int orders = ReceiptIndex.COMPACT_AT + 10;
+        try (OrderLog log = new OrderLog(folder.resolve("orders"), OrderLog.DEFAULT_SEGMENT_BYTES);
+             ReceiptIndex index = ReceiptIndex.open(folder)) {
+            log.subscribe(index::add);
+            for (int i = 0; i < orders; i++) {
+                log.append(TestOrders.sandwichOrder(i % 1000), NOON.plusSeconds(i));
+            }
+
+            List<ReceiptIndex.Entry> lunch = index.between(NOON.plusSeconds(100), NOON.plusSeconds(110));
+            org.junit.jupiter.api.Assertions.assertEquals(10, lunch.size());
+            org.junit.jupiter.api.Assertions.assertEquals(NOON.plusSeconds(100), lunch.get(0).time());
+            // The last orders are in the tail, after compaction.
+            org.junit.jupiter.api.Assertions.assertEquals(5, index.between(NOON.plusSeconds(orders - 5), NOON.plusDays(1)).size());
+        }
+
+        try (ReceiptIndex reopened = ReceiptIndex.open(folder)) {
+            org.junit.jupiter.api.Assertions.assertEquals(orders, reopened.size());
+            org.junit.jupiter.api.Assertions.assertEquals(orders, reopened.totalBetween(0, Long.MAX_VALUE).size());
+            org.junit.jupiter.api.Assertions.assertTrue(reopened.totalOver(100_000).isEmpty());
+        }
+    }
+
+    @Test
+    void reopen_ShouldSkipTailEntriesACompactionAlreadyFolded() throws IOException {
+        Path tailFile = folder.resolve("index").resolve("receipts.tail");
+        try (OrderLog log = new OrderLog(folder.resolve("orders"), OrderLog.DEFAULT_SEGMENT_BYTES)) {
+            try (ReceiptIndex index = ReceiptIndex.open(folder)) {
+                log.subscribe(index::add);
+                for (int i = 0; i < ReceiptIndex.COMPACT_AT - 1; i++) {
+                    log.append(TestOrders.sandwichOrder(i % 1000), NOON.plusSeconds(i));
+                }
+            }
+            byte[] untrimmed = Files.readAllBytes(tailFile);
+
+            try (ReceiptIndex index = ReceiptIndex.open(folder)) {
+                log.subscribe(index::add);
+                log.append(TestOrders.sandwichOrder(1), NOON.plusDays(1));
+            }
+            // As if the compaction stopped after writing the index file but before trimming the tail.
+            Files.write(tailFile, untrimmed);
+        }
+
+        try (ReceiptIndex reopened = ReceiptIndex.open(folder)) {
+            org.junit.jupiter.api.Assertions.assertEquals(ReceiptIndex.COMPACT_AT, reopened.size());
+            org.junit.jupiter.api.Assertions.assertEquals(ReceiptIndex.COMPACT_AT, reopened.totalBetween(0, Long.MAX_VALUE).size());
+        }
+    }
+}
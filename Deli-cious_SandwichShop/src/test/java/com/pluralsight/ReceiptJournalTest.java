@@ -0,0 +1,92 @@
+package com.pluralsight;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+@DisplayName("ReceiptJournal Class Tests")
+public class ReceiptJournalTest {
+
+    @TempDir
+    Path folder;
+
+    @Test
+    void append_Batched_ShouldWriteEveryReceiptInOrder() throws Exception {
+        LocalDate day = LocalDate.of(2025, 5, 29);
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        try (ReceiptJournal journal = ReceiptJournal.open(folder, ReceiptJournal.Durability.BATCHED)) {
+            for (int i = 0; i < 100; i++) {
+                futures.add(journal.append(day, "receipt " + i + "\n"));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+        }
+
+        List<String> lines = Files.readAllLines(folder.resolve("journal-20250529.txt"));
+        org.junit.jupiter.api.Assertions.assertEquals(200, lines.size());
+        org.junit.jupiter.api.Assertions.assertEquals("receipt 0", lines.get(0));
+        org.junit.jupiter.api.Assertions.assertEquals("receipt 99", lines.get(198));
+    }
+
+    @Test
+    void append_PerOrder_ShouldSplitFilesByDay() throws Exception {
+        try (ReceiptJournal journal = ReceiptJournal.open(folder, ReceiptJournal.Durability.PER_ORDER)) {
+            journal.append(LocalDate.of(2025, 5, 29), "first\n").get(10, TimeUnit.SECONDS);
+            journal.append(LocalDate.of(2025, 5, 30), "second\n").get(10, TimeUnit.SECONDS);
+        }
+
+        org.junit.jupiter.api.Assertions.assertTrue(Files.readString(folder.resolve("journal-20250529.txt")).startsWith("first"));
+        org.junit.jupiter.api.Assertions.assertTrue(Files.readString(folder.resolve("journal-20250530.txt")).startsWith("second"));
+    }
+
+    @Test
+    void close_ShouldDrainQueuedReceipts() throws Exception {
+        ReceiptJournal journal = ReceiptJournal.open(folder, ReceiptJournal.Durability.BATCHED);
+        CompletableFuture<Void> last = null;
+        for (int i = 0; i < 50; i++) {
+            last = journal.append(LocalDate.of(2025, 5, 29), "r" + i + "\n");
+        }
+        journal.close();
+
+        org.junit.jupiter.api.Assertions.assertTrue(last.isDone());
+        org.junit.jupiter.api.Assertions.assertThrows(IllegalStateException.class,
+                () -> journal.append(LocalDate.of(2025, 5, 29), "late\n"));
+    }
+
+    @Test
+    void close_ShouldCompleteEveryReceiptAcceptedWhileClosing() throws Exception {
+        ReceiptJournal journal = ReceiptJournal.open(folder, ReceiptJournal.Durability.BATCHED);
+        List<CompletableFuture<Void>> accepted = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch started = new CountDownLatch(1000);
+        Thread register = new Thread(() -> {
+            try {
+                for (int i = 0; ; i++) {
+                    accepted.add(journal.append(LocalDate.of(2025, 5, 29), new StringBuilder("r").append(i).append('\n')));
+                    started.countDown();
+                }
+            } catch (IllegalStateException closed) {
+                // Refused once the journal is closed.
+            }
+        });
+        register.start();
+        // Closed while the register is still appending, but before it has queued more than the heap can hold.
+        started.await();
+        journal.close();
+        register.join(10_000);
+
+        org.junit.jupiter.api.Assertions.assertFalse(register.isAlive());
+        org.junit.jupiter.api.Assertions.assertFalse(accepted.isEmpty());
+        for (CompletableFuture<Void> future : accepted) {
+            org.junit.jupiter.api.Assertions.assertTrue(future.isDone());
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.pluralsight;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+@DisplayName("ReceiptMigration Class Tests")
+public class ReceiptMigrationTest {
+
+    private static final String RECEIPT = """
+            === DELI-cious Receipt ===
+            Order #: 20250529-181352
+            Date: 2025-05-29 18:13:52
+
+            Order Details:
+            -----------------
+
+            Philly Cheese Steak - $10.50
+              * Toasted
+              + Steak
+              + American
+              + Peppers
+              + Mayo
+
+            8" Rye sandwich - $13.50
+              * Toasted
+              + Steak
+              + American
+              + Extra Pastrami
+              + Extra Pastrami
+
+            Pepsi Medium - $2.50
+
+            Salt n vinegar - $1.50
+
+            Salt n vinegar - $1.50
+            -----------------
+            Total: $29.50
+            """;
+
+    @TempDir
+    Path folder;
+
+    private ForkJoinPool pool;
+    private OrderLog log;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(4);
+        log = new OrderLog(folder.resolve("orders"), OrderLog.DEFAULT_SEGMENT_BYTES);
+    }
+
+    @AfterEach
+    void tearDown() {
+        log.close();
+        pool.shutdown();
+    }
+
+    @Test
+    void migrate_ShouldRebuildItemsToppingsAndTotalsFromTheText() throws IOException {
+        Files.writeString(folder.resolve("20250529-181352.txt"), RECEIPT);
+
+        ReceiptMigration.Report report = new ReceiptMigration(folder, log, Catalog.current(), pool).migrate(progress -> { });
+        org.junit.jupiter.api.Assertions.assertEquals(1, report.migrated());
+
+        OrderRecord record = log.read(1, OrderLog.SEGMENT_HEADER_BYTES, new OrderRecord());
+        org.junit.jupiter.api.Assertions.assertEquals(20250529181352L, record.orderId());
+        org.junit.jupiter.api.Assertions.assertEquals(LocalDateTime.of(2025, 5, 29, 18, 13, 52), record.dateTime());
+        org.junit.jupiter.api.Assertions.assertEquals(2950, record.totalCents());
+        // The lines add up to $29.50 too, so there is no adjustment.
+        org.junit.jupiter.api.Assertions.assertEquals(0, record.discountCount());
+        org.junit.jupiter.api.Assertions.assertEquals(4, record.lineCount());
+
+        org.junit.jupiter.api.Assertions.assertEquals(OrderRecord.SANDWICH, record.lineType(0));
+        org.junit.jupiter.api.Assertions.assertEquals(Bread.SIZES.indexOf("8"), record.sizeIndex(0));
+        org.junit.jupiter.api.Assertions.assertTrue(record.isToasted(0));
+
+        org.junit.jupiter.api.Assertions.assertEquals(Bread.BREAD_TYPES.indexOf("Rye"), record.breadTypeIndex(1));
+        org.junit.jupiter.api.Assertions.assertEquals(3, record.toppingCount(1));
+        // Toppings are kept in topping-number order: Steak, Pastrami, American.
+        org.junit.jupiter.api.Assertions.assertEquals(4, record.toppingId(1, 1));
+        org.junit.jupiter.api.Assertions.assertEquals(0, record.regularPortions(1, 1));
+        org.junit.jupiter.api.Assertions.assertEquals(2, record.extraPortions(1, 1));
+
+        org.junit.jupiter.api.Assertions.assertEquals(OrderRecord.DRINK, record.lineType(2));
+        org.junit.jupiter.api.Assertions.assertEquals(Drink.SIZES.indexOf("Medium"), record.sizeIndex(2));
+        org.junit.jupiter.api.Assertions.assertEquals(OrderRecord.CHIPS, record.lineType(3));
+        org.junit.jupiter.api.Assertions.assertEquals(2, record.quantity(3));
+        org.junit.jupiter.api.Assertions.assertEquals(ReceiptMigration.PRICE_SNAPSHOT, record.priceSnapshot());
+    }
+
+    @Test
+    void migrate_ShouldReportRejectedReceiptsAndKeepDifferingTotals() throws IOException {
+        Files.writeString(folder.resolve("20250529-100000.txt"), RECEIPT.replace("Total: $29.50", "Total: $28.00"));
+        Files.writeString(folder.resolve("20250529-110000.txt"), RECEIPT.replace("Mayo", "Mayonnaise"));
+        Files.writeString(folder.resolve("20250529-120000.txt"), RECEIPT.replace("Total: $29.50", ""));
+        Files.writeString(folder.resolve("notes.txt"), "not a receipt");
+
+        ReceiptMigration.Report report = new ReceiptMigration(folder, log, Catalog.current(), pool).migrate(progress -> { });
+
+        org.junit.jupiter.api.Assertions.assertEquals(3, report.files());
+        org.junit.jupiter.api.Assertions.assertEquals(1, report.migrated());
+        org.junit.jupiter.api.Assertions.assertEquals(2, report.rejected());
+        org.junit.jupiter.api.Assertions.assertEquals(List.of("20250529-110000.txt: unknown topping 'Mayonnaise'", "20250529-120000.txt: no total"),
+                report.rejects());
+
+        OrderRecord record = log.read(1, OrderLog.SEGMENT_HEADER_BYTES, new OrderRecord());
+        org.junit.jupiter.api.Assertions.assertEquals(2800, record.totalCents());
+        org.junit.jupiter.api.Assertions.assertEquals(ReceiptMigration.ADJUSTMENT, record.discountName(0));
+        org.junit.jupiter.api.Assertions.assertEquals(150, record.discountAmountCents(0));
+    }
+
+    @Test
+    void migrate_ShouldResumeFromTheCheckpointAndNeverLogAnOrderTwice() throws IOException {
+        for (int i = 0; i < 300; i++) {
+            writeReceipt(i);
+        }
+        List<ReceiptMigration.Report> batches = new ArrayList<>();
+        new ReceiptMigration(folder, log, Catalog.current(), pool, 100).migrate(batches::add);
+        org.junit.jupiter.api.Assertions.assertEquals(3, batches.size());
+        org.junit.jupiter.api.Assertions.assertEquals(300, batches.get(2).migrated());
+
+        for (int i = 300; i < 350; i++) {
+            writeReceipt(i);
+        }
+        ReceiptMigration.Report resumed = new ReceiptMigration(folder, log, Catalog.current(), pool, 100).migrate(progress -> { });
+        org.junit.jupiter.api.Assertions.assertEquals(300, resumed.resumed());
+        org.junit.jupiter.api.Assertions.assertEquals(50, resumed.migrated());
+
+        // As if the last batch was logged but the checkpoint was lost.
+        Files.delete(folder.resolve("orders").resolve(ReceiptMigration.CHECKPOINT_FILE));
+        ReceiptMigration.Report again = new ReceiptMigration(folder, log, Catalog.current(), pool, 100).migrate(progress -> { });
+        org.junit.jupiter.api.Assertions.assertEquals(0, again.migrated());
+        org.junit.jupiter.api.Assertions.assertEquals(350, again.skipped());
+
+        List<Long> logged = new ArrayList<>();
+        log.replay(record -> logged.add(record.orderId()));
+        org.junit.jupiter.api.Assertions.assertEquals(350, logged.size());
+        org.junit.jupiter.api.Assertions.assertEquals(20250529100000L, logged.get(0));
+        org.junit.jupiter.api.Assertions.assertEquals(20250529100549L, logged.get(349));
+    }
+
+    /**
+     * Writes the {@code n}-th receipt of the morning, {@code n} seconds after 10:00.
+     */
+    private void writeReceipt(int n) throws IOException {
+        LocalDateTime time = LocalDateTime.of(2025, 5, 29, 10, 0).plusSeconds(n);
+        String stamp = String.format("%tY%<tm%<td-%<tH%<tM%<tS", time);
+        String date = String.format("%tF %<tT", time);
+        Files.writeString(folder.resolve(stamp + ".txt"),
+                RECEIPT.replace("20250529-181352", stamp).replace("2025-05-29 18:13:52", date));
+    }
+}
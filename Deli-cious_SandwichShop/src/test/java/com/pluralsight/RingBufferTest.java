@@ -0,0 +1,85 @@
+package com.pluralsight;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@DisplayName("RingBuffer Class Tests")
+public class RingBufferTest {
+
+    @Test
+    void capacity_ShouldRoundUpToPowerOfTwo() {
+        org.junit.jupiter.api.Assertions.assertEquals(8, new RingBuffer<String>(5).capacity());
+        org.junit.jupiter.api.Assertions.assertEquals(1, new RingBuffer<String>(1).capacity());
+        org.junit.jupiter.api.Assertions.assertThrows(IllegalArgumentException.class, () -> new RingBuffer<String>(0));
+    }
+
+    @Test
+    void offerAndPoll_ShouldBeFifoAndBounded() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            org.junit.jupiter.api.Assertions.assertTrue(buffer.offer(i));
+        }
+        org.junit.jupiter.api.Assertions.assertFalse(buffer.offer(4));
+        org.junit.jupiter.api.Assertions.assertEquals(4, buffer.size());
+
+        // Wrap around the end of the array a few times.
+        for (int i = 0; i < 10; i++) {
+            org.junit.jupiter.api.Assertions.assertEquals(i, buffer.poll());
+            org.junit.jupiter.api.Assertions.assertTrue(buffer.offer(i + 4));
+        }
+        for (int i = 10; i < 14; i++) {
+            org.junit.jupiter.api.Assertions.assertEquals(i, buffer.poll());
+        }
+        org.junit.jupiter.api.Assertions.assertNull(buffer.poll());
+        org.junit.jupiter.api.Assertions.assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    void concurrentProducersAndConsumers_ShouldDeliverEachElementOnce() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 5_000;
+        RingBuffer<Integer> buffer = new RingBuffer<>(64);
+        ConcurrentHashMap<Integer, Boolean> seen = new ConcurrentHashMap<>();
+        AtomicInteger duplicates = new AtomicInteger();
+        AtomicInteger remaining = new AtomicInteger(producers * perProducer);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(base + i)) {
+                        Thread.yield();
+                    }
+                }
+            }));
+        }
+        for (int c = 0; c < 3; c++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                while (remaining.get() > 0) {
+                    Integer value = buffer.poll();
+                    if (value == null) {
+                        Thread.yield();
+                    } else {
+                        if (seen.put(value, Boolean.TRUE) != null) {
+                            duplicates.incrementAndGet();
+                        }
+                        remaining.decrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join(30_000);
+        }
+
+        org.junit.jupiter.api.Assertions.assertEquals(0, remaining.get());
+        org.junit.jupiter.api.Assertions.assertEquals(0, duplicates.get());
+        org.junit.jupiter.api.Assertions.assertEquals(producers * perProducer, seen.size());
+    }
+}
@@ -0,0 +1,125 @@
+package com.pluralsight;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+@DisplayName("SalesCube Class Tests")
+public class SalesCubeTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2025, 5, 26);
+    private static final int RYE = Bread.BREAD_TYPES.indexOf("Rye");
+    private static final int WHITE = Bread.BREAD_TYPES.indexOf("White");
+
+    @TempDir
+    Path folder;
+
+    @Test
+    void query_ShouldSliceCheckoutsByTimeTypeBreadAndSize() throws IOException {
+        try (OrderLog log = new OrderLog(folder.resolve("orders"), OrderLog.DEFAULT_SEGMENT_BYTES);
+             SalesCube cube = SalesCube.open(folder)) {
+            log.subscribe(cube::add);
+            log.append(TestOrders.sandwichOrder(7, "Rye", 2, 6), MONDAY.atTime(12, 15));
+            log.append(TestOrders.sandwichOrder(7, "White", 1, 6), MONDAY.atTime(12, 45));
+            log.append(drinkOrder("Large"), MONDAY.atTime(13, 5));
+            log.append(drinkOrder("Small"), MONDAY.plusDays(1).atTime(13, 5));
+            Order tuesdayLunch = TestOrders.sandwichOrder(7, "Rye", 1, 11);
+            log.append(tuesdayLunch, MONDAY.plusDays(1).atTime(12, 30));
+
+            org.junit.jupiter.api.Assertions.assertEquals(5, cube.query().orders());
+            org.junit.jupiter.api.Assertions.assertEquals(3, cube.query().bread(RYE).units());
+            org.junit.jupiter.api.Assertions.assertEquals(tuesdayLunch.getTotalPriceCents(),
+                    cube.query().on(MONDAY.plusDays(1)).bread(RYE).revenueCents());
+
+            long[] lunchByBread = cube.query().hourOfDay(12).unitsBy(SalesCube.Dimension.BREAD);
+            org.junit.jupiter.api.Assertions.assertEquals(3, lunchByBread[RYE]);
+            org.junit.jupiter.api.Assertions.assertEquals(1, lunchByBread[WHITE]);
+
+            long[] mondayDrinks = cube.query().on(MONDAY).type(OrderRecord.DRINK).unitsBy(SalesCube.Dimension.SIZE);
+            org.junit.jupiter.api.Assertions.assertEquals(1, mondayDrinks[Drink.SIZES.indexOf("Large")]);
+            org.junit.jupiter.api.Assertions.assertEquals(0, mondayDrinks[Drink.SIZES.indexOf("Small")]);
+
+            long[] byDay = cube.query().type(OrderRecord.DRINK).unitsBy(SalesCube.Dimension.DAY_OF_WEEK);
+            org.junit.jupiter.api.Assertions.assertEquals(1, byDay[0]);
+            org.junit.jupiter.api.Assertions.assertEquals(1, byDay[1]);
+
+            // Bacon is on three sandwiches, lettuce on one.
+            org.junit.jupiter.api.Assertions.assertArrayEquals(new int[]{6, 11}, cube.query().topToppings(5));
+            org.junit.jupiter.api.Assertions.assertEquals(3, cube.query().toppingSandwiches()[6]);
+            org.junit.jupiter.api.Assertions.assertEquals(3, cube.query().on(MONDAY).toppingPortions(false)[6]);
+        }
+    }
+
+    @Test
+    void open_ShouldReloadTheSavedCubeAndCatchUpWithTheLog() throws IOException {
+        try (OrderLog log = new OrderLog(folder.resolve("orders"), OrderLog.DEFAULT_SEGMENT_BYTES)) {
+            try (SalesCube cube = SalesCube.open(folder)) {
+                log.subscribe(cube::add);
+                log.append(TestOrders.sandwichOrder(7, "Rye", 2, 6), MONDAY.atTime(9, 0));
+            }
+            // Logged while the cube was closed.
+            log.append(TestOrders.sandwichOrder(7, "Rye", 3, 6), MONDAY.atTime(10, 0));
+        }
+
+        try (SalesCube reopened = SalesCube.open(folder)) {
+            org.junit.jupiter.api.Assertions.assertEquals(5, reopened.query().bread(RYE).units());
+            org.junit.jupiter.api.Assertions.assertEquals(3, reopened.query().hourOfDay(10).units());
+        }
+
+        long before;
+        try (SalesCube cube = SalesCube.open(folder)) {
+            before = cube.query().revenueCents();
+        }
+        Files.delete(folder.resolve("rollup").resolve("sales.cube"));
+        try (SalesCube rebuilt = SalesCube.open(folder)) {
+            org.junit.jupiter.api.Assertions.assertEquals(before, rebuilt.query().revenueCents());
+            org.junit.jupiter.api.Assertions.assertEquals(2, rebuilt.query().orders());
+        }
+    }
+
+    @Test
+    void save_ShouldKeepEveryHourWhenOnlyChangedSlicesAreHandedToTheSaver() throws IOException {
+        try (OrderLog log = new OrderLog(folder.resolve("orders"), OrderLog.DEFAULT_SEGMENT_BYTES);
+             SalesCube cube = SalesCube.open(folder)) {
+            log.subscribe(cube::add);
+            for (int hour = 9; hour < 14; hour++) {
+                log.append(TestOrders.sandwichOrder(7, "Rye", 1, 6), MONDAY.atTime(hour, 0));
+            }
+            // A late checkout for an hour saved earlier.
+            log.append(TestOrders.sandwichOrder(7, "White", 2, 6), MONDAY.atTime(9, 30));
+        }
+        // Without the log, reopening has only the saved cube to go by.
+        try (Stream<Path> files = Files.list(folder.resolve("orders"))) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+
+        try (SalesCube reopened = SalesCube.open(folder)) {
+            org.junit.jupiter.api.Assertions.assertEquals(6, reopened.query().orders());
+            org.junit.jupiter.api.Assertions.assertEquals(5, reopened.query().bread(RYE).units());
+            org.junit.jupiter.api.Assertions.assertEquals(3, reopened.query().hourOfDay(9).units());
+        }
+    }
+
+    @Test
+    void query_ShouldRejectValuesOutsideTheCube() throws IOException {
+        try (SalesCube cube = SalesCube.open(folder)) {
+            org.junit.jupiter.api.Assertions.assertThrows(IllegalArgumentException.class, () -> cube.query().hourOfDay(24));
+            org.junit.jupiter.api.Assertions.assertThrows(IllegalArgumentException.class, () -> cube.query().bread(SalesCube.BREADS));
+            org.junit.jupiter.api.Assertions.assertEquals(0, cube.query().units());
+        }
+    }
+
+    private static Order drinkOrder(String size) {
+        Order order = new Order(new OrderIdGenerator(8));
+        order.addItem(new Drink(size, "Cola"));
+        return order;
+    }
+}
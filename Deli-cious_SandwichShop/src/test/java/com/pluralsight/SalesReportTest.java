@@ -0,0 +1,112 @@
+package com.pluralsight;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.concurrent.ForkJoinPool;
+
+@DisplayName("SalesReport Class Tests")
+public class SalesReportTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 5, 29);
+
+    @TempDir
+    Path folder;
+
+    @Test
+    void forDay_ShouldBreakTheDaysOrdersDownByItemBreadSizeToppingAndHour() throws IOException {
+        Order lunch = new Order(new OrderIdGenerator(1));
+        Sandwich rye = new Sandwich("8", "Rye");
+        rye.addTopping(Topping.getByNumber(6), false);
+        rye.addTopping(Topping.getByNumber(9), true);
+        rye.setToasted(true);
+        lunch.addItem(rye, 2);
+        lunch.addItem(new Drink("Large", "Cola"));
+        lunch.addItem(new Chips("Bbq"));
+
+        Order afternoon = new Order(new OrderIdGenerator(2));
+        afternoon.addItem(Catalog.current().getSignaturePrototype(2).copy());
+        Sandwich white = new Sandwich("12", "White");
+        white.addTopping(Topping.getByNumber(11), false);
+        afternoon.addItem(white);
+
+        Order tomorrow = new Order(new OrderIdGenerator(3));
+        tomorrow.addItem(new Chips("Bbq"));
+
+        try (OrderLog log = new OrderLog(folder, OrderLog.DEFAULT_SEGMENT_BYTES)) {
+            log.append(lunch, DAY.atTime(12, 30));
+            log.append(afternoon, DAY.atTime(15, 10));
+            log.append(tomorrow, DAY.plusDays(1).atTime(9, 0));
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(2);
+        SalesReport report = SalesReport.forDay(folder, DAY, Catalog.current(), pool);
+        pool.shutdown();
+
+        org.junit.jupiter.api.Assertions.assertEquals(2, report.getOrders());
+        org.junit.jupiter.api.Assertions.assertEquals(lunch.getTotalPriceCents() + afternoon.getTotalPriceCents(), report.getRevenueCents());
+        org.junit.jupiter.api.Assertions.assertEquals(4, report.getTypeUnits(OrderRecord.SANDWICH));
+        org.junit.jupiter.api.Assertions.assertEquals(rye.getPriceCents() * 2 + white.getPriceCents() + afternoon.getLineItems().iterator().next().getPriceCents(),
+                report.getTypeRevenueCents(OrderRecord.SANDWICH));
+        org.junit.jupiter.api.Assertions.assertEquals(1, report.getTypeUnits(OrderRecord.CHIPS));
+
+        org.junit.jupiter.api.Assertions.assertEquals(2, report.getBreadUnits(Bread.BREAD_TYPES.indexOf("Rye")));
+        org.junit.jupiter.api.Assertions.assertEquals(2, report.getBreadUnits(Bread.BREAD_TYPES.indexOf("White")));
+        org.junit.jupiter.api.Assertions.assertEquals(3, report.getSandwichSizeUnits(Bread.SIZES.indexOf("8")));
+        org.junit.jupiter.api.Assertions.assertEquals(1, report.getDrinkSizeUnits(Drink.SIZES.indexOf("Large")));
+
+        // The BLT is toasted too: 3 of 4 sandwiches.
+        org.junit.jupiter.api.Assertions.assertEquals(0.75, report.getToastedShare(), 1e-9);
+        org.junit.jupiter.api.Assertions.assertEquals(1, report.getSignatureUnits("BLT"));
+        org.junit.jupiter.api.Assertions.assertEquals(3, report.getCustomUnits());
+
+        // Bacon is on the two rye sandwiches and the BLT; cheddar is extra on the rye ones.
+        org.junit.jupiter.api.Assertions.assertEquals(0.75, report.getAttachRate(6), 1e-9);
+        org.junit.jupiter.api.Assertions.assertEquals(0.5, report.getExtraAttachRate(9), 1e-9);
+        org.junit.jupiter.api.Assertions.assertEquals(2, report.getExtraPortions(9));
+
+        org.junit.jupiter.api.Assertions.assertEquals(1, report.getHourOrders(12));
+        org.junit.jupiter.api.Assertions.assertEquals(afternoon.getTotalPriceCents(), report.getHourRevenueCents(15));
+        org.junit.jupiter.api.Assertions.assertEquals(0, report.getHourOrders(9));
+
+        StringBuilder text = new StringBuilder();
+        report.render(text);
+        org.junit.jupiter.api.Assertions.assertTrue(text.toString().contains("BLT: 1"));
+    }
+
+    @Test
+    void between_ShouldCountEveryOrderWhenSplitAcrossTasksAndSegments() throws IOException {
+        int orders = 5000;
+        try (OrderLog log = new OrderLog(folder, 64 << 10)) {
+            for (int i = 0; i < orders; i++) {
+                Order order = new Order(new OrderIdGenerator(i % 1000));
+                order.addItem(new Sandwich("4", Bread.BREAD_TYPES.get(i % 4)), 1 + i % 3);
+                log.append(order, DAY.atStartOfDay().plusSeconds(i * 17L));
+            }
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        SalesReport report = SalesReport.between(folder, DAY.minusDays(1).atStartOfDay(), DAY.plusDays(2).atStartOfDay(), Catalog.current(), pool);
+        pool.shutdown();
+
+        org.junit.jupiter.api.Assertions.assertTrue(OrderLog.segmentFiles(folder).size() > 1);
+        org.junit.jupiter.api.Assertions.assertEquals(orders, report.getOrders());
+        long units = 0;
+        for (int i = 0; i < orders; i++) {
+            units += 1 + i % 3;
+        }
+        org.junit.jupiter.api.Assertions.assertEquals(units, report.getTypeUnits(OrderRecord.SANDWICH));
+        org.junit.jupiter.api.Assertions.assertEquals(units, report.getSandwichSizeUnits(Bread.SIZES.indexOf("4")));
+        // 17-second steps put 3600 / 17 = 211 or 212 orders in each hour.
+        org.junit.jupiter.api.Assertions.assertEquals(212, report.getHourOrders(0));
+        long inHours = 0;
+        for (int hour = 0; hour < SalesReport.HOURS; hour++) {
+            inHours += report.getHourOrders(hour);
+        }
+        org.junit.jupiter.api.Assertions.assertEquals(orders, inHours);
+    }
+}
@@ -15,10 +15,12 @@ public class SandwichTest {
     private Topping steak;
     private Topping american;
     private Topping mayo;
+    private PriceTable prices;
 
     @BeforeEach
     void setUp() {
         sandwich = new Sandwich("8", "White");
+        prices = sandwich.getCatalog().getPrices();
 
         lettuce = new Topping("Lettuce", Topping.REGULAR, false);
         steak = new Topping("Steak", Topping.MEAT, true);
@@ -177,7 +179,7 @@ public class SandwichTest {
         sandwich.addTopping(steak, false);
 
         double expectedBreadPrice = new Bread("8", "White").getBasePrice();
-        double expectedToppingPrice = steak.getPrice("8", false);
+        double expectedToppingPrice = steak.getPrice(prices, "8", false);
         double expectedTotalPrice = expectedBreadPrice + expectedToppingPrice;
         org.junit.jupiter.api.Assertions.assertEquals(expectedTotalPrice, sandwich.getPrice(), 0.001);
     }
@@ -187,7 +189,7 @@ public class SandwichTest {
         sandwich.addTopping(steak, true);
 
         double expectedBreadPrice = new Bread("8", "White").getBasePrice();
-        double expectedToppingPrice = steak.getPrice("8", true);
+        double expectedToppingPrice = steak.getPrice(prices, "8", true);
         double expectedTotalPrice = expectedBreadPrice + expectedToppingPrice;
         org.junit.jupiter.api.Assertions.assertEquals(expectedTotalPrice, sandwich.getPrice(), 0.001);
     }
@@ -197,7 +199,7 @@ public class SandwichTest {
         sandwich.addTopping(american, false);
 
         double expectedBreadPrice = new Bread("8", "White").getBasePrice();
-        double expectedToppingPrice = american.getPrice("8", false);
+        double expectedToppingPrice = american.getPrice(prices, "8", false);
         double expectedTotalPrice = expectedBreadPrice + expectedToppingPrice;
         org.junit.jupiter.api.Assertions.assertEquals(expectedTotalPrice, sandwich.getPrice(), 0.001);
     }
@@ -207,7 +209,7 @@ public class SandwichTest {
         sandwich.addTopping(american, true);
 
         double expectedBreadPrice = new Bread("8", "White").getBasePrice();
-        double expectedToppingPrice = american.getPrice("8", true);
+        double expectedToppingPrice = american.getPrice(prices, "8", true);
         double expectedTotalPrice = expectedBreadPrice + expectedToppingPrice;
         org.junit.jupiter.api.Assertions.assertEquals(expectedTotalPrice, sandwich.getPrice(), 0.001);
     }
@@ -221,11 +223,11 @@ public class SandwichTest {
         sandwich.addTopping(steak, true);
 
         double expectedBreadPrice = new Bread("8", "White").getBasePrice();
-        double expectedToppingsTotal = lettuce.getPrice("8", false) +
-                mayo.getPrice("8", false) +
-                steak.getPrice("8", false) +
-                american.getPrice("8", true) +
-                steak.getPrice("8", true);
+        double expectedToppingsTotal = lettuce.getPrice(prices, "8", false) +
+                mayo.getPrice(prices, "8", false) +
+                steak.getPrice(prices, "8", false) +
+                american.getPrice(prices, "8", true) +
+                steak.getPrice(prices, "8", true);
         double expectedTotalPrice = expectedBreadPrice + expectedToppingsTotal;
 
         org.junit.jupiter.api.Assertions.assertEquals(expectedTotalPrice, sandwich.getPrice(), 0.001);
@@ -244,4 +246,52 @@ public class SandwichTest {
         List<Boolean> extraStatuses = sandwich.getToppingExtraStatuses();
         org.junit.jupiter.api.Assertions.assertThrows(UnsupportedOperationException.class, () -> extraStatuses.add(false));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getToppingCount_ShouldCountRegularAndExtraSeparately() {
+        sandwich.addTopping(steak, true);
+        sandwich.addTopping(steak, true);
+        sandwich.addTopping(steak, false);
+        org.junit.jupiter.api.Assertions.assertEquals(1, sandwich.getToppingCount(steak, false));
+        org.junit.jupiter.api.Assertions.assertEquals(2, sandwich.getToppingCount(steak, true));
+        org.junit.jupiter.api.Assertions.assertEquals(0, sandwich.getToppingCount(american, true));
+        org.junit.jupiter.api.Assertions.assertEquals(3, sandwich.getToppingTotal());
+    }
+
+    @Test
+    void addTopping_OffMenuTopping_ShouldThrow() {
+        Topping truffle = new Topping("Truffle", Topping.REGULAR, false);
+        org.junit.jupiter.api.Assertions.assertThrows(IllegalArgumentException.class, () -> sandwich.addTopping(truffle, false));
+        org.junit.jupiter.api.Assertions.assertEquals(0, sandwich.getToppingTotal());
+    }
+
+    @Test
+    void copy_ShouldNotShareLaterChanges() {
+        sandwich.addTopping(steak, false);
+        sandwich.setToasted(true);
+        Sandwich copy = sandwich.copy();
+
+        copy.addTopping(mayo, false);
+        sandwich.addTopping(lettuce, false);
+
+        org.junit.jupiter.api.Assertions.assertTrue(copy.isToasted());
+        org.junit.jupiter.api.Assertions.assertEquals(List.of(steak, mayo), copy.getToppings());
+        org.junit.jupiter.api.Assertions.assertEquals(List.of(steak, lettuce), sandwich.getToppings());
+        org.junit.jupiter.api.Assertions.assertEquals(sandwich.getPriceCents(), copy.getPriceCents());
+    }
+
+    @Test
+    void frozenSandwich_ShouldRejectChanges() {
+        sandwich.addTopping(steak, false);
+        sandwich.freeze();
+
+        org.junit.jupiter.api.Assertions.assertThrows(UnsupportedOperationException.class, () -> sandwich.addTopping(lettuce, false));
+        org.junit.jupiter.api.Assertions.assertThrows(UnsupportedOperationException.class, () -> sandwich.removeTopping(steak));
+        org.junit.jupiter.api.Assertions.assertThrows(UnsupportedOperationException.class, () -> sandwich.setToasted(true));
+
+        Sandwich copy = sandwich.copy();
+        copy.removeTopping(steak);
+        org.junit.jupiter.api.Assertions.assertFalse(copy.isFrozen());
+        org.junit.jupiter.api.Assertions.assertEquals(1, sandwich.getToppingCount(steak, false));
+    }
+}
@@ -0,0 +1,28 @@
+package com.pluralsight;
+
+/**
+ * Orders shared by the tests of the order log and the indexes and reports built from it.
+ */
+final class TestOrders {
+
+    private TestOrders() {
+    }
+
+    /**
+     * Returns an order of one 8" white sandwich with steak, numbered by the given terminal.
+     */
+    static Order sandwichOrder(int terminal) {
+        return sandwichOrder(terminal, "White", 1, 1);
+    }
+
+    /**
+     * Returns an order of {@code quantity} 8" sandwiches on {@code bread} with one topping, numbered by the given terminal.
+     */
+    static Order sandwichOrder(int terminal, String bread, int quantity, int toppingId) {
+        Order order = new Order(new OrderIdGenerator(terminal));
+        Sandwich sandwich = new Sandwich("8", bread);
+        sandwich.addTopping(Topping.getByNumber(toppingId), false);
+        order.addItem(sandwich, quantity);
+        return order;
+    }
+}